@@ -59,6 +59,12 @@ public class ConfigKey<T> {
     public static final ConfigKey<String> STORAGE_KEYSPACE = key("storage.cql.keyspace");
 
     public static final ConfigKey<Long> TYPE_SHARD_THRESHOLD = key("knowledge-base.type-shard-threshold", LONG);
+    public static final ConfigKey<Long> REASONER_CACHE_SIZE = key("knowledge-base.reasoner-cache-size", LONG);
+    public static final ConfigKey<Long> TRAVERSAL_PLAN_CACHE_SIZE = key("knowledge-base.traversal-plan-cache-size", LONG);
+    public static final ConfigKey<Long> IN_MEMORY_COMPUTE_THRESHOLD = key("knowledge-base.in-memory-compute-threshold", LONG);
+    public static final ConfigKey<Long> COMPUTE_PATH_SEARCH_BUDGET = key("knowledge-base.compute-path-search-budget", LONG);
+    public static final ConfigKey<Integer> DISJUNCTION_WORKERS = key("knowledge-base.disjunction-workers", INT);
+    public static final ConfigKey<Boolean> TEXT_INDEX = key("knowledge-base.text-index", BOOL);
     public static final ConfigKey<String> DATA_DIR = key("data-dir");
     public static final ConfigKey<String> LOG_DIR = key("log.dirs");
 
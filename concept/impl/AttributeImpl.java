@@ -27,6 +27,7 @@ import grakn.core.kb.concept.api.Role;
 import grakn.core.kb.concept.api.Thing;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.concept.manager.ConceptNotificationChannel;
+import grakn.core.kb.concept.structure.EdgeElement;
 import grakn.core.kb.concept.structure.VertexElement;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 
@@ -68,6 +69,17 @@ public class AttributeImpl<D> extends ThingImpl<Attribute<D>, AttributeType<D>>
         return owners;
     }
 
+    /**
+     * Numeric and date values are copied onto the isa edge, where they are sorted by the range index of the type shard
+     */
+    @Override
+    void isaEdgeCreated(EdgeElement isaEdge) {
+        if (Schema.isRangeIndexed(valueType())) {
+            Object persistedValue = vertex().property(Schema.VertexProperty.ofValueType(valueType()));
+            isaEdge.property(Schema.EdgeProperty.SORTED_VALUE, Schema.sortedValue(persistedValue));
+        }
+    }
+
     /**
      * @return The value casted to the correct type
      */
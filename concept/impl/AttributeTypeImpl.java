@@ -135,7 +135,7 @@ public class AttributeTypeImpl<D> extends TypeImpl<AttributeType<D>, Attribute<D
 
         if (valueType().equals(ValueType.STRING)) checkConformsToRegexes((String) value);
 
-        Attribute<D> instance = getAttribute(value);
+        Attribute<D> instance = attribute(value);
         if (instance == null) {
             // create a brand new vertex and concept
             instance = conceptManager.createAttribute(this, value, isInferred);
@@ -167,18 +167,7 @@ public class AttributeTypeImpl<D> extends TypeImpl<AttributeType<D>, Attribute<D
     @Override
     @Nullable
     public Attribute<D> attribute(D value) {
-        String index = Schema.generateAttributeIndex(label(), value.toString());
-        Attribute<D> concept = conceptManager.getCachedAttribute(index);
-        if (concept != null) return concept;
-        return conceptManager.getConcept(Schema.VertexProperty.INDEX, index);
-    }
-
-    /**
-     * This is only used when checking if attribute exists before trying to create a new one.
-     */
-    private Attribute<D> getAttribute(D value) {
-        String index = Schema.generateAttributeIndex(label(), value.toString());
-        return conceptManager.getAttribute(index);
+        return conceptManager.getAttribute(this, value);
     }
 
     /**
@@ -20,6 +20,7 @@ package grakn.core.concept.impl;
 
 import grakn.core.concept.cache.ConceptCache;
 import grakn.core.core.Schema;
+import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.GraknConceptException;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.api.LabelId;
@@ -27,6 +28,7 @@ import grakn.core.kb.concept.api.Rule;
 import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.concept.manager.ConceptNotificationChannel;
+import grakn.core.kb.concept.structure.EdgeElement;
 import grakn.core.kb.concept.structure.PropertyNotUniqueException;
 import grakn.core.kb.concept.structure.VertexElement;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -114,6 +116,26 @@ public abstract class SchemaConceptImpl<T extends SchemaConcept> extends Concept
         return superSet.stream();
     }
 
+    // Schema edges define the hierarchy and the rule bodies, so any change to them can change existing answers
+
+    @Override
+    EdgeElement putEdge(ConceptVertex to, Schema.EdgeLabel label) {
+        conceptNotificationChannel.schemaConceptModified(this);
+        return super.putEdge(to, label);
+    }
+
+    @Override
+    EdgeElement addEdge(ConceptVertex to, Schema.EdgeLabel label) {
+        conceptNotificationChannel.schemaConceptModified(this);
+        return super.addEdge(to, label);
+    }
+
+    @Override
+    void deleteEdge(Direction direction, Schema.EdgeLabel label, Concept... to) {
+        conceptNotificationChannel.schemaConceptModified(this);
+        super.deleteEdge(direction, label, to);
+    }
+
     /**
      * Deletes the concept as a SchemaConcept
      */
@@ -142,22 +142,23 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
                 .map(edge -> CastingImpl.withThing(edge, this, conceptManager));
     }
 
+    /**
+     * The attribute edges are sliced by the ATTRIBUTE_OWNED_LABEL_ID of the requested types and their subs,
+     * so only the edges of matching attributes are read rather than every attribute of this Thing.
+     */
     @Override
     public Stream<Attribute<?>> attributes(AttributeType<?>... attributeTypes) {
-        Set<AttributeType<?>> completeAttributeTypes = new HashSet<>(Arrays.asList(attributeTypes));
-        if (completeAttributeTypes.isEmpty()) {
-            completeAttributeTypes.add(conceptManager.getMetaAttributeType());
+        if (attributeTypes.length == 0) {
+            return neighbours(Direction.OUT, Schema.EdgeLabel.ATTRIBUTE).map(Concept::asAttribute);
         }
 
-        Set<AttributeType<?>> typesWithSubs = completeAttributeTypes.stream()
+        Set<Integer> typeIdsWithSubs = Arrays.stream(attributeTypes)
                 .flatMap(AttributeType::subs)
+                .map(type -> type.labelId().getValue())
                 .collect(toSet());
 
-        Stream<Attribute<?>> attributesOwned = neighbours(Direction.OUT, Schema.EdgeLabel.ATTRIBUTE)
-                .filter(neighbour -> typesWithSubs.contains(neighbour.asThing().type()))
-                .map(Concept::asAttribute);
-
-        return attributesOwned;
+        return vertex().attributeEdges(typeIdsWithSubs)
+                .map(edge -> conceptManager.<Attribute<?>>buildConcept(edge.target()));
     }
 
     /**
@@ -210,24 +211,31 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
             throw GraknConceptException.hasNotAllowed(this, attribute);
         }
 
-        if (this.attributes(attribute.type()).noneMatch(attribute::equals)) {
-            EdgeElement attributeEdge = putEdge(AttributeImpl.from(attribute), Schema.EdgeLabel.ATTRIBUTE);
-            attributeEdge.property(Schema.EdgeProperty.ATTRIBUTE_OWNED_LABEL_ID, attribute.type().labelId().getValue());
-            if (isInferred) {
-                attributeEdge.property(Schema.EdgeProperty.IS_INFERRED, true);
-            }
-            conceptManager.createHasAttribute(this, attribute, isInferred);
+        if (attributeEdges(attribute).findAny().isPresent()) return;
+
+        // the edge is known to be missing, so there's no need for putEdge to look it up again
+        EdgeElement attributeEdge = addEdge(AttributeImpl.from(attribute), Schema.EdgeLabel.ATTRIBUTE);
+        attributeEdge.property(Schema.EdgeProperty.ATTRIBUTE_OWNED_LABEL_ID, attribute.type().labelId().getValue());
+        if (isInferred) {
+            attributeEdge.property(Schema.EdgeProperty.IS_INFERRED, true);
         }
+        conceptManager.createHasAttribute(this, attribute, isInferred);
+    }
 
+    /**
+     * @return the edges from this Thing to the given Attribute, found in the slice of edges of its type
+     */
+    private Stream<EdgeElement> attributeEdges(Attribute attribute) {
+        VertexElement attributeVertex = ConceptVertex.from(attribute).vertex();
+        return vertex().attributeEdges(Collections.singleton(attribute.type().labelId().getValue()))
+                .filter(edge -> edge.target().equals(attributeVertex));
     }
 
     @Override
     public T unhas(Attribute attribute) {
         // delete attribute ownerships between this Thing and the Attribute
         // TODO may need to be able to limit the number of times the edge is removed if there are multiple - this removes all
-        Optional<EdgeElement> edgeElement = vertex().getEdgesOfType(Direction.OUT, Schema.EdgeLabel.ATTRIBUTE)
-                .filter(edge -> edge.target().equals(ConceptVertex.from(attribute).vertex()))
-                .findAny();
+        Optional<EdgeElement> edgeElement = attributeEdges(attribute).findAny();
 
         if (edgeElement.isPresent()) {
             EdgeElement edge = edgeElement.get();
@@ -253,11 +261,18 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
         if (type != null) {
             //noinspection unchecked
             cachedType.set((V) type); //We cache the type early because it turns out we use it EVERY time. So this prevents many db reads
-            type.currentShard().link(vertex());
+            EdgeElement isaEdge = type.currentShard().link(vertex());
             setInternalType(type);
+            isaEdgeCreated(isaEdge);
         }
     }
 
+    /**
+     * @param isaEdge The newly created isa edge of this concept, linking it to the shard of its type
+     */
+    void isaEdgeCreated(EdgeElement isaEdge) {
+    }
+
     /**
      * @param type Set property on vertex that stores Type label - this is needed by Analytics
      */
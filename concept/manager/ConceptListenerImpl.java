@@ -99,9 +99,17 @@ public class ConceptListenerImpl implements ConceptListener {
     @Override
     public void schemaConceptDeleted(SchemaConcept schemaConcept) {
         ruleCache.clear();
+        transactionCache.ackSchemaModification();
+        ruleCache.ackSchemaModification();
         conceptDeleted(schemaConcept);
     }
 
+    @Override
+    public void schemaConceptModified(SchemaConcept schemaConcept) {
+        transactionCache.ackSchemaModification();
+        ruleCache.ackSchemaModification();
+    }
+
     /**
      * Sync the transaction caches to reflect the new concept that has been created
      *
@@ -188,6 +196,8 @@ public class ConceptListenerImpl implements ConceptListener {
 
     @Override
     public void ruleCreated(Rule rule) {
+        transactionCache.ackSchemaModification();
+        ruleCache.ackSchemaModification();
         transactionCache.trackForValidation(rule);
     }
 
@@ -203,6 +213,8 @@ public class ConceptListenerImpl implements ConceptListener {
 
     @Override
     public void labelRemoved(SchemaConcept schemaConcept) {
+        transactionCache.ackSchemaModification();
+        ruleCache.ackSchemaModification();
         transactionCache.remove(schemaConcept);
     }
     @Override
@@ -212,6 +224,9 @@ public class ConceptListenerImpl implements ConceptListener {
 
     @Override
     public void conceptSetAbstract(Type type, boolean isAbstract) {
+        // abstract types are left out of the rule type graph
+        transactionCache.ackSchemaModification();
+        ruleCache.ackSchemaModification();
         if (isAbstract) {
             transactionCache.removeFromValidation(type);
         } else {
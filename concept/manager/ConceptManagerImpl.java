@@ -50,7 +50,6 @@ import grakn.core.kb.concept.manager.ConceptNotificationChannel;
 import grakn.core.kb.concept.structure.EdgeElement;
 import grakn.core.kb.concept.structure.Shard;
 import grakn.core.kb.concept.structure.VertexElement;
-import grakn.core.kb.keyspace.AttributeManager;
 import grakn.core.kb.server.cache.TransactionCache;
 import grakn.core.kb.server.exception.TemporaryWriteException;
 import graql.lang.pattern.Pattern;
@@ -58,7 +57,12 @@ import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -89,13 +93,11 @@ public class ConceptManagerImpl implements ConceptManager {
     private ElementFactory elementFactory;
     private TransactionCache transactionCache;
     private ConceptNotificationChannel conceptNotificationChannel;
-    private final AttributeManager attributeManager;
 
-    public ConceptManagerImpl(ElementFactory elementFactory, TransactionCache transactionCache, ConceptNotificationChannel conceptNotificationChannel, AttributeManager attributeManager) {
+    public ConceptManagerImpl(ElementFactory elementFactory, TransactionCache transactionCache, ConceptNotificationChannel conceptNotificationChannel) {
         this.elementFactory = elementFactory;
         this.transactionCache = transactionCache;
         this.conceptNotificationChannel = conceptNotificationChannel;
-        this.attributeManager = attributeManager;
     }
 
     /*
@@ -231,8 +233,6 @@ public class ConceptManagerImpl implements ConceptManager {
     public <V> AttributeImpl<V> createAttribute(AttributeType<V> type, V value, boolean isInferred) {
         preCheckForInstanceCreation(type);
 
-        VertexElement vertex = createInstanceVertex(ATTRIBUTE, isInferred);
-
         AttributeType.ValueType<V> valueType = type.valueType();
 
         V convertedValue;
@@ -242,6 +242,8 @@ public class ConceptManagerImpl implements ConceptManager {
             throw GraknConceptException.invalidAttributeValue(type, value, valueType);
         }
 
+        VertexElement vertex = createAttributeVertex(type, convertedValue.toString(), isInferred);
+
         // set persisted value
         Object valueToPersist = AttributeSerialiser.of(valueType).serialise(convertedValue);
         Schema.VertexProperty property = Schema.VertexProperty.ofValueType(valueType);
@@ -299,6 +301,23 @@ public class ConceptManagerImpl implements ConceptManager {
     }
 
 
+    /**
+     * Attributes are stored in the vertex with the id derived from their type and value, so that concurrent
+     * transactions inserting the same attribute converge on the same vertex. In the rare case the id is taken by
+     * another attribute, the attribute is stored in a vertex with an id assigned as usual.
+     */
+    private VertexElement createAttributeVertex(AttributeType<?> type, String value, boolean isInferred) {
+        String vertexId = elementFactory.attributeVertexId(Schema.generateAttributeHash(type.labelId(), value));
+        // the vertex has been read when looking the attribute up, hence this is answered by the transaction
+        if (elementFactory.getVertexWithId(vertexId) != null) return createInstanceVertex(ATTRIBUTE, isInferred);
+
+        VertexElement vertexElement = elementFactory.addAttributeVertexElement(vertexId);
+        if (isInferred) {
+            vertexElement.property(Schema.VertexProperty.IS_INFERRED, true);
+        }
+        return vertexElement;
+    }
+
     private VertexElement createInstanceVertex(Schema.BaseType baseType, boolean isInferred) {
         VertexElement vertexElement = elementFactory.addVertexElement(baseType);
         if (isInferred) {
@@ -340,23 +359,33 @@ public class ConceptManagerImpl implements ConceptManager {
     }
 
     /**
-     * This is only used when checking if attribute exists before trying to create a new one.
+     * Attributes are stored in the vertex with the id derived from their type and value, which we read directly.
+     * Only when that vertex holds another attribute, or in keyspaces created before the ids were derived, is the
+     * attribute looked up by index.
      */
     @Override
-    public Attribute getAttribute(String index) {
-        Attribute concept = getCachedAttribute(index);
+    @Nullable
+    public <D> Attribute<D> getAttribute(AttributeType<D> type, D value) {
+        D convertedValue;
+        try {
+            convertedValue = AttributeValueConverter.of(type.valueType()).convert(value);
+        } catch (ClassCastException e) {
+            // the attribute can't exist, creating it will fail instead
+            return null;
+        }
+        String index = Schema.generateAttributeIndex(type.label(), convertedValue.toString());
+        Attribute<D> concept = getCachedAttribute(index);
         if (concept != null) return concept;
 
-        //We check committed attributes first. In certain situations (adding the same attribute in multiple txs),
-        //the ephemeral cache might be populated for a longer period of time.
-        //As a result checking ephemeral attributes first might result in locking all the time.
-        ConceptId attributeCommitted = attributeManager.attributesCommitted().getIfPresent(index);
-        if (attributeCommitted != null) return getConcept(attributeCommitted);
-
-        //check EPHA
-        if (attributeManager.isAttributeEphemeral(index)) return null;
-
-        //check graph
+        String vertexId = elementFactory.attributeVertexId(Schema.generateAttributeHash(type.labelId(), convertedValue.toString()));
+        Vertex vertex = elementFactory.getVertexWithId(vertexId);
+        if (vertex == null) {
+            return transactionCache.attributeIdsDerived() ? null : getConcept(Schema.VertexProperty.INDEX, index);
+        }
+        if (index.equals(vertex.property(Schema.VertexProperty.INDEX.name()).orElse(null))) {
+            return buildConcept(vertex);
+        }
+        // the id is taken by another attribute, hence this one was stored in a vertex with an id assigned as usual
         return getConcept(Schema.VertexProperty.INDEX, index);
     }
 
@@ -395,6 +424,26 @@ public class ConceptManagerImpl implements ConceptManager {
         }
     }
 
+    @Override
+    public Map<ConceptId, Concept> getConcepts(Collection<ConceptId> conceptIds) {
+        Map<ConceptId, Concept> concepts = new HashMap<>();
+        List<String> uncachedIds = new ArrayList<>();
+        for (ConceptId conceptId : conceptIds) {
+            if (!Schema.validateConceptId(conceptId)) continue;
+            if (transactionCache.isConceptCached(conceptId)) {
+                concepts.put(conceptId, transactionCache.getCachedConcept(conceptId));
+            } else {
+                uncachedIds.add(Schema.elementId(conceptId));
+            }
+        }
+
+        elementFactory.getVerticesWithIds(uncachedIds).forEach(vertex -> {
+            Concept concept = buildConcept(vertex);
+            concepts.put(concept.id(), concept);
+        });
+        return concepts;
+    }
+
     // TODO why are there three separate access methods here!
     @Override
     public <T extends SchemaConcept> T getSchemaConcept(Label label) {
@@ -56,6 +56,11 @@ public class ConceptNotificationChannelImpl implements ConceptNotificationChanne
         conceptListener.schemaConceptDeleted(schemaConcept);
     }
 
+    @Override
+    public void schemaConceptModified(SchemaConcept schemaConcept) {
+        conceptListener.schemaConceptModified(schemaConcept);
+    }
+
     @Override
     public void labelRemoved(SchemaConcept schemaConcept) {
         conceptListener.labelRemoved(schemaConcept);
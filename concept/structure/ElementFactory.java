@@ -20,22 +20,31 @@ package grakn.core.concept.structure;
 
 import grakn.core.core.JanusTraversalSourceProvider;
 import grakn.core.core.Schema;
+import grakn.core.graph.core.EdgeLabel;
+import grakn.core.graph.core.JanusGraphEdge;
 import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graph.core.JanusGraphVertex;
+import grakn.core.graph.core.VertexLabel;
+import grakn.core.graph.core.attribute.Contain;
+import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
 import grakn.core.kb.concept.structure.EdgeElement;
 import grakn.core.kb.concept.structure.GraknElementException;
 import grakn.core.kb.concept.structure.Shard;
 import grakn.core.kb.concept.structure.VertexElement;
-import org.apache.tinkerpop.gremlin.process.traversal.P;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -49,6 +58,8 @@ import java.util.stream.Stream;
 public final class ElementFactory {
     private final JanusGraphTransaction janusTx;
     private final JanusTraversalSourceProvider traversalSourceProvider;
+    // edge labels resolved once per transaction for the vertex-centric queries
+    private final Map<Schema.EdgeLabel, EdgeLabel> edgeLabels = new EnumMap<>(Schema.EdgeLabel.class);
 
     public ElementFactory(JanusGraphTransaction janusTransaction, JanusTraversalSourceProvider traversalSourceProvider) {
         this.janusTx = janusTransaction;
@@ -67,11 +78,15 @@ public final class ElementFactory {
     }
 
     public Vertex getVertexWithId(String id) {
-        Iterator<Vertex> vertices = traversalSourceProvider.getTinkerTraversal().V(id);
-        if (vertices.hasNext()) {
-            return vertices.next();
-        }
-        return null;
+        return janusVertex(id);
+    }
+
+    /**
+     * Looks up all the vertices in a single multi-key read rather than one read per id
+     */
+    public Stream<Vertex> getVerticesWithIds(Collection<String> ids) {
+        if (ids.isEmpty()) return Stream.empty();
+        return traversalSourceProvider.getTinkerTraversal().V(ids.toArray()).toStream();
     }
 
 
@@ -105,6 +120,27 @@ public final class ElementFactory {
         return buildVertexElement(vertex);
     }
 
+    /**
+     * @param attributeHash hash of the type and value of an attribute
+     * @return id of the vertex the attribute is stored in, unless its id clashes with another attribute
+     */
+    public String attributeVertexId(long attributeHash) {
+        return String.valueOf(((StandardJanusGraphTx) janusTx).getIdManager().getAttributeVertexID(attributeHash));
+    }
+
+    /**
+     * Creates a new attribute Vertex with the provided id, which concurrent transactions inserting the same
+     * attribute converge on, and builds a VertexElement which wraps it
+     *
+     * @param vertexId id derived from the hash of the type and value of the attribute
+     * @return VertexElement
+     */
+    public VertexElement addAttributeVertexElement(String vertexId) {
+        VertexLabel label = janusTx.getOrCreateVertexLabel(Schema.BaseType.ATTRIBUTE.name());
+        Vertex vertex = janusTx.addVertex(Long.parseLong(vertexId), label);
+        return buildVertexElement(vertex);
+    }
+
 
     /**
      * Builds a VertexElement from an already existing Vertex.
@@ -123,46 +159,91 @@ public final class ElementFactory {
 
 
     Stream<EdgeElement> rolePlayerEdges(String vertexId, Integer typeLabelId, Set<Integer> roleTypesIds) {
-        return traversalSourceProvider.getTinkerTraversal()
-                .V(vertexId)
-                .outE(Schema.EdgeLabel.ROLE_PLAYER.getLabel())
+        JanusGraphVertex vertex = janusVertex(vertexId);
+        if (vertex == null) return Stream.empty();
+        Iterable<JanusGraphEdge> edges = vertex.query()
+                .direction(Direction.OUT)
+                .types(edgeLabel(Schema.EdgeLabel.ROLE_PLAYER))
                 .has(Schema.EdgeProperty.RELATION_TYPE_LABEL_ID.name(), typeLabelId)
-                .has(Schema.EdgeProperty.ROLE_LABEL_ID.name(), P.within(roleTypesIds))
-                .toStream()
+                .has(Schema.EdgeProperty.ROLE_LABEL_ID.name(), Contain.IN, roleTypesIds)
+                .edges();
+        return stream(edges)
                 .filter(edge -> ElementUtils.isValidElement(edge))// filter out invalid or deleted edges that are cached
                 .map(edge -> buildEdgeElement(edge));
     }
 
+    /**
+     * Slices the attribute edges of the owner by the label ids of the attributes, using the vertex-centric index
+     * on ATTRIBUTE_OWNED_LABEL_ID, so that the edges of other attribute types are not read.
+     */
+    Stream<EdgeElement> attributeEdges(String ownerId, Set<Integer> attributeTypeIds) {
+        JanusGraphVertex vertex = janusVertex(ownerId);
+        if (vertex == null) return Stream.empty();
+        Iterable<JanusGraphEdge> edges = vertex.query()
+                .direction(Direction.OUT)
+                .types(edgeLabel(Schema.EdgeLabel.ATTRIBUTE))
+                .has(Schema.EdgeProperty.ATTRIBUTE_OWNED_LABEL_ID.name(), Contain.IN, attributeTypeIds)
+                .edges();
+        return stream(edges)
+                .filter(edge -> ElementUtils.isValidElement(edge))
+                .map(edge -> buildEdgeElement(edge));
+    }
+
     Stream<VertexElement> inFromSourceId(String startId, Schema.EdgeLabel edgeLabel) {
-        return traversalSourceProvider.getTinkerTraversal()
-                .V(startId)
-                .in(edgeLabel.getLabel())
-                .toStream()
-                .map(vertex -> buildVertexElement(vertex));
+        JanusGraphVertex vertex = janusVertex(startId);
+        if (vertex == null) return Stream.empty();
+        Iterable<JanusGraphVertex> vertices = vertex.query()
+                .direction(Direction.IN)
+                .types(edgeLabel(edgeLabel))
+                .vertices();
+        return stream(vertices).map(v -> buildVertexElement(v));
     }
 
     Stream<VertexElement> inFromSourceIdWithProperty(String startId, Schema.EdgeLabel edgeLabel,
                                                      Schema.EdgeProperty edgeProperty, Set<Integer> roleTypesIds) {
-        return traversalSourceProvider.getTinkerTraversal()
-                .V(startId)
-                .inE(edgeLabel.getLabel())
-                .has(edgeProperty.name(), org.apache.tinkerpop.gremlin.process.traversal.P.within(roleTypesIds))
-                .outV()
-                .toStream()
-                .map(vertex -> buildVertexElement(vertex));
+        JanusGraphVertex vertex = janusVertex(startId);
+        if (vertex == null) return Stream.empty();
+        Iterable<JanusGraphVertex> vertices = vertex.query()
+                .direction(Direction.IN)
+                .types(edgeLabel(edgeLabel))
+                .has(edgeProperty.name(), Contain.IN, roleTypesIds)
+                .vertices();
+        return stream(vertices).map(v -> buildVertexElement(v));
     }
 
     EdgeElement edgeBetweenVertices(String startVertexId, String endVertexId, Schema.EdgeLabel edgeLabel) {
-        GraphTraversal<Vertex, Edge> traversal = traversalSourceProvider.getTinkerTraversal()
-                .V(startVertexId)
-                .outE(edgeLabel.getLabel()).as("edge").otherV()
-                .hasId(endVertexId)
-                .select("edge");
-
-        if (traversal.hasNext()) {
-            return buildEdgeElement(traversal.next());
+        JanusGraphVertex startVertex = janusVertex(startVertexId);
+        JanusGraphVertex endVertex = janusVertex(endVertexId);
+        if (startVertex == null || endVertex == null) return null;
+
+        Iterator<JanusGraphEdge> edges = startVertex.query()
+                .direction(Direction.OUT)
+                .types(edgeLabel(edgeLabel))
+                .adjacent(endVertex)
+                .limit(1)
+                .edges().iterator();
+
+        if (edges.hasNext()) {
+            return buildEdgeElement(edges.next());
         } else {
             return null;
         }
     }
+
+    // ---------------------------------------- Vertex-centric queries -------------------------------------------------
+    // The primitives above are on the hot paths of every putEdge and role player lookup, so they query the edges of
+    // a vertex directly rather than compiling a Gremlin traversal and applying its strategies on every call.
+
+    @Nullable
+    private JanusGraphVertex janusVertex(String id) {
+        return janusTx.getVertex(Long.parseLong(id));
+    }
+
+    private EdgeLabel edgeLabel(Schema.EdgeLabel label) {
+        return edgeLabels.computeIfAbsent(label, l -> janusTx.getEdgeLabel(l.getLabel()));
+    }
+
+    private static <X> Stream<X> stream(Iterable<X> iterable) {
+        return StreamSupport.stream(iterable.spliterator(), false);
+    }
 }
@@ -73,10 +73,11 @@ public class ShardImpl implements Shard {
      * Links a new concept's vertex to this shard.
      *
      * @param conceptVertex The concept to link to this shard
+     * @return The isa edge linking the concept to this shard
      */
     @Override
-    public void link(VertexElement conceptVertex) {
-        conceptVertex.addEdge(vertex(), Schema.EdgeLabel.ISA);
+    public EdgeElement link(VertexElement conceptVertex) {
+        return conceptVertex.addEdge(vertex(), Schema.EdgeLabel.ISA);
     }
 
     /**
@@ -240,6 +240,11 @@ public class VertexElementImpl extends AbstractElementImpl<Vertex> implements Ve
 
     }
 
+    @Override
+    public Stream<EdgeElement> attributeEdges(Set<Integer> attributeTypeIds) {
+        return elementFactory.attributeEdges(id().toString(), attributeTypeIds);
+    }
+
     @Override
     public Stream<VertexElement> relations(Set<Integer> roleLabelIds) {
         if (roleLabelIds.size() == 0) {
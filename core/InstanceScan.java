@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.core;
+
+import com.google.common.collect.Iterators;
+import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graph.core.JanusGraphVertex;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static grakn.core.core.Schema.EdgeLabel.ISA;
+import static grakn.core.core.Schema.EdgeLabel.SHARD;
+
+/**
+ * The scan of the instances of a type through the ISA edges of its shards.
+ *
+ * Types with many instances are split into many shards (see knowledge-base.type-shard-threshold). The first shard is
+ * read on its own, page by page, so a consumer which only needs a few instances doesn't pay for more. Once it is
+ * drained, the ISA edges of the remaining shards are fetched a batch of shards at a time with a single multi-slice
+ * query, which the storage backend executes concurrently, rather than reading one shard after the other. The edges of
+ * a whole batch are held in memory, which is bounded by the number of instances a shard holds before the type is
+ * sharded again.
+ */
+public final class InstanceScan {
+
+    static final int SHARDS_PER_BATCH = 16;
+
+    private InstanceScan() {}
+
+    /**
+     * @param type vertex of a type
+     * @return the vertices of the direct instances of the type, shard by shard
+     */
+    public static Iterator<Vertex> instances(Vertex type) {
+        JanusGraphTransaction tx = ((JanusGraphVertex) type).graph();
+        Iterator<JanusGraphVertex> shards = Iterators.transform(type.vertices(Direction.IN, SHARD.getLabel()), JanusGraphVertex.class::cast);
+        if (!shards.hasNext()) return Collections.emptyIterator();
+
+        Iterator<Vertex> firstShard = shards.next().vertices(Direction.IN, ISA.getLabel());
+        // the remaining shards are only looked at once the first one is drained
+        Iterator<Vertex> remainingShards = Iterators.concat(Iterators.transform(Iterators.partition(shards, SHARDS_PER_BATCH), batch -> instances(tx, batch)));
+        return Iterators.concat(firstShard, remainingShards);
+    }
+
+    private static Iterator<Vertex> instances(JanusGraphTransaction tx, List<JanusGraphVertex> shards) {
+        if (shards.size() == 1) return shards.get(0).vertices(Direction.IN, ISA.getLabel());
+
+        Map<JanusGraphVertex, Iterable<JanusGraphVertex>> instances = tx.multiQuery(shards.toArray(new JanusGraphVertex[0]))
+                .direction(Direction.IN)
+                .labels(ISA.getLabel())
+                .vertices();
+        return Iterators.concat(shards.stream().map(shard -> instances.get(shard).iterator()).iterator());
+    }
+}
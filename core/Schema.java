@@ -18,6 +18,7 @@
 
 package grakn.core.core;
 
+import com.google.common.hash.Hashing;
 import grakn.core.kb.concept.api.Attribute;
 import grakn.core.kb.concept.api.AttributeType;
 import grakn.core.kb.concept.api.Concept;
@@ -40,6 +41,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static grakn.common.util.Collections.map;
@@ -204,6 +206,17 @@ public final class Schema {
         // Misc. properties
         CURRENT_LABEL_ID(Integer.class), RULE_WHEN(String.class), RULE_THEN(String.class), CURRENT_SHARD(String.class),
 
+        // Marks a thing committed by a BATCH transaction which is yet to be validated by sealing the batch, and a thing
+        // found invalid when sealing it. Their value is a bucket of the thing, so that their index is spread over partitions
+        UNVALIDATED(Integer.class), INVALID(Integer.class),
+
+        // Marks a keyspace whose attributes are all stored in the vertex with the id derived from their type and value,
+        // unless taken by another attribute, set on the meta attribute type
+        ATTRIBUTE_IDS_DERIVED(Boolean.class),
+
+        // Marks a keyspace whose range indexed attributes all carry EdgeProperty#SORTED_VALUE, set on the meta attribute type
+        SORTED_VALUES_INDEXED(Boolean.class),
+
         //Supported Value Types
         VALUE_STRING(String.class), VALUE_LONG(Long.class),
         VALUE_DOUBLE(Double.class), VALUE_BOOLEAN(Boolean.class),
@@ -249,7 +262,9 @@ public final class Schema {
         IS_INFERRED(Boolean.class),
         // forwards compatibility
         ATTRIBUTE_OWNED_LABEL_ID(Integer.class),
-        ATTRIBUTE_OWNER_LABEL_ID(Integer.class);
+        ATTRIBUTE_OWNER_LABEL_ID(Integer.class),
+        // value of a range indexed attribute, stored on its isa edge
+        SORTED_VALUE(Double.class);
 
         private final Class valueType;
 
@@ -263,6 +278,31 @@ public final class Schema {
         }
     }
 
+    /**
+     * Attributes of these value types have their values copied onto their isa edges as EdgeProperty#SORTED_VALUE,
+     * where they are sorted by a vertex-centric index of the type shard. This allows range comparisons to be answered
+     * with slice queries instead of filtering all instances of the type.
+     *
+     * @param valueType The value type of an AttributeType
+     * @return true if the attributes of the value type are range indexed
+     */
+    @CheckReturnValue
+    public static boolean isRangeIndexed(AttributeType.ValueType<?> valueType) {
+        return valueType.equals(AttributeType.ValueType.LONG) ||
+                valueType.equals(AttributeType.ValueType.DOUBLE) ||
+                valueType.equals(AttributeType.ValueType.DATETIME);
+    }
+
+    /**
+     * @param persistedValue The persisted value of a range indexed Attribute (dates are persisted as epoch millis)
+     * @return The value the Attribute is sorted by in the range index. The conversion to double may round the value,
+     * but it preserves the order, hence range lookups need to be inclusive of their bounds.
+     */
+    @CheckReturnValue
+    public static double sortedValue(Object persistedValue) {
+        return ((Number) persistedValue).doubleValue();
+    }
+
     /**
      * @param label The AttributeType label
      * @param value The value of the Attribute
@@ -273,4 +313,17 @@ public final class Schema {
         //TODO trim it down in the future
         return Schema.BaseType.ATTRIBUTE.name() + "-" + label + "-" + value;
     }
+
+    /**
+     * @param typeId The AttributeType label id
+     * @param value  The value of the Attribute
+     * @return A hash of the Attribute, from which the id of its vertex is derived
+     */
+    @CheckReturnValue
+    public static long generateAttributeHash(LabelId typeId, String value) {
+        return Hashing.murmur3_128().newHasher()
+                .putInt(typeId.getValue())
+                .putString(value, StandardCharsets.UTF_8)
+                .hash().asLong();
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.core;
+
+import grakn.core.graph.core.JanusGraphIndexQuery;
+import grakn.core.graph.core.schema.Parameter;
+import grakn.core.graph.core.schema.SchemaStatus;
+import grakn.core.graph.diskstorage.inverted.InvertedIndex;
+import grakn.core.graph.graphdb.database.management.ManagementSystem;
+import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
+import grakn.core.graph.graphdb.types.IndexType;
+import grakn.core.graph.graphdb.types.MixedIndexType;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static grakn.core.core.Schema.VertexProperty.VALUE_STRING;
+
+/**
+ * The inverted text index of the string attribute values, used to find the attributes with values containing
+ * a substring without reading the values of all attributes of a type.
+ *
+ * The index is a mixed index of the VALUE_STRING property backed by an InvertedIndex, which keeps the n-grams of
+ * the values in its own tables of the storage backend. It is only updated on commit, hence it can't be used
+ * by transactions with uncommitted modifications.
+ *
+ * The index is only kept when the knowledge-base.text-index option is turned on, text queries scan the attributes
+ * of their types otherwise.
+ */
+public final class TextIndex {
+
+    public static final String BACKING_INDEX = "text";
+    public static final String BACKEND = "inverted";
+    public static final String NAME = "by" + VALUE_STRING.name() + "Text";
+
+    private TextIndex() {}
+
+    /**
+     * @return true if the index can look up values containing the substring, i.e. the substring is not too short
+     */
+    public static boolean supports(String substring) {
+        return substring.length() >= InvertedIndex.GRAM_LENGTH;
+    }
+
+    /**
+     * @param vertex    any vertex of the transaction to query
+     * @param substring substring supported by the index
+     * @return candidate vertices with values containing the substring ignoring case, which need to be checked against
+     * the exact predicate, or null if the index can't be used by the transaction of the vertex
+     */
+    @Nullable
+    public static Stream<Vertex> candidates(Vertex vertex, String substring) {
+        StandardJanusGraphTx tx = (StandardJanusGraphTx) vertex.graph();
+        if (tx.hasModifications() || !enabled(tx)) return null;
+
+        return tx.indexQuery(NAME, "v.\"" + VALUE_STRING.name() + "\"")
+                .addParameter(Parameter.of(InvertedIndex.CONTAINS_PARAMETER, substring))
+                .vertexStream()
+                .map(JanusGraphIndexQuery.Result::getElement);
+    }
+
+    /**
+     * @return true if the index exists and is fully populated, i.e. it is neither being backfilled nor disabled
+     */
+    public static boolean enabled(StandardJanusGraphTx tx) {
+        IndexType index = ManagementSystem.getGraphIndexDirect(NAME, tx);
+        if (index == null || !index.isMixedIndex()) return false;
+        return Arrays.stream(((MixedIndexType) index).getFieldKeys())
+                .allMatch(field -> field.getStatus() == SchemaStatus.ENABLED);
+    }
+}
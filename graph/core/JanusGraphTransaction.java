@@ -99,7 +99,7 @@ public interface JanusGraphTransaction extends Graph, SchemaManager {
     /**
      * Creates a new vertex in the graph with the given vertex id and the given vertex label.
      * Note, that an exception is thrown if the vertex id is not a valid JanusGraph vertex id or if a vertex with the given
-     * id already exists.
+     * id already exists, unless it is the id of an attribute vertex, which concurrent transactions may all create.
      * <p>
      * A valid JanusGraph vertex ids must be provided. Use IDManager#toVertexId(long)
      * to construct a valid JanusGraph vertex id from a user id, where <code>idManager</code> can be obtained through
@@ -132,6 +132,18 @@ public interface JanusGraphManagement extends SchemaManager {
 
     void addIndexKey(JanusGraphIndex index, PropertyKey key, Parameter... parameters);
 
+    /**
+     * Moves the graph index to the provided status. For mixed indexes, the status of all its keys is updated.
+     * The new status is visible to the transactions started after this management system commits.
+     */
+    void updateIndexStatus(JanusGraphIndex index, SchemaStatus status);
+
+    /**
+     * Moves the vertex-centric index to the provided status.
+     * The new status is visible to the transactions started after this management system commits.
+     */
+    void updateIndexStatus(RelationTypeIndex index, SchemaStatus status);
+
     /**
      * Builder for JanusGraphIndex. Allows for the configuration of a graph index prior to its construction.
      */
@@ -35,6 +35,7 @@ import grakn.core.graph.diskstorage.keycolumnvalue.cache.CacheTransaction;
 import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSCache;
 import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSExpirationCache;
 import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSNoCache;
+import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSOffHeapCache;
 import grakn.core.graph.diskstorage.log.Log;
 import grakn.core.graph.diskstorage.log.LogManager;
 import grakn.core.graph.diskstorage.log.kcvs.KCVSLog;
@@ -57,6 +58,7 @@ import java.util.concurrent.Executors;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.BUFFER_SIZE;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE_CLEAN_WAIT;
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE_OFF_HEAP;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE_SIZE;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.DB_CACHE_TIME;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.INDEX_BACKEND;
@@ -103,6 +105,7 @@ public class Backend {
     private final KCVSCache indexStore;
     private final KCVSCache txLogStore;
     private final KCVSConfiguration systemConfig;
+    private final KCVSConfiguration indexBackfillCheckpoints;
     private final KCVSLogManager txLogManager;
     private final LogManager userLogManager;
     private final Map<String, IndexProvider> indexes;
@@ -147,8 +150,13 @@ public class Backend {
                 long edgeStoreCacheSize = Math.round(cacheSizeBytes * EDGESTORE_CACHE_PERCENT);
                 long indexStoreCacheSize = Math.round(cacheSizeBytes * INDEXSTORE_CACHE_PERCENT);
 
-                edgeStore = new KCVSExpirationCache(edgeStoreRaw, expirationTime, cleanWaitTime, edgeStoreCacheSize);
-                indexStore = new KCVSExpirationCache(indexStoreRaw, expirationTime, cleanWaitTime, indexStoreCacheSize);
+                if (configuration.get(DB_CACHE_OFF_HEAP)) {
+                    edgeStore = new KCVSOffHeapCache(edgeStoreRaw, expirationTime, cleanWaitTime, edgeStoreCacheSize);
+                    indexStore = new KCVSOffHeapCache(indexStoreRaw, expirationTime, cleanWaitTime, indexStoreCacheSize);
+                } else {
+                    edgeStore = new KCVSExpirationCache(edgeStoreRaw, expirationTime, cleanWaitTime, edgeStoreCacheSize);
+                    indexStore = new KCVSExpirationCache(indexStoreRaw, expirationTime, cleanWaitTime, indexStoreCacheSize);
+                }
             } else {
                 edgeStore = new KCVSNoCache(edgeStoreRaw);
                 indexStore = new KCVSNoCache(indexStoreRaw);
@@ -161,6 +169,7 @@ public class Backend {
             StandardBaseTransactionConfig txConfig = StandardBaseTransactionConfig.of(configuration.get(TIMESTAMP_PROVIDER), storeFeatures.getKeyConsistentTxConfig());
             BackendOperation.TransactionalProvider txProvider = BackendOperation.buildTxProvider(storeManager, txConfig);
             systemConfig = new KCVSConfigurationBuilder().buildGlobalConfiguration(txProvider, systemConfigStore, configuration);
+            indexBackfillCheckpoints = new KCVSConfigurationBuilder().buildIndexBackfillCheckpoints(txProvider, systemConfigStore, configuration);
 
         } catch (BackendException e) {
             throw new JanusGraphException("Could not initialize backend", e);
@@ -220,6 +229,14 @@ public class Backend {
         return systemConfig;
     }
 
+    /**
+     * The checkpoints of the index backfill jobs, which share the store of the global configuration
+     * and are closed along with it.
+     */
+    public KCVSConfiguration getIndexBackfillCheckpoints() {
+        return indexBackfillCheckpoints;
+    }
+
     private Map<String, IndexProvider> getIndexes(Configuration config) {
         ImmutableMap.Builder<String, IndexProvider> builder = ImmutableMap.builder();
         for (String index : config.getContainedNamespaces(INDEX_NS)) {
@@ -239,8 +256,14 @@ public class Backend {
 
         try {
             Class clazz = Class.forName(className);
-            Constructor constructor = clazz.getConstructor(Configuration.class);
-            return (IndexProvider) constructor.newInstance(new Object[]{config});
+            try {
+                // index providers keeping their data in the primary storage backend are given its store manager
+                Constructor constructor = clazz.getConstructor(Configuration.class, KeyColumnValueStoreManager.class);
+                return (IndexProvider) constructor.newInstance(config, storeManager);
+            } catch (NoSuchMethodException e) {
+                Constructor constructor = clazz.getConstructor(Configuration.class);
+                return (IndexProvider) constructor.newInstance(new Object[]{config});
+            }
         } catch (ClassNotFoundException e) {
             throw new IllegalArgumentException("Could not find IndexProvider class: " + className, e);
         } catch (NoSuchMethodException e) {
@@ -314,13 +337,13 @@ public class Backend {
             edgeStore.close();
             indexStore.close();
             systemConfig.close();
-            storeManager.clearStorage();
-            storeManager.close();
-            //Indexes
+            //Indexes, cleared first as they may be held in the storage backend
             for (IndexProvider index : indexes.values()) {
                 index.clearStorage();
                 index.close();
             }
+            storeManager.clearStorage();
+            storeManager.close();
         } else {
             LOG.warn("Backend {} has already been closed or cleared", this);
         }
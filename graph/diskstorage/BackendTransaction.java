@@ -17,8 +17,10 @@
 
 package grakn.core.graph.diskstorage;
 
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.google.common.base.Preconditions;
 import grakn.core.graph.core.JanusGraphException;
+import grakn.core.graph.diskstorage.cql.CQLKeyColumnValueStore;
 import grakn.core.graph.diskstorage.indexing.IndexQuery;
 import grakn.core.graph.diskstorage.indexing.IndexTransaction;
 import grakn.core.graph.diskstorage.indexing.RawQuery;
@@ -40,12 +42,14 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -308,6 +312,48 @@ public class BackendTransaction implements LoggableTransaction {
         });
     }
 
+    /**
+     * Splits the scan of all edge store keys into partitions which can be scanned independently, in parallel.
+     * On CQL the partitions are token ranges of the cluster, named by their tokens, otherwise the whole
+     * edge store is scanned as a single partition.
+     *
+     * @return the partitions by their names, each supplying the iterator scanning the partition
+     */
+    public Map<String, Supplier<KeyIterator>> edgeStoreKeyPartitions(SliceQuery sliceQuery, int minPartitions) {
+        Map<String, Supplier<KeyIterator>> partitions = new LinkedHashMap<>();
+        if (!(edgeStore.getWrappedStore() instanceof CQLKeyColumnValueStore)) {
+            partitions.put("all", () -> edgeStoreKeys(sliceQuery));
+            return partitions;
+        }
+
+        CQLKeyColumnValueStore cqlStore = (CQLKeyColumnValueStore) edgeStore.getWrappedStore();
+        List<TokenRange> ranges = executeRead(new Callable<List<TokenRange>>() {
+            @Override
+            public List<TokenRange> call() throws Exception {
+                return cqlStore.getTokenRanges(minPartitions);
+            }
+
+            @Override
+            public String toString() {
+                return "EdgeStoreTokenRanges";
+            }
+        });
+        for (TokenRange range : ranges) {
+            partitions.put(cqlStore.formatTokenRange(range), () -> executeRead(new Callable<KeyIterator>() {
+                @Override
+                public KeyIterator call() throws Exception {
+                    return cqlStore.getKeys(range, sliceQuery, storeTx.getWrappedTransaction());
+                }
+
+                @Override
+                public String toString() {
+                    return "EdgeStoreKeys";
+                }
+            }));
+        }
+        return partitions;
+    }
+
     public KeyIterator edgeStoreKeys(KeyRangeQuery range) {
         Preconditions.checkArgument(storeFeatures.hasOrderedScan(), "The configured storage backend does not support ordered scans");
 
@@ -32,7 +32,8 @@ import java.util.Map;
 public enum StandardIndexProvider {
     LUCENE("grakn.core.graph.diskstorage.lucene.LuceneIndex", "lucene"),
     ELASTICSEARCH("grakn.core.graph.diskstorage.es.ElasticSearchIndex", ImmutableList.of("elasticsearch", "es")),
-    SOLR("grakn.core.graph.diskstorage.solr.SolrIndex", "solr");
+    SOLR("grakn.core.graph.diskstorage.solr.SolrIndex", "solr"),
+    INVERTED("grakn.core.graph.diskstorage.inverted.InvertedIndex", "inverted");
 
     private final String providerName;
     private final ImmutableList<String> shorthands;
@@ -26,6 +26,7 @@ import grakn.core.graph.diskstorage.util.time.TimestampProviders;
 
 import java.time.Duration;
 
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.INDEX_BACKFILL_IDENTIFIER;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.SETUP_WAITTIME;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.SYSTEM_CONFIGURATION_IDENTIFIER;
 import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.TIMESTAMP_PROVIDER;
@@ -46,4 +47,12 @@ public class KCVSConfigurationBuilder {
         Preconditions.checkArgument(Duration.ZERO.compareTo(setUpWaitingTime) < 0, "Wait time must be nonnegative: %s", setUpWaitingTime);
         return new KCVSConfiguration(txProvider, timestampProvider, setUpWaitingTime, store, SYSTEM_CONFIGURATION_IDENTIFIER);
     }
+
+    /**
+     * Build KCVSConfiguration holding the progress of the index backfill jobs, in its own row so that
+     * the checkpoints are never read as Global Configuration
+     */
+    public KCVSConfiguration buildIndexBackfillCheckpoints(BackendOperation.TransactionalProvider txProvider, KeyColumnValueStore store, Configuration config) {
+        return new KCVSConfiguration(txProvider, config.get(TIMESTAMP_PROVIDER), config.get(SETUP_WAITTIME), store, INDEX_BACKFILL_IDENTIFIER);
+    }
 }
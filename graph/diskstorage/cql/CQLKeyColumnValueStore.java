@@ -18,20 +18,23 @@
 package grakn.core.graph.diskstorage.cql;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BatchableStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.servererrors.QueryValidationException;
 import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.api.querybuilder.SchemaBuilder;
 import com.datastax.oss.driver.api.querybuilder.relation.Relation;
 import com.datastax.oss.driver.api.querybuilder.schema.CreateTableWithOptions;
 import com.datastax.oss.driver.api.querybuilder.schema.compaction.CompactionStrategy;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Lists;
 import grakn.core.graph.diskstorage.BackendException;
 import grakn.core.graph.diskstorage.Entry;
 import grakn.core.graph.diskstorage.EntryList;
@@ -47,10 +50,10 @@ import grakn.core.graph.diskstorage.keycolumnvalue.KeyRangeQuery;
 import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
 import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
 import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.PagedEntryList;
 import grakn.core.graph.diskstorage.util.StaticArrayBuffer;
 import grakn.core.graph.diskstorage.util.StaticArrayEntry;
 import grakn.core.graph.diskstorage.util.StaticArrayEntryList;
-import io.vavr.Lazy;
 import io.vavr.Tuple;
 import io.vavr.Tuple3;
 import io.vavr.collection.Array;
@@ -59,9 +62,15 @@ import io.vavr.control.Try;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.bindMarker;
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.deleteFrom;
@@ -123,6 +132,8 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
     private final PreparedStatement getSlice;
     private final PreparedStatement getKeysAll;
     private final PreparedStatement getKeysRanged;
+    private final PreparedStatement getKeysTokenRange;
+    private final PreparedStatement getKeysFromToken;
     private final PreparedStatement deleteColumn;
     private final PreparedStatement insertColumn;
     private final PreparedStatement insertColumnWithTTL;
@@ -183,6 +194,33 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
                 .whereColumn(COLUMN_COLUMN_NAME).isLessThanOrEqualTo(bindMarker(SLICE_END_BINDING))
                 .build());
 
+        this.getKeysTokenRange = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
+                .column(KEY_COLUMN_NAME)
+                .column(COLUMN_COLUMN_NAME)
+                .column(VALUE_COLUMN_NAME)
+                .function(WRITETIME_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(WRITETIME_COLUMN_NAME)
+                .function(TTL_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(TTL_COLUMN_NAME)
+                .allowFiltering()
+                .where(
+                        Relation.token(KEY_COLUMN_NAME).isGreaterThan(bindMarker(KEY_START_BINDING)),
+                        Relation.token(KEY_COLUMN_NAME).isLessThanOrEqualTo(bindMarker(KEY_END_BINDING))
+                )
+                .whereColumn(COLUMN_COLUMN_NAME).isGreaterThanOrEqualTo(bindMarker(SLICE_START_BINDING))
+                .whereColumn(COLUMN_COLUMN_NAME).isLessThan(bindMarker(SLICE_END_BINDING))
+                .build());
+
+        this.getKeysFromToken = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
+                .column(KEY_COLUMN_NAME)
+                .column(COLUMN_COLUMN_NAME)
+                .column(VALUE_COLUMN_NAME)
+                .function(WRITETIME_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(WRITETIME_COLUMN_NAME)
+                .function(TTL_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(TTL_COLUMN_NAME)
+                .allowFiltering()
+                .where(Relation.token(KEY_COLUMN_NAME).isGreaterThan(bindMarker(KEY_START_BINDING)))
+                .whereColumn(COLUMN_COLUMN_NAME).isGreaterThanOrEqualTo(bindMarker(SLICE_START_BINDING))
+                .whereColumn(COLUMN_COLUMN_NAME).isLessThan(bindMarker(SLICE_END_BINDING))
+                .build());
+
         this.getKeysAll = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
                 .column(KEY_COLUMN_NAME)
                 .column(COLUMN_COLUMN_NAME)
@@ -300,25 +338,94 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
                 .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
                 .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
                 .setInt(LIMIT_BINDING, query.getLimit())
+                .setPageSize(this.pageSize)
                 .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel()));
 
         return fromResultSet(result, this.getter);
     }
 
+    /**
+     * Issues the slice queries of all keys asynchronously and waits for all of them to complete.
+     * The number of in-flight requests is bounded by the store manager, which blocks issuing further
+     * queries until earlier ones complete, so no thread is held per key.
+     */
     @Override
     public Map<StaticBuffer, EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) throws BackendException {
-        throw new UnsupportedOperationException("The CQL backend does not support multi-key queries");
+        Map<StaticBuffer, CompletableFuture<EntryList>> futures = new HashMap<>(keys.size());
+        for (StaticBuffer key : keys) {
+            CompletionStage<AsyncResultSet> resultSet = this.storeManager.executeAsyncOnSession(this.getSlice.bind()
+                    .setByteBuffer(KEY_BINDING, key.asByteBuffer())
+                    .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
+                    .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
+                    .setInt(LIMIT_BINDING, query.getLimit())
+                    .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel()));
+            futures.put(key, resultSet
+                    .thenCompose(result -> allRows(result, new ArrayList<>()))
+                    .thenApply(rows -> fromRows(() -> rows, this.getter))
+                    .toCompletableFuture());
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[]{})).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EXCEPTION_MAPPER.apply(e);
+        } catch (ExecutionException e) {
+            throw EXCEPTION_MAPPER.apply(rootCause(e));
+        }
+
+        Map<StaticBuffer, EntryList> result = new HashMap<>(keys.size());
+        futures.forEach((key, future) -> result.put(key, future.join()));
+        return result;
+    }
+
+    /**
+     * The failures of the slice queries reach us wrapped by the futures they went through,
+     * the exception thrown by the driver is the one telling whether the failure is permanent.
+     */
+    private static Throwable rootCause(ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause != null ? cause : e;
+    }
+
+    private static CompletionStage<List<Row>> allRows(AsyncResultSet resultSet, List<Row> rows) {
+        resultSet.currentPage().forEach(rows::add);
+        if (!resultSet.hasMorePages()) return CompletableFuture.completedFuture(rows);
+        return resultSet.fetchNextPage().thenCompose(nextPage -> allRows(nextPage, rows));
     }
 
-    private static EntryList fromResultSet(ResultSet resultSet, StaticArrayEntry.GetColVal<Tuple3<StaticBuffer, StaticBuffer, Row>, StaticBuffer> getter) {
-        Lazy<ArrayList<Row>> lazyList = Lazy.of(() -> Lists.newArrayList(resultSet));
+    /**
+     * Wraps the rows of the result set page by page, so that the following pages are only fetched
+     * from Cassandra once the entries of the previous ones have been consumed.
+     */
+    @VisibleForTesting
+    static EntryList fromResultSet(ResultSet resultSet, StaticArrayEntry.GetColVal<Tuple3<StaticBuffer, StaticBuffer, Row>, StaticBuffer> getter) {
+        java.util.Iterator<Row> rows = resultSet.iterator();
+        return new PagedEntryList(new AbstractIterator<EntryList>() {
+            @Override
+            protected EntryList computeNext() {
+                // fetches the next page synchronously once the rows of the current one are exhausted
+                if (!rows.hasNext()) return endOfData();
+                int available = resultSet.getAvailableWithoutFetching();
+                List<Row> page = new ArrayList<>(available);
+                for (int i = 0; i < available; i++) {
+                    page.add(rows.next());
+                }
+                return fromRows(() -> page, getter);
+            }
+        });
+    }
 
+    private static EntryList fromRows(Supplier<? extends List<Row>> rows, StaticArrayEntry.GetColVal<Tuple3<StaticBuffer, StaticBuffer, Row>, StaticBuffer> getter) {
         // Use the Iterable overload of of ByteBuffer as it's able to allocate
         // the byte array up front.
         // To ensure that the Iterator instance is recreated, it is created
         // within the closure otherwise
         // the same iterator would be reused and would be exhausted.
-        return StaticArrayEntryList.ofStaticBuffer(() -> Iterator.ofAll(lazyList.get()).map(row -> Tuple.of(
+        return StaticArrayEntryList.ofStaticBuffer(() -> Iterator.ofAll(rows.get()).map(row -> Tuple.of(
                 StaticArrayBuffer.of(row.getByteBuffer(COLUMN_COLUMN_NAME)),
                 StaticArrayBuffer.of(row.getByteBuffer(VALUE_COLUMN_NAME)),
                 row)),
@@ -396,4 +503,52 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
                         .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel()))))
                 .getOrElseThrow(EXCEPTION_MAPPER);
     }
+
+    /**
+     * Splits the token ring of the cluster into at least the requested number of non-wrapping token ranges,
+     * which can be scanned independently of each other.
+     */
+    public List<TokenRange> getTokenRanges(int minRanges) throws BackendException {
+        TokenMap tokenMap = this.session.getMetadata().getTokenMap()
+                .orElseThrow(() -> new PermanentBackendException("The token map of the cluster is not available"));
+        List<TokenRange> ranges = new ArrayList<>();
+        int splits = Math.max(1, (int) Math.ceil((double) minRanges / tokenMap.getTokenRanges().size()));
+        for (TokenRange range : tokenMap.getTokenRanges()) {
+            for (TokenRange split : range.splitEvenly(splits)) {
+                ranges.addAll(split.unwrap());
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * @return a stable name of the token range, which identifies it as long as the token ring does not change
+     */
+    public String formatTokenRange(TokenRange range) {
+        TokenMap tokenMap = this.session.getMetadata().getTokenMap().get();
+        return tokenMap.format(range.getStart()) + ":" + tokenMap.format(range.getEnd());
+    }
+
+    /**
+     * Returns the keys with tokens within the provided (non-wrapping) token range, along with their columns
+     * matching the slice query. A range which ends at or before its start ends at the end of the ring.
+     */
+    public KeyIterator getKeys(TokenRange range, SliceQuery query, StoreTransaction txh) throws BackendException {
+        boolean toEndOfRing = range.getEnd().compareTo(range.getStart()) <= 0;
+        BoundStatement statement = toEndOfRing
+                ? this.getKeysFromToken.bind().setToken(KEY_START_BINDING, range.getStart())
+                : this.getKeysTokenRange.bind()
+                        .setToken(KEY_START_BINDING, range.getStart())
+                        .setToken(KEY_END_BINDING, range.getEnd());
+
+        return Try.of(() -> new CQLResultSetKeyIterator(
+                query,
+                this.getter,
+                this.storeManager.executeOnSession(statement
+                        .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
+                        .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
+                        .setPageSize(this.pageSize)
+                        .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel()))))
+                .getOrElseThrow(EXCEPTION_MAPPER);
+    }
 }
@@ -0,0 +1,512 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.diskstorage.inverted;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import grakn.core.graph.core.Cardinality;
+import grakn.core.graph.core.attribute.Cmp;
+import grakn.core.graph.core.attribute.Text;
+import grakn.core.graph.core.schema.Mapping;
+import grakn.core.graph.core.schema.Parameter;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.BaseTransaction;
+import grakn.core.graph.diskstorage.BaseTransactionConfig;
+import grakn.core.graph.diskstorage.BaseTransactionConfigurable;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.PermanentBackendException;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.configuration.Configuration;
+import grakn.core.graph.diskstorage.indexing.IndexEntry;
+import grakn.core.graph.diskstorage.indexing.IndexFeatures;
+import grakn.core.graph.diskstorage.indexing.IndexMutation;
+import grakn.core.graph.diskstorage.indexing.IndexProvider;
+import grakn.core.graph.diskstorage.indexing.IndexQuery;
+import grakn.core.graph.diskstorage.indexing.KeyInformation;
+import grakn.core.graph.diskstorage.indexing.RawQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.KCVMutation;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStoreManager;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyIterator;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.graph.diskstorage.util.RecordIterator;
+import grakn.core.graph.diskstorage.util.StandardBaseTransactionConfig;
+import grakn.core.graph.diskstorage.util.StaticArrayBuffer;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.time.TimestampProvider;
+import grakn.core.graph.graphdb.query.JanusGraphPredicate;
+import grakn.core.graph.graphdb.query.condition.Condition;
+import grakn.core.graph.graphdb.query.condition.PredicateCondition;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.TIMESTAMP_PROVIDER;
+
+/**
+ * IndexProvider keeping an n-gram inverted index of string values in KeyColumnValueStores of the primary storage backend,
+ * hence no external search engine (Elasticsearch, Solr, Lucene directory) is needed.
+ * <p>
+ * Each value is case folded and split into all its substrings of #GRAM_LENGTH characters. The postings table maps each
+ * (index store, field, gram) to the ids of the documents with a value containing the gram, and the documents table maps
+ * each (index store, document) to its indexed values, so that the postings of a document can be removed without the
+ * mutation carrying its old values.
+ * <p>
+ * Raw queries look up substrings: the query string is the field and the substring to look up is passed as the
+ * #CONTAINS_PARAMETER parameter. The result contains all documents with a value containing all grams of the substring,
+ * which is a superset of the documents with a value containing the substring (ignoring case). The callers are therefore
+ * expected to evaluate the exact predicate on the results.
+ * <p>
+ * Graph-centric queries support equality and prefix predicates, and are answered exactly: the candidate documents are
+ * looked up by the grams of the values the fields are compared to, and their values are then evaluated against the
+ * condition of the query. Conditions that don't constrain any field to a value of at least #GRAM_LENGTH characters
+ * are evaluated against all documents of the index store, read with a scan of the documents table.
+ */
+public class InvertedIndex implements IndexProvider {
+
+    public static final int GRAM_LENGTH = 3;
+    public static final String CONTAINS_PARAMETER = "contains";
+
+    private static final String POSTINGS_STORE = "inverted_postings";
+    private static final String DOCUMENTS_STORE = "inverted_documents";
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final SliceQuery ALL_COLUMNS = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(128));
+    private static final StaticBuffer NO_VALUE = StaticArrayBuffer.of(new byte[0]);
+    // number of rows whose cells are deleted per mutation when clearing the index
+    private static final int CLEAR_BATCH_SIZE = 1000;
+    private static final Set<JanusGraphPredicate> PREDICATES = ImmutableSet.of(Cmp.EQUAL, Text.PREFIX);
+
+    private static final IndexFeatures FEATURES = new IndexFeatures.Builder()
+            .setDefaultStringMapping(Mapping.TEXT)
+            .supportedStringMappings(Mapping.TEXT, Mapping.STRING)
+            .supportsCardinality(Cardinality.SINGLE)
+            .build();
+
+    private final KeyColumnValueStoreManager storeManager;
+    private final TimestampProvider times;
+    private final KeyColumnValueStore postings;
+    private final KeyColumnValueStore documents;
+
+    public InvertedIndex(Configuration config, KeyColumnValueStoreManager storeManager) throws BackendException {
+        this.storeManager = storeManager;
+        this.times = config.get(TIMESTAMP_PROVIDER);
+        this.postings = storeManager.openDatabase(POSTINGS_STORE);
+        this.documents = storeManager.openDatabase(DOCUMENTS_STORE);
+    }
+
+    /**
+     * @return the substrings of #GRAM_LENGTH characters of the case folded value, empty if the value is shorter
+     */
+    public static Set<String> grams(String value) {
+        String folded = fold(value);
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= folded.length(); i++) {
+            grams.add(folded.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Folds the case of every character the way String#regionMatches(boolean, int, String, int, int) does when ignoring
+     * case, so that a value contains a substring ignoring case only if the folded value contains the folded substring.
+     */
+    private static String fold(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public void register(String store, String key, KeyInformation information, BaseTransaction tx) {
+        Preconditions.checkArgument(supports(information), "Key [%s] of type [%s] cannot be indexed in an inverted index",
+                key, information.getDataType());
+    }
+
+    @Override
+    public void mutate(Map<String, Map<String, IndexMutation>> mutations, KeyInformation.IndexRetriever information, BaseTransaction tx) throws BackendException {
+        StoreTransaction storeTx = (StoreTransaction) tx;
+        MutationBatch batch = new MutationBatch();
+        for (Map.Entry<String, Map<String, IndexMutation>> storeMutations : mutations.entrySet()) {
+            String store = storeMutations.getKey();
+            for (Map.Entry<String, IndexMutation> documentMutation : storeMutations.getValue().entrySet()) {
+                String documentId = documentMutation.getKey();
+                IndexMutation mutation = documentMutation.getValue();
+
+                Map<String, String> oldValues = mutation.isNew() ? new HashMap<>() : readDocument(store, documentId, storeTx);
+                Map<String, String> newValues = new HashMap<>();
+                if (!mutation.isDeleted()) {
+                    newValues.putAll(oldValues);
+                    mutation.getDeletions().forEach(deletion -> newValues.remove(deletion.field));
+                    mutation.getAdditions().forEach(addition -> newValues.put(addition.field, addition.value.toString()));
+                }
+                update(store, documentId, oldValues, newValues, batch);
+            }
+        }
+        batch.persist(storeTx);
+    }
+
+    @Override
+    public void restore(Map<String, Map<String, List<IndexEntry>>> documents, KeyInformation.IndexRetriever information, BaseTransaction tx) throws BackendException {
+        StoreTransaction storeTx = (StoreTransaction) tx;
+        MutationBatch batch = new MutationBatch();
+        for (Map.Entry<String, Map<String, List<IndexEntry>>> storeDocuments : documents.entrySet()) {
+            String store = storeDocuments.getKey();
+            for (Map.Entry<String, List<IndexEntry>> document : storeDocuments.getValue().entrySet()) {
+                Map<String, String> newValues = new HashMap<>();
+                document.getValue().forEach(entry -> newValues.put(entry.field, entry.value.toString()));
+                update(store, document.getKey(), readDocument(store, document.getKey(), storeTx), newValues, batch);
+            }
+        }
+        batch.persist(storeTx);
+    }
+
+    /**
+     * Adds the mutations replacing the old values of a document with the new ones to the batch. Only the postings
+     * that differ are touched, as a deletion and an addition of the same cell within a batch would conflict.
+     */
+    private void update(String store, String documentId, Map<String, String> oldValues, Map<String, String> newValues, MutationBatch batch) {
+        StaticBuffer documentKey = key(store, documentId);
+        StaticBuffer documentColumn = buffer(documentId);
+
+        Set<String> fields = new HashSet<>(oldValues.keySet());
+        fields.addAll(newValues.keySet());
+        for (String field : fields) {
+            String oldValue = oldValues.get(field);
+            String newValue = newValues.get(field);
+            if (newValue != null && newValue.equals(oldValue)) continue;
+
+            Set<String> oldGrams = oldValue != null ? grams(oldValue) : new HashSet<>();
+            Set<String> newGrams = newValue != null ? grams(newValue) : new HashSet<>();
+            for (String gram : oldGrams) {
+                if (!newGrams.contains(gram)) batch.delete(postings, key(store, field, gram), documentColumn);
+            }
+            for (String gram : newGrams) {
+                if (!oldGrams.contains(gram)) batch.add(postings, key(store, field, gram), StaticArrayEntry.of(documentColumn, NO_VALUE));
+            }
+
+            if (newValue != null) {
+                batch.add(documents, documentKey, StaticArrayEntry.of(buffer(field), buffer(newValue)));
+            } else {
+                batch.delete(documents, documentKey, buffer(field));
+            }
+        }
+    }
+
+    private Map<String, String> readDocument(String store, String documentId, StoreTransaction tx) throws BackendException {
+        Map<String, String> values = new HashMap<>();
+        for (Entry entry : documents.getSlice(new KeySliceQuery(key(store, documentId), ALL_COLUMNS), tx)) {
+            values.put(string(entry.getColumnAs(StaticBuffer.STATIC_FACTORY)), string(entry.getValueAs(StaticBuffer.STATIC_FACTORY)));
+        }
+        return values;
+    }
+
+    /**
+     * @return ids of the documents with values satisfying the condition of the query
+     */
+    @Override
+    public Stream<String> query(IndexQuery query, KeyInformation.IndexRetriever information, BaseTransaction tx) throws BackendException {
+        Preconditions.checkArgument(query.getOrder().isEmpty(), "The inverted index does not order the results of queries");
+        StoreTransaction storeTx = (StoreTransaction) tx;
+        Condition<?> condition = query.getCondition();
+        Set<String> candidates = candidates(query.getStore(), condition, storeTx);
+
+        List<String> documentIds = new ArrayList<>();
+        if (candidates != null) {
+            for (String documentId : candidates) {
+                if (query.hasLimit() && documentIds.size() >= query.getLimit()) break;
+                if (matches(condition, readDocument(query.getStore(), documentId, storeTx))) documentIds.add(documentId);
+            }
+        } else {
+            String documentPrefix = query.getStore() + KEY_SEPARATOR;
+            try (KeyIterator keys = scan(documents, storeTx)) {
+                while (keys.hasNext() && (!query.hasLimit() || documentIds.size() < query.getLimit())) {
+                    String key = string(keys.next());
+                    Map<String, String> values = new HashMap<>();
+                    try (RecordIterator<Entry> entries = keys.getEntries()) {
+                        entries.forEachRemaining(entry -> values.put(
+                                string(entry.getColumnAs(StaticBuffer.STATIC_FACTORY)), string(entry.getValueAs(StaticBuffer.STATIC_FACTORY))));
+                    }
+                    if (key.startsWith(documentPrefix) && matches(condition, values)) {
+                        documentIds.add(key.substring(documentPrefix.length()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new PermanentBackendException(e);
+            }
+        }
+        return documentIds.stream();
+    }
+
+    /**
+     * @return ids of the documents that may satisfy the condition, looked up by the grams of the values the fields
+     * are compared to, or null if the condition can't be looked up in the index
+     */
+    @Nullable
+    private Set<String> candidates(String store, Condition<?> condition, StoreTransaction tx) throws BackendException {
+        switch (condition.getType()) {
+            case LITERAL:
+                PredicateCondition<?, ?> atom = (PredicateCondition<?, ?>) condition;
+                if (!PREDICATES.contains(atom.getPredicate()) || !(atom.getValue() instanceof String)) return null;
+                if (grams((String) atom.getValue()).isEmpty()) return null;
+                return documentsContaining(store, atom.getKey().toString(), (String) atom.getValue(), tx);
+            case AND:
+                // the candidates of any of the conjuncts are sufficient, the conjunction is evaluated exactly
+                Set<String> conjunctionCandidates = null;
+                for (Condition<?> child : condition.getChildren()) {
+                    Set<String> childCandidates = candidates(store, child, tx);
+                    if (childCandidates == null) continue;
+                    if (conjunctionCandidates == null) {
+                        conjunctionCandidates = childCandidates;
+                    } else {
+                        conjunctionCandidates.retainAll(childCandidates);
+                    }
+                }
+                return conjunctionCandidates;
+            case OR:
+                Set<String> disjunctionCandidates = new HashSet<>();
+                for (Condition<?> child : condition.getChildren()) {
+                    Set<String> childCandidates = candidates(store, child, tx);
+                    if (childCandidates == null) return null;
+                    disjunctionCandidates.addAll(childCandidates);
+                }
+                return disjunctionCandidates;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean matches(Condition<?> condition, Map<String, String> values) {
+        switch (condition.getType()) {
+            case LITERAL:
+                PredicateCondition<?, ?> atom = (PredicateCondition<?, ?>) condition;
+                String value = values.get(atom.getKey().toString());
+                return value != null && atom.getPredicate().test(value, atom.getValue());
+            case AND:
+                for (Condition<?> child : condition.getChildren()) {
+                    if (!matches(child, values)) return false;
+                }
+                return true;
+            case OR:
+                for (Condition<?> child : condition.getChildren()) {
+                    if (matches(child, values)) return true;
+                }
+                return false;
+            case NOT:
+                return !matches(condition.getChildren().iterator().next(), values);
+            default:
+                throw new IllegalArgumentException("Unexpected condition type: " + condition.getType());
+        }
+    }
+
+    /**
+     * @return ids of the documents with a value of the field given as the query string, containing all grams of the
+     * substring given as the #CONTAINS_PARAMETER parameter
+     */
+    @Override
+    public Stream<RawQuery.Result<String>> query(RawQuery query, KeyInformation.IndexRetriever information, BaseTransaction tx) throws BackendException {
+        Stream<String> documentIds = documentsContaining(query, (StoreTransaction) tx).stream().skip(query.getOffset());
+        if (query.hasLimit()) documentIds = documentIds.limit(query.getLimit());
+        return documentIds.map(documentId -> new RawQuery.Result<>(documentId, 1.0));
+    }
+
+    @Override
+    public Long totals(RawQuery query, KeyInformation.IndexRetriever information, BaseTransaction tx) throws BackendException {
+        return (long) documentsContaining(query, (StoreTransaction) tx).size();
+    }
+
+    private Set<String> documentsContaining(RawQuery query, StoreTransaction tx) throws BackendException {
+        String substring = null;
+        for (Parameter parameter : query.getParameters()) {
+            if (parameter.key().equals(CONTAINS_PARAMETER)) substring = parameter.value().toString();
+        }
+        Preconditions.checkArgument(substring != null, "Missing [%s] parameter of inverted index query", CONTAINS_PARAMETER);
+        return documentsContaining(query.getStore(), query.getQuery(), substring, tx);
+    }
+
+    /**
+     * @return ids of the documents with a value of the field containing all grams of the substring
+     */
+    private Set<String> documentsContaining(String store, String field, String substring, StoreTransaction tx) throws BackendException {
+        Set<String> grams = grams(substring);
+        Preconditions.checkArgument(!grams.isEmpty(), "Inverted index query [%s] is shorter than %s characters", substring, GRAM_LENGTH);
+
+        Set<String> documentIds = null;
+        for (String gram : grams) {
+            Set<String> gramDocumentIds = new HashSet<>();
+            for (Entry entry : postings.getSlice(new KeySliceQuery(key(store, field, gram), ALL_COLUMNS), tx)) {
+                String documentId = string(entry.getColumnAs(StaticBuffer.STATIC_FACTORY));
+                if (documentIds == null || documentIds.contains(documentId)) gramDocumentIds.add(documentId);
+            }
+            documentIds = gramDocumentIds;
+            if (documentIds.isEmpty()) break;
+        }
+        return documentIds;
+    }
+
+    @Override
+    public BaseTransactionConfigurable beginTransaction(BaseTransactionConfig config) throws BackendException {
+        return storeManager.beginTransaction(config);
+    }
+
+    @Override
+    public void close() throws BackendException {
+        postings.close();
+        documents.close();
+    }
+
+    /**
+     * Deletes all cells of the tables of the index. The tables are held in the primary storage backend, hence they
+     * need to be cleared before the storage backend is cleared and closed.
+     */
+    @Override
+    public void clearStorage() throws BackendException {
+        StoreTransaction tx = storeManager.beginTransaction(
+                StandardBaseTransactionConfig.of(times, storeManager.getFeatures().getKeyConsistentTxConfig()));
+        try {
+            clear(postings, tx);
+            clear(documents, tx);
+        } catch (BackendException | RuntimeException e) {
+            tx.rollback();
+            throw e;
+        }
+        tx.commit();
+    }
+
+    private void clear(KeyColumnValueStore store, StoreTransaction tx) throws BackendException {
+        MutationBatch batch = new MutationBatch();
+        try (KeyIterator keys = scan(store, tx)) {
+            while (keys.hasNext()) {
+                StaticBuffer key = keys.next();
+                try (RecordIterator<Entry> entries = keys.getEntries()) {
+                    entries.forEachRemaining(entry -> batch.delete(store, key, entry.getColumnAs(StaticBuffer.STATIC_FACTORY)));
+                }
+                if (batch.rows() >= CLEAR_BATCH_SIZE) {
+                    batch.persist(tx);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new PermanentBackendException(e);
+        }
+        batch.persist(tx);
+    }
+
+    private KeyIterator scan(KeyColumnValueStore store, StoreTransaction tx) throws BackendException {
+        if (!storeManager.getFeatures().hasUnorderedScan()) {
+            throw new PermanentBackendException("Scanning the inverted index requires a storage backend supporting unordered scans");
+        }
+        return store.getKeys(ALL_COLUMNS, tx);
+    }
+
+    @Override
+    public boolean exists() throws BackendException {
+        return storeManager.exists();
+    }
+
+    @Override
+    public boolean supports(KeyInformation information, JanusGraphPredicate janusgraphPredicate) {
+        return supports(information) && PREDICATES.contains(janusgraphPredicate);
+    }
+
+    @Override
+    public boolean supports(KeyInformation information) {
+        return information.getDataType() == String.class && information.getCardinality() == Cardinality.SINGLE;
+    }
+
+    @Override
+    public String mapKey2Field(String key, KeyInformation information) {
+        IndexProvider.checkKeyValidity(key);
+        return key;
+    }
+
+    @Override
+    public IndexFeatures getFeatures() {
+        return FEATURES;
+    }
+
+    private static StaticBuffer key(String... parts) {
+        return buffer(String.join(String.valueOf(KEY_SEPARATOR), parts));
+    }
+
+    private static StaticBuffer buffer(String value) {
+        return StaticArrayBuffer.of(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String string(StaticBuffer buffer) {
+        return new String(buffer.as(StaticBuffer.ARRAY_FACTORY), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Collects the additions and deletions of a mutation per table and row, to be persisted with a single batch
+     * mutation if the storage backend supports it.
+     */
+    private class MutationBatch {
+        private final Map<KeyColumnValueStore, Map<StaticBuffer, KCVMutation>> mutations = new HashMap<>();
+
+        void add(KeyColumnValueStore store, StaticBuffer key, Entry entry) {
+            mutation(store, key).addition(entry);
+        }
+
+        void delete(KeyColumnValueStore store, StaticBuffer key, StaticBuffer column) {
+            mutation(store, key).deletion(column);
+        }
+
+        int rows() {
+            return mutations.values().stream().mapToInt(Map::size).sum();
+        }
+
+        void clear() {
+            mutations.clear();
+        }
+
+        private KCVMutation mutation(KeyColumnValueStore store, StaticBuffer key) {
+            return mutations.computeIfAbsent(store, s -> new HashMap<>())
+                    .computeIfAbsent(key, k -> new KCVMutation(new ArrayList<>(), new ArrayList<>()));
+        }
+
+        void persist(StoreTransaction tx) throws BackendException {
+            if (mutations.isEmpty()) return;
+            if (storeManager.getFeatures().hasBatchMutation()) {
+                Map<String, Map<StaticBuffer, KCVMutation>> batch = new HashMap<>();
+                mutations.forEach((store, storeMutations) -> batch.put(store.getName(), storeMutations));
+                storeManager.mutateMany(batch, tx);
+            } else {
+                for (Map.Entry<KeyColumnValueStore, Map<StaticBuffer, KCVMutation>> storeMutations : mutations.entrySet()) {
+                    for (Map.Entry<StaticBuffer, KCVMutation> rowMutation : storeMutations.getValue().entrySet()) {
+                        KCVMutation mutation = rowMutation.getValue();
+                        storeMutations.getKey().mutate(rowMutation.getKey(), mutation.getAdditions(), mutation.getDeletions(), tx);
+                    }
+                }
+            }
+        }
+    }
+}
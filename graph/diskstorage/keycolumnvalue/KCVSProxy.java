@@ -38,6 +38,10 @@ public class KCVSProxy implements KeyColumnValueStore {
         this.store = Preconditions.checkNotNull(store);
     }
 
+    public KeyColumnValueStore getWrappedStore() {
+        return store;
+    }
+
     protected StoreTransaction unwrapTx(StoreTransaction txh) {
         return txh;
     }
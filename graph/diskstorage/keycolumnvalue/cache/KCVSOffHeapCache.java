@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.diskstorage.keycolumnvalue.cache;
+
+import com.google.common.base.Preconditions;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.StaticArrayEntryList;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Database level cache keeping the serialised slices in off-heap memory, as an alternative to KCVSExpirationCache
+ * which keeps the EntryLists on the heap and adds to the GC pressure in proportion to its size.
+ * <p>
+ * The cache is split into segments by the key of the slices, each with its own lock and its own share of the memory.
+ * The memory of a segment is allocated in direct ByteBuffer slabs divided into fixed size blocks. A slice is stored in
+ * as many blocks as its serialised form needs, which don't need to be contiguous, so the memory doesn't fragment and
+ * the size of the cache is accounted precisely in blocks. Only the block indices and the queries are kept on the heap.
+ * <p>
+ * Slices are evicted with a segmented LRU policy: new slices enter a probation segment and are only promoted to the
+ * protected segment once they are read again, so that a scan through many slices only evicts the slices of
+ * the probation segment, rather than the slices that are read frequently.
+ * <p>
+ * Invalidation follows CacheTransaction the same way as KCVSExpirationCache does: all cached slices of an invalidated
+ * key are dropped at once and the key is not cached again for the invalidation grace period, but there is no need for
+ * a cleanup thread. Slices loaded concurrently with an invalidation of their segment are not cached, so that they
+ * can't overwrite the invalidation with stale data.
+ */
+public class KCVSOffHeapCache extends KCVSCache {
+
+    // each slice takes a whole number of blocks, which bounds the memory wasted per slice
+    private static final int BLOCK_SIZE = 128;
+    private static final int MAX_SLAB_SIZE = 1 << 20;
+    private static final double PROTECTED_FRACTION = 0.8;
+
+    private final Segment[] segments;
+    private final long cacheTimeMS;
+    private final long invalidationGracePeriodMS;
+    private final LongSupplier currentTimeMillis;
+
+    public KCVSOffHeapCache(KeyColumnValueStore store, long cacheTimeMS, long invalidationGracePeriodMS, long maximumByteSize) {
+        this(store, cacheTimeMS, invalidationGracePeriodMS, maximumByteSize, System::currentTimeMillis);
+    }
+
+    /**
+     * @param currentTimeMillis clock the expiration of the slices and the grace period of the invalidations are
+     *                          measured with
+     */
+    KCVSOffHeapCache(KeyColumnValueStore store, long cacheTimeMS, long invalidationGracePeriodMS, long maximumByteSize, LongSupplier currentTimeMillis) {
+        super(store);
+        Preconditions.checkArgument(currentTimeMillis.getAsLong() + 1000L * 3600 * 24 * 365 * 100 + cacheTimeMS > 0, "Cache expiration time too large, overflow may occur: %s", cacheTimeMS);
+        Preconditions.checkArgument(invalidationGracePeriodMS >= 0, "Invalid expiration grace period: %s", invalidationGracePeriodMS);
+        Preconditions.checkArgument(maximumByteSize >= BLOCK_SIZE, "Cache size is too small: %s", maximumByteSize);
+        this.cacheTimeMS = cacheTimeMS;
+        this.invalidationGracePeriodMS = invalidationGracePeriodMS;
+        this.currentTimeMillis = currentTimeMillis;
+
+        // enough segments to keep the lock contention low, as long as each of them fills at least one slab
+        long maxBlocksPerSegment = Integer.MAX_VALUE / 2;
+        long segmentCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4L, maximumByteSize / MAX_SLAB_SIZE));
+        segmentCount = Math.max(segmentCount, maximumByteSize / BLOCK_SIZE / maxBlocksPerSegment + 1);
+        int blocksPerSegment = (int) Math.max(1, maximumByteSize / segmentCount / BLOCK_SIZE);
+        this.segments = new Segment[(int) segmentCount];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(blocksPerSegment);
+        }
+    }
+
+    @Override
+    public EntryList getSlice(KeySliceQuery query, StoreTransaction txh) throws BackendException {
+        Segment segment = segment(query.getKey());
+        long version = segment.version();
+        byte[] cached = segment.get(query);
+        if (cached != null) return deserialise(cached);
+
+        EntryList result = store.getSlice(query, unwrapTx(txh));
+        segment.put(query, result, version);
+        return result;
+    }
+
+    @Override
+    public Map<StaticBuffer, EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) throws BackendException {
+        Map<StaticBuffer, EntryList> results = new HashMap<>(keys.size());
+        List<StaticBuffer> remainingKeys = new ArrayList<>(keys.size());
+        Map<StaticBuffer, Long> versions = new HashMap<>(keys.size());
+        //Find all cached queries
+        for (StaticBuffer key : keys) {
+            Segment segment = segment(key);
+            versions.put(key, segment.version());
+            byte[] cached = segment.get(new KeySliceQuery(key, query));
+            if (cached != null) results.put(key, deserialise(cached));
+            else remainingKeys.add(key);
+        }
+        //Request remaining ones from backend
+        if (!remainingKeys.isEmpty()) {
+            Map<StaticBuffer, EntryList> subresults = store.getSlice(remainingKeys, query, unwrapTx(txh));
+            for (StaticBuffer key : remainingKeys) {
+                EntryList subresult = subresults.get(key);
+                if (subresult != null) {
+                    results.put(key, subresult);
+                    segment(key).put(new KeySliceQuery(key, query), subresult, versions.get(key));
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void invalidate(StaticBuffer key, List<StaticBuffer> entries) {
+        Preconditions.checkArgument(!hasValidateKeysOnly() || entries.isEmpty());
+        segment(key).invalidate(key);
+    }
+
+    @Override
+    public void close() throws BackendException {
+        for (Segment segment : segments) {
+            segment.release();
+        }
+        super.close();
+    }
+
+    private Segment segment(StaticBuffer key) {
+        return segments[Math.floorMod(key.hashCode(), segments.length)];
+    }
+
+    /**
+     * @return the entries serialised as their number followed by the length, value position and bytes of each entry,
+     * or null if the entries carry metadata, which is not cached
+     */
+    @Nullable
+    private static byte[] serialise(EntryList entries) {
+        int length = Integer.BYTES;
+        for (Entry entry : entries) {
+            if (entry.hasMetaData()) return null;
+            length += 2 * Integer.BYTES + entry.length();
+        }
+        ByteBuffer data = ByteBuffer.allocate(length);
+        data.putInt(entries.size());
+        for (Entry entry : entries) {
+            data.putInt(entry.length());
+            data.putInt(entry.getValuePosition());
+            entry.as((array, offset, limit) -> data.put(array, offset, limit - offset));
+        }
+        return data.array();
+    }
+
+    private static EntryList deserialise(byte[] bytes) {
+        ByteBuffer data = ByteBuffer.wrap(bytes);
+        int size = data.getInt();
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int length = data.getInt();
+            int valuePosition = data.getInt();
+            int offset = data.position();
+            entries.add(new StaticArrayEntry(bytes, offset, offset + length, valuePosition));
+            data.position(offset + length);
+        }
+        return StaticArrayEntryList.of(entries);
+    }
+
+    private static int blocks(int length) {
+        return (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * A slice stored in the off-heap memory of a segment.
+     */
+    private static class Slot {
+        private final int[] blocks;
+        private final int length;
+        private final long expirationTime;
+
+        Slot(int[] blocks, int length, long expirationTime) {
+            this.blocks = blocks;
+            this.length = length;
+            this.expirationTime = expirationTime;
+        }
+    }
+
+    private class Segment {
+
+        private final int blockCount;
+        private final int blocksPerSlab;
+        private final int protectedCapacity;
+        private ByteBuffer[] slabs;
+        // blocks released by evicted slices, the blocks beyond allocatedBlocks have never been used
+        private final int[] freeBlocks;
+        private int freeBlockCount = 0;
+        private int allocatedBlocks = 0;
+        private int protectedBlocks = 0;
+
+        // both in order from the least to the most recently used slice
+        private final LinkedHashMap<KeySliceQuery, Slot> probation = new LinkedHashMap<>();
+        private final LinkedHashMap<KeySliceQuery, Slot> protectedSlots = new LinkedHashMap<>();
+        private final Map<StaticBuffer, Set<KeySliceQuery>> keyQueries = new HashMap<>();
+        // in order of invalidation, hence of the end of their grace period
+        private final LinkedHashMap<StaticBuffer, Long> invalidatedKeys = new LinkedHashMap<>();
+        // incremented on every invalidation, to detect the slices loaded concurrently with an invalidation
+        private long version = 0;
+
+        Segment(int blockCount) {
+            this.blockCount = blockCount;
+            this.blocksPerSlab = Math.min(blockCount, MAX_SLAB_SIZE / BLOCK_SIZE);
+            this.protectedCapacity = (int) (blockCount * PROTECTED_FRACTION);
+            this.slabs = new ByteBuffer[(blockCount + blocksPerSlab - 1) / blocksPerSlab];
+            this.freeBlocks = new int[blockCount];
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        @Nullable
+        synchronized byte[] get(KeySliceQuery query) {
+            if (slabs == null) return null;
+            // a slice read again from the probation segment is promoted to the protected one
+            Slot slot = probation.remove(query);
+            boolean promoted = slot != null;
+            if (!promoted) {
+                slot = protectedSlots.remove(query);
+                if (slot == null) return null;
+            }
+
+            if (slot.expirationTime < currentTimeMillis.getAsLong()) {
+                if (!promoted) protectedBlocks -= slot.blocks.length;
+                release(query, slot);
+                return null;
+            }
+            if (promoted) protectedBlocks += slot.blocks.length;
+            protectedSlots.put(query, slot);
+            demoteProtected();
+            return read(slot);
+        }
+
+        synchronized void put(KeySliceQuery query, EntryList result, long loadedVersion) {
+            if (slabs == null || version != loadedVersion || isInvalidated(query.getKey())) return;
+            byte[] data = serialise(result);
+            if (data == null) return;
+            int blocks = blocks(data.length);
+            // slices which don't fit in the probation segment would flush it, we don't cache them
+            if (blocks > blockCount - protectedCapacity) return;
+
+            remove(query);
+            while (freeBlockCount + blockCount - allocatedBlocks < blocks) {
+                evict();
+            }
+            Slot slot = new Slot(new int[blocks], data.length, currentTimeMillis.getAsLong() + cacheTimeMS);
+            for (int i = 0; i < blocks; i++) {
+                slot.blocks[i] = allocate();
+            }
+            write(slot, data);
+            probation.put(query, slot);
+            keyQueries.computeIfAbsent(query.getKey(), key -> new HashSet<>()).add(query);
+        }
+
+        synchronized void invalidate(StaticBuffer key) {
+            version++;
+            Set<KeySliceQuery> queries = keyQueries.get(key);
+            if (queries != null) {
+                for (KeySliceQuery query : new ArrayList<>(queries)) {
+                    remove(query);
+                }
+            }
+            if (invalidationGracePeriodMS > 0) {
+                invalidatedKeys.remove(key);
+                invalidatedKeys.put(key, currentTimeMillis.getAsLong() + invalidationGracePeriodMS);
+                Iterator<Long> gracePeriods = invalidatedKeys.values().iterator();
+                while (gracePeriods.hasNext() && gracePeriods.next() < currentTimeMillis.getAsLong()) {
+                    gracePeriods.remove();
+                }
+            }
+        }
+
+        synchronized void release() {
+            probation.clear();
+            protectedSlots.clear();
+            keyQueries.clear();
+            invalidatedKeys.clear();
+            // the direct buffers are freed once they are garbage collected
+            slabs = null;
+        }
+
+        private boolean isInvalidated(StaticBuffer key) {
+            Long until = invalidatedKeys.get(key);
+            if (until == null) return false;
+            if (until < currentTimeMillis.getAsLong()) {
+                invalidatedKeys.remove(key);
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Moves the least recently used protected slices back to the probation segment, until the protected ones
+         * fit in their share of the memory.
+         */
+        private void demoteProtected() {
+            Iterator<Map.Entry<KeySliceQuery, Slot>> slots = protectedSlots.entrySet().iterator();
+            while (protectedBlocks > protectedCapacity && slots.hasNext()) {
+                Map.Entry<KeySliceQuery, Slot> eldest = slots.next();
+                slots.remove();
+                protectedBlocks -= eldest.getValue().blocks.length;
+                probation.put(eldest.getKey(), eldest.getValue());
+            }
+        }
+
+        private void evict() {
+            LinkedHashMap<KeySliceQuery, Slot> victims = probation.isEmpty() ? protectedSlots : probation;
+            remove(victims.keySet().iterator().next());
+        }
+
+        private void remove(KeySliceQuery query) {
+            Slot slot = probation.remove(query);
+            if (slot == null) {
+                slot = protectedSlots.remove(query);
+                if (slot == null) return;
+                protectedBlocks -= slot.blocks.length;
+            }
+            release(query, slot);
+        }
+
+        private void release(KeySliceQuery query, Slot slot) {
+            for (int block : slot.blocks) {
+                freeBlocks[freeBlockCount++] = block;
+            }
+            Set<KeySliceQuery> queries = keyQueries.get(query.getKey());
+            if (queries != null && queries.remove(query) && queries.isEmpty()) keyQueries.remove(query.getKey());
+        }
+
+        private int allocate() {
+            if (freeBlockCount > 0) return freeBlocks[--freeBlockCount];
+            int block = allocatedBlocks++;
+            if (block % blocksPerSlab == 0) {
+                int slabBlocks = Math.min(blocksPerSlab, blockCount - block);
+                slabs[block / blocksPerSlab] = ByteBuffer.allocateDirect(slabBlocks * BLOCK_SIZE);
+            }
+            return block;
+        }
+
+        private void write(Slot slot, byte[] data) {
+            for (int i = 0; i < slot.blocks.length; i++) {
+                ByteBuffer slab = slab(slot.blocks[i]);
+                slab.put(data, i * BLOCK_SIZE, Math.min(BLOCK_SIZE, data.length - i * BLOCK_SIZE));
+            }
+        }
+
+        private byte[] read(Slot slot) {
+            byte[] data = new byte[slot.length];
+            for (int i = 0; i < slot.blocks.length; i++) {
+                ByteBuffer slab = slab(slot.blocks[i]);
+                slab.get(data, i * BLOCK_SIZE, Math.min(BLOCK_SIZE, data.length - i * BLOCK_SIZE));
+            }
+            return data;
+        }
+
+        /**
+         * @return the slab of the block, positioned at the start of the block
+         */
+        private ByteBuffer slab(int block) {
+            ByteBuffer slab = slabs[block / blocksPerSlab];
+            slab.position((block % blocksPerSlab) * BLOCK_SIZE);
+            return slab;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.diskstorage.util;
+
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * EntryList fetching the pages of a result lazily, as its entries are accessed.
+ * <p>
+ * Iterating the list only fetches the pages up to the last entry that has been iterated, so that consumers which
+ * stop early (e.g. due to a limit) don't pull the rest of the result (e.g. the whole adjacency list of a supernode)
+ * from the storage backend. Each page is stored in its own EntryList, instead of copying all the entries into a single
+ * array. Fetched pages are kept, so that the list can be iterated multiple times, e.g. from the vertex query cache.
+ * <p>
+ * Operations that need the whole result (#size(), #getByteSize(), accessing the last entries) fetch all the pages.
+ * The pages are fetched under a lock, as the underlying result is usually not thread-safe.
+ */
+public class PagedEntryList extends AbstractList<Entry> implements EntryList {
+
+    private final Iterator<EntryList> pages;
+    private final List<EntryList> fetchedPages = new ArrayList<>();
+    // index of the first entry of each fetched page, followed by the number of fetched entries
+    private final List<Integer> pageOffsets = new ArrayList<>();
+    private int fetchedSize = 0;
+
+    /**
+     * @param pages pages of the result, fetched from the storage backend as the iterator advances
+     */
+    public PagedEntryList(Iterator<EntryList> pages) {
+        this.pages = pages;
+        this.pageOffsets.add(0);
+    }
+
+    /**
+     * Fetches the pages of the result up to the page with the provided index, skipping empty pages.
+     *
+     * @return true if the page with the provided index has been fetched, false if the result has fewer pages
+     */
+    private synchronized boolean hasPage(int page) {
+        while (fetchedPages.size() <= page) {
+            if (!pages.hasNext()) return false;
+            EntryList fetched = pages.next();
+            if (fetched.isEmpty()) continue;
+            fetchedPages.add(fetched);
+            fetchedSize += fetched.size();
+            pageOffsets.add(fetchedSize);
+        }
+        return true;
+    }
+
+    private void fetchAll() {
+        hasPage(Integer.MAX_VALUE - 1);
+    }
+
+    private synchronized EntryList page(int page) {
+        return fetchedPages.get(page);
+    }
+
+    private synchronized int fetchedPageCount() {
+        return fetchedPages.size();
+    }
+
+    @Override
+    public synchronized Entry get(int index) {
+        if (index < 0) throw new IndexOutOfBoundsException(String.valueOf(index));
+        while (index >= fetchedSize) {
+            if (!hasPage(fetchedPages.size())) throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        int page = Collections.binarySearch(pageOffsets, index);
+        if (page < 0) page = -page - 2;
+        return fetchedPages.get(page).get(index - pageOffsets.get(page));
+    }
+
+    @Override
+    public synchronized int size() {
+        fetchAll();
+        return fetchedSize;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !hasPage(0);
+    }
+
+    @Override
+    public Iterator<Entry> iterator() {
+        return new PageIterator(false);
+    }
+
+    @Override
+    public Iterator<Entry> reuseIterator() {
+        return new PageIterator(true);
+    }
+
+    @Override
+    public int getByteSize() {
+        fetchAll();
+        int byteSize = 0;
+        for (int page = 0; page < fetchedPageCount(); page++) {
+            byteSize += page(page).getByteSize();
+        }
+        return byteSize;
+    }
+
+    private class PageIterator implements Iterator<Entry> {
+
+        private final boolean reuse;
+        private int page = -1;
+        private Iterator<Entry> pageIterator = null;
+
+        private PageIterator(boolean reuse) {
+            this.reuse = reuse;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pageIterator == null || !pageIterator.hasNext()) {
+                if (!hasPage(page + 1)) return false;
+                page++;
+                EntryList pageEntries = page(page);
+                pageIterator = reuse ? pageEntries.reuseIterator() : pageEntries.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Entry next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return pageIterator.next();
+        }
+    }
+}
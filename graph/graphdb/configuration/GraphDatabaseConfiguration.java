@@ -134,6 +134,16 @@ public class GraphDatabaseConfiguration {
                     "transaction to independently fetch graph elements from storage before reading/writing them.",
             ConfigOption.Type.MASKABLE, false);
 
+    /**
+     * Whether the database level cache keeps the cached slices serialised in off-heap memory (see KCVSOffHeapCache),
+     * rather than as objects on the heap. Its size is configured with DB_CACHE_SIZE as well, the direct memory limit of
+     * the JVM (-XX:MaxDirectMemorySize) needs to leave room for it.
+     */
+    public static final ConfigOption<Boolean> DB_CACHE_OFF_HEAP = new ConfigOption<>(CACHE_NS, "db-cache-off-heap",
+            "Whether to keep the entries of the database-level cache serialised in off-heap memory, with segmented LRU eviction, " +
+                    "instead of keeping them on the heap. This avoids the garbage collection pressure of a large heap cache.",
+            ConfigOption.Type.MASKABLE, false);
+
     /**
      * The size of the database level cache.
      * If this value is between 0.0 (strictly bigger) and 1.0 (strictly smaller), then it is interpreted as a
@@ -523,6 +533,21 @@ public class GraphDatabaseConfiguration {
             ConfigOption.Type.GLOBAL, true);
 
 
+    // ############## Index Backfill ######################
+    // ################################################
+
+    public static final ConfigNamespace INDEX_BACKFILL_NS = new ConfigNamespace(ROOT_NS, "index-backfill",
+            "Configuration options for populating the graph indexes defined over existing data");
+
+    public static final ConfigOption<Integer> INDEX_BACKFILL_THREADS = new ConfigOption<>(INDEX_BACKFILL_NS, "threads",
+            "Number of token ranges of the edge store scanned in parallel when backfilling an index",
+            ConfigOption.Type.MASKABLE, 4, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Integer> INDEX_BACKFILL_BATCH_SIZE = new ConfigOption<>(INDEX_BACKFILL_NS, "batch-size",
+            "Number of vertices whose index entries are written to the storage backend in a single batch when backfilling an index",
+            ConfigOption.Type.MASKABLE, 5000, ConfigOption.positiveInt());
+
+
     // ############## Logging System ######################
     // ################################################
 
@@ -604,6 +629,7 @@ public class GraphDatabaseConfiguration {
 
     public static final String SYSTEM_PROPERTIES_STORE_NAME = "system_properties";
     public static final String SYSTEM_CONFIGURATION_IDENTIFIER = "configuration";
+    public static final String INDEX_BACKFILL_IDENTIFIER = "index-backfill";
 
     private final Configuration configuration;
     private final ReadConfiguration configurationAtOpen;
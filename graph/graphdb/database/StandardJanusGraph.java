@@ -261,6 +261,10 @@ public class StandardJanusGraph implements JanusGraph {
         return config;
     }
 
+    public Backend getBackend() {
+        return backend;
+    }
+
     @Override
     public JanusGraphManagement openManagement() {
         return new ManagementSystem(this, backend.getGlobalSystemConfig());
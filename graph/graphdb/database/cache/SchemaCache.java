@@ -38,6 +38,11 @@ public interface SchemaCache {
 
     EntryList getSchemaRelations(long schemaId, BaseRelationType type, Direction dir);
 
+    /**
+     * Expires the cached relations of the schema vertex, which have been modified after it was cached.
+     */
+    void expireSchemaElement(long schemaId);
+
     interface StoreRetrieval {
 
         Long retrieveSchemaByName(String typeName);
@@ -169,4 +169,13 @@ public class StandardSchemaCache implements SchemaCache {
         return entries;
     }
 
+    @Override
+    public void expireSchemaElement(long schemaId) {
+        long typeId = (schemaId >>> SCHEMAID_BACK_SHIFT);
+        ConcurrentMap<Long, EntryList> types = schemaRelations;
+        if (types != null) {
+            types.keySet().removeIf(key -> (key >>> SCHEMAID_TOTALFORW_SHIFT) == typeId);
+        }
+        schemaRelationsBackup.asMap().keySet().removeIf(key -> (key >>> SCHEMAID_TOTALFORW_SHIFT) == typeId);
+    }
 }
@@ -0,0 +1,500 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.graphdb.database.management;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import grakn.core.graph.core.JanusGraphRelation;
+import grakn.core.graph.core.PropertyKey;
+import grakn.core.graph.core.RelationType;
+import grakn.core.graph.core.schema.JanusGraphIndex;
+import grakn.core.graph.core.schema.JanusGraphManagement;
+import grakn.core.graph.core.schema.RelationTypeIndex;
+import grakn.core.graph.core.schema.SchemaStatus;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.BackendTransaction;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.configuration.Configuration;
+import grakn.core.graph.diskstorage.configuration.backend.KCVSConfiguration;
+import grakn.core.graph.diskstorage.indexing.IndexEntry;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyIterator;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.cache.KCVSCache;
+import grakn.core.graph.diskstorage.util.RecordIterator;
+import grakn.core.graph.diskstorage.util.StaticArrayEntryList;
+import grakn.core.graph.graphdb.database.EdgeSerializer;
+import grakn.core.graph.graphdb.database.IndexSerializer;
+import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graph.graphdb.idmanagement.IDManager;
+import grakn.core.graph.graphdb.internal.InternalRelation;
+import grakn.core.graph.graphdb.internal.InternalRelationType;
+import grakn.core.graph.graphdb.internal.InternalVertex;
+import grakn.core.graph.graphdb.internal.RelationCategory;
+import grakn.core.graph.graphdb.relations.EdgeDirection;
+import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
+import grakn.core.graph.graphdb.types.CompositeIndexType;
+import grakn.core.graph.graphdb.types.IndexType;
+import grakn.core.graph.graphdb.types.MixedIndexType;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.INDEX_BACKFILL_BATCH_SIZE;
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.INDEX_BACKFILL_THREADS;
+import static grakn.core.graph.graphdb.database.management.RelationTypeIndexWrapper.RELATION_INDEX_SEPARATOR;
+
+/**
+ * Populates an index defined over existing data, which only covers the elements modified after its definition,
+ * and enables it once done. Both vertex graph indexes and vertex-centric indexes of relation types are supported.
+ *
+ * The index is first moved to REGISTERED. The edge store is then split into token ranges, which are scanned in
+ * parallel by a pool of workers. The relations of the scanned vertices that the index is built from (their properties
+ * for a graph index, their relations of the indexed type for a vertex-centric index) are handed over to batch loading
+ * transactions, which write the index records of many vertices at once. Each token range is checkpointed once done,
+ * so that a job interrupted by a restart only scans the remaining ranges. Vertices modified while the job runs are
+ * indexed by their own transactions, as the index is maintained from the moment it is defined. Once all ranges are
+ * done the index is ENABLED, from which point queries use it.
+ *
+ * A vertex modified or deleted between its scan and the commit of its batch would keep the records written from the
+ * scanned relations, as its own transaction only removed the records it found at the time. Each batch is therefore
+ * reconciled once committed: the vertices are read again, bypassing the database cache, and the records of those
+ * which changed since the scan are replaced with the records of their current relations. Modifications committed
+ * after this read find all the records written by the batch in place, and maintain them as usual.
+ *
+ * Graph indexes of edges and properties are not supported, the job fails for them.
+ */
+public class IndexBackfillJob implements Callable<Long> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexBackfillJob.class);
+
+    // more ranges than workers, so that a slow range does not hold up the whole job
+    private static final int PARTITIONS_PER_THREAD = 4;
+    private static final String CHECKPOINT_SEPARATOR = "/";
+
+    private final StandardJanusGraph graph;
+    // null for a graph index
+    @Nullable
+    private final String relationTypeName;
+    private final String indexName;
+    private final int threads;
+    private final int batchSize;
+    // the relations of each vertex that its index records are built from
+    private final SliceQuery slice;
+    private final KCVSConfiguration checkpoints;
+
+    /**
+     * Backfills a vertex graph index.
+     */
+    public IndexBackfillJob(StandardJanusGraph graph, String indexName) {
+        this(graph, null, indexName, graph.getEdgeSerializer().getQuery(RelationCategory.PROPERTY, false));
+    }
+
+    /**
+     * Backfills a vertex-centric index of a relation type.
+     */
+    public IndexBackfillJob(StandardJanusGraph graph, String relationTypeName, String indexName) {
+        this(graph, relationTypeName, indexName, relationSlice(graph, relationTypeName));
+    }
+
+    private IndexBackfillJob(StandardJanusGraph graph, @Nullable String relationTypeName, String indexName, SliceQuery slice) {
+        Configuration configuration = graph.getConfiguration().getConfiguration();
+        this.graph = graph;
+        this.relationTypeName = relationTypeName;
+        this.indexName = indexName;
+        this.threads = configuration.get(INDEX_BACKFILL_THREADS);
+        this.batchSize = configuration.get(INDEX_BACKFILL_BATCH_SIZE);
+        this.slice = slice;
+        this.checkpoints = graph.getBackend().getIndexBackfillCheckpoints();
+    }
+
+    private static SliceQuery relationSlice(StandardJanusGraph graph, String relationTypeName) {
+        StandardJanusGraphTx tx = graph.buildTransaction().readOnly().start();
+        try {
+            RelationType type = tx.getRelationType(relationTypeName);
+            Preconditions.checkArgument(type != null, "Unknown relation type: %s", relationTypeName);
+            return graph.getEdgeSerializer().getQuery((InternalRelationType) type, Direction.BOTH, new EdgeSerializer.TypedInterval[0]);
+        } finally {
+            tx.rollback();
+        }
+    }
+
+    /**
+     * @return true if the index is defined over existing data and has not been backfilled yet
+     */
+    public static boolean needsBackfill(JanusGraphIndex index) {
+        Set<SchemaStatus> statuses = statuses(index);
+        return !statuses.contains(SchemaStatus.DISABLED)
+                && (statuses.contains(SchemaStatus.INSTALLED) || statuses.contains(SchemaStatus.REGISTERED));
+    }
+
+    /**
+     * @return true if the index is defined over existing data and has not been backfilled yet
+     */
+    public static boolean needsBackfill(RelationTypeIndex index) {
+        return index.getIndexStatus() == SchemaStatus.INSTALLED || index.getIndexStatus() == SchemaStatus.REGISTERED;
+    }
+
+    private static Set<SchemaStatus> statuses(JanusGraphIndex index) {
+        Set<SchemaStatus> statuses = new HashSet<>();
+        for (PropertyKey key : index.getFieldKeys()) {
+            statuses.add(index.getIndexStatus(key));
+        }
+        return statuses;
+    }
+
+    /**
+     * @return number of vertices indexed by this run of the job
+     */
+    @Override
+    public Long call() throws InterruptedException, ExecutionException {
+        if (!register()) return 0L;
+
+        long start = System.currentTimeMillis();
+        Set<String> done = new HashSet<>();
+        checkpoints.getKeys(checkpointPrefix()).forEach(key -> done.add(key.substring(checkpointPrefix().length())));
+
+        StandardJanusGraphTx scanTx = graph.buildTransaction().readOnly().start();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("IndexBackfill(" + jobName() + ")[%d]")
+                .build());
+        long vertices = 0;
+        try {
+            Map<String, Supplier<KeyIterator>> partitions = partitions(scanTx);
+            int total = partitions.size();
+            partitions.keySet().removeAll(done);
+            if (!done.isEmpty()) {
+                LOG.info("Resuming backfill of index {} with {} of {} token ranges remaining", jobName(), partitions.size(), total);
+            }
+
+            AtomicInteger completed = new AtomicInteger(total - partitions.size());
+            List<Future<Long>> futures = new ArrayList<>();
+            partitions.forEach((partition, keys) -> futures.add(workers.submit(() -> {
+                long partitionStart = System.currentTimeMillis();
+                long partitionVertices = backfill(keys);
+                checkpoints.set(checkpointPrefix() + partition, partitionVertices);
+                LOG.debug("Backfilled index {} with {} vertices of token range {} in {} ms ({}/{} ranges done)",
+                        jobName(), partitionVertices, partition, System.currentTimeMillis() - partitionStart,
+                        completed.incrementAndGet(), total);
+                return partitionVertices;
+            })));
+            for (Future<Long> future : futures) {
+                vertices += future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+            scanTx.rollback();
+        }
+
+        enable();
+        checkpoints.getKeys(checkpointPrefix()).forEach(checkpoints::remove);
+        long time = Math.max(1, System.currentTimeMillis() - start);
+        LOG.info("Backfilled index {} with {} vertices in {} ms ({} vertices/s), the index is now enabled",
+                jobName(), vertices, time, vertices * 1000 / time);
+        return vertices;
+    }
+
+    /**
+     * @return the token ranges of the edge store scanned by the job, by their names
+     */
+    Map<String, Supplier<KeyIterator>> partitions(StandardJanusGraphTx scanTx) {
+        return new LinkedHashMap<>(scanTx.getBackendTransaction().edgeStoreKeyPartitions(slice, threads * PARTITIONS_PER_THREAD));
+    }
+
+    /**
+     * @return prefix of the checkpoints of the token ranges done, which are followed by the name of the range
+     */
+    String checkpointPrefix() {
+        return jobName() + CHECKPOINT_SEPARATOR;
+    }
+
+    private String jobName() {
+        return relationTypeName == null ? indexName : relationTypeName + RELATION_INDEX_SEPARATOR + indexName;
+    }
+
+    /**
+     * Moves the index to REGISTERED, unless it already is.
+     *
+     * @return false if the index does not need to be backfilled
+     */
+    private boolean register() {
+        JanusGraphManagement management = graph.openManagement();
+        boolean needsBackfill;
+        boolean installed;
+        if (relationTypeName == null) {
+            JanusGraphIndex index = graphIndex(management);
+            needsBackfill = needsBackfill(index);
+            installed = statuses(index).contains(SchemaStatus.INSTALLED);
+            if (needsBackfill && installed) management.updateIndexStatus(index, SchemaStatus.REGISTERED);
+        } else {
+            RelationTypeIndex index = relationIndex(management);
+            needsBackfill = needsBackfill(index);
+            installed = index.getIndexStatus() == SchemaStatus.INSTALLED;
+            if (needsBackfill && installed) management.updateIndexStatus(index, SchemaStatus.REGISTERED);
+        }
+        if (needsBackfill && installed) {
+            management.commit();
+        } else {
+            management.rollback();
+        }
+        return needsBackfill;
+    }
+
+    private void enable() {
+        JanusGraphManagement management = graph.openManagement();
+        if (relationTypeName == null) {
+            management.updateIndexStatus(graphIndex(management), SchemaStatus.ENABLED);
+        } else {
+            management.updateIndexStatus(relationIndex(management), SchemaStatus.ENABLED);
+        }
+        management.commit();
+    }
+
+    private JanusGraphIndex graphIndex(JanusGraphManagement management) {
+        JanusGraphIndex index = management.getGraphIndex(indexName);
+        Preconditions.checkArgument(index != null, "Unknown index: %s", indexName);
+        Preconditions.checkArgument(Vertex.class.isAssignableFrom(index.getIndexedElement()), "Only vertex indexes can be backfilled: %s", indexName);
+        return index;
+    }
+
+    private RelationTypeIndex relationIndex(JanusGraphManagement management) {
+        RelationType type = management.getRelationType(relationTypeName);
+        Preconditions.checkArgument(type != null, "Unknown relation type: %s", relationTypeName);
+        RelationTypeIndex index = management.getRelationIndex(type, indexName);
+        Preconditions.checkArgument(index != null, "Unknown index %s of relation type %s", indexName, relationTypeName);
+        return index;
+    }
+
+    /**
+     * Scans the keys of a partition of the edge store and indexes the vertices in batches.
+     *
+     * @return number of vertices indexed
+     */
+    private long backfill(Supplier<KeyIterator> keys) throws IOException, BackendException, InterruptedException {
+        IDManager idManager = graph.getIDManager();
+        long vertices = 0;
+        Map<Long, EntryList> batch = new HashMap<>();
+        try (KeyIterator iterator = keys.get()) {
+            while (iterator.hasNext()) {
+                if (Thread.interrupted() || graph.isClosed()) {
+                    throw new InterruptedException("Backfill of index " + jobName() + " has been interrupted");
+                }
+                StaticBuffer key = iterator.next();
+                // the entries need to be consumed before moving on to the next key
+                List<Entry> relations = new ArrayList<>();
+                try (RecordIterator<Entry> entries = iterator.getEntries()) {
+                    entries.forEachRemaining(relations::add);
+                }
+                long vertexId = idManager.getKeyID(key);
+                if (relations.isEmpty() || !idManager.isUserVertexId(vertexId)) continue;
+
+                batch.put(vertexId, StaticArrayEntryList.of(relations));
+                if (batch.size() >= batchSize) {
+                    vertices += write(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) vertices += write(batch);
+        return vertices;
+    }
+
+    /**
+     * Writes the index records of a batch of vertices, whose relations have been read by the scan, then reconciles
+     * them with the vertices modified or deleted since the scan.
+     *
+     * @return number of vertices indexed
+     */
+    int write(Map<Long, EntryList> batch) throws BackendException {
+        Map<Long, Set<Map.Entry<StaticBuffer, Entry>>> records = new HashMap<>();
+        StandardJanusGraphTx tx = batchTransaction(batch.size());
+        try {
+            BackendTransaction backendTx = tx.getBackendTransaction();
+            IndexType index = graphIndexType(tx);
+            Map<String, Map<String, List<IndexEntry>>> documents = new HashMap<>();
+            for (Map.Entry<Long, EntryList> vertexRelations : batch.entrySet()) {
+                InternalVertex vertex = seed(tx, vertexRelations.getKey(), vertexRelations.getValue());
+                if (index != null && index.isMixedIndex()) {
+                    graph.getIndexSerializer().reindexElement(vertex, (MixedIndexType) index, documents);
+                } else {
+                    Set<Map.Entry<StaticBuffer, Entry>> vertexRecords = records(vertex, tx);
+                    for (Map.Entry<StaticBuffer, Entry> record : vertexRecords) {
+                        mutate(backendTx, record, false);
+                    }
+                    records.put(vertex.longId(), vertexRecords);
+                }
+            }
+            // vertices without any of the indexed keys would only clear their (empty) documents
+            documents.values().forEach(storeDocuments -> storeDocuments.values().removeIf(List::isEmpty));
+            restore(backendTx, index, documents);
+        } catch (BackendException | RuntimeException e) {
+            tx.rollback();
+            throw e;
+        }
+        tx.commit();
+        reconcile(batch, records);
+        return batch.size();
+    }
+
+    /**
+     * Replaces the index records written from the scanned relations of the vertices which have been modified or
+     * deleted since the scan with the records of their current relations.
+     *
+     * @param records the records written for each vertex, unless the index is a mixed one
+     */
+    private void reconcile(Map<Long, EntryList> batch, Map<Long, Set<Map.Entry<StaticBuffer, Entry>>> records) throws BackendException {
+        IDManager idManager = graph.getIDManager();
+        StandardJanusGraphTx tx = batchTransaction(batch.size());
+        try {
+            BackendTransaction backendTx = tx.getBackendTransaction();
+            // the database cache may still hold the relations of a vertex as they were when scanned
+            backendTx.disableCache();
+            List<StaticBuffer> keys = new ArrayList<>(batch.size());
+            batch.keySet().forEach(vertexId -> keys.add(idManager.getKey(vertexId)));
+            Map<StaticBuffer, EntryList> currentRelations = backendTx.edgeStoreMultiQuery(keys, slice);
+
+            IndexType index = graphIndexType(tx);
+            Map<String, Map<String, List<IndexEntry>>> documents = new HashMap<>();
+            for (Map.Entry<Long, EntryList> scannedRelations : batch.entrySet()) {
+                long vertexId = scannedRelations.getKey();
+                EntryList relations = currentRelations.getOrDefault(idManager.getKey(vertexId), EntryList.EMPTY_LIST);
+                if (Iterables.elementsEqual(relations, scannedRelations.getValue())) continue;
+
+                if (index != null && index.isMixedIndex()) {
+                    // a document without entries is removed, unless the vertex is still indexed
+                    graph.getIndexSerializer().removeElement(vertexId, (MixedIndexType) index, documents);
+                    if (!relations.isEmpty()) {
+                        graph.getIndexSerializer().reindexElement(seed(tx, vertexId, relations), (MixedIndexType) index, documents);
+                    }
+                } else {
+                    Set<Map.Entry<StaticBuffer, Entry>> staleRecords = new HashSet<>(records.get(vertexId));
+                    if (!relations.isEmpty()) staleRecords.removeAll(records(seed(tx, vertexId, relations), tx));
+                    for (Map.Entry<StaticBuffer, Entry> record : staleRecords) {
+                        mutate(backendTx, record, true);
+                    }
+                }
+            }
+            restore(backendTx, index, documents);
+        } catch (BackendException | RuntimeException e) {
+            tx.rollback();
+            throw e;
+        }
+        tx.commit();
+    }
+
+    private StandardJanusGraphTx batchTransaction(int vertices) {
+        return graph.buildTransaction()
+                .enableBatchLoading()
+                .checkInternalVertexExistence(false)
+                .vertexCacheSize(vertices)
+                .start();
+    }
+
+    /**
+     * @return the vertex, seeded with its relations read from the edge store, so that indexing it does not read
+     * them again
+     */
+    private InternalVertex seed(StandardJanusGraphTx tx, long vertexId, EntryList relations) {
+        InternalVertex vertex = tx.getInternalVertex(vertexId);
+        vertex.loadRelations(slice, query -> relations);
+        return vertex;
+    }
+
+    @Nullable
+    private IndexType graphIndexType(StandardJanusGraphTx tx) {
+        return relationTypeName == null ? ManagementSystem.getGraphIndexDirect(indexName, tx) : null;
+    }
+
+    /**
+     * @return the index records of the vertex, as pairs of the row key and the entry, in the index store for
+     * a composite index and in the edge store for a vertex-centric index
+     */
+    private Set<Map.Entry<StaticBuffer, Entry>> records(InternalVertex vertex, StandardJanusGraphTx tx) {
+        Set<Map.Entry<StaticBuffer, Entry>> records = new HashSet<>();
+        if (relationTypeName == null) {
+            CompositeIndexType index = (CompositeIndexType) ManagementSystem.getGraphIndexDirect(indexName, tx);
+            for (IndexSerializer.IndexUpdate<StaticBuffer, Entry> update : graph.getIndexSerializer().reindexElement(vertex, index)) {
+                records.add(Maps.immutableEntry(update.getKey(), update.getEntry()));
+            }
+            return records;
+        }
+
+        InternalRelationType indexType = relationIndexType(tx);
+        StaticBuffer vertexKey = graph.getIDManager().getKey(vertex.longId());
+        for (JanusGraphRelation relation : vertex.query().types(relationTypeName).direction(Direction.BOTH).relations()) {
+            InternalRelation internalRelation = (InternalRelation) relation;
+            // the same as the records written by the transactions adding the relations
+            for (int pos = 0; pos < internalRelation.getArity(); pos++) {
+                if (!indexType.isUnidirected(Direction.BOTH) && !indexType.isUnidirected(EdgeDirection.fromPosition(pos))) {
+                    continue;
+                }
+                if (internalRelation.getVertex(pos).longId() == vertex.longId()) {
+                    records.add(Maps.immutableEntry(vertexKey, graph.getEdgeSerializer().writeRelation(internalRelation, indexType, pos, tx)));
+                }
+            }
+        }
+        return records;
+    }
+
+    private InternalRelationType relationIndexType(StandardJanusGraphTx tx) {
+        InternalRelationType type = (InternalRelationType) tx.getRelationType(relationTypeName);
+        for (InternalRelationType indexType : type.getRelationIndexes()) {
+            if (!indexType.equals(type) && new RelationTypeIndexWrapper(indexType).name().equals(indexName)) return indexType;
+        }
+        throw new IllegalArgumentException("Unknown index " + indexName + " of relation type " + relationTypeName);
+    }
+
+    private void mutate(BackendTransaction backendTx, Map.Entry<StaticBuffer, Entry> record, boolean deletion) throws BackendException {
+        List<Entry> additions = deletion ? Collections.emptyList() : Lists.newArrayList(record.getValue());
+        List<Entry> deletions = deletion ? Lists.newArrayList(record.getValue()) : KCVSCache.NO_DELETIONS;
+        if (relationTypeName == null) {
+            backendTx.mutateIndex(record.getKey(), additions, deletions);
+        } else {
+            backendTx.mutateEdges(record.getKey(), additions, deletions);
+        }
+    }
+
+    private static void restore(BackendTransaction backendTx, @Nullable IndexType index, Map<String, Map<String, List<IndexEntry>>> documents) throws BackendException {
+        if (index == null || documents.values().stream().allMatch(Map::isEmpty)) return;
+        backendTx.getIndexTransaction(index.getBackingIndexName()).restore(documents);
+    }
+}
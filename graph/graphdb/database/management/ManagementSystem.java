@@ -24,6 +24,7 @@ import grakn.core.graph.core.EdgeLabel;
 import grakn.core.graph.core.JanusGraphEdge;
 import grakn.core.graph.core.JanusGraphException;
 import grakn.core.graph.core.JanusGraphVertex;
+import grakn.core.graph.core.JanusGraphVertexProperty;
 import grakn.core.graph.core.Multiplicity;
 import grakn.core.graph.core.PropertyKey;
 import grakn.core.graph.core.RelationType;
@@ -60,6 +61,7 @@ import grakn.core.graph.graphdb.types.StandardEdgeLabelMaker;
 import grakn.core.graph.graphdb.types.StandardPropertyKeyMaker;
 import grakn.core.graph.graphdb.types.StandardRelationTypeMaker;
 import grakn.core.graph.graphdb.types.TypeDefinitionCategory;
+import grakn.core.graph.graphdb.types.TypeDefinitionDescription;
 import grakn.core.graph.graphdb.types.TypeDefinitionMap;
 import grakn.core.graph.graphdb.types.VertexLabelVertex;
 import grakn.core.graph.graphdb.types.indextype.IndexTypeWrapper;
@@ -72,6 +74,7 @@ import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Element;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -86,6 +89,9 @@ public class ManagementSystem implements JanusGraphManagement {
     private final StandardJanusGraph graph;
     private final StandardJanusGraphTx transaction;
 
+    // schema elements whose cached relations are stale once this management system commits
+    private final Set<Long> updatedSchemaElements = new HashSet<>();
+
     private boolean isOpen;
 
     public ManagementSystem(StandardJanusGraph graph, KCVSConfiguration config) {
@@ -104,6 +110,9 @@ public class ManagementSystem implements JanusGraphManagement {
 
         //Commit underlying transaction
         transaction.commit();
+        for (long schemaId : updatedSchemaElements) {
+            graph.getSchemaCache().expireSchemaElement(schemaId);
+        }
         close();
     }
 
@@ -334,6 +343,64 @@ public class ManagementSystem implements JanusGraphManagement {
         }
     }
 
+    @Override
+    public void updateIndexStatus(JanusGraphIndex index, SchemaStatus status) {
+        Preconditions.checkArgument(index instanceof JanusGraphIndexWrapper, "Need to provide a valid index");
+        IndexType indexType = ((JanusGraphIndexWrapper) index).getBaseIndex();
+        Preconditions.checkArgument(indexType instanceof IndexTypeWrapper
+                && ((IndexTypeWrapper) indexType).getSchemaBase() instanceof JanusGraphSchemaVertex);
+        JanusGraphSchemaVertex indexVertex = (JanusGraphSchemaVertex) ((IndexTypeWrapper) indexType).getSchemaBase();
+
+        if (indexType.isCompositeIndex()) setStatusVertex(indexVertex, status);
+        else setStatusEdges(indexVertex, status);
+        updateSchemaVertex(indexVertex);
+        indexVertex.resetCache();
+        indexType.resetCache();
+        updatedSchemaElements.add(indexVertex.longId());
+    }
+
+    @Override
+    public void updateIndexStatus(RelationTypeIndex index, SchemaStatus status) {
+        Preconditions.checkArgument(index instanceof RelationTypeIndexWrapper, "Need to provide a valid index");
+        InternalRelationType indexType = ((RelationTypeIndexWrapper) index).getWrappedType();
+        Preconditions.checkArgument(indexType instanceof JanusGraphSchemaVertex);
+        JanusGraphSchemaVertex indexVertex = (JanusGraphSchemaVertex) indexType;
+
+        setStatusVertex(indexVertex, status);
+        updateSchemaVertex(indexVertex);
+        indexVertex.resetCache();
+        updatedSchemaElements.add(indexVertex.longId());
+    }
+
+    private void setStatusVertex(JanusGraphSchemaVertex indexVertex, SchemaStatus status) {
+        for (JanusGraphVertexProperty property : indexVertex.query().type(BaseKey.SchemaDefinitionProperty).properties()) {
+            TypeDefinitionDescription desc = property.valueOrNull(BaseKey.SchemaDefinitionDesc);
+            if (desc.getCategory() == TypeDefinitionCategory.STATUS) {
+                if (property.value().equals(status)) return;
+                property.remove();
+            }
+        }
+        JanusGraphVertexProperty property = transaction.addProperty(indexVertex, BaseKey.SchemaDefinitionProperty, status);
+        property.property(BaseKey.SchemaDefinitionDesc.name(), TypeDefinitionDescription.of(TypeDefinitionCategory.STATUS));
+    }
+
+    private void setStatusEdges(JanusGraphSchemaVertex indexVertex, SchemaStatus status) {
+        for (JanusGraphEdge edge : indexVertex.getEdges(TypeDefinitionCategory.INDEX_FIELD, Direction.OUT)) {
+            TypeDefinitionDescription desc = edge.valueOrNull(BaseKey.SchemaDefinitionDesc);
+            Parameter[] parameters = (Parameter[]) desc.getModifier();
+            // the status is always the last parameter of the field, see addIndexKey
+            if (parameters[parameters.length - 1].value().equals(status)) continue;
+            Parameter[] updatedParameters = Arrays.copyOf(parameters, parameters.length);
+            updatedParameters[parameters.length - 1] = ParameterType.STATUS.getParameter(status);
+
+            JanusGraphSchemaVertex key = (JanusGraphSchemaVertex) edge.vertex(Direction.IN);
+            edge.remove();
+            addSchemaEdge(indexVertex, key, TypeDefinitionCategory.INDEX_FIELD, updatedParameters);
+            key.resetCache();
+            updatedSchemaElements.add(key.longId());
+        }
+    }
+
     private JanusGraphIndex createCompositeIndex(String indexName, ElementCategory elementCategory, boolean unique, JanusGraphSchemaType constraint, PropertyKey... keys) {
         checkIndexName(indexName);
         Preconditions.checkArgument(keys != null && keys.length > 0, "Need to provide keys to index [%s]", indexName);
@@ -37,7 +37,7 @@ public class IDManager {
      * 000 -     * Normal vertices
      * 010 -     * Partitioned vertices
      * 100 -     * Unmodifiable (e.g. TTL'ed) vertices
-     * 110 -     + Reserved for additional vertex type
+     * 110 -     * Attribute vertices, with ids derived from their type and value
      * 1 - + Invisible
      * 11 -     * Invisible (user created/triggered) Vertex [for later]
      * 01 -     + Schema related vertices
@@ -120,6 +120,22 @@ public class IDManager {
                 return true;
             }
         },
+        AttributeVertex {
+            @Override
+            final long offset() {
+                return 3L;
+            }
+
+            @Override
+            final long suffix() {
+                return 6L;
+            } // 110b
+
+            @Override
+            final boolean isProper() {
+                return true;
+            }
+        },
 
         Invisible {
             @Override
@@ -455,6 +471,8 @@ public class IDManager {
             type = VertexIDType.PartitionedVertex;
         } else if (VertexIDType.UnmodifiableVertex.is(vertexId)) {
             type = VertexIDType.UnmodifiableVertex;
+        } else if (VertexIDType.AttributeVertex.is(vertexId)) {
+            type = VertexIDType.AttributeVertex;
         }
         if (null == type) {
             throw new JanusGraphException("Vertex ID " + vertexId + " has unrecognized type");
@@ -463,7 +481,8 @@ public class IDManager {
     }
 
     public final boolean isUserVertexId(long vertexId) {
-        return (VertexIDType.NormalVertex.is(vertexId) || VertexIDType.PartitionedVertex.is(vertexId) || VertexIDType.UnmodifiableVertex.is(vertexId))
+        return (VertexIDType.NormalVertex.is(vertexId) || VertexIDType.PartitionedVertex.is(vertexId)
+                || VertexIDType.UnmodifiableVertex.is(vertexId) || VertexIDType.AttributeVertex.is(vertexId))
                 && ((vertexId >>> (partitionBits + USERVERTEX_PADDING_BITWIDTH)) > 0);
     }
 
@@ -514,6 +533,22 @@ public class IDManager {
         }
     }
 
+    /**
+     * Derives the id of an attribute vertex from the hash of its type and value, so that all transactions inserting
+     * the same attribute write to the same vertex. The ids have a type of their own, hence never clash with the ids
+     * assigned from the id blocks.
+     *
+     * @param attributeHash hash of the type and value of the attribute
+     * @return a vertex id whose partition and count are taken from the bits of the hash
+     */
+    public long getAttributeVertexID(long attributeHash) {
+        long partition = attributeHash & (partitionIDBound - 1);
+        long count = (attributeHash >>> partitionBits) & (vertexCountBound - 1);
+        // the count of a vertex id must be positive
+        if (count == 0) count = 1;
+        return getVertexID(count, partition, VertexIDType.AttributeVertex);
+    }
+
     public long getPartitionHashForId(long id) {
         Preconditions.checkArgument(id > 0);
         Preconditions.checkState(partitionBits > 0, "no partition bits");
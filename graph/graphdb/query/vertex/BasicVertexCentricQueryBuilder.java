@@ -353,7 +353,7 @@ public abstract class BasicVertexCentricQueryBuilder<Q extends BaseVertexQuery<Q
 
     private Iterable<JanusGraphVertex> executeIndividualVertices(InternalVertex vertex, BaseVertexCentricQuery baseQuery) {
         VertexCentricQuery query = constructQuery(vertex, baseQuery);
-        if (useSimpleQueryProcessor(query, vertex)) return new SimpleVertexQueryProcessor(query, tx).vertexIds();
+        if (useSimpleQueryProcessor(query, vertex)) return new SimpleVertexQueryProcessor(query, tx).vertices();
         else return edges2Vertices((Iterable) executeIndividualRelations(vertex, baseQuery), query.getVertex());
     }
 
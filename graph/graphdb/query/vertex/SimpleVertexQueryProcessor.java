@@ -18,7 +18,9 @@
 package grakn.core.graph.graphdb.query.vertex;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 import grakn.core.graph.core.JanusGraphRelation;
+import grakn.core.graph.core.JanusGraphVertex;
 import grakn.core.graph.core.VertexList;
 import grakn.core.graph.diskstorage.Entry;
 import grakn.core.graph.diskstorage.EntryList;
@@ -108,6 +110,15 @@ public class SimpleVertexQueryProcessor implements Iterable<Entry> {
         return new VertexLongList(tx, list, previousId >= 0);
     }
 
+    /**
+     * Returns the adjacent vertices for this query, reading their ids from the entries as they are iterated.
+     * As opposed to #vertexIds(), the entries are not all read upfront, so that iterations which stop early
+     * don't need to fetch the whole adjacency list from the storage backend.
+     */
+    public Iterable<JanusGraphVertex> vertices() {
+        return Iterables.transform(this, entry -> tx.getInternalVertex(edgeSerializer.readRelation(entry, true, tx).getOtherVertexId()));
+    }
+
     /**
      * Executes the query by executing its on SliceQuery sub-query.
      *
@@ -195,11 +195,11 @@ public class JanusGraphVertexStep<E extends Element> extends VertexStep<E> imple
 
         if (batchPropertyPrefetching) {
             Set<Vertex> vertices = Sets.newHashSet();
-            result.forEach(v -> {
-                if (vertices.size() < txVertexCacheSize) {
-                    vertices.add((Vertex) v);
-                }
-            });
+            // stop once the cache is full, so that the rest of a large result is only read if it is iterated
+            for (JanusGraphElement v : result) {
+                if (vertices.size() >= txVertexCacheSize) break;
+                vertices.add((Vertex) v);
+            }
 
             // If there are multiple vertices then fetch the properties for all of them in a single multiQuery to
             // populate the vertex cache so subsequent queries of properties don't have to go to the storage back end
@@ -460,6 +460,16 @@ public class StandardJanusGraphTx implements JanusGraphTransaction, TypeInspecto
         return idManager;
     }
 
+    /**
+     * Reads the existence of the vertex from storage, regardless of the vertex having been created or removed
+     * in this transaction
+     *
+     * @return true if the vertex with the given id has been committed
+     */
+    public boolean isVertexCommitted(long vertexId) {
+        return !graph.edgeQuery(vertexId, graph.vertexExistenceQuery, backendTransaction).isEmpty();
+    }
+
     public boolean isPartitionedVertex(JanusGraphVertex vertex) {
         return vertex.hasId() && idManager.isPartitionedVertex(vertex.longId());
     }
@@ -626,9 +636,11 @@ public class StandardJanusGraphTx implements JanusGraphTransaction, TypeInspecto
     public JanusGraphVertex addVertex(Long vertexId, VertexLabel label) {
         verifyWriteAccess();
         if (label == null) label = BaseVertexLabel.DEFAULT_VERTEXLABEL;
-        Preconditions.checkArgument(vertexId == null || IDManager.VertexIDType.NormalVertex.is(vertexId), "Not a valid vertex id: %s", vertexId);
+        boolean isAttributeVertex = vertexId != null && IDManager.VertexIDType.AttributeVertex.is(vertexId);
+        Preconditions.checkArgument(vertexId == null || isAttributeVertex || IDManager.VertexIDType.NormalVertex.is(vertexId), "Not a valid vertex id: %s", vertexId);
         Preconditions.checkArgument(vertexId == null || ((InternalVertexLabel) label).hasDefaultConfiguration(), "Cannot only use default vertex labels: %s", label);
-        Preconditions.checkArgument(vertexId == null || !config.hasVerifyExternalVertexExistence() || !containsVertex(vertexId), "Vertex with given id already exists: %s", vertexId);
+        // concurrent transactions inserting the same attribute write the same vertex, which hence may already exist
+        Preconditions.checkArgument(vertexId == null || isAttributeVertex || !config.hasVerifyExternalVertexExistence() || !containsVertex(vertexId), "Vertex with given id already exists: %s", vertexId);
         StandardVertex vertex = new StandardVertex(this, IDManager.getTemporaryVertexID(IDManager.VertexIDType.NormalVertex, temporaryIds.nextID()), ElementLifeCycle.New);
         if (vertexId != null) {
             vertex.setId(vertexId);
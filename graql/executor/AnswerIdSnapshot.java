@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor;
+
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.concept.answer.Explanation;
+import grakn.core.kb.concept.api.Concept;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.manager.ConceptManager;
+import graql.lang.pattern.Pattern;
+import graql.lang.statement.Variable;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Compact, id-only snapshot of a sequence of answers.
+ * Write queries snapshot their match answers before writing so that the writes can't affect the answers being read,
+ * while only holding concept ids - rather than full concepts - in memory. The answers are rehydrated one at a time
+ * when they are needed, so that at most a single answer's concepts are live at once.
+ */
+class AnswerIdSnapshot {
+
+    private final List<Variable> vars = new ArrayList<>();
+    private final Map<Variable, Integer> varIndices = new HashMap<>();
+    private final List<Row> rows = new ArrayList<>();
+
+    void add(ConceptMap answer) {
+        String[] ids = new String[vars.size() + answer.map().size()];
+        answer.map().forEach((var, concept) -> ids[varIndex(var)] = concept.id().getValue());
+        rows.add(new Row(Arrays.copyOf(ids, vars.size()), answer.explanation(), answer.getPattern()));
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * @param conceptManager of the transaction to rehydrate answers in
+     * @return stream of the snapshotted answers, leaving out the concepts that have been deleted since
+     */
+    Stream<ConceptMap> stream(ConceptManager conceptManager) {
+        return rows.stream().map(row -> rehydrate(row, conceptManager));
+    }
+
+    private int varIndex(Variable var) {
+        return varIndices.computeIfAbsent(var, v -> {
+            vars.add(v);
+            return vars.size() - 1;
+        });
+    }
+
+    private ConceptMap rehydrate(Row row, ConceptManager conceptManager) {
+        Map<Variable, Concept> map = new HashMap<>();
+        for (int i = 0; i < row.ids.length; i++) {
+            if (row.ids[i] == null) continue;
+            // concepts deleted by the writes of preceding answers are left out, the rest of the answer still applies
+            Concept concept = conceptManager.getConcept(ConceptId.of(row.ids[i]));
+            if (concept != null) map.put(vars.get(i), concept);
+        }
+        return new ConceptMap(map, row.explanation, row.pattern);
+    }
+
+    private static class Row {
+        private final String[] ids;
+        private final Explanation explanation;
+        @Nullable
+        private final Pattern pattern;
+
+        Row(String[] ids, Explanation explanation, @Nullable Pattern pattern) {
+            this.ids = ids;
+            this.explanation = explanation;
+            this.pattern = pattern;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor;
+
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.Thing;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Finds all shortest paths between two things with a bidirectional breadth-first search executed directly
+ * in the transaction, as opposed to ShortestPathVertexProgram which processes the whole scoped graph in an OLAP job.
+ *
+ * The graph searched is the same as the one the vertex program runs on: things of the scope types, connected
+ * by role player edges (relations and their role players) and attribute edges (owners and their attributes).
+ * Each step expands the smaller of the two frontiers by a single level. Once the frontiers meet, the meeting
+ * things are exactly the things on the shortest paths at the expanded depth, and the paths are assembled from
+ * the parents recorded by both searches.
+ *
+ * The search is abandoned as soon as the number of visited things exceeds the budget - the budget is checked
+ * for every newly visited thing rather than once per level, so that a single level fanning out through
+ * a supernode can't overshoot it - in which case the path should be computed with OLAP.
+ */
+class BidirectionalShortestPath {
+
+    private final Set<Label> scopeLabels;
+    private final boolean includesAttributes;
+    private final long budget;
+
+    BidirectionalShortestPath(Set<Label> scopeLabels, boolean includesAttributes, long budget) {
+        this.scopeLabels = scopeLabels;
+        this.includesAttributes = includesAttributes;
+        this.budget = budget;
+    }
+
+    /**
+     * @return all shortest paths from the source to the destination (empty if they are not connected),
+     * or null if the search exceeded the budget
+     */
+    @Nullable
+    List<List<ConceptId>> paths(Thing from, Thing to) {
+        Search forward = new Search(from);
+        Search backward = new Search(to);
+        while (!forward.frontier.isEmpty() && !backward.frontier.isEmpty()) {
+            Search expanded = forward.frontier.size() <= backward.frontier.size() ? forward : backward;
+            Search other = expanded == forward ? backward : forward;
+            Set<ConceptId> meeting = expanded.expand(other);
+            if (meeting == null) return null;
+            if (!meeting.isEmpty()) return paths(forward, backward, meeting);
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<List<ConceptId>> paths(Search forward, Search backward, Set<ConceptId> meeting) {
+        List<List<ConceptId>> paths = new ArrayList<>();
+        for (ConceptId meetingId : meeting) {
+            List<List<ConceptId>> tails = backward.pathsTo(meetingId);
+            for (List<ConceptId> head : forward.pathsTo(meetingId)) {
+                for (List<ConceptId> tail : tails) {
+                    List<ConceptId> path = new ArrayList<>(head);
+                    // the tail runs from the destination to the meeting thing, which is already in the head
+                    for (int i = tail.size() - 2; i >= 0; i--) {
+                        path.add(tail.get(i));
+                    }
+                    paths.add(path);
+                }
+            }
+        }
+        return paths;
+    }
+
+    private Stream<Thing> neighbours(Thing thing) {
+        Stream<Thing> neighbours = thing.relations().map(Thing.class::cast);
+        if (thing.isRelation()) {
+            neighbours = Stream.concat(neighbours, thing.asRelation().rolePlayers());
+        }
+        if (includesAttributes) {
+            neighbours = Stream.concat(neighbours, thing.attributes());
+            if (thing.isAttribute()) neighbours = Stream.concat(neighbours, thing.asAttribute().owners());
+        }
+        return neighbours.filter(neighbour -> scopeLabels.contains(neighbour.type().label()));
+    }
+
+    /**
+     * Breadth-first search from a single origin, recording all parents of each visited thing
+     * that lie on a shortest path from the origin.
+     */
+    private class Search {
+        private final Map<ConceptId, Set<ConceptId>> parents = new HashMap<>();
+        private Map<ConceptId, Thing> frontier = new HashMap<>();
+
+        Search(Thing origin) {
+            parents.put(origin.id(), Collections.emptySet());
+            frontier.put(origin.id(), origin);
+        }
+
+        int visited() { return parents.size(); }
+
+        /**
+         * Expand the frontier by a single level.
+         *
+         * @return ids of the newly visited things that have already been visited by the other search,
+         * or null if the searches visited more things than the budget while expanding
+         */
+        @Nullable
+        Set<ConceptId> expand(Search other) {
+            Map<ConceptId, Thing> nextFrontier = new HashMap<>();
+            for (Thing thing : frontier.values()) {
+                Iterator<Thing> neighbours = neighbours(thing).iterator();
+                while (neighbours.hasNext()) {
+                    Thing neighbour = neighbours.next();
+                    ConceptId neighbourId = neighbour.id();
+                    if (nextFrontier.containsKey(neighbourId)) {
+                        parents.get(neighbourId).add(thing.id());
+                    } else if (!parents.containsKey(neighbourId)) {
+                        Set<ConceptId> neighbourParents = new HashSet<>();
+                        neighbourParents.add(thing.id());
+                        parents.put(neighbourId, neighbourParents);
+                        nextFrontier.put(neighbourId, neighbour);
+                        if (visited() + other.visited() > budget) return null;
+                    }
+                }
+            }
+            frontier = nextFrontier;
+            return nextFrontier.keySet().stream().filter(other.parents::containsKey).collect(toSet());
+        }
+
+        /**
+         * @return all shortest paths from the origin to the visited thing with the provided id
+         */
+        List<List<ConceptId>> pathsTo(ConceptId id) {
+            Set<ConceptId> idParents = parents.get(id);
+            if (idParents.isEmpty()) {
+                List<ConceptId> path = new ArrayList<>();
+                path.add(id);
+                return Collections.singletonList(path);
+            }
+            List<List<ConceptId>> paths = new ArrayList<>();
+            for (ConceptId parent : idParents) {
+                for (List<ConceptId> parentPath : pathsTo(parent)) {
+                    List<ConceptId> path = new ArrayList<>(parentPath);
+                    path.add(id);
+                    paths.add(path);
+                }
+            }
+            return paths;
+        }
+    }
+}
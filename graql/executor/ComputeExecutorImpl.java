@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import grakn.core.common.config.ConfigKey;
 import grakn.core.concept.answer.ConceptList;
 import grakn.core.concept.answer.ConceptSet;
 import grakn.core.concept.answer.ConceptSetMeasure;
@@ -48,6 +49,8 @@ import grakn.core.graql.analytics.StatisticsMapReduce;
 import grakn.core.graql.analytics.StdMapReduce;
 import grakn.core.graql.analytics.SumMapReduce;
 import grakn.core.graql.analytics.Utility;
+import grakn.core.graql.executor.computer.GraknInMemoryComputer;
+import grakn.core.graql.executor.computer.GraknSparkComputer;
 import grakn.core.kb.concept.api.AttributeType;
 import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.ConceptId;
@@ -68,6 +71,7 @@ import graql.lang.query.GraqlCompute;
 import graql.lang.query.builder.Computable;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.Memory;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
@@ -108,6 +112,8 @@ import static java.util.stream.Collectors.toSet;
 public class ComputeExecutorImpl implements ComputeExecutor {
 
     private static final Logger LOG = LoggerFactory.getLogger(ComputeExecutorImpl.class);
+    private static final long DEFAULT_IN_MEMORY_COMPUTE_THRESHOLD = 100000;
+    private static final long DEFAULT_COMPUTE_PATH_SEARCH_BUDGET = 10000;
     private ConceptManager conceptManager;
     private ExecutorFactory executorFactory;
     private TraversalExecutor traversalExecutor;
@@ -159,7 +165,7 @@ public class ComputeExecutorImpl implements ComputeExecutor {
                                         @Nullable Set<LabelId> scope,
                                         Boolean includesRolePlayerEdges) {
 
-        return new OLAPOperation(hadoopGraph).compute(program, mapReduce, scope, includesRolePlayerEdges);
+        return olapOperation().compute(program, mapReduce, scope, includesRolePlayerEdges);
     }
 
     @Override
@@ -167,7 +173,21 @@ public class ComputeExecutorImpl implements ComputeExecutor {
                                         @Nullable MapReduce<?, ?, ?, ?, ?> mapReduce,
                                         @Nullable Set<LabelId> scope) {
 
-        return new OLAPOperation(hadoopGraph).compute(program, mapReduce, scope);
+        return olapOperation().compute(program, mapReduce, scope);
+    }
+
+    /**
+     * Graphs smaller than the configured threshold are computed in memory, as the overhead of a Spark job
+     * outweighs the computation itself.
+     */
+    private OLAPOperation olapOperation() {
+        long threshold = hadoopGraph.configuration().getLong(ConfigKey.IN_MEMORY_COMPUTE_THRESHOLD.name(), DEFAULT_IN_MEMORY_COMPUTE_THRESHOLD);
+        long graphSize = keyspaceStatistics.count(conceptManager, Schema.MetaSchema.THING.getLabel());
+        Class<? extends GraphComputer> graphComputerClass = graphSize < threshold ?
+                GraknInMemoryComputer.class :
+                GraknSparkComputer.class;
+        LOG.debug("Using {} to compute a graph of {} instances", graphComputerClass.getSimpleName(), graphSize);
+        return new OLAPOperation(hadoopGraph, graphComputerClass);
     }
 
     /**
@@ -383,7 +403,8 @@ public class ComputeExecutorImpl implements ComputeExecutor {
     }
 
     /**
-     * The Graql compute path query run method
+     * The Graql compute path query run method. Paths are first searched for in the transaction, and only computed
+     * with OLAP if the search visits more things than the configured budget.
      *
      * @return a Answer containing the list of shortest paths
      */
@@ -394,6 +415,21 @@ public class ComputeExecutorImpl implements ComputeExecutor {
         if (!scopeContainsInstances(query, fromID, toID)) throw GraqlSemanticException.instanceDoesNotExist();
         if (fromID.equals(toID)) return Stream.of(new ConceptList(ImmutableList.of(fromID)));
 
+        long budget = hadoopGraph.configuration().getLong(ConfigKey.COMPUTE_PATH_SEARCH_BUDGET.name(), DEFAULT_COMPUTE_PATH_SEARCH_BUDGET);
+        List<List<ConceptId>> paths = new BidirectionalShortestPath(scopeTypeLabels(query), scopeIncludesAttributes(query), budget)
+                .paths(conceptManager.getConcept(fromID), conceptManager.getConcept(toID));
+        if (paths == null) {
+            LOG.debug("Path search from {} to {} exceeded the budget of {} things, computing the path with OLAP", fromID, toID, budget);
+            paths = computePathsOLAP(query, fromID, toID);
+        }
+
+        if (!paths.isEmpty() && scopeIncludesAttributes(query)) {
+            paths = getComputePathResultList(paths);
+        }
+        return paths.stream().map(ConceptList::new);
+    }
+
+    private List<List<ConceptId>> computePathsOLAP(GraqlCompute.Path query, ConceptId fromID, ConceptId toID) {
         Set<LabelId> scopedLabelIds = convertLabelsToIds(scopeTypeLabels(query));
 
         ComputerResult result = compute(new ShortestPathVertexProgram(fromID, toID), null, scopedLabelIds);
@@ -404,17 +440,8 @@ public class ComputeExecutorImpl implements ComputeExecutor {
             pathsAsEdgeList.put(Schema.conceptIdFromVertexId(id), Schema.conceptIdFromVertexId(id2));
         }));
 
-        List<List<ConceptId>> paths;
-        if (!resultFromMemory.isEmpty()) {
-            paths = getComputePathResultList(pathsAsEdgeList, fromID);
-            if (scopeIncludesAttributes(query)) {
-                paths = getComputePathResultList(paths);
-            }
-        } else {
-            paths = Collections.emptyList();
-        }
-
-        return paths.stream().map(ConceptList::new);
+        if (resultFromMemory.isEmpty()) return Collections.emptyList();
+        return getComputePathResultList(pathsAsEdgeList, fromID);
     }
 
     /**
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.executor;
+
+import com.google.common.collect.AbstractIterator;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graql.reasoner.explanation.LookupExplanation;
+import grakn.core.graql.reasoner.query.DisjunctiveQuery;
+import grakn.core.kb.concept.api.Concept;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import graql.lang.Graql;
+import graql.lang.pattern.Conjunction;
+import graql.lang.pattern.Disjunction;
+import graql.lang.pattern.Pattern;
+import graql.lang.statement.Variable;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Evaluates the disjuncts of a match clause of a read transaction concurrently.
+ *
+ * Each disjunct, together with its negated patterns, is evaluated by a worker of a bounded pool shared by the server,
+ * in its own read transaction of the session. The workers stream the ids of the concepts of their answers through a
+ * bounded buffer, from which they are built into concepts of the calling transaction, deduplicated and streamed in the
+ * order they are found.
+ *
+ * Workers never hold a thread of the pool waiting for the consumer: a disjunct for which no worker is free, or whose
+ * worker could not hand an answer over to a full buffer in time, is evaluated in the calling transaction instead, as the
+ * consumer asks for answers. Answers already handed over by the worker are then found again, and deduplicated.
+ *
+ * The first failing disjunct stops its siblings. Closing the stream of answers, or the calling transaction, interrupts
+ * the workers, which close their transactions.
+ *
+ * Inferred concepts only exist in the transaction that inferred them, hence disjunctions requiring rule resolution
+ * are resolved in the calling transaction instead.
+ */
+public class DisjunctionExecutor {
+
+    // number of answers the workers of a disjunction can buffer ahead of the consumer of the answers
+    private static final int ANSWER_BUFFER_SIZE = 1000;
+    // how long a worker waits for room in the buffer before leaving its disjunct to the calling transaction
+    private static final long HAND_OVER_TIMEOUT_MS = 100;
+    // how long the consumer waits for an answer of the workers before checking whether they are done
+    private static final long POLL_TIMEOUT_MS = 10;
+
+    private final Session session;
+    private final ExecutorService workers;
+    private final ConceptManager conceptManager;
+    // disjuncts being evaluated for the calling transaction, which are cancelled when it closes
+    private final Set<Future<?>> runningDisjuncts = ConcurrentHashMap.newKeySet();
+
+    public DisjunctionExecutor(Session session, ExecutorService workers, ConceptManager conceptManager) {
+        this.session = session;
+        this.workers = workers;
+        this.conceptManager = conceptManager;
+    }
+
+    /**
+     * @param inlineMatcher evaluates a disjunct in the calling transaction
+     */
+    Stream<ConceptMap> match(Disjunction<Conjunction<Pattern>> disjunction, DisjunctiveQuery query,
+                             Function<Conjunction<Pattern>, Stream<ConceptMap>> inlineMatcher) {
+        Set<Variable> bindingVars = query.getBindingVars();
+        AnswerIdIterator ids = new AnswerIdIterator(bindingVars, inlineMatcher);
+        for (Conjunction<Pattern> conjunction : disjunction.getPatterns()) {
+            ids.runningWorkers.incrementAndGet();
+            try {
+                Future<?> disjunct = workers.submit(() -> matchIds(conjunction, bindingVars, ids));
+                ids.disjuncts.add(disjunct);
+                runningDisjuncts.add(disjunct);
+            } catch (RejectedExecutionException e) {
+                // no worker is free
+                ids.runningWorkers.decrementAndGet();
+                ids.inlineDisjuncts.add(conjunction);
+            }
+        }
+
+        Set<Map<Variable, ConceptId>> answerIds = new HashSet<>();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(ids, Spliterator.ORDERED), false)
+                .filter(answerIds::add)
+                .map(answer -> answer(answer, query))
+                .filter(Objects::nonNull)
+                .onClose(ids::cancel);
+    }
+
+    /**
+     * Interrupts the workers still evaluating disjuncts for the calling transaction, as it is being closed
+     */
+    void close() {
+        runningDisjuncts.forEach(disjunct -> disjunct.cancel(true));
+        runningDisjuncts.clear();
+    }
+
+    private void matchIds(Conjunction<Pattern> conjunction, Set<Variable> bindingVars, AnswerIdIterator ids) {
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            Iterator<ConceptMap> answers = tx.stream(Graql.match(conjunction).get(), false).iterator();
+            while (answers.hasNext() && ids.failure.get() == null) {
+                if (!ids.buffer.offer(ids(answers.next(), bindingVars), HAND_OVER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    // the consumer doesn't keep up, release the worker
+                    ids.inlineDisjuncts.add(conjunction);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // the answers have been closed, nothing waits for the remaining ones
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            ids.failure.compareAndSet(null, e);
+        } finally {
+            ids.runningWorkers.decrementAndGet();
+        }
+    }
+
+    private static Map<Variable, ConceptId> ids(ConceptMap answer, Set<Variable> bindingVars) {
+        return answer.map().entrySet().stream()
+                .filter(entry -> bindingVars.contains(entry.getKey()))
+                .collect(toMap(Map.Entry::getKey, entry -> entry.getValue().id()));
+    }
+
+    @Nullable
+    private ConceptMap answer(Map<Variable, ConceptId> ids, DisjunctiveQuery query) {
+        Map<Variable, Concept> concepts = new HashMap<>();
+        for (Map.Entry<Variable, ConceptId> entry : ids.entrySet()) {
+            Concept concept = conceptManager.getConcept(entry.getValue());
+            // the concept has been deleted since the worker read it
+            if (concept == null) return null;
+            concepts.put(entry.getKey(), concept);
+        }
+        return new ConceptMap(concepts, new LookupExplanation(), query.getPattern(concepts));
+    }
+
+    /**
+     * Takes the answers of the workers off the buffer, and evaluates the disjuncts left to the calling transaction
+     * while the buffer is empty, until all disjuncts are done. Rethrows the first failure of a worker.
+     */
+    private class AnswerIdIterator extends AbstractIterator<Map<Variable, ConceptId>> {
+        private final BlockingQueue<Map<Variable, ConceptId>> buffer = new ArrayBlockingQueue<>(ANSWER_BUFFER_SIZE);
+        private final AtomicInteger runningWorkers = new AtomicInteger();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final Queue<Conjunction<Pattern>> inlineDisjuncts = new ConcurrentLinkedQueue<>();
+        private final List<Future<?>> disjuncts = new ArrayList<>();
+        private final Set<Variable> bindingVars;
+        private final Function<Conjunction<Pattern>, Stream<ConceptMap>> inlineMatcher;
+        private Iterator<ConceptMap> inlineAnswers = Collections.emptyIterator();
+
+        AnswerIdIterator(Set<Variable> bindingVars, Function<Conjunction<Pattern>, Stream<ConceptMap>> inlineMatcher) {
+            this.bindingVars = bindingVars;
+            this.inlineMatcher = inlineMatcher;
+        }
+
+        @Override
+        protected Map<Variable, ConceptId> computeNext() {
+            while (true) {
+                RuntimeException workerFailure = failure.get();
+                if (workerFailure != null) {
+                    cancel();
+                    throw workerFailure;
+                }
+
+                Map<Variable, ConceptId> ids = buffer.poll();
+                if (ids != null) return ids;
+                if (inlineAnswers.hasNext()) return ids(inlineAnswers.next(), bindingVars);
+                Conjunction<Pattern> inlineDisjunct = inlineDisjuncts.poll();
+                if (inlineDisjunct != null) {
+                    inlineAnswers = inlineMatcher.apply(inlineDisjunct).iterator();
+                } else if (runningWorkers.get() == 0) {
+                    // workers hand their answers and disjuncts over before they finish
+                    if (buffer.isEmpty() && inlineDisjuncts.isEmpty() && failure.get() == null) return endOfData();
+                } else {
+                    ids = poll();
+                    if (ids != null) return ids;
+                }
+            }
+        }
+
+        private Map<Variable, ConceptId> poll() {
+            try {
+                return buffer.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        void cancel() {
+            disjuncts.forEach(disjunct -> {
+                disjunct.cancel(true);
+                runningDisjuncts.remove(disjunct);
+            });
+        }
+    }
+}
@@ -39,6 +39,7 @@ public class ExecutorFactoryImpl implements ExecutorFactory {
     private TraversalExecutor traversalExecutor;
     private ReasonerQueryFactory reasonerQueryFactory;
     private ExplanationCache explanationCache;
+    private DisjunctionExecutor disjunctionExecutor;
 
     public ExecutorFactoryImpl(ConceptManager conceptManager, HadoopGraph hadoopGraph, KeyspaceStatistics keyspaceStatistics, TraversalPlanFactory traversalPlanFactory, TraversalExecutor traversalExecutor, ExplanationCache explanationCache) {
         this.conceptManager = conceptManager;
@@ -56,11 +57,23 @@ public class ExecutorFactoryImpl implements ExecutorFactory {
 
     @Override
     public QueryExecutor transactional(boolean infer) {
-        return new QueryExecutorImpl(conceptManager, reasonerQueryFactory, explanationCache, infer);
+        return new QueryExecutorImpl(conceptManager, reasonerQueryFactory, explanationCache, disjunctionExecutor, infer);
     }
 
     public void setReasonerQueryFactory(ReasonerQueryFactory reasonerQueryFactory) {
         this.reasonerQueryFactory = reasonerQueryFactory;
     }
 
+    /**
+     * Enables evaluating the disjuncts of match clauses concurrently, only safe for read transactions
+     */
+    public void setDisjunctionExecutor(DisjunctionExecutor disjunctionExecutor) {
+        this.disjunctionExecutor = disjunctionExecutor;
+    }
+
+    @Override
+    public void close() {
+        if (disjunctionExecutor != null) disjunctionExecutor.close();
+    }
+
 }
@@ -19,6 +19,7 @@
 package grakn.core.graql.executor;
 
 import grakn.core.core.Schema;
+import grakn.core.graql.executor.computer.GraknInMemoryComputer;
 import grakn.core.graql.executor.computer.GraknSparkComputer;
 import grakn.core.kb.concept.api.LabelId;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
@@ -56,8 +57,12 @@ public class OLAPOperation {
     private boolean filterAllEdges = false;
 
     public OLAPOperation(Graph graph) {
+        this(graph, GraknSparkComputer.class);
+    }
+
+    public OLAPOperation(Graph graph, Class<? extends GraphComputer> graphComputerClass) {
         this.graph = graph;
-        this.graphComputerClass = GraknSparkComputer.class;
+        this.graphComputerClass = graphComputerClass;
     }
 
     @CheckReturnValue
@@ -88,8 +93,10 @@ public class OLAPOperation {
     }
 
     public void killJobs() {
-        if (graphComputer != null && graphComputerClass.equals(GraknSparkComputer.class)) {
+        if (graphComputer instanceof GraknSparkComputer) {
             ((GraknSparkComputer) graphComputer).cancelJobs();
+        } else if (graphComputer instanceof GraknInMemoryComputer) {
+            ((GraknInMemoryComputer) graphComputer).cancelJobs();
         }
     }
 
@@ -31,6 +31,7 @@ import grakn.core.graql.reasoner.query.ResolvableQuery;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.graql.exception.GraqlSemanticException;
 import grakn.core.kb.graql.executor.QueryExecutor;
+import grakn.core.kb.graql.executor.WriteExecutor;
 import grakn.core.kb.graql.executor.property.PropertyExecutor;
 import grakn.core.kb.graql.executor.property.PropertyExecutorFactory;
 import grakn.core.kb.graql.reasoner.ReasonerCheckedException;
@@ -54,6 +55,7 @@ import graql.lang.statement.Variable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -81,13 +83,17 @@ public class QueryExecutorImpl implements QueryExecutor {
     private final boolean infer;
     private ReasonerQueryFactory reasonerQueryFactory;
     private final PropertyExecutorFactory propertyExecutorFactory;
+    @Nullable
+    private final DisjunctionExecutor disjunctionExecutor;
     private static final Logger LOG = LoggerFactory.getLogger(QueryExecutorImpl.class);
 
-    QueryExecutorImpl(ConceptManager conceptManager, ReasonerQueryFactory reasonerQueryFactory, ExplanationCache explanationCache, boolean infer) {
+    QueryExecutorImpl(ConceptManager conceptManager, ReasonerQueryFactory reasonerQueryFactory, ExplanationCache explanationCache,
+                      @Nullable DisjunctionExecutor disjunctionExecutor, boolean infer) {
         this.conceptManager = conceptManager;
         this.explanationCache = explanationCache;
         this.infer = infer;
         this.reasonerQueryFactory = reasonerQueryFactory;
+        this.disjunctionExecutor = disjunctionExecutor;
         propertyExecutorFactory = new PropertyExecutorFactoryImpl();
     }
 
@@ -103,6 +109,9 @@ public class QueryExecutorImpl implements QueryExecutor {
             Disjunction<Conjunction<Pattern>> disjunction = matchClause.getPatterns().getNegationDNF();
             ResolvableQuery resolvableQuery = reasonerQueryFactory.resolvable(disjunction, bindingVars);
 
+            boolean parallel = disjunctionExecutor != null && disjunction.getPatterns().size() > 1
+                    && !(infer && resolvableQuery.isRuleResolvable());
+            if (parallel) return disjunctionExecutor.match(disjunction, resolvableQuery.asDisjunctive(), conjunction -> match(Graql.match(conjunction)));
             return resolvableQuery.resolve(infer);
         } catch (ReasonerCheckedException e) {
             LOG.debug(e.getMessage());
@@ -190,6 +199,9 @@ public class QueryExecutorImpl implements QueryExecutor {
         }
 
 
+        // the writers are ordered once for the query and the executor is reused for all the matched answers
+        WriteExecutor writeExecutor = WriteExecutorImpl.create(conceptManager, WriteExecutorImpl.plan(executors.build(), false));
+
         Stream<ConceptMap> answerStream;
         if (query.match() != null) {
             MatchClause match = query.match();
@@ -200,12 +212,18 @@ public class QueryExecutorImpl implements QueryExecutor {
             LinkedHashSet<Variable> projectedVars = new LinkedHashSet<>(matchVars);
             projectedVars.retainAll(insertVars);
 
-            Stream<ConceptMap> answers = get(match.get(projectedVars), explain);
-            answerStream = answers
-                    .flatMap(answer -> WriteExecutorImpl.create(conceptManager, executors.build()).write(answer))
-                    .collect(toList()).stream();
+            // snapshot the matched ids before writing, so that the writes can't modify the answers being read
+            AnswerIdSnapshot matched = new AnswerIdSnapshot();
+            get(match.get(projectedVars), explain).forEach(matched::add);
+
+            // inserted answers are kept as ids as well, so memory use doesn't grow with the concepts created
+            AnswerIdSnapshot inserted = new AnswerIdSnapshot();
+            matched.stream(conceptManager)
+                    .flatMap(writeExecutor::write)
+                    .forEach(inserted::add);
+            answerStream = inserted.stream(conceptManager);
         } else {
-            answerStream = WriteExecutorImpl.create(conceptManager, executors.build()).write();
+            answerStream = writeExecutor.write();
         }
 
         return answerStream;
@@ -225,10 +243,11 @@ public class QueryExecutorImpl implements QueryExecutor {
         }
 
         // note: NOT lazy, to avoid modifying the stream while reading
-        List<ConceptMap> toDelete = get(query.match().get()).collect(toList());
-        toDelete.forEach(answer -> {
-            WriteExecutorImpl.create(conceptManager, executors.build()).write(answer);
-        });
+        // answers are snapshotted as ids, concepts deleted by preceding answers are left out of the answers following them
+        AnswerIdSnapshot toDelete = new AnswerIdSnapshot();
+        get(query.match().get()).forEach(toDelete::add);
+        WriteExecutor writeExecutor = WriteExecutorImpl.create(conceptManager, WriteExecutorImpl.plan(executors.build(), true));
+        toDelete.stream(conceptManager).forEach(writeExecutor::write);
 
         // if we deleted anything, we clear the explanation cache
         if (toDelete.size() > 0) {
@@ -251,7 +270,7 @@ public class QueryExecutorImpl implements QueryExecutor {
             }
         }
 
-        return WriteExecutorImpl.create(conceptManager, executors.build()).write();
+        return WriteExecutorImpl.create(conceptManager, WriteExecutorImpl.plan(executors.build(), false)).write();
     }
 
     @Override
@@ -266,7 +285,7 @@ public class QueryExecutorImpl implements QueryExecutor {
                 executors.addAll(propertyExecutorFactory.definable(statement.var(), property).undefineExecutors());
             }
         }
-        return WriteExecutorImpl.create(conceptManager, executors.build()).write();
+        return WriteExecutorImpl.create(conceptManager, WriteExecutorImpl.plan(executors.build(), false)).write();
     }
 
     @Override
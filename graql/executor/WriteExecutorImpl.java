@@ -37,6 +37,7 @@ import grakn.core.kb.graql.exception.GraqlSemanticException;
 import grakn.core.kb.graql.executor.ConceptBuilder;
 import grakn.core.kb.graql.executor.WriteExecutor;
 import grakn.core.kb.graql.executor.property.PropertyExecutor.Writer;
+import grakn.core.kb.graql.executor.property.PropertyExecutor.Writer.TiebreakDeletionOrdering;
 import graql.lang.property.VarProperty;
 import graql.lang.statement.Statement;
 import graql.lang.statement.Variable;
@@ -57,6 +58,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
@@ -71,6 +73,9 @@ public class WriteExecutorImpl implements WriteExecutor {
 
     private ConceptManager conceptManager;
 
+    // The plan of the query, shared by the writes of all of its answers
+    private final Plan plan;
+
     // A mutable map associating each `Var` to the `Concept` in the graph it refers to.
     private final Map<Variable, Concept> concepts = new HashMap<>();
 
@@ -80,27 +85,25 @@ public class WriteExecutorImpl implements WriteExecutor {
     // A mutable map of concepts "under construction" that require more information before they can be built
     private final Map<Variable, ConceptBuilder> conceptBuilders = new HashMap<>();
 
-    // An immutable set of all properties
-    private final ImmutableSet<Writer> writers;
-
-    // A partition (disjoint set) indicating which `Var`s should refer to the same concept
-    private final Partition<Variable> equivalentVars;
-
-    // A map, where `dependencies.containsEntry(x, y)` implies that `y` must be inserted before `x` is inserted.
-    private final ImmutableMultimap<Writer, Writer> dependencies;
-
-    private WriteExecutorImpl(ConceptManager conceptManager,
-                              Set<Writer> writers,
-                              Partition<Variable> equivalentVars,
-                              Multimap<Writer, Writer> executorDependency
-    ) {
+    private WriteExecutorImpl(ConceptManager conceptManager, Plan plan) {
         this.conceptManager = conceptManager;
-        this.writers = ImmutableSet.copyOf(writers);
-        this.equivalentVars = equivalentVars;
-        this.dependencies = ImmutableMultimap.copyOf(executorDependency);
+        this.plan = plan;
+    }
+
+    /**
+     * @return an executor writing the plan, which can be reused to write it for each answer of the query
+     */
+    static WriteExecutor create(ConceptManager conceptManager, Plan plan) {
+        return new WriteExecutorImpl(conceptManager, plan);
     }
 
-    static WriteExecutor create(ConceptManager conceptManager, ImmutableSet<Writer> writers) {
+    /**
+     * Compiles the writers of a query once, so that the same plan can be written for any number of answers.
+     *
+     * @param conceptDependentOrder true if the order of the writers depends on the concepts they write,
+     *                              as is the case for deletions
+     */
+    static Plan plan(ImmutableSet<Writer> writers, boolean conceptDependentOrder) {
         /*
             We build several many-to-many relations, indicated by a `Multimap<X, Y>`. These are used to represent
             the dependencies between properties and variables.
@@ -189,7 +192,7 @@ public class WriteExecutorImpl implements WriteExecutor {
         Multimap<Writer, Writer> writerDependencies =
                 writerDependencies(executorToRequiredVars, varToProducingWriter);
 
-        return new WriteExecutorImpl(conceptManager, writers, equivalentVars, writerDependencies);
+        return new Plan(writers, equivalentVars, writerDependencies, conceptDependentOrder);
     }
 
     private static Multimap<VarProperty, Variable> propertyToEquivalentVars(Set<Writer> executors) {
@@ -231,13 +234,20 @@ public class WriteExecutorImpl implements WriteExecutor {
     }
 
     public Stream<ConceptMap> write(ConceptMap preExisting) {
+        // the executor is reused for every answer, so we start from a clean slate
+        concepts.clear();
+        conceptsToDelete.clear();
+        conceptBuilders.clear();
         concepts.putAll(preExisting.map());
 
-        // note that we _must_ call sortedWriters() for each concept map we want to write for now
+        // note that we _must_ sort the writers for each concept map when deleting
         // because we have to order deletions whose order depends on the concepts they represent
         // eg. batch deletion based on ID have no ordering from the query itself
+        List<Writer> writers = plan.order != null ?
+                plan.order :
+                sortedWriters(boundWriters(), writer -> writer.ordering(this));
 
-        for (Writer writer : sortedWriters()) {
+        for (Writer writer : writers) {
             writer.execute(this);
         }
 
@@ -250,8 +260,8 @@ public class WriteExecutorImpl implements WriteExecutor {
         ImmutableMap.Builder<Variable, Concept> allConcepts = ImmutableMap.<Variable, Concept>builder().putAll(concepts);
 
         // Make sure to include all equivalent vars in the result
-        for (Variable var : equivalentVars.getNodes()) {
-            allConcepts.put(var, concepts.get(equivalentVars.componentOf(var)));
+        for (Variable var : plan.equivalentVars.getNodes()) {
+            allConcepts.put(var, concepts.get(plan.equivalentVars.componentOf(var)));
         }
 
         Map<Variable, Concept> namedConcepts = Maps.filterKeys(allConcepts.build(), Variable::isReturned);
@@ -260,6 +270,23 @@ public class WriteExecutorImpl implements WriteExecutor {
     }
 
 
+    /**
+     * Concepts deleted by the writes of preceding answers are missing from the answer being written,
+     * so the deletions of those concepts have already happened and their writers are left out.
+     */
+    private ImmutableSet<Writer> boundWriters() {
+        return plan.writers.stream()
+                .filter(writer -> writer.requiredVars().stream().allMatch(this::isConceptDefined))
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    private ImmutableList<Writer> sortedWriters(ImmutableSet<Writer> writers, Function<Writer, TiebreakDeletionOrdering> ordering) {
+        if (writers.size() == plan.writers.size()) return sortedWriters(writers, plan.dependencies, ordering);
+        ImmutableMultimap<Writer, Writer> dependencies = ImmutableMultimap.copyOf(Multimaps.filterEntries(plan.dependencies,
+                dependency -> writers.contains(dependency.getKey()) && writers.contains(dependency.getValue())));
+        return sortedWriters(writers, dependencies, ordering);
+    }
+
     @Override
     public void toDelete(Concept concept) {
         conceptsToDelete.add(concept);
@@ -275,14 +302,18 @@ public class WriteExecutorImpl implements WriteExecutor {
     /**
      * Produce a valid ordering of the properties by using the given dependency information.
      * This method uses a topological sort (Kahn's algorithm) in order to find a valid ordering.
+     *
+     * @param ordering tie breaker of the writers which are independent in their ordering
      */
-    private ImmutableList<Writer> sortedWriters() {
+    private static ImmutableList<Writer> sortedWriters(ImmutableSet<Writer> writers,
+                                                       ImmutableMultimap<Writer, Writer> writerDependencies,
+                                                       Function<Writer, TiebreakDeletionOrdering> ordering) {
 
         ImmutableList.Builder<Writer> sorted = ImmutableList.builder();
 
         // invertedDependencies is intended to just be a 'view' on dependencies, so when dependencies is modified
         // we should always also modify invertedDependencies (and vice-versa).
-        Multimap<Writer, Writer> dependencies = HashMultimap.create(this.dependencies);
+        Multimap<Writer, Writer> dependencies = HashMultimap.create(writerDependencies);
         Multimap<Writer, Writer> invertedDependencies = HashMultimap.create();
         Multimaps.invertFrom(dependencies, invertedDependencies);
 
@@ -320,20 +351,20 @@ public class WriteExecutorImpl implements WriteExecutor {
             }
             // at this point, these writers are completely independent in their ordering
             // we use a tie breaker based on the type of concept represented
-            unblockedWriters.sort(Comparator.comparing((w) -> w.ordering(this)));
+            unblockedWriters.sort(Comparator.comparing(ordering));
             connectedWritersWithoutDependencies.addAll(unblockedWriters);
         }
 
         // these writers are completely independent in their ordering
         // we use a tie breaker based on the type of concept represented
         unorderedWriters.stream()
-                .sorted(Comparator.comparing((w) -> w.ordering(this)))
+                .sorted(Comparator.comparing(ordering))
                 .forEach(sorted::add);
 
         if (!dependencies.isEmpty()) {
             // This means there must have been a loop. Pick an arbitrary remaining var to display
             Variable var = dependencies.keys().iterator().next().var();
-            throw GraqlSemanticException.insertRecursive(printableRepresentation(var));
+            throw GraqlSemanticException.insertRecursive(printableRepresentation(writers, var));
         }
 
         return sorted.build();
@@ -353,7 +384,7 @@ public class WriteExecutorImpl implements WriteExecutor {
     @Override
     public ConceptBuilder getBuilder(Variable var) {
         return tryBuilder(var).orElseThrow(() -> {
-            Concept concept = concepts.get(equivalentVars.componentOf(var));
+            Concept concept = concepts.get(plan.equivalentVars.componentOf(var));
             return GraqlSemanticException.insertExistingConcept(printableRepresentation(var), concept);
         });
     }
@@ -369,7 +400,7 @@ public class WriteExecutorImpl implements WriteExecutor {
      */
     @Override
     public Optional<ConceptBuilder> tryBuilder(Variable var) {
-        var = equivalentVars.componentOf(var);
+        var = plan.equivalentVars.componentOf(var);
 
         if (concepts.containsKey(var)) {
             return Optional.empty();
@@ -394,7 +425,7 @@ public class WriteExecutorImpl implements WriteExecutor {
      */
     @Override
     public Concept getConcept(Variable var) {
-        var = equivalentVars.componentOf(var);
+        var = plan.equivalentVars.componentOf(var);
         Preconditions.checkNotNull(var);
 
         @Nullable Concept concept = concepts.get(var);
@@ -418,12 +449,16 @@ public class WriteExecutorImpl implements WriteExecutor {
 
     @Override
     public boolean isConceptDefined(Variable var) {
-        var = equivalentVars.componentOf(var);
+        var = plan.equivalentVars.componentOf(var);
         return concepts.containsKey(var);
     }
 
     @Override
     public Statement printableRepresentation(Variable var) {
+        return printableRepresentation(plan.writers, var);
+    }
+
+    private static Statement printableRepresentation(Set<Writer> writers, Variable var) {
         LinkedHashSet<VarProperty> propertiesOfVar = new LinkedHashSet<>();
 
         // This could be faster if we built a dedicated map Var -> VarPattern
@@ -436,4 +471,36 @@ public class WriteExecutorImpl implements WriteExecutor {
 
         return Statement.create(var, propertiesOfVar);
     }
+
+    /**
+     * The writers of a query compiled with the variables that refer to the same concept and the dependencies
+     * between the writers. Unless the order of the writers depends on the concepts they write, the writers are
+     * also sorted once for all answers.
+     */
+    static final class Plan {
+
+        // An immutable set of all properties
+        private final ImmutableSet<Writer> writers;
+
+        // A partition (disjoint set) indicating which `Var`s should refer to the same concept
+        // NB: lookups compress its paths, but never change its components
+        private final Partition<Variable> equivalentVars;
+
+        // A map, where `dependencies.containsEntry(x, y)` implies that `y` must be inserted before `x` is inserted.
+        private final ImmutableMultimap<Writer, Writer> dependencies;
+
+        // The writers sorted by their dependencies, null if their order depends on the concepts they write
+        @Nullable
+        private final ImmutableList<Writer> order;
+
+        private Plan(ImmutableSet<Writer> writers, Partition<Variable> equivalentVars,
+                     Multimap<Writer, Writer> dependencies, boolean conceptDependentOrder) {
+            this.writers = writers;
+            this.equivalentVars = equivalentVars;
+            this.dependencies = ImmutableMultimap.copyOf(dependencies);
+            this.order = conceptDependentOrder ?
+                    null :
+                    sortedWriters(this.writers, this.dependencies, writer -> TiebreakDeletionOrdering.NOT_APPLICABLE);
+        }
+    }
 }
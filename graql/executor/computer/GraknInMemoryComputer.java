@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.executor.computer;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.InputFormat;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.JobContextImpl;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.process.computer.AbstractHadoopGraphComputer;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopConfiguration;
+import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.GraphFilterAware;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * GraphComputer executing vertex programs and map reduce jobs within the server JVM, without Spark.
+ * </p>
+ *
+ * <p>
+ * The graph is read with the input format configured on the HadoopGraph, with each of its splits (CQL token ranges)
+ * scanned in parallel in a fork-join pool. Vertex and edge filters are pushed down to the reader. The loaded
+ * vertices are then assembled into an in-memory TinkerGraph and the programs are executed with its GraphComputer,
+ * which partitions the vertices across the workers and exchanges messages through per-worker in-memory buffers.
+ * This way no Spark context is created and no vertex is serialised, which dominates the compute time of small graphs.
+ * </p>
+ *
+ * <p>
+ * As the whole graph is held in memory, this computer is only meant for graphs below a configurable size.
+ * </p>
+ */
+public final class GraknInMemoryComputer extends AbstractHadoopGraphComputer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraknInMemoryComputer.class);
+
+    private static final ExecutorService COMPUTER_SERVICE = Executors.newCachedThreadPool(
+            new BasicThreadFactory.Builder()
+                    .namingPattern(GraknInMemoryComputer.class.getSimpleName() + "-%d")
+                    .daemon(true)
+                    .build());
+
+    private boolean workersSet = false;
+    private volatile Future<ComputerResult> job = null;
+    private volatile Future<ComputerResult> computation = null;
+
+    public GraknInMemoryComputer(HadoopGraph hadoopGraph) {
+        super(hadoopGraph);
+    }
+
+    @Override
+    public GraphComputer workers(int workers) {
+        super.workers(workers);
+        this.workersSet = true;
+        return this;
+    }
+
+    @Override
+    public Future<ComputerResult> submit() {
+        if (!workersSet) super.workers(Runtime.getRuntime().availableProcessors());
+        this.validateStatePriorToExecution();
+        job = COMPUTER_SERVICE.submit(this::compute);
+        return job;
+    }
+
+    public void cancelJobs() {
+        if (computation != null) computation.cancel(true);
+        if (job != null) job.cancel(true);
+    }
+
+    @Override
+    protected void loadJar(Configuration hadoopConfiguration, File file, Object... params) {
+        // the computation runs in the server JVM, the classpath is already in place
+    }
+
+    private ComputerResult compute() throws InterruptedException, ExecutionException, IOException {
+        long startTime = System.currentTimeMillis();
+        org.apache.commons.configuration.Configuration graphComputerConfiguration =
+                new HadoopConfiguration(this.hadoopGraph.configuration());
+        Configuration hadoopConfiguration = ConfUtil.makeHadoopConfiguration(graphComputerConfiguration);
+
+        @SuppressWarnings("unchecked")
+        Class<InputFormat<NullWritable, VertexWritable>> inputFormatClass = (Class<InputFormat<NullWritable, VertexWritable>>)
+                hadoopConfiguration.getClass(Constants.GREMLIN_HADOOP_GRAPH_READER, InputFormat.class, InputFormat.class);
+        boolean filterOnLoad = GraphFilterAware.class.isAssignableFrom(inputFormatClass);
+        if (filterOnLoad) {
+            GraphFilterAware.storeGraphFilter(graphComputerConfiguration, hadoopConfiguration, this.graphFilter);
+        }
+
+        TinkerGraph graph = loadGraph(ReflectionUtils.newInstance(inputFormatClass, hadoopConfiguration), hadoopConfiguration);
+        LOG.debug("Loaded graph for {}[{}] in {} ms",
+                this.vertexProgram, this.mapReducers, System.currentTimeMillis() - startTime);
+
+        GraphComputer computer = graph.compute()
+                .workers(this.workers)
+                .result(this.resultGraph)
+                .persist(this.persist);
+        if (this.vertexProgram != null) computer.program(this.vertexProgram);
+        this.mapReducers.forEach(computer::mapReduce);
+        if (!filterOnLoad) {
+            if (this.graphFilter.getVertexFilter() != null) computer.vertices(this.graphFilter.getVertexFilter());
+            if (this.graphFilter.getEdgeFilter() != null) computer.edges(this.graphFilter.getEdgeFilter());
+        }
+
+        computation = computer.submit();
+        ComputerResult result = computation.get();
+        LOG.debug("Computed {}[{}] in {} ms",
+                this.vertexProgram, this.mapReducers, System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * Reads all splits of the input in parallel and assembles the read vertices into a TinkerGraph.
+     */
+    private TinkerGraph loadGraph(InputFormat<NullWritable, VertexWritable> inputFormat, Configuration hadoopConfiguration)
+            throws InterruptedException, ExecutionException, IOException {
+        List<InputSplit> splits = inputFormat.getSplits(new JobContextImpl(hadoopConfiguration, new JobID()));
+
+        ForkJoinPool pool = new ForkJoinPool(this.workers);
+        List<List<StarGraph.StarVertex>> partitions;
+        try {
+            partitions = pool.submit(() -> splits.parallelStream()
+                    .map(split -> readSplit(inputFormat, split, hadoopConfiguration))
+                    .collect(Collectors.toList())
+            ).get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // TinkerGraph is not thread safe, hence we assemble it sequentially
+        TinkerGraph graph = TinkerGraph.open();
+        Map<Object, Vertex> vertices = new HashMap<>();
+        for (List<StarGraph.StarVertex> partition : partitions) {
+            for (StarGraph.StarVertex starVertex : partition) {
+                Vertex vertex = graph.addVertex(T.id, starVertex.id(), T.label, starVertex.label());
+                starVertex.properties().forEachRemaining(property ->
+                        vertex.property(VertexProperty.Cardinality.list, property.key(), property.value()));
+                vertices.put(starVertex.id(), vertex);
+            }
+        }
+        // each edge is present in the star graphs of both of its ends, we only add it from its out vertex
+        for (List<StarGraph.StarVertex> partition : partitions) {
+            for (StarGraph.StarVertex starVertex : partition) {
+                Vertex outVertex = vertices.get(starVertex.id());
+                starVertex.edges(Direction.OUT).forEachRemaining(starEdge -> {
+                    Vertex inVertex = vertices.get(starEdge.inVertex().id());
+                    // the other end has been filtered out
+                    if (inVertex == null) return;
+                    Edge edge = outVertex.addEdge(starEdge.label(), inVertex, T.id, starEdge.id());
+                    starEdge.properties().forEachRemaining(property -> edge.property(property.key(), property.value()));
+                });
+            }
+        }
+        return graph;
+    }
+
+    private static List<StarGraph.StarVertex> readSplit(InputFormat<NullWritable, VertexWritable> inputFormat,
+                                                        InputSplit split, Configuration hadoopConfiguration) {
+        TaskAttemptContext context = new TaskAttemptContextImpl(hadoopConfiguration, new TaskAttemptID());
+        List<StarGraph.StarVertex> vertices = new ArrayList<>();
+        try (RecordReader<NullWritable, VertexWritable> reader = inputFormat.createRecordReader(split, context)) {
+            reader.initialize(split, context);
+            while (reader.nextKeyValue()) {
+                vertices.add(reader.getCurrentValue().get());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return vertices;
+    }
+}
@@ -61,9 +61,12 @@ class ConjunctionQuery {
     private final ImmutableSet<EquivalentFragmentSet> equivalentFragmentSets;
 
     /**
-     * @param patternConjunction a pattern containing no disjunctions to find in the graph
+     * @param patternConjunction  a pattern containing no disjunctions to find in the graph
+     * @param sortedValuesIndexed whether range comparisons on attributes can be looked up in the range index
+     * @param textIndexed         whether contains and like comparisons on attributes can be looked up in the text index
      */
-    ConjunctionQuery(Conjunction<Statement> patternConjunction, ConceptManager conceptManager, PropertyExecutorFactory propertyExecutorFactory) {
+    ConjunctionQuery(Conjunction<Statement> patternConjunction, ConceptManager conceptManager, PropertyExecutorFactory propertyExecutorFactory,
+                     boolean sortedValuesIndexed, boolean textIndexed) {
         statements = patternConjunction.getPatterns();
         this.propertyExecutorFactory = propertyExecutorFactory;
 
@@ -99,7 +102,7 @@ class ConjunctionQuery {
                 .collect(toSet());
 
         // Apply final optimisations
-        EquivalentFragmentSets.optimiseFragmentSets(initialEquivalentFragmentSets, conceptManager);
+        EquivalentFragmentSets.optimiseFragmentSets(initialEquivalentFragmentSets, conceptManager, sortedValuesIndexed, textIndexed);
 
         this.equivalentFragmentSets = ImmutableSet.copyOf(initialEquivalentFragmentSets);
     }
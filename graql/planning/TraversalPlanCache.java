@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.planning;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import grakn.common.util.Pair;
+import grakn.core.graql.planning.gremlin.fragment.LabelFragment;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.SchemaConcept;
+import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.graql.planning.gremlin.Fragment;
+import grakn.core.kb.keyspace.KeyspaceStatistics;
+import graql.lang.pattern.Conjunction;
+import graql.lang.pattern.Pattern;
+import graql.lang.property.IdProperty;
+import graql.lang.property.VarProperty;
+import graql.lang.statement.Statement;
+import graql.lang.statement.Variable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Keyspace-level cache of traversal plans.
+ *
+ * Planning a pattern only depends on its shape, the schema and the instance counts of the types it refers to - it
+ * doesn't depend on the concept ids the pattern is bound to. The reasoner in particular plans the same pattern over
+ * and over again, each time with a different id substitution. We therefore cache plans under the pattern with its id
+ * predicates abstracted away, and substitute the ids of the pattern at hand into the cached fragments on reuse.
+ * Variables remain part of the key - patterns need to share their variables (including the anonymous ones) to share
+ * a plan, which is the case for the queries the reasoner derives from one another.
+ *
+ * Fragments are transaction-independent (the ConceptManager is only supplied when a fragment is applied), so a single
+ * cache is shared by all transactions opened against a keyspace. An entry is discarded when:
+ * - the instance count of any type the plan was costed with drifted by more than a factor of STATISTICS_DRIFT_FACTOR,
+ * - a commit modifies the schema, in which case all entries are discarded.
+ *
+ * As plans depend on the schema, entries are tagged with the version of the cache they were computed at, which is
+ * bumped both when a commit modifying the schema starts and when it is done, so that it is odd while the commit is in
+ * progress. A transaction only reads and publishes plans of the even version it was opened at, so that transactions
+ * running against the previous schema, or opened while it is being replaced, can neither reuse nor publish plans
+ * across a schema commit.
+ */
+public class TraversalPlanCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TraversalPlanCache.class);
+
+    // instance counts can drift up to this factor (either way) before the cached plan is recomputed
+    static final double STATISTICS_DRIFT_FACTOR = 2.0;
+
+    private static final IdProperty ID_PLACEHOLDER = new IdProperty("");
+
+    private final Cache<Set<Set<Pair<Variable, List<VarProperty>>>>, Entry> cache;
+    private final AtomicLong version = new AtomicLong(0);
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong invalidations = new AtomicLong(0);
+    private final AtomicLong plansComputed = new AtomicLong(0);
+    private final AtomicLong planningTimeNanos = new AtomicLong(0);
+
+    public TraversalPlanCache(long maxPlans) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxPlans)
+                .build();
+    }
+
+    /**
+     * @return current version of the cache, incremented when each commit modifying the schema starts and is done
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Retrieve the plan of a pattern from the cache or compute it with the provided planner if the cache doesn't
+     * hold a valid plan for the pattern shape.
+     *
+     * @param pattern            pattern to be planned
+     * @param planner            function computing a plan for a pattern
+     * @param conceptManager     ConceptManager of the planning transaction
+     * @param keyspaceStatistics statistics the plans are costed with
+     * @param version            version of the cache the planning transaction was opened at
+     * @return plan (a list of fragments per conjunction of the disjunctive normal form) of the pattern
+     */
+    public Set<List<? extends Fragment>> plan(Pattern pattern, Function<Pattern, Set<List<? extends Fragment>>> planner,
+                                              ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics, long version) {
+        ParametrisedPattern parametrised = ParametrisedPattern.of(pattern);
+        // the transaction was opened while a schema commit was in progress
+        if (parametrised == null || version % 2 != 0) return computePlan(pattern, planner);
+
+        Entry entry = cache.getIfPresent(parametrised.shape());
+        if (entry != null && entry.version == version) {
+            if (!entry.statisticsDrifted(conceptManager, keyspaceStatistics)) {
+                hits.incrementAndGet();
+                return entry.plan(parametrised.ids());
+            }
+            LOG.debug("Statistics drifted since the plan for {} was cached, replanning", pattern);
+            cache.invalidate(parametrised.shape());
+            invalidations.incrementAndGet();
+        }
+        misses.incrementAndGet();
+
+        Set<List<? extends Fragment>> plan = computePlan(pattern, planner);
+        if (version == this.version.get()) {
+            cache.put(parametrised.shape(), new Entry(plan, instanceCounts(plan, conceptManager, keyspaceStatistics), version));
+        }
+        return plan;
+    }
+
+    /**
+     * Acknowledge the start of a commit modifying the schema, before it is written. Until it is done, no transaction
+     * reads nor publishes plans. Commits modifying the schema are serialised by the caller.
+     */
+    public void beginSchemaCommit() {
+        version.incrementAndGet();
+        invalidations.addAndGet(cache.size());
+        cache.invalidateAll();
+    }
+
+    /**
+     * Acknowledge a commit modifying the schema, written or failed: the plans may contain optimisations and inferred
+     * fragments that are no longer valid, hence we discard all of them.
+     */
+    public void ackSchemaCommit() {
+        version.incrementAndGet();
+        invalidations.addAndGet(cache.size());
+        cache.invalidateAll();
+    }
+
+    public long size() { return cache.size(); }
+
+    public long hitCount() { return hits.get(); }
+
+    public long missCount() { return misses.get(); }
+
+    public long invalidationCount() { return invalidations.get(); }
+
+    public long plansComputed() { return plansComputed.get(); }
+
+    /**
+     * @return total time spent computing plans (including plans of patterns that can't be cached), in nanoseconds
+     */
+    public long planningTimeNanos() { return planningTimeNanos.get(); }
+
+    @Override
+    public String toString() {
+        return "TraversalPlanCache{size=" + size() + ", hits=" + hitCount() + ", misses=" + missCount() +
+                ", invalidations=" + invalidationCount() + ", plansComputed=" + plansComputed() +
+                ", planningTimeMs=" + planningTimeNanos() / 1_000_000 + "}";
+    }
+
+    private Set<List<? extends Fragment>> computePlan(Pattern pattern, Function<Pattern, Set<List<? extends Fragment>>> planner) {
+        long start = System.nanoTime();
+        Set<List<? extends Fragment>> plan = planner.apply(pattern);
+        planningTimeNanos.addAndGet(System.nanoTime() - start);
+        plansComputed.incrementAndGet();
+        return plan;
+    }
+
+    /**
+     * @return instance counts of the labelled types the plan has been costed with, computed the same way as
+     * in the planner (including subtypes)
+     */
+    private static Map<Label, Long> instanceCounts(Set<List<? extends Fragment>> plan,
+                                                   ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics) {
+        Map<Label, Long> counts = new HashMap<>();
+        plan.stream()
+                .flatMap(List::stream)
+                .filter(fragment -> fragment instanceof LabelFragment)
+                .flatMap(fragment -> ((LabelFragment) fragment).labels().stream())
+                .forEach(label -> counts.put(label, instanceCount(label, conceptManager, keyspaceStatistics)));
+        return counts;
+    }
+
+    private static long instanceCount(Label label, ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics) {
+        SchemaConcept schemaConcept = conceptManager.getSchemaConcept(label);
+        if (schemaConcept == null) return -1;
+        return schemaConcept.subs()
+                .mapToLong(sub -> keyspaceStatistics.count(conceptManager, sub.label()))
+                .sum();
+    }
+
+    /**
+     * A pattern with its id predicates replaced by placeholders together with the ids they were bound to.
+     */
+    private static class ParametrisedPattern {
+        private final Set<Set<Pair<Variable, List<VarProperty>>>> shape;
+        private final Map<Variable, ConceptId> ids;
+
+        private ParametrisedPattern(Set<Set<Pair<Variable, List<VarProperty>>>> shape, Map<Variable, ConceptId> ids) {
+            this.shape = shape;
+            this.ids = ids;
+        }
+
+        /**
+         * @return parametrised pattern or null if a variable is bound to different ids within the pattern,
+         * in which case a single id substitution can't be defined
+         */
+        @Nullable
+        static ParametrisedPattern of(Pattern pattern) {
+            Map<Variable, ConceptId> ids = new HashMap<>();
+            ImmutableSet.Builder<Set<Pair<Variable, List<VarProperty>>>> shape = ImmutableSet.builder();
+            for (Conjunction<Statement> conjunction : pattern.getDisjunctiveNormalForm().getPatterns()) {
+                ImmutableSet.Builder<Pair<Variable, List<VarProperty>>> conjunctionShape = ImmutableSet.builder();
+                for (Statement statement : conjunction.getPatterns()) {
+                    for (Statement inner : statement.innerStatements()) {
+                        ImmutableList.Builder<VarProperty> properties = ImmutableList.builder();
+                        for (VarProperty property : inner.properties()) {
+                            if (property instanceof IdProperty) {
+                                ConceptId id = ConceptId.of(((IdProperty) property).id());
+                                ConceptId previous = ids.putIfAbsent(inner.var(), id);
+                                if (previous != null && !previous.equals(id)) return null;
+                                properties.add(ID_PLACEHOLDER);
+                            } else {
+                                properties.add(property);
+                            }
+                        }
+                        conjunctionShape.add(new Pair<>(inner.var(), properties.build()));
+                    }
+                }
+                shape.add(conjunctionShape.build());
+            }
+            return new ParametrisedPattern(shape.build(), ids);
+        }
+
+        Set<Set<Pair<Variable, List<VarProperty>>>> shape() { return shape; }
+
+        Map<Variable, ConceptId> ids() { return ids; }
+    }
+
+    private static class Entry {
+        private final Set<List<? extends Fragment>> plan;
+        private final Map<Label, Long> instanceCounts;
+        private final long version;
+
+        Entry(Set<List<? extends Fragment>> plan, Map<Label, Long> instanceCounts, long version) {
+            this.plan = plan;
+            this.instanceCounts = ImmutableMap.copyOf(instanceCounts);
+            this.version = version;
+        }
+
+        /**
+         * @param ids id substitution of the pattern the plan is reused for
+         * @return cached plan with the ids substituted
+         */
+        Set<List<? extends Fragment>> plan(Map<Variable, ConceptId> ids) {
+            if (ids.isEmpty()) return plan;
+            ImmutableSet.Builder<List<? extends Fragment>> transformed = ImmutableSet.builder();
+            for (List<? extends Fragment> fragments : plan) {
+                ImmutableList.Builder<Fragment> transformedFragments = ImmutableList.builder();
+                fragments.forEach(fragment -> transformedFragments.add(fragment.transform(ids)));
+                transformed.add(transformedFragments.build());
+            }
+            return transformed.build();
+        }
+
+        boolean statisticsDrifted(ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics) {
+            for (Map.Entry<Label, Long> e : instanceCounts.entrySet()) {
+                long cachedCount = e.getValue();
+                long currentCount = instanceCount(e.getKey(), conceptManager, keyspaceStatistics);
+                if (cachedCount < 0 || currentCount < 0) {
+                    if (cachedCount != currentCount) return true;
+                    continue;
+                }
+                // compare with a +1 offset so that counts close to zero are not considered drifting on every insert
+                double ratio = (double) (Math.max(cachedCount, currentCount) + 1) / (Math.min(cachedCount, currentCount) + 1);
+                if (ratio > STATISTICS_DRIFT_FACTOR) return true;
+            }
+            return false;
+        }
+    }
+}
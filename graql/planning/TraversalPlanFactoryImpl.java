@@ -25,6 +25,8 @@ import com.google.common.collect.Sets;
 import grakn.common.util.Pair;
 import grakn.core.core.JanusTraversalSourceProvider;
 import grakn.core.graql.planning.gremlin.fragment.InIsaFragment;
+import grakn.core.graql.planning.gremlin.fragment.InIsaRangeFragment;
+import grakn.core.graql.planning.gremlin.fragment.InIsaTextFragment;
 import grakn.core.graql.planning.gremlin.fragment.InSubFragment;
 import grakn.core.graql.planning.gremlin.fragment.LabelFragment;
 import grakn.core.kb.concept.api.Label;
@@ -44,6 +46,7 @@ import grakn.core.kb.graql.planning.spanningtree.graph.NodeId;
 import grakn.core.kb.graql.planning.spanningtree.graph.SparseWeightedGraph;
 import grakn.core.kb.graql.planning.spanningtree.util.Weighted;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
+import grakn.core.kb.server.cache.TransactionCache;
 import graql.lang.pattern.Conjunction;
 import graql.lang.pattern.Pattern;
 import graql.lang.statement.Statement;
@@ -51,6 +54,7 @@ import graql.lang.statement.Variable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -81,15 +85,29 @@ public class TraversalPlanFactoryImpl implements TraversalPlanFactory {
     private PropertyExecutorFactory propertyExecutorFactory;
     private final long shardingThreshold;
     private final KeyspaceStatistics keyspaceStatistics;
+    private final TraversalPlanCache planCache;
+    private final TransactionCache transactionCache;
+    private final long planCacheVersion;
 
     public TraversalPlanFactoryImpl(JanusTraversalSourceProvider janusTraversalSourceProvider, ConceptManager conceptManager,
                                     PropertyExecutorFactory propertyExecutorFactory, long shardingThreshold,
                                     KeyspaceStatistics keyspaceStatistics) {
+        this(janusTraversalSourceProvider, conceptManager, propertyExecutorFactory, shardingThreshold, keyspaceStatistics, null, null);
+    }
+
+    public TraversalPlanFactoryImpl(JanusTraversalSourceProvider janusTraversalSourceProvider, ConceptManager conceptManager,
+                                    PropertyExecutorFactory propertyExecutorFactory, long shardingThreshold,
+                                    KeyspaceStatistics keyspaceStatistics, @Nullable TraversalPlanCache planCache,
+                                    @Nullable TransactionCache transactionCache) {
         this.janusTraversalSourceProvider = janusTraversalSourceProvider;
         this.conceptManager = conceptManager;
         this.propertyExecutorFactory = propertyExecutorFactory;
         this.shardingThreshold = shardingThreshold;
         this.keyspaceStatistics = keyspaceStatistics;
+        this.planCache = planCache;
+        this.transactionCache = transactionCache;
+        // plans are only shared with the transactions opened against the same version of the schema
+        this.planCacheVersion = planCache != null ? planCache.version() : -1;
     }
 
     /**
@@ -99,14 +117,42 @@ public class TraversalPlanFactoryImpl implements TraversalPlanFactory {
      * @return a semi-optimal traversal plan
      */
     public GraqlTraversal createTraversal(Pattern pattern) {
+        Set<List<? extends Fragment>> fragments = planCacheEnabled() ?
+                planCache.plan(pattern, this::planForPattern, conceptManager, keyspaceStatistics, planCacheVersion) :
+                planForPattern(pattern);
+
+        return new GraqlTraversalImpl(janusTraversalSourceProvider, conceptManager, fragments);
+    }
+
+    /**
+     * Plans computed against a schema modified within this transaction must neither be shared nor reused,
+     * the modifications are not visible to the other transactions and may yet be rolled back.
+     */
+    private boolean planCacheEnabled() {
+        return planCache != null && (transactionCache == null || !transactionCache.isSchemaModified());
+    }
+
+    /**
+     * Planners created without a transaction cache are only used over keyspaces created with the range index.
+     */
+    private boolean sortedValuesIndexed() {
+        return transactionCache == null || transactionCache.sortedValuesIndexed();
+    }
+
+    /**
+     * Planners created without a transaction cache are only used over keyspaces created with the text index.
+     */
+    private boolean textIndexed() {
+        return transactionCache == null || transactionCache.textIndexed();
+    }
+
+    private Set<List<? extends Fragment>> planForPattern(Pattern pattern) {
         Collection<Conjunction<Statement>> patterns = pattern.getDisjunctiveNormalForm().getPatterns();
 
-        Set<List<? extends Fragment>> fragments = patterns.stream()
-                .map(conjunction -> new ConjunctionQuery(conjunction, conceptManager, propertyExecutorFactory))
+        return patterns.stream()
+                .map(conjunction -> new ConjunctionQuery(conjunction, conceptManager, propertyExecutorFactory, sortedValuesIndexed(), textIndexed()))
                 .map(this::planForConjunction)
                 .collect(ImmutableSet.toImmutableSet());
-
-        return new GraqlTraversalImpl(janusTraversalSourceProvider, conceptManager, fragments);
     }
 
     /**
@@ -204,7 +250,16 @@ public class TraversalPlanFactoryImpl implements TraversalPlanFactory {
                 if (fragment instanceof InIsaFragment) {
                     Node type = nodes.get(NodeId.of(NodeId.Type.VAR, fragment.start()));
                     if (nodesWithFixedCost.containsKey(type) && nodesWithFixedCost.get(type) > 0) {
-                        fragment.setAccurateFragmentCost(nodesWithFixedCost.get(type));
+                        double cost = nodesWithFixedCost.get(type);
+                        // range lookups only traverse the instances with values within the range
+                        if (fragment instanceof InIsaRangeFragment) {
+                            cost = Math.max(0, cost + ((InIsaRangeFragment) fragment).rangeCost());
+                        }
+                        // and text lookups only traverse the instances with values containing the substring
+                        if (fragment instanceof InIsaTextFragment) {
+                            cost = Math.max(0, cost + ((InIsaTextFragment) fragment).textCost());
+                        }
+                        fragment.setAccurateFragmentCost(cost);
                     }
                 }
             }
@@ -98,6 +98,23 @@ public class Fragments {
         return new InIsaFragment(varProperty, start, end);
     }
 
+    /**
+     * A Fragment traversing isa edges from an attribute type to its instances with values within the provided bounds,
+     * using the range index of the type shards.
+     */
+    public static Fragment inIsaRange(VarProperty varProperty, Variable start, Variable end,
+                                      @Nullable Double lowerBound, @Nullable Double upperBound) {
+        return new InIsaRangeFragment(varProperty, start, end, lowerBound, upperBound);
+    }
+
+    /**
+     * A Fragment traversing isa edges from a string attribute type to its instances with values containing
+     * the provided substring, using the text index.
+     */
+    public static Fragment inIsaText(VarProperty varProperty, Variable start, Variable end, String substring) {
+        return new InIsaTextFragment(varProperty, start, end, substring);
+    }
+
     public static Fragment outIsa(VarProperty varProperty, Variable start, Variable end) {
         return new OutIsaFragment(varProperty, start, end);
     }
@@ -17,6 +17,7 @@
 
 package grakn.core.graql.planning.gremlin.fragment;
 
+import grakn.core.core.InstanceScan;
 import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.graql.planning.spanningtree.graph.InstanceNode;
 import grakn.core.kb.graql.planning.spanningtree.graph.Node;
@@ -34,12 +35,10 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Objects;
 
-import static grakn.core.core.Schema.EdgeLabel.ISA;
-import static grakn.core.core.Schema.EdgeLabel.SHARD;
-
 /**
  * A fragment representing traversing an isa edge from type to instance.
  *
+ * The instances are read through the shards of the type in batches, see InstanceScan.
  */
 
 public class InIsaFragment extends EdgeFragment {
@@ -55,12 +54,7 @@ public class InIsaFragment extends EdgeFragment {
     public GraphTraversal<Vertex, ? extends Element> applyTraversalInner(
             GraphTraversal<Vertex, ? extends Element> traversal, ConceptManager conceptManager, Collection<Variable> vars) {
 
-        GraphTraversal<Vertex, Vertex> vertexTraversal = Fragments.isVertex(traversal);
-        return toVertexInstances(vertexTraversal);
-    }
-
-    private <S> GraphTraversal<S, Vertex> toVertexInstances(GraphTraversal<S, Vertex> traversal) {
-        return traversal.in(SHARD.getLabel()).in(ISA.getLabel());
+        return Fragments.isVertex(traversal).flatMap(type -> InstanceScan.instances(type.get()));
     }
 
     @Override
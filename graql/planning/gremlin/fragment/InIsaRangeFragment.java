@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.planning.gremlin.fragment;
+
+import grakn.core.kb.concept.manager.ConceptManager;
+import graql.lang.property.VarProperty;
+import graql.lang.statement.Variable;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Objects;
+
+import static grakn.core.core.Schema.EdgeLabel.ISA;
+import static grakn.core.core.Schema.EdgeLabel.SHARD;
+import static grakn.core.core.Schema.EdgeProperty.SORTED_VALUE;
+
+/**
+ * A fragment representing traversing an isa edge from an attribute type to its instances with values within a range.
+ *
+ * The values of range indexed attributes are stored on their isa edges, which are sorted by value in a vertex-centric
+ * index of the type shard. The bounds are therefore answered with a slice of the shard adjacency list, as opposed to
+ * traversing all instances of the type and filtering their values. The bounds are inclusive as the sorted values may
+ * be rounded - the exact comparisons are still applied by the value fragments of the attribute.
+ */
+public class InIsaRangeFragment extends InIsaFragment {
+
+    private final Double lowerBound;
+    private final Double upperBound;
+
+    InIsaRangeFragment(
+            @Nullable VarProperty varProperty,
+            Variable start,
+            Variable end,
+            @Nullable Double lowerBound,
+            @Nullable Double upperBound) {
+        super(varProperty, start, end);
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    @Override
+    public GraphTraversal<Vertex, ? extends Element> applyTraversalInner(
+            GraphTraversal<Vertex, ? extends Element> traversal, ConceptManager conceptManager, Collection<Variable> vars) {
+
+        GraphTraversal<Vertex, Edge> isaEdges = Fragments.isVertex(traversal).in(SHARD.getLabel()).inE(ISA.getLabel());
+        if (lowerBound != null) isaEdges.has(SORTED_VALUE.name(), P.gte(lowerBound));
+        if (upperBound != null) isaEdges.has(SORTED_VALUE.name(), P.lte(upperBound));
+        return isaEdges.outV();
+    }
+
+    @Override
+    public String name() {
+        return start() + "<-[isa:" + (lowerBound != null ? lowerBound : "") + ".." + (upperBound != null ? upperBound : "") + "]-" + end();
+    }
+
+    @Override
+    public double internalFragmentCost() {
+        return COST_INSTANCES_PER_TYPE + rangeCost();
+    }
+
+    /**
+     * @return cost reduction of traversing only the instances within the range, assuming each bound filters out
+     * approximately half of the instances
+     */
+    public double rangeCost() {
+        int bounds = (lowerBound != null ? 1 : 0) + (upperBound != null ? 1 : 0);
+        return bounds * COST_NODE_UNSPECIFIC_PREDICATE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof InIsaRangeFragment) {
+            InIsaRangeFragment that = (InIsaRangeFragment) o;
+            return ((this.varProperty == null) ? (that.varProperty() == null) : this.varProperty.equals(that.varProperty()))
+                    && (this.start.equals(that.start()))
+                    && (this.end.equals(that.end()))
+                    && Objects.equals(this.lowerBound, that.lowerBound)
+                    && Objects.equals(this.upperBound, that.upperBound);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(varProperty, start, end, lowerBound, upperBound);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.planning.gremlin.fragment;
+
+import com.google.common.collect.Iterators;
+import grakn.core.core.InstanceScan;
+import grakn.core.core.TextIndex;
+import grakn.core.kb.concept.manager.ConceptManager;
+import graql.lang.property.VarProperty;
+import graql.lang.statement.Variable;
+import graql.lang.util.StringUtil;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static grakn.core.core.Schema.EdgeLabel.ISA;
+import static grakn.core.core.Schema.EdgeLabel.SHARD;
+
+/**
+ * A fragment representing traversing an isa edge from a string attribute type to its instances with values
+ * containing a substring.
+ *
+ * The instances are looked up in the text index and only the candidates which are instances of the type
+ * are traversed, as opposed to traversing all instances of the type and filtering their values. The index
+ * ignores case and returns a superset of the matching values - the exact comparisons are still applied by the
+ * value fragments of the attribute. Transactions that can't use the index traverse all instances of the type.
+ */
+public class InIsaTextFragment extends InIsaFragment {
+
+    private final String substring;
+
+    InIsaTextFragment(
+            @Nullable VarProperty varProperty,
+            Variable start,
+            Variable end,
+            String substring) {
+        super(varProperty, start, end);
+        this.substring = substring;
+    }
+
+    @Override
+    public GraphTraversal<Vertex, ? extends Element> applyTraversalInner(
+            GraphTraversal<Vertex, ? extends Element> traversal, ConceptManager conceptManager, Collection<Variable> vars) {
+
+        return Fragments.isVertex(traversal).flatMap(type -> instances(type.get()));
+    }
+
+    private Iterator<Vertex> instances(Vertex type) {
+        Stream<Vertex> candidates = TextIndex.candidates(type, substring);
+        if (candidates == null) {
+            return InstanceScan.instances(type);
+        }
+        return candidates.filter(candidate -> isInstance(candidate, type)).iterator();
+    }
+
+    private static boolean isInstance(Vertex candidate, Vertex type) {
+        return Iterators.any(candidate.vertices(Direction.OUT, ISA.getLabel()),
+                shard -> Iterators.contains(shard.vertices(Direction.OUT, SHARD.getLabel()), type));
+    }
+
+    @Override
+    public String name() {
+        return start() + "<-[isa:" + StringUtil.valueToString(substring) + "]-" + end();
+    }
+
+    @Override
+    public double internalFragmentCost() {
+        return COST_INSTANCES_PER_TYPE + textCost();
+    }
+
+    /**
+     * @return cost reduction of traversing only the instances with values containing the substring, assuming
+     * each character of the substring filters out approximately half of the instances
+     */
+    public double textCost() {
+        return substring.length() * COST_NODE_UNSPECIFIC_PREDICATE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof InIsaTextFragment) {
+            InIsaTextFragment that = (InIsaTextFragment) o;
+            return ((this.varProperty == null) ? (that.varProperty() == null) : this.varProperty.equals(that.varProperty()))
+                    && (this.start.equals(that.start()))
+                    && (this.end.equals(that.end()))
+                    && (this.substring.equals(that.substring));
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(varProperty, start, end, substring);
+    }
+}
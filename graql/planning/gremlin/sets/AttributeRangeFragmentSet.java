@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.planning.gremlin.sets;
+
+import com.google.common.collect.ImmutableSet;
+import grakn.core.core.Schema;
+import grakn.core.graql.planning.gremlin.fragment.Fragments;
+import grakn.core.graql.planning.gremlin.value.ValueComparison;
+import grakn.core.graql.planning.gremlin.value.ValueOperation;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.SchemaConcept;
+import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.graql.planning.gremlin.EquivalentFragmentSet;
+import grakn.core.kb.graql.planning.gremlin.Fragment;
+import graql.lang.Graql;
+import graql.lang.property.VarProperty;
+import graql.lang.statement.Variable;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static grakn.core.graql.planning.gremlin.sets.EquivalentFragmentSets.fragmentSetOfType;
+
+/**
+ * A query can traverse from an attribute type to its instances using the range index when the following criteria are met:
+ * <p>
+ * 1. There is an IsaFragmentSet and at least one ValueFragmentSet referring to the same instance Variable.
+ * 2. The ValueFragmentSets are range comparisons (>, >=, <, <=) to a literal numeric or date value.
+ * 3. The IsaFragmentSet refers to a type Variable with a LabelFragmentSet.
+ * 4. The LabelFragmentSet refers to range indexed attribute types with value types comparable to the values.
+ * <p>
+ * When all these criteria are met, the IsaFragmentSet is replaced with an AttributeRangeFragmentSet. Its in-isa
+ * fragment only traverses the instances with values within the bounds of the comparisons, hence the traversal can
+ * start from the attribute type. The ValueFragmentSets are kept to apply the exact comparisons.
+ */
+public class AttributeRangeFragmentSet extends EquivalentFragmentSetImpl {
+
+    private final Variable instance;
+    private final Variable type;
+    private final Double lowerBound;
+    private final Double upperBound;
+
+    private AttributeRangeFragmentSet(
+            @Nullable VarProperty varProperty,
+            Variable instance,
+            Variable type,
+            @Nullable Double lowerBound,
+            @Nullable Double upperBound) {
+        super(varProperty);
+        this.instance = instance;
+        this.type = type;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    @Override
+    public final Set<Fragment> fragments() {
+        return ImmutableSet.of(
+                Fragments.outIsa(varProperty(), instance, type),
+                Fragments.inIsaRange(varProperty(), type, instance, lowerBound, upperBound)
+        );
+    }
+
+    static final FragmentSetOptimisation ATTRIBUTE_RANGE_OPTIMISATION = (fragmentSets, conceptManager) -> {
+        Set<Variable> attributes = rangeValueFragments(fragmentSets)
+                .map(ValueFragmentSet::var)
+                .collect(Collectors.toSet());
+
+        for (Variable attribute : attributes) {
+            IsaFragmentSet isaSet = EquivalentFragmentSets.typeInformationOf(attribute, fragmentSets);
+            if (isaSet == null) continue;
+
+            LabelFragmentSet labelSet = EquivalentFragmentSets.labelOf(isaSet.type(), fragmentSets);
+            if (labelSet == null) continue;
+
+            List<ValueOperation<?, ?>> comparisons = rangeValueFragments(fragmentSets)
+                    .filter(valueSet -> valueSet.var().equals(attribute))
+                    .map(ValueFragmentSet::operation)
+                    .collect(Collectors.toList());
+
+            if (rangeIndexed(labelSet.labels(), comparisons, conceptManager)) {
+                optimise(fragmentSets, isaSet, comparisons);
+                return true;
+            }
+        }
+
+        return false;
+    };
+
+    private static void optimise(Collection<EquivalentFragmentSet> fragmentSets, IsaFragmentSet isaSet,
+                                 List<ValueOperation<?, ?>> comparisons) {
+        Double lowerBound = null;
+        Double upperBound = null;
+        for (ValueOperation<?, ?> comparison : comparisons) {
+            double value = Schema.sortedValue(comparison.valueSerialised());
+            Graql.Token.Comparator comparator = comparison.comparator();
+            if (comparator.equals(Graql.Token.Comparator.GT) || comparator.equals(Graql.Token.Comparator.GTE)) {
+                lowerBound = lowerBound == null ? value : Math.max(lowerBound, value);
+            } else {
+                upperBound = upperBound == null ? value : Math.min(upperBound, value);
+            }
+        }
+
+        fragmentSets.remove(isaSet);
+        fragmentSets.add(new AttributeRangeFragmentSet(isaSet.varProperty(), isaSet.instance(), isaSet.type(), lowerBound, upperBound));
+    }
+
+    /**
+     * @return true if all the types are range indexed attribute types, with value types comparable to all the values
+     */
+    private static boolean rangeIndexed(Set<Label> labels, List<ValueOperation<?, ?>> comparisons, ConceptManager conceptManager) {
+        if (labels.isEmpty()) return false;
+        for (Label label : labels) {
+            SchemaConcept schemaConcept = conceptManager.getSchemaConcept(label);
+            if (schemaConcept == null || !schemaConcept.isAttributeType()) return false;
+            AttributeType.ValueType<?> valueType = schemaConcept.asAttributeType().valueType();
+            if (valueType == null || !Schema.isRangeIndexed(valueType)) return false;
+
+            boolean comparable = comparisons.stream()
+                    .map(comparison -> AttributeType.ValueType.of(comparison.value().getClass()))
+                    .allMatch(comparisonType -> comparisonType != null && comparisonType.comparableValueTypes().contains(valueType));
+            if (!comparable) return false;
+        }
+        return true;
+    }
+
+    private static Stream<ValueFragmentSet> rangeValueFragments(Collection<EquivalentFragmentSet> fragmentSets) {
+        return fragmentSetOfType(ValueFragmentSet.class, fragmentSets)
+                .filter(valueSet -> ValueComparison.isRange(valueSet.operation()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof AttributeRangeFragmentSet) {
+            AttributeRangeFragmentSet that = (AttributeRangeFragmentSet) o;
+            return Objects.equals(this.varProperty(), that.varProperty())
+                    && (this.instance.equals(that.instance))
+                    && (this.type.equals(that.type))
+                    && Objects.equals(this.lowerBound, that.lowerBound)
+                    && Objects.equals(this.upperBound, that.upperBound);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(varProperty(), instance, type, lowerBound, upperBound);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.planning.gremlin.sets;
+
+import com.google.common.collect.ImmutableSet;
+import grakn.core.core.TextIndex;
+import grakn.core.graql.planning.gremlin.fragment.Fragments;
+import grakn.core.graql.planning.gremlin.value.ValueComparison;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.SchemaConcept;
+import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.graql.planning.gremlin.EquivalentFragmentSet;
+import grakn.core.kb.graql.planning.gremlin.Fragment;
+import graql.lang.property.VarProperty;
+import graql.lang.statement.Variable;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static grakn.core.graql.planning.gremlin.sets.EquivalentFragmentSets.fragmentSetOfType;
+
+/**
+ * A query can traverse from an attribute type to its instances using the text index when the following criteria are met:
+ * <p>
+ * 1. There is an IsaFragmentSet and a ValueFragmentSet referring to the same instance Variable.
+ * 2. The ValueFragmentSet is a contains comparison to a literal string, or a like comparison to a regex starting
+ * with a literal prefix, long enough to be looked up in the text index.
+ * 3. The IsaFragmentSet refers to a type Variable with a LabelFragmentSet.
+ * 4. The LabelFragmentSet refers to attribute types with the string value type.
+ * <p>
+ * When all these criteria are met, the IsaFragmentSet is replaced with an AttributeTextFragmentSet. Its in-isa
+ * fragment only traverses the instances with values containing the longest of the substrings, hence the traversal
+ * can start from the attribute type. The ValueFragmentSets are kept to apply the exact comparisons.
+ */
+public class AttributeTextFragmentSet extends EquivalentFragmentSetImpl {
+
+    private final Variable instance;
+    private final Variable type;
+    private final String substring;
+
+    private AttributeTextFragmentSet(@Nullable VarProperty varProperty, Variable instance, Variable type, String substring) {
+        super(varProperty);
+        this.instance = instance;
+        this.type = type;
+        this.substring = substring;
+    }
+
+    @Override
+    public final Set<Fragment> fragments() {
+        return ImmutableSet.of(
+                Fragments.outIsa(varProperty(), instance, type),
+                Fragments.inIsaText(varProperty(), type, instance, substring)
+        );
+    }
+
+    static final FragmentSetOptimisation ATTRIBUTE_TEXT_OPTIMISATION = (fragmentSets, conceptManager) -> {
+        List<ValueFragmentSet> valueSets = fragmentSetOfType(ValueFragmentSet.class, fragmentSets).collect(Collectors.toList());
+
+        for (ValueFragmentSet valueSet : valueSets) {
+            String substring = ValueComparison.containedSubstring(valueSet.operation());
+            if (substring == null || !TextIndex.supports(substring)) continue;
+
+            IsaFragmentSet isaSet = EquivalentFragmentSets.typeInformationOf(valueSet.var(), fragmentSets);
+            if (isaSet == null) continue;
+
+            LabelFragmentSet labelSet = EquivalentFragmentSets.labelOf(isaSet.type(), fragmentSets);
+            if (labelSet == null || !stringAttributeTypes(labelSet.labels(), conceptManager)) continue;
+
+            fragmentSets.remove(isaSet);
+            fragmentSets.add(new AttributeTextFragmentSet(
+                    isaSet.varProperty(), isaSet.instance(), isaSet.type(), longestSubstring(valueSet.var(), fragmentSets)));
+            return true;
+        }
+
+        return false;
+    };
+
+    /**
+     * @return the longest indexable substring contained in the values of the instance, as the most selective one
+     */
+    private static String longestSubstring(Variable instance, Collection<EquivalentFragmentSet> fragmentSets) {
+        Optional<String> longest = fragmentSetOfType(ValueFragmentSet.class, fragmentSets)
+                .filter(valueSet -> valueSet.var().equals(instance))
+                .map(valueSet -> ValueComparison.containedSubstring(valueSet.operation()))
+                .filter(substring -> substring != null && TextIndex.supports(substring))
+                .max(Comparator.comparingInt(String::length));
+        return longest.orElseThrow(IllegalStateException::new);
+    }
+
+    private static boolean stringAttributeTypes(Set<Label> labels, ConceptManager conceptManager) {
+        if (labels.isEmpty()) return false;
+        for (Label label : labels) {
+            SchemaConcept schemaConcept = conceptManager.getSchemaConcept(label);
+            if (schemaConcept == null || !schemaConcept.isAttributeType()) return false;
+            if (!AttributeType.ValueType.STRING.equals(schemaConcept.asAttributeType().valueType())) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof AttributeTextFragmentSet) {
+            AttributeTextFragmentSet that = (AttributeTextFragmentSet) o;
+            return Objects.equals(this.varProperty(), that.varProperty())
+                    && (this.instance.equals(that.instance))
+                    && (this.type.equals(that.type))
+                    && (this.substring.equals(that.substring));
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(varProperty(), instance, type, substring);
+    }
+}
@@ -41,6 +41,8 @@ public class EquivalentFragmentSets {
     private static final ImmutableCollection<FragmentSetOptimisation> OPTIMISATIONS = ImmutableSet.of(
             RolePlayerFragmentSet.ROLE_OPTIMISATION,
             AttributeIndexFragmentSet.ATTRIBUTE_INDEX_OPTIMISATION,
+            AttributeRangeFragmentSet.ATTRIBUTE_RANGE_OPTIMISATION,
+            AttributeTextFragmentSet.ATTRIBUTE_TEXT_OPTIMISATION,
             RolePlayerFragmentSet.RELATION_TYPE_OPTIMISATION,
             LabelFragmentSet.REDUNDANT_LABEL_ELIMINATION_OPTIMISATION,
             SubFragmentSet.SUB_TRAVERSAL_ELIMINATION_OPTIMISATION
@@ -178,7 +180,7 @@ public class EquivalentFragmentSets {
      * This involves substituting various EquivalentFragmentSet with other EquivalentFragmentSet.
      */
     public static void optimiseFragmentSets(
-            Collection<EquivalentFragmentSet> fragmentSets, ConceptManager conceptManager) {
+            Collection<EquivalentFragmentSet> fragmentSets, ConceptManager conceptManager, boolean sortedValuesIndexed, boolean textIndexed) {
 
         // Repeatedly apply optimisations until they don't alter the query
         boolean changed = true;
@@ -186,6 +188,10 @@ public class EquivalentFragmentSets {
         while (changed) {
             changed = false;
             for (FragmentSetOptimisation optimisation : OPTIMISATIONS) {
+                // attributes written before the range index was introduced are missing from it
+                if (!sortedValuesIndexed && optimisation == AttributeRangeFragmentSet.ATTRIBUTE_RANGE_OPTIMISATION) continue;
+                // the text index is only kept when turned on in the server configuration
+                if (!textIndexed && optimisation == AttributeTextFragmentSet.ATTRIBUTE_TEXT_OPTIMISATION) continue;
                 changed |= optimisation.apply(fragmentSets, conceptManager);
             }
         }
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 
+import javax.annotation.Nullable;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
@@ -69,6 +70,57 @@ public abstract class ValueComparison<T, U> extends ValueOperation<T, U> {
         }
     }
 
+    /**
+     * @return true if the operation is a range comparison (>, >=, <, <=) to a literal numeric or date value
+     */
+    public static boolean isRange(ValueOperation<?, ?> operation) {
+        if (!(operation instanceof ValueComparison.Number || operation instanceof ValueComparison.DateTime)) return false;
+        switch (operation.comparator()) {
+            case GT:
+            case GTE:
+            case LT:
+            case LTE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return a substring contained (ignoring case) in all string values satisfying the operation: the value of
+     * a contains comparison or the literal prefix of a like comparison, null if there is none
+     */
+    @Nullable
+    public static java.lang.String containedSubstring(ValueOperation<?, ?> operation) {
+        if (!(operation instanceof ValueComparison.String)) return null;
+        java.lang.String value = ((ValueComparison.String) operation).value();
+        switch (operation.comparator()) {
+            case CONTAINS:
+                return value;
+            case LIKE:
+                return literalPrefix(value);
+            default:
+                return null;
+        }
+    }
+
+    @Nullable
+    private static java.lang.String literalPrefix(java.lang.String regex) {
+        // alternatives don't have to share a prefix
+        if (regex.indexOf('|') >= 0) return null;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = regex.startsWith("^") ? 1 : 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if ("\\[](){}.*+?^$".indexOf(c) >= 0) {
+                // these quantifiers make the preceding character optional
+                if (c == '*' || c == '?' || c == '{') prefix.setLength(Math.max(0, prefix.length() - 1));
+                break;
+            }
+            prefix.append(c);
+        }
+        return prefix.length() > 0 ? prefix.toString() : null;
+    }
+
     private static <V> Map<Graql.Token.Comparator, Function<V, P<V>>> comparablePredicates() {
         Map<Graql.Token.Comparator, Function<V, P<V>>> predicates = new HashMap<>();
         predicates.put(Graql.Token.Comparator.EQV, P::eq);
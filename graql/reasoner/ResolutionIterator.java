@@ -133,7 +133,8 @@ public class ResolutionIterator extends ReasonerQueryIterator {
         if (reiterate()) {
             long dAns = answers.size() - oldAns;
             if (dAns != 0 || iter == 0) {
-                LOG.debug("iter: {} answers: {} dAns = {} time = {}", iter, answers.size(), dAns, System.currentTimeMillis() - startTime);
+                LOG.debug("iter: {} answers: {} dAns = {} skipped rule applications = {} time = {}", iter, answers.size(), dAns,
+                        CacheCasting.queryCacheCast(queryCache).ruleApplicationTracker().skippedApplications(), System.currentTimeMillis() - startTime);
                 iter++;
                 states.push(query.resolutionState(new ConceptMap(), new UnifierImpl(), null, new HashSet<>()));
 
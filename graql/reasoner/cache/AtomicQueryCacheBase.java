@@ -27,6 +27,7 @@ import grakn.core.kb.graql.planning.gremlin.TraversalPlanFactory;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  *
@@ -101,6 +102,16 @@ public abstract class AtomicQueryCacheBase<
         }
     }
 
+    /**
+     * @return queries for which all answers (including inferred) are present in the cache
+     */
+    Stream<ReasonerAtomicQuery> completeQueries(){
+        return Stream.concat(
+                completeEntries.stream().map(this::keyToQuery),
+                completeQueries.stream()
+        );
+    }
+
     void clearQueryCompleteness(){
         dbCompleteQueries.clear();
         completeQueries.clear();
@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.reasoner.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.concept.answer.Explanation;
+import grakn.core.graql.reasoner.explanation.CompositeExplanation;
+import grakn.core.graql.reasoner.explanation.DisjunctiveExplanation;
+import grakn.core.graql.reasoner.explanation.JoinExplanation;
+import grakn.core.graql.reasoner.explanation.LookupExplanation;
+import grakn.core.graql.reasoner.explanation.RuleExplanation;
+import grakn.core.graql.reasoner.query.ReasonerAtomicQuery;
+import grakn.core.kb.concept.api.Concept;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.Rule;
+import grakn.core.kb.concept.api.SchemaConcept;
+import grakn.core.kb.concept.api.Type;
+import grakn.core.kb.concept.manager.ConceptManager;
+import graql.lang.pattern.Pattern;
+import graql.lang.statement.Variable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Stack;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyspace-level cache of complete answer sets of atomic queries.
+ *
+ * Unlike the transaction-bound MultilevelSemanticCache, this cache is shared by all transactions opened against
+ * a keyspace and therefore only holds transaction-independent data: concept ids, graql patterns and a skeleton of
+ * the answer explanations. Answers are rehydrated against the ConceptManager of the transaction reading them.
+ *
+ * Consistency is maintained by means of a version that is bumped on every commit:
+ * - a commit of data changes evicts the entries whose answers depend on any of the modified types,
+ * - a commit containing deletions or schema (including rule) changes evicts everything,
+ * - a transaction can only publish answers if no commit happened since it was opened.
+ *
+ * The size of the cache is bounded by the total number of cached answers (including the answers in explanations).
+ */
+public class KeyspaceQueryCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KeyspaceQueryCache.class);
+
+    private final Cache<Pattern, Entry> cache;
+    private final AtomicLong version = new AtomicLong(0);
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+
+    public KeyspaceQueryCache(long maxAnswers) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxAnswers)
+                .weigher((Pattern key, Entry entry) -> entry.weight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return current version of the cache, incremented on each commit
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Record a complete answer set of a query. The answers are only recorded if the cache wasn't invalidated since
+     * the recording transaction has been opened and the answers do not refer to concepts that aren't persisted.
+     *
+     * @param txVersion cache version seen by the recording transaction when it was opened
+     * @param query     complete query
+     * @param answers   complete answer set of the query
+     */
+    public void record(long txVersion, ReasonerAtomicQuery query, Collection<ConceptMap> answers) {
+        if (txVersion != version()) return;
+        List<AnswerSnapshot> snapshots = new ArrayList<>();
+        for (ConceptMap answer : answers) {
+            AnswerSnapshot snapshot = AnswerSnapshot.of(answer);
+            if (snapshot == null) return;
+            snapshots.add(snapshot);
+        }
+        Entry entry = new Entry(snapshots, dependencies(query));
+        synchronized (this) {
+            if (txVersion == version()) cache.put(query.getPattern(), entry);
+        }
+    }
+
+    /**
+     * @param query to look up
+     * @return complete answer set of the query rehydrated in the context of the query's transaction,
+     * null if the query is not cached
+     */
+    @Nullable
+    public Set<ConceptMap> getAnswers(ReasonerAtomicQuery query) {
+        Pattern key = query.getPattern();
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        ConceptManager conceptManager = query.context().conceptManager();
+        Set<ConceptMap> answers = new HashSet<>();
+        for (AnswerSnapshot snapshot : entry.answers()) {
+            ConceptMap answer = snapshot.rehydrate(conceptManager);
+            if (answer == null) {
+                LOG.debug("Keyspace query cache entry for {} refers to concepts that no longer exist, evicting", key);
+                cache.invalidate(key);
+                misses.incrementAndGet();
+                return null;
+            }
+            answers.add(answer);
+        }
+        hits.incrementAndGet();
+        return answers;
+    }
+
+    /**
+     * Acknowledge a commit of data changes: evict entries depending on modified types.
+     *
+     * @param modifiedTypes labels of types whose instances (or ownerships) were inserted
+     */
+    public synchronized void ackCommit(Set<Label> modifiedTypes) {
+        version.incrementAndGet();
+        if (modifiedTypes.isEmpty()) return;
+        cache.asMap().entrySet().removeIf(e -> e.getValue().dependsOn(modifiedTypes));
+    }
+
+    /**
+     * Acknowledge a commit that can affect answers in a way we can't track by types (schema, rule or deletion):
+     * evict all entries.
+     */
+    public synchronized void ackInvalidatingCommit() {
+        version.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long size() { return cache.size(); }
+
+    public long hitCount() { return hits.get(); }
+
+    public long missCount() { return misses.get(); }
+
+    public long evictionCount() { return cache.stats().evictionCount(); }
+
+    @Override
+    public String toString() {
+        return "KeyspaceQueryCache{version=" + version() + ", size=" + size() +
+                ", hits=" + hitCount() + ", misses=" + missCount() + ", evictions=" + evictionCount() + "}";
+    }
+
+    /**
+     * Computes the labels of types which, when their instances are inserted, can change the answers of the query:
+     * the query type together with its subtypes and, recursively, all types present in bodies of rules
+     * that can infer any of those.
+     *
+     * @return set of type labels or null if the query depends on all types
+     */
+    @Nullable
+    private static Set<Label> dependencies(ReasonerAtomicQuery query) {
+        SchemaConcept schemaConcept = query.getAtom().getSchemaConcept();
+        if (schemaConcept == null || !schemaConcept.isType()) return null;
+
+        Set<Label> labels = new HashSet<>();
+        Set<Type> visited = new HashSet<>();
+        Stack<Type> types = new Stack<>();
+        types.push(schemaConcept.asType());
+        while (!types.isEmpty()) {
+            Type type = types.pop();
+            if (type == null || !visited.add(type)) continue;
+            type.subs().forEach(sub -> {
+                labels.add(sub.label());
+                sub.thenRules().flatMap(Rule::whenTypes).forEach(types::push);
+            });
+        }
+        return labels;
+    }
+
+    private static class Entry {
+        private final List<AnswerSnapshot> answers;
+        private final Set<Label> dependencies;
+        private final int weight;
+
+        Entry(List<AnswerSnapshot> answers, @Nullable Set<Label> dependencies) {
+            this.answers = Collections.unmodifiableList(answers);
+            this.dependencies = dependencies;
+            this.weight = 1 + answers.stream().mapToInt(AnswerSnapshot::weight).sum();
+        }
+
+        List<AnswerSnapshot> answers() { return answers; }
+
+        int weight() { return weight; }
+
+        boolean dependsOn(Set<Label> modifiedTypes) {
+            return dependencies == null || modifiedTypes.stream().anyMatch(dependencies::contains);
+        }
+    }
+
+    /**
+     * Transaction-independent representation of a ConceptMap together with its explanation.
+     */
+    private static class AnswerSnapshot {
+
+        private enum ExplanationType {EMPTY, LOOKUP, RULE, JOIN, DISJUNCTIVE, COMPOSITE}
+
+        private final Map<Variable, ConceptId> ids;
+        private final Pattern pattern;
+        private final ExplanationType explanationType;
+        private final ConceptId ruleId;
+        private final List<AnswerSnapshot> explanationAnswers;
+
+        private AnswerSnapshot(Map<Variable, ConceptId> ids, Pattern pattern, ExplanationType explanationType,
+                               @Nullable ConceptId ruleId, List<AnswerSnapshot> explanationAnswers) {
+            this.ids = ids;
+            this.pattern = pattern;
+            this.explanationType = explanationType;
+            this.ruleId = ruleId;
+            this.explanationAnswers = explanationAnswers;
+        }
+
+        /**
+         * @return snapshot of the answer or null if the answer can't be shared between transactions
+         */
+        @Nullable
+        static AnswerSnapshot of(ConceptMap answer) {
+            Map<Variable, ConceptId> ids = new HashMap<>();
+            for (Map.Entry<Variable, Concept> e : answer.map().entrySet()) {
+                Concept concept = e.getValue();
+                // inferred concepts might be non-persisted and hence invisible to other transactions
+                if (concept.isThing() && concept.asThing().isInferred()) return null;
+                ids.put(e.getKey(), concept.id());
+            }
+
+            Explanation explanation = answer.explanation();
+            ExplanationType explanationType;
+            ConceptId ruleId = null;
+            if (explanation == null || explanation.getClass().equals(Explanation.class)) {
+                explanationType = ExplanationType.EMPTY;
+            } else if (explanation instanceof LookupExplanation) {
+                explanationType = ExplanationType.LOOKUP;
+            } else if (explanation instanceof RuleExplanation) {
+                explanationType = ExplanationType.RULE;
+                ruleId = ((RuleExplanation) explanation).getRule().id();
+            } else if (explanation instanceof JoinExplanation) {
+                explanationType = ExplanationType.JOIN;
+            } else if (explanation instanceof DisjunctiveExplanation) {
+                explanationType = ExplanationType.DISJUNCTIVE;
+            } else if (explanation instanceof CompositeExplanation) {
+                explanationType = ExplanationType.COMPOSITE;
+            } else {
+                return null;
+            }
+
+            List<AnswerSnapshot> explanationAnswers = new ArrayList<>();
+            if (explanation != null) {
+                for (ConceptMap explanationAnswer : explanation.getAnswers()) {
+                    AnswerSnapshot snapshot = of(explanationAnswer);
+                    if (snapshot == null) return null;
+                    explanationAnswers.add(snapshot);
+                }
+            }
+            return new AnswerSnapshot(ids, answer.getPattern(), explanationType, ruleId, explanationAnswers);
+        }
+
+        int weight() {
+            return 1 + explanationAnswers.stream().mapToInt(AnswerSnapshot::weight).sum();
+        }
+
+        /**
+         * @return answer bound to the transaction of the provided ConceptManager or null if any of the concepts
+         * can no longer be found
+         */
+        @Nullable
+        ConceptMap rehydrate(ConceptManager conceptManager) {
+            Map<Variable, Concept> map = new HashMap<>();
+            for (Map.Entry<Variable, ConceptId> e : ids.entrySet()) {
+                Concept concept = conceptManager.getConcept(e.getValue());
+                if (concept == null) return null;
+                map.put(e.getKey(), concept);
+            }
+            List<ConceptMap> answers = new ArrayList<>();
+            for (AnswerSnapshot explanationAnswer : explanationAnswers) {
+                ConceptMap answer = explanationAnswer.rehydrate(conceptManager);
+                if (answer == null) return null;
+                answers.add(answer);
+            }
+
+            Explanation explanation;
+            switch (explanationType) {
+                case LOOKUP:
+                    explanation = new LookupExplanation();
+                    break;
+                case RULE:
+                    Concept rule = conceptManager.getConcept(ruleId);
+                    if (rule == null) return null;
+                    explanation = answers.isEmpty() ?
+                            new RuleExplanation(rule.asRule()) :
+                            new RuleExplanation(answers.iterator().next(), rule.asRule());
+                    break;
+                case JOIN:
+                    explanation = new JoinExplanation(answers);
+                    break;
+                case DISJUNCTIVE:
+                    explanation = new DisjunctiveExplanation(answers.iterator().next());
+                    break;
+                case COMPOSITE:
+                    explanation = new CompositeExplanation(answers.iterator().next());
+                    break;
+                default:
+                    explanation = new Explanation(answers);
+            }
+            return new ConceptMap(map, explanation, pattern);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.reasoner.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import grakn.core.graql.reasoner.query.ReasonerQueryImpl;
+import grakn.core.graql.reasoner.rule.InferenceRule;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.Rule;
+import grakn.core.kb.concept.api.Type;
+import grakn.core.kb.concept.manager.ConceptManager;
+import graql.lang.pattern.Conjunction;
+import graql.lang.pattern.Pattern;
+import graql.lang.statement.Statement;
+import graql.lang.statement.Variable;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keyspace-level cache of the transaction-independent parts of the rules compiled by the reasoner.
+ *
+ * Converting a Rule into an InferenceRule parses its when and then patterns and brings them to normal form, and
+ * ordering the rules applicable to an atom builds the type graph of the rules and its strongly connected components.
+ * Both only depend on the schema, so their results are cached under the rule labels and shared by all transactions
+ * opened against a keyspace. The atoms of an InferenceRule are bound to the concepts of a transaction, hence each
+ * transaction still builds them, but from the cached patterns. Likewise the types inferred for the variables of the
+ * rule are cached by label, and bound to the types of each transaction.
+ *
+ * Entries are tagged with the version of the cache they were computed at, which is bumped both when a commit modifying
+ * the schema (including rules) starts and when it is done, so that it is odd while the commit is in progress. A
+ * transaction only reads and publishes entries of the even version it was opened at: transactions opened during a
+ * schema commit may read either schema, hence don't use the cache at all. A transaction also stops using the cache
+ * once it modifies the schema itself.
+ */
+public class KeyspaceRuleCache {
+
+    private final Cache<Label, Entry<CompiledRule>> rules;
+    private final Cache<Set<Label>, Entry<List<Label>>> strata;
+    private final AtomicLong version = new AtomicLong(0);
+
+    public KeyspaceRuleCache(long maxEntries) {
+        this.rules = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+        this.strata = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    /**
+     * @return current version of the cache, incremented when each commit modifying the schema starts and is done
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * @param version version of the cache a transaction was opened at
+     * @return false if the transaction was opened while a commit modifying the schema was in progress
+     */
+    public static boolean isStable(long version) {
+        return version % 2 == 0;
+    }
+
+    /**
+     * @param rule    rule to be compiled
+     * @param version version of the cache the requesting transaction was opened at
+     * @return the when and then patterns of the rule in the form the InferenceRule is built from
+     */
+    public CompiledRule rule(Rule rule, long version) {
+        return get(rules, rule.label(), version, () -> new CompiledRule(InferenceRule.body(rule), InferenceRule.head(rule)));
+    }
+
+    /**
+     * @param rules      labels of a set of rules applicable to an atom
+     * @param version    version of the cache the requesting transaction was opened at
+     * @param stratifier function ordering the rules, see RuleUtils#stratifyRules
+     * @return labels of the rules in the order they should be resolved in
+     */
+    public List<Label> strata(Set<Label> rules, long version, Supplier<List<Label>> stratifier) {
+        return get(strata, ImmutableSet.copyOf(rules), version, () -> ImmutableList.copyOf(stratifier.get()));
+    }
+
+    /**
+     * Acknowledge the start of a commit modifying the schema, before it is written. Until it is done, no transaction
+     * reads nor publishes entries. Commits modifying the schema are serialised by the caller.
+     */
+    public void beginSchemaCommit() {
+        version.incrementAndGet();
+        rules.invalidateAll();
+        strata.invalidateAll();
+    }
+
+    /**
+     * Acknowledge a commit modifying the schema, written or failed: the cached patterns and rule orderings may no
+     * longer be valid, hence we discard all of them, including the ones published in the meantime.
+     */
+    public void ackSchemaCommit() {
+        version.incrementAndGet();
+        rules.invalidateAll();
+        strata.invalidateAll();
+    }
+
+    private <K, V> V get(Cache<K, Entry<V>> cache, K key, long version, Supplier<V> compute) {
+        if (!isStable(version)) return compute.get();
+
+        Entry<V> entry = cache.getIfPresent(key);
+        if (entry != null && entry.version == version) return entry.value;
+
+        V value = compute.get();
+        // don't publish values computed against a schema that has been modified since
+        if (version == this.version.get()) cache.put(key, new Entry<>(value, version));
+        return value;
+    }
+
+    public long size() { return rules.size() + strata.size(); }
+
+    /**
+     * The when pattern (in negation normal form) and the then pattern of a rule, and the labels of the types inferred
+     * for their variables by the first transaction building the rule.
+     */
+    public static class CompiledRule {
+        private final Conjunction<Pattern> body;
+        private final Conjunction<Statement> head;
+        private volatile ImmutableSetMultimap<Variable, Label> bodyVarTypes = null;
+        private volatile ImmutableSetMultimap<Variable, Label> headVarTypes = null;
+
+        CompiledRule(Conjunction<Pattern> body, Conjunction<Statement> head) {
+            this.body = body;
+            this.head = head;
+        }
+
+        public Conjunction<Pattern> body() { return body; }
+
+        public Conjunction<Statement> head() { return head; }
+
+        /**
+         * Binds the types inferred for the variables of the rule to an InferenceRule built from this rule by
+         * a transaction. The first transaction infers the types, the others look them up by label.
+         *
+         * @param rule           InferenceRule built from the patterns of this rule
+         * @param conceptManager concept manager of the transaction of the InferenceRule
+         */
+        public void bindVarTypes(InferenceRule rule, ConceptManager conceptManager) {
+            headVarTypes = bindVarTypes(rule.getHead(), headVarTypes, conceptManager);
+            // the variables of rules with negated patterns are typed per conjunctive query
+            if (rule.getBody() instanceof ReasonerQueryImpl) {
+                bodyVarTypes = bindVarTypes((ReasonerQueryImpl) rule.getBody(), bodyVarTypes, conceptManager);
+            }
+        }
+
+        private static ImmutableSetMultimap<Variable, Label> bindVarTypes(ReasonerQueryImpl query,
+                                                                         @Nullable ImmutableSetMultimap<Variable, Label> varTypes,
+                                                                         ConceptManager conceptManager) {
+            if (varTypes == null) {
+                ImmutableSetMultimap.Builder<Variable, Label> inferred = ImmutableSetMultimap.builder();
+                query.getVarTypeMap().forEach((var, type) -> inferred.put(var, type.label()));
+                return inferred.build();
+            }
+
+            ImmutableSetMultimap.Builder<Variable, Type> types = ImmutableSetMultimap.builder();
+            for (Map.Entry<Variable, Label> entry : varTypes.entries()) {
+                Type type = conceptManager.getType(entry.getValue());
+                // the types are inferred by the query instead
+                if (type == null) return varTypes;
+                types.put(entry.getKey(), type);
+            }
+            query.bindVarTypeMap(types.build());
+            return varTypes;
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long version;
+
+        Entry(V value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
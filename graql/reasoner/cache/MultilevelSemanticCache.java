@@ -24,6 +24,7 @@ import grakn.common.util.Pair;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.graql.reasoner.query.ReasonerAtomicQuery;
 import grakn.core.graql.reasoner.unifier.UnifierType;
+import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.graql.executor.ExecutorFactory;
 import grakn.core.kb.graql.executor.TraversalExecutor;
 import grakn.core.kb.graql.planning.gremlin.TraversalPlanFactory;
@@ -34,10 +35,13 @@ import graql.lang.statement.Variable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toSet;
+
 /**
  *
  * Implementation of SemanticCache using ReasonerQueryEquivalence#StructuralEquivalence
@@ -48,8 +52,73 @@ public class MultilevelSemanticCache extends SemanticCache<Equivalence.Wrapper<R
 
     private static final Logger LOG = LoggerFactory.getLogger(MultilevelSemanticCache.class);
 
+    private final KeyspaceQueryCache keyspaceCache;
+    private boolean keyspaceCacheEnabled = false;
+    private long keyspaceCacheVersion;
+
     public MultilevelSemanticCache(TraversalPlanFactory traversalPlanFactory, TraversalExecutor traversalExecutor) {
+        this(traversalPlanFactory, traversalExecutor, null);
+    }
+
+    public MultilevelSemanticCache(TraversalPlanFactory traversalPlanFactory, TraversalExecutor traversalExecutor,
+                                   @Nullable KeyspaceQueryCache keyspaceCache) {
         super(traversalPlanFactory, traversalExecutor);
+        this.keyspaceCache = keyspaceCache;
+    }
+
+    /**
+     * Allow this cache to fetch complete answer sets from, and publish them to, the keyspace cache.
+     * Should only be enabled for transactions that can't observe uncommitted changes (read transactions).
+     */
+    public void enableKeyspaceCache() {
+        if (keyspaceCache == null) return;
+        this.keyspaceCacheEnabled = true;
+        this.keyspaceCacheVersion = keyspaceCache.version();
+    }
+
+    /**
+     * Publish the answers of all complete queries to the keyspace cache so that they can be reused by
+     * subsequent transactions.
+     */
+    public void publishToKeyspaceCache() {
+        if (!keyspaceCacheEnabled) return;
+        completeQueries()
+                .filter(q -> getEntry(q) != null)
+                .forEach(q -> keyspaceCache.record(keyspaceCacheVersion, q, entryToAnswerStreamWithUnifier(q, getEntry(q)).first().collect(toSet())));
+        LOG.debug("Published complete queries to {}", keyspaceCache);
+    }
+
+    /**
+     * Acknowledge a commit of the owning transaction to the keyspace cache.
+     *
+     * @param modifiedTypes labels of types whose instances or ownerships were inserted
+     * @param invalidateAll true if the commit contains changes that can't be tracked by modified types
+     */
+    public void ackCommit(Set<Label> modifiedTypes, boolean invalidateAll) {
+        if (keyspaceCache == null) return;
+        if (invalidateAll) {
+            keyspaceCache.ackInvalidatingCommit();
+        } else {
+            keyspaceCache.ackCommit(modifiedTypes);
+        }
+    }
+
+    /**
+     * If the query is not yet cached in this transaction, try to fetch its complete answer set from the keyspace cache.
+     */
+    private void fetchFromKeyspaceCache(ReasonerAtomicQuery query) {
+        if (!keyspaceCacheEnabled || getEntry(query) != null) return;
+        Set<ConceptMap> answers = keyspaceCache.getAnswers(query);
+        if (answers == null) return;
+        LOG.trace("Keyspace query cache hit: {}", query);
+        addEntry(createEntry(query, answers));
+        ackCompleteness(query);
+    }
+
+    @Override
+    public Pair<Stream<ConceptMap>, MultiUnifier> getAnswerStreamWithUnifier(ReasonerAtomicQuery query) {
+        fetchFromKeyspaceCache(query);
+        return super.getAnswerStreamWithUnifier(query);
     }
 
     @Override public UnifierType unifierType() { return UnifierType.STRUCTURAL;}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.reasoner.cache;
+
+import com.google.common.base.Equivalence;
+import grakn.core.graql.reasoner.atom.Atom;
+import grakn.core.graql.reasoner.query.ReasonerAtomicQuery;
+import grakn.core.graql.reasoner.query.ReasonerQueryEquivalence;
+import grakn.core.graql.reasoner.query.ResolvableQuery;
+import grakn.core.graql.reasoner.rule.InferenceRule;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.Rule;
+import grakn.core.kb.concept.api.SchemaConcept;
+import grakn.core.kb.graql.reasoner.unifier.Unifier;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of fully evaluated rule applications in order to evaluate recursive rules in a delta-driven
+ * (semi-naive) fashion.
+ *
+ * A rule application is a rule applied to an atomic query with a specific unifier. Once it has been fully evaluated,
+ * everything it derived is held in the cache entry of the query. Applying it again can only derive new answers if
+ * the answers to the rule body changed since its evaluation started, i.e. if new answers were recorded for any of the
+ * body types. Otherwise the cache lookup of the query already yields everything the rule can derive, and the rule
+ * application can be skipped. This way each reiteration of a recursive query only re-applies the rules affected by
+ * the answers found in the previous one.
+ *
+ * Changes are tracked with a logical clock ticking on every new answer recorded in the cache. Body types are considered
+ * together with their sub- and super-types as the semantic cache propagates answers along the type hierarchy.
+ * Rules with negation or untyped atoms in their bodies are always re-applied.
+ */
+public class RuleApplicationTracker {
+
+    private long clock = 0;
+    private long lastClear = 0;
+    private long lastUntypedAnswer = 0;
+    private final Map<Label, Long> lastAnswer = new HashMap<>();
+    private final Map<RuleApplication, Evaluation> evaluations = new HashMap<>();
+    private long skippedApplications = 0;
+    private boolean enabled = true;
+
+    /**
+     * @return current value of the logical clock, to be used as the start of a rule application evaluation
+     */
+    public long clock() { return clock; }
+
+    /**
+     * @param enabled false if rule applications should always be (re)evaluated
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) clear();
+    }
+
+    /**
+     * @return number of rule applications skipped as their bodies didn't change since their last evaluation
+     */
+    public long skippedApplications() { return skippedApplications; }
+
+    /**
+     * Acknowledge a new answer to the provided query has been recorded.
+     */
+    void ackNewAnswer(ReasonerAtomicQuery query) {
+        clock++;
+        SchemaConcept schemaConcept = query.getAtom().getSchemaConcept();
+        if (schemaConcept == null) {
+            lastUntypedAnswer = clock;
+        } else {
+            lastAnswer.put(schemaConcept.label(), clock);
+        }
+    }
+
+    /**
+     * Acknowledge the full evaluation of a rule application.
+     *
+     * @param query      query the rule has been applied to
+     * @param rule       applied rule (with the constraints of the query propagated to its body)
+     * @param unifier    unifier between the rule head and the query
+     * @param startClock clock value when the evaluation started
+     */
+    public void ackEvaluation(ReasonerAtomicQuery query, InferenceRule rule, Unifier unifier, long startClock) {
+        //evaluations that started before the cache was cleared could have missed the data the clear reflects
+        if (!enabled || startClock < lastClear) return;
+        Set<Label> bodyLabels = bodyLabels(rule.getBody());
+        if (bodyLabels == null) return;
+        evaluations.put(new RuleApplication(query, rule.getRule(), unifier), new Evaluation(startClock, bodyLabels));
+    }
+
+    /**
+     * @param query   query the rule is to be applied to
+     * @param rule    rule to be applied
+     * @param unifier unifier between the rule head and the query
+     * @return true if the rule application can derive answers that are not yet in the cache
+     */
+    public boolean requiresEvaluation(ReasonerAtomicQuery query, InferenceRule rule, Unifier unifier) {
+        if (!enabled) return true;
+        Evaluation evaluation = evaluations.get(new RuleApplication(query, rule.getRule(), unifier));
+        if (evaluation == null || lastUntypedAnswer > evaluation.start()) return true;
+        boolean bodyChanged = evaluation.bodyLabels().stream()
+                .anyMatch(label -> lastAnswer.getOrDefault(label, 0L) > evaluation.start());
+        if (!bodyChanged) skippedApplications++;
+        return bodyChanged;
+    }
+
+    /**
+     * Forget all evaluations, used when the cache is cleared or the data it's based on changes.
+     */
+    void clear() {
+        clock++;
+        lastClear = clock;
+        evaluations.clear();
+        lastAnswer.clear();
+    }
+
+    /**
+     * @return labels of the body types together with their sub- and super-types, null if the body contains negation
+     * or untyped atoms
+     */
+    @Nullable
+    private static Set<Label> bodyLabels(ResolvableQuery body) {
+        if (body.isComposite()) return null;
+        Set<Label> labels = new HashSet<>();
+        for (Atom atom : body.getAtoms(Atom.class).collect(Collectors.toList())) {
+            SchemaConcept schemaConcept = atom.getSchemaConcept();
+            if (schemaConcept == null) return null;
+            schemaConcept.sups().forEach(sup -> labels.add(sup.label()));
+            schemaConcept.subs().forEach(sub -> labels.add(sub.label()));
+        }
+        return labels;
+    }
+
+    private static class RuleApplication {
+        private final Equivalence.Wrapper<ReasonerAtomicQuery> query;
+        private final Rule rule;
+        private final Unifier unifier;
+
+        RuleApplication(ReasonerAtomicQuery query, Rule rule, Unifier unifier) {
+            this.query = ReasonerQueryEquivalence.Equality.wrap(query);
+            this.rule = rule;
+            this.unifier = unifier;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RuleApplication that = (RuleApplication) o;
+            return query.equals(that.query) &&
+                    rule.equals(that.rule) &&
+                    unifier.equals(that.unifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, rule, unifier);
+        }
+    }
+
+    private static class Evaluation {
+        private final long start;
+        private final Set<Label> bodyLabels;
+
+        Evaluation(long start, Set<Label> bodyLabels) {
+            this.start = start;
+            this.bodyLabels = bodyLabels;
+        }
+
+        long start() { return start; }
+
+        Set<Label> bodyLabels() { return bodyLabels; }
+    }
+}
@@ -22,6 +22,7 @@ import com.google.common.annotations.VisibleForTesting;
 import grakn.core.core.Schema;
 import grakn.core.graql.reasoner.query.ReasonerQueryFactory;
 import grakn.core.graql.reasoner.rule.InferenceRule;
+import grakn.core.graql.reasoner.rule.RuleUtils;
 import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.api.Rule;
@@ -32,16 +33,22 @@ import grakn.core.kb.graql.reasoner.cache.RuleCache;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
 import graql.lang.pattern.Pattern;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toList;
+
 /**
  * Caches rules applicable to schema concepts and their conversion to InferenceRule object (parsing is expensive when large number of rules present).
  * NB: non-committed rules are also cached.
+ * The parsed rule patterns and the orderings of applicable rules are additionally shared with the other transactions
+ * of the keyspace through the KeyspaceRuleCache, as long as this transaction doesn't modify the schema.
  */
 public class RuleCacheImpl implements RuleCache {
 
@@ -57,9 +64,19 @@ public class RuleCacheImpl implements RuleCache {
     private Set<Rule> checkedRules = new HashSet<>();
     private ReasonerQueryFactory reasonerQueryFactory;
 
+    private final KeyspaceRuleCache keyspaceCache;
+    private final long keyspaceCacheVersion;
+    private boolean schemaModified = false;
+
     public RuleCacheImpl(ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics) {
+        this(conceptManager, keyspaceStatistics, null);
+    }
+
+    public RuleCacheImpl(ConceptManager conceptManager, KeyspaceStatistics keyspaceStatistics, @Nullable KeyspaceRuleCache keyspaceCache) {
         this.conceptManager = conceptManager;
         this.keyspaceStatistics = keyspaceStatistics;
+        this.keyspaceCache = keyspaceCache;
+        this.keyspaceCacheVersion = keyspaceCache != null ? keyspaceCache.version() : -1;
     }
 
     /*
@@ -83,6 +100,7 @@ public class RuleCacheImpl implements RuleCache {
      */
     @Override
     public void ackRuleInsertion(Rule rule) {
+        schemaModified = true;
         Pattern thenPattern = rule.then();
         if (thenPattern == null) return;
         //NB: thenTypes() will be empty as type edges added on commit
@@ -215,11 +233,53 @@ public class RuleCacheImpl implements RuleCache {
         InferenceRule match = ruleConversionMap.get(rule);
         if (match != null) return match;
 
-        InferenceRule newMatch = new InferenceRule(rule, reasonerQueryFactory);
+        InferenceRule newMatch;
+        if (usesKeyspaceCache()) {
+            KeyspaceRuleCache.CompiledRule compiled = keyspaceCache.rule(rule, keyspaceCacheVersion);
+            newMatch = new InferenceRule(rule, compiled.body(), compiled.head(), reasonerQueryFactory);
+            compiled.bindVarTypes(newMatch, conceptManager);
+        } else {
+            newMatch = new InferenceRule(rule, reasonerQueryFactory);
+        }
         ruleConversionMap.put(rule, newMatch);
         return newMatch;
     }
 
+    /**
+     * @param rules rules applicable to an atom
+     * @return stream of rules ordered in terms of priority (high priority first), see RuleUtils#stratifyRules
+     */
+    public Stream<InferenceRule> stratifyRules(Set<InferenceRule> rules) {
+        if (!usesKeyspaceCache()) return RuleUtils.stratifyRules(rules);
+
+        Map<Label, InferenceRule> rulesByLabel = new HashMap<>();
+        rules.forEach(rule -> rulesByLabel.put(rule.getRule().label(), rule));
+        if (rulesByLabel.size() != rules.size()) return RuleUtils.stratifyRules(rules);
+
+        List<Label> strata = keyspaceCache.strata(rulesByLabel.keySet(), keyspaceCacheVersion,
+                () -> RuleUtils.stratifyRules(rules).map(rule -> rule.getRule().label()).collect(toList()));
+        return strata.stream().map(rulesByLabel::get);
+    }
+
+    private boolean usesKeyspaceCache() {
+        return keyspaceCache != null && !schemaModified && KeyspaceRuleCache.isStable(keyspaceCacheVersion);
+    }
+
+    @Override
+    public void ackSchemaModification() {
+        schemaModified = true;
+    }
+
+    @Override
+    public void beginSchemaCommit() {
+        if (keyspaceCache != null) keyspaceCache.beginSchemaCommit();
+    }
+
+    @Override
+    public void ackSchemaCommit() {
+        if (keyspaceCache != null) keyspaceCache.ackSchemaCommit();
+    }
+
     /**
      * cleans cache contents
      */
@@ -76,6 +76,7 @@ public abstract class SemanticCache<
 
     final private HashMultimap<SchemaConcept, QE> families = HashMultimap.create();
     final private HashMultimap<QE, QE> parents = HashMultimap.create();
+    final private RuleApplicationTracker ruleApplicationTracker = new RuleApplicationTracker();
 
     private static final Logger LOG = LoggerFactory.getLogger(SemanticCache.class);
 
@@ -96,8 +97,14 @@ public abstract class SemanticCache<
         super.clear();
         families.clear();
         parents.clear();
+        ruleApplicationTracker.clear();
     }
 
+    /**
+     * @return tracker of rule applications evaluated against the contents of this cache
+     */
+    public RuleApplicationTracker ruleApplicationTracker(){ return ruleApplicationTracker;}
+
     /**
      * Propagate ALL answers between entries provided they satisfy the corresponding semantic difference.
      *
@@ -112,11 +119,12 @@ public abstract class SemanticCache<
 
     abstract CacheEntry<ReasonerAtomicQuery, SE> createEntry(ReasonerAtomicQuery query, Set<ConceptMap> answers);
 
-    private CacheEntry<ReasonerAtomicQuery, SE> addEntry(CacheEntry<ReasonerAtomicQuery, SE> entry){
+    CacheEntry<ReasonerAtomicQuery, SE> addEntry(CacheEntry<ReasonerAtomicQuery, SE> entry){
         CacheEntry<ReasonerAtomicQuery, SE> cacheEntry = putEntry(entry);
         ReasonerAtomicQuery query = cacheEntry.query();
         updateFamily(query);
         computeParents(query);
+        if (!cacheEntry.cachedElement().isEmpty()) ruleApplicationTracker.ackNewAnswer(query);
         propagateAnswersToQuery(query, cacheEntry, query.isGround());
         return cacheEntry;
     }
@@ -125,12 +133,14 @@ public abstract class SemanticCache<
     public void ackInsertion(){
         //NB: we do a full completion flush to not add too much overhead to inserts
         clearCompleteness();
+        ruleApplicationTracker.clear();
     }
 
     @Override
     public void ackDeletion(Type type){
         //flush db complete queries
         clearQueryCompleteness();
+        ruleApplicationTracker.clear();
 
         //evict entries of the type and those that might be affected by the type
         RuleUtils.getDependentTypes(type).stream()
@@ -256,10 +266,12 @@ public abstract class SemanticCache<
             MultiUnifier multiUnifier = unifier == null? query.getMultiUnifier(equivalentQuery, unifierType()) : unifier;
             Set<Variable> cacheVars = equivalentQuery.getVarNames();
             //NB: this indexes answer according to all indices in the set
-            multiUnifier
+            boolean newAnswers = multiUnifier
                     .apply(answer)
                     .peek(ans -> validateAnswer(ans, equivalentQuery, cacheVars))
-                    .forEach(answerSet::add);
+                    .map(answerSet::add)
+                    .reduce(false, Boolean::logicalOr);
+            if (newAnswers) ruleApplicationTracker.ackNewAnswer(equivalentQuery);
             return match;
         }
         return addEntry(createEntry(query, Sets.newHashSet(answer)));
@@ -20,14 +20,22 @@ package grakn.core.graql.reasoner.plan;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import grakn.core.graql.planning.NodesUtil;
+import grakn.core.graql.reasoner.ReasoningContext;
 import grakn.core.graql.reasoner.atom.Atom;
+import grakn.core.graql.reasoner.atom.predicate.IdPredicate;
+import grakn.core.graql.reasoner.atom.predicate.VariablePredicate;
 import grakn.core.graql.reasoner.query.ReasonerQueryFactory;
 import grakn.core.graql.reasoner.query.ReasonerQueryImpl;
+import grakn.core.kb.concept.api.SchemaConcept;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
 import java.util.Stack;
 import java.util.stream.Collectors;
 
@@ -43,12 +51,36 @@ import java.util.stream.Collectors;
  */
 public class ResolutionQueryPlan {
 
+    // minimum estimated cardinality of both sides of a join for a hash join to be considered
+    static final long HASH_JOIN_MIN_CARDINALITY = 1000;
+    // estimated cost of resolving a query with a bound variable relative to streaming a single answer of an unbound query
+    static final long NESTED_LOOP_LOOKUP_COST = 10;
+
     private final ImmutableList<ReasonerQueryImpl> queryPlan;
+    private final JoinStrategy joinStrategy;
     private ReasonerQueryFactory reasonerQueryFactory;
 
+    /**
+     * Strategy used to join the first two queries of the plan. The remaining queries are always joined with
+     * nested loops as they are bound by the answers accumulated so far.
+     */
+    public enum JoinStrategy {
+        /**
+         * each answer of the first query is propagated to the resolution of the second one
+         */
+        NESTED_LOOP,
+        /**
+         * the first query (the smaller side) is resolved fully and its answers hashed on the shared variables,
+         * the answers of the independently resolved second query are then matched against them
+         */
+        HASH
+    }
+
     public ResolutionQueryPlan(ReasonerQueryFactory reasonerQueryFactory, ReasonerQueryImpl query){
         this.reasonerQueryFactory = reasonerQueryFactory;
-        this.queryPlan = queryPlan(query);
+        ImmutableList<ReasonerQueryImpl> plan = queryPlan(query);
+        this.joinStrategy = joinStrategy(plan, query.context());
+        this.queryPlan = joinStrategy == JoinStrategy.HASH ? buildSideFirst(plan, query.context()) : plan;
     }
 
     @Override
@@ -60,6 +92,77 @@ public class ResolutionQueryPlan {
 
     public List<ReasonerQueryImpl> queries(){ return queryPlan;}
 
+    /**
+     * @return strategy to join the first two queries of the plan with
+     */
+    public JoinStrategy joinStrategy(){ return joinStrategy;}
+
+    /**
+     * Nested loop join of queries A and B costs |A| resolutions of B with a bound variable, whereas
+     * a hash join costs a single resolution of both A and B. We pick the hash join if both sides are large,
+     * can be resolved independently and the cost of resolving B in full is lower than the cost of the |A| lookups.
+     */
+    private static JoinStrategy joinStrategy(List<ReasonerQueryImpl> plan, ReasoningContext ctx){
+        if (plan.size() < 2) return JoinStrategy.NESTED_LOOP;
+        ReasonerQueryImpl first = plan.get(0);
+        ReasonerQueryImpl second = plan.get(1);
+        if (Sets.intersection(first.getVarNames(), second.getVarNames()).isEmpty()
+                || !independentlyResolvable(first)
+                || !independentlyResolvable(second)) {
+            return JoinStrategy.NESTED_LOOP;
+        }
+        OptionalLong firstCardinality = estimateCardinality(first, ctx);
+        OptionalLong secondCardinality = estimateCardinality(second, ctx);
+        if (!firstCardinality.isPresent() || !secondCardinality.isPresent()) return JoinStrategy.NESTED_LOOP;
+        long a = firstCardinality.getAsLong();
+        long b = secondCardinality.getAsLong();
+        boolean hashJoinCheaper = Math.min(a, b) >= HASH_JOIN_MIN_CARDINALITY
+                && b < a * NESTED_LOOP_LOOKUP_COST;
+        return hashJoinCheaper ? JoinStrategy.HASH : JoinStrategy.NESTED_LOOP;
+    }
+
+    /**
+     * @return true if the query can be resolved without the bindings of other queries in the plan
+     */
+    private static boolean independentlyResolvable(ReasonerQueryImpl query){
+        return !query.getAtoms(VariablePredicate.class).findFirst().isPresent()
+                && !query.isBoundlesslyDisconnected()
+                && !query.requiresSchema();
+    }
+
+    /**
+     * Estimates the number of answers of a query as the (persisted and inferred) instance count of its most selective atom.
+     * @return estimated cardinality or empty if none of the atoms is typed
+     */
+    private static OptionalLong estimateCardinality(ReasonerQueryImpl query, ReasoningContext ctx){
+        if (query.getAtoms(IdPredicate.class).findFirst().isPresent()) return OptionalLong.of(1);
+        return query.selectAtoms()
+                .map(Atom::getSchemaConcept)
+                .filter(Objects::nonNull)
+                .mapToLong(type -> instanceCount(type, ctx))
+                .min();
+    }
+
+    private static long instanceCount(SchemaConcept type, ReasoningContext ctx){
+        long persisted = type.subs()
+                .mapToLong(sub -> ctx.keyspaceStatistics().count(ctx.conceptManager(), sub.label()))
+                .sum();
+        return persisted + NodesUtil.estimateInferredTypeCount(type.label(), ctx.conceptManager(), ctx.keyspaceStatistics());
+    }
+
+    /**
+     * @return plan with the first two queries ordered so that the smaller side of the hash join comes first
+     */
+    private static ImmutableList<ReasonerQueryImpl> buildSideFirst(ImmutableList<ReasonerQueryImpl> plan, ReasoningContext ctx){
+        long first = estimateCardinality(plan.get(0), ctx).orElse(Long.MAX_VALUE);
+        long second = estimateCardinality(plan.get(1), ctx).orElse(Long.MAX_VALUE);
+        if (first <= second) return plan;
+        List<ReasonerQueryImpl> reordered = new ArrayList<>(plan);
+        reordered.set(0, plan.get(1));
+        reordered.set(1, plan.get(0));
+        return ImmutableList.copyOf(reordered);
+    }
+
     /**
      * compute the query resolution plan - list of queries ordered by their cost as computed by the graql traversal planner
      * @return list of prioritised queries
@@ -33,8 +33,8 @@ import grakn.core.graql.reasoner.atom.AtomicUtil;
 import grakn.core.graql.reasoner.atom.PropertyAtomicFactory;
 import grakn.core.graql.reasoner.atom.binary.TypeAtom;
 import grakn.core.graql.reasoner.atom.predicate.VariablePredicate;
+import grakn.core.graql.reasoner.cache.RuleApplicationTracker;
 import grakn.core.graql.reasoner.cache.SemanticDifference;
-import grakn.core.graql.reasoner.rule.RuleUtils;
 import grakn.core.graql.reasoner.state.AnswerPropagatorState;
 import grakn.core.graql.reasoner.state.AnswerState;
 import grakn.core.graql.reasoner.state.AtomicState;
@@ -283,9 +283,12 @@ public class ReasonerAtomicQuery extends ReasonerQueryImpl {
      * @return ruleState iterator corresponding to rules that are matchable with this query
      */
     private Iterator<ResolutionState> ruleStateIterator(AnswerPropagatorState parent, Set<ReasonerAtomicQuery> visitedSubGoals) {
-        return RuleUtils
+        RuleApplicationTracker tracker = CacheCasting.queryCacheCast(context().queryCache()).ruleApplicationTracker();
+        return CacheCasting.ruleCacheCast(context().ruleCache())
                 .stratifyRules(getAtom().getApplicableRules().collect(Collectors.toSet()))
                 .flatMap(r -> r.getMultiUnifier(getAtom()).stream().map(unifier -> new Pair<>(r, unifier)))
+                //skip rule applications whose bodies haven't changed since they were last evaluated
+                .filter(rulePair -> tracker.requiresEvaluation(this, rulePair.first(), rulePair.second()))
                 .map(rulePair -> rulePair.first().subGoal(this.getAtom(), rulePair.second(), parent, visitedSubGoals))
                 .iterator();
     }
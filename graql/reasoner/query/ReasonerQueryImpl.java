@@ -54,6 +54,7 @@ import grakn.core.graql.reasoner.rule.RuleUtils;
 import grakn.core.graql.reasoner.state.AnswerPropagatorState;
 import grakn.core.graql.reasoner.state.AnswerState;
 import grakn.core.graql.reasoner.state.ConjunctiveState;
+import grakn.core.graql.reasoner.state.HashJoinState;
 import grakn.core.graql.reasoner.state.JoinState;
 import grakn.core.graql.reasoner.state.ResolutionState;
 import grakn.core.graql.reasoner.state.VariableComparisonState;
@@ -429,6 +430,16 @@ public class ReasonerQueryImpl extends ResolvableQuery {
         return varTypeMap;
     }
 
+    /**
+     * Binds the types inferred for the variables of an equivalent query, e.g. by another transaction, to this query,
+     * so that they are not inferred again.
+     *
+     * @param varTypeMap types of the variables of this query, as inferred by getVarTypeMap()
+     */
+    public void bindVarTypeMap(ImmutableSetMultimap<Variable, Type> varTypeMap) {
+        this.varTypeMap = varTypeMap;
+    }
+
     @Override
     public ImmutableSetMultimap<Variable, Type> getVarTypeMap(ConceptMap sub) {
         return ImmutableSetMultimap.copyOf(
@@ -683,7 +694,10 @@ public class ReasonerQueryImpl extends ResolvableQuery {
             dbIterator = Collections.emptyIterator();
 
             ResolutionQueryPlan queryPlan = new ResolutionQueryPlan(context().queryFactory(), this);
-            subGoalIterator = Iterators.singletonIterator(new JoinState(queryPlan.queries(), new ConceptMap(), parent.getUnifier(), parent, subGoals));
+            AnswerPropagatorState joinState = queryPlan.joinStrategy() == ResolutionQueryPlan.JoinStrategy.HASH ?
+                    new HashJoinState(queryPlan.queries(), new ConceptMap(), parent.getUnifier(), parent, subGoals) :
+                    new JoinState(queryPlan.queries(), new ConceptMap(), parent.getUnifier(), parent, subGoals);
+            subGoalIterator = Iterators.singletonIterator(joinState);
         }
         return Iterators.concat(dbIterator, subGoalIterator);
     }
@@ -73,11 +73,18 @@ public class InferenceRule {
     private Boolean requiresMaterialisation = null;
 
     public InferenceRule(Rule rule, ReasonerQueryFactory reasonerQueryFactory){
+        this(rule, body(rule), head(rule), reasonerQueryFactory);
+    }
+
+    /**
+     * @param body the when pattern of the rule, see InferenceRule#body
+     * @param head the then pattern of the rule, see InferenceRule#head
+     */
+    public InferenceRule(Rule rule, Conjunction<Pattern> body, Conjunction<Statement> head, ReasonerQueryFactory reasonerQueryFactory){
         this.rule = rule;
         this.reasonerQueryFactory = reasonerQueryFactory;
-        //TODO simplify once changes propagated to rule objects
-        this.body = reasonerQueryFactory.resolvable(Iterables.getOnlyElement(rule.when().getNegationDNF().getPatterns()));
-        this.head = reasonerQueryFactory.atomic(conjunction(rule.then()));
+        this.body = reasonerQueryFactory.resolvable(body);
+        this.head = reasonerQueryFactory.atomic(head);
     }
 
     private InferenceRule(ReasonerAtomicQuery head, ResolvableQuery body, Rule rule, ReasonerQueryFactory reasonerQueryFactory){
@@ -127,7 +134,22 @@ public class InferenceRule {
         return priority;
     }
 
-    private Conjunction<Statement> conjunction(Pattern pattern){
+    /**
+     * @return the when pattern of the rule in negation normal form, which the body of the InferenceRule is built from
+     */
+    public static Conjunction<Pattern> body(Rule rule){
+        //TODO simplify once changes propagated to rule objects
+        return Iterables.getOnlyElement(rule.when().getNegationDNF().getPatterns());
+    }
+
+    /**
+     * @return the then pattern of the rule as a conjunction of statements, which the head of the InferenceRule is built from
+     */
+    public static Conjunction<Statement> head(Rule rule){
+        return conjunction(rule.then());
+    }
+
+    private static Conjunction<Statement> conjunction(Pattern pattern){
         Set<Statement> vars = pattern
                 .getDisjunctiveNormalForm().getPatterns()
                 .stream().flatMap(p -> p.getPatterns().stream()).collect(toSet());
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.reasoner.state;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Sets;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graql.reasoner.query.ReasonerAtomicQuery;
+import grakn.core.graql.reasoner.query.ReasonerQueryImpl;
+import grakn.core.kb.graql.reasoner.unifier.Unifier;
+import graql.lang.statement.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Query state corresponding to a hash join of the first two queries of a conjunctive query decomposition.
+ *
+ * The state resolves the build query first, indexing its answers on the variables shared with the probe query.
+ * Once the build query is exhausted, the probe query is resolved without any bindings from the build side and
+ * each of its answers is matched against the index. Joined answers are then propagated further the same way
+ * a JoinState does - the remaining queries (if any) are joined with nested loops.
+ *
+ * As a result both sides are resolved once, as opposed to resolving the second query for each answer
+ * of the first query.
+ */
+public class HashJoinState extends AnswerPropagatorState<ReasonerQueryImpl> {
+
+    private final ReasonerQueryImpl probeQuery;
+    private final List<ReasonerQueryImpl> subQueries;
+    private final Set<Variable> joinVars;
+    private final Map<ConceptMap, List<ConceptMap>> buildAnswers = new HashMap<>();
+    // answers not binding all of the join variables, these are matched against every probe answer
+    private final List<ConceptMap> unindexedBuildAnswers = new ArrayList<>();
+    private boolean probing = false;
+
+    public HashJoinState(List<ReasonerQueryImpl> qs,
+                         ConceptMap sub,
+                         Unifier u,
+                         AnswerPropagatorState parent,
+                         Set<ReasonerAtomicQuery> subGoals) {
+        super(qs.get(0), sub, u, parent, subGoals);
+        this.probeQuery = qs.get(1);
+        this.subQueries = qs.subList(2, qs.size());
+        this.joinVars = ImmutableSet.copyOf(Sets.intersection(getQuery().getVarNames(), probeQuery.getVarNames()));
+    }
+
+    @Override
+    protected Iterator<ResolutionState> generateChildStateIterator() {
+        //NB: the probe states are initialised lazily, once all the build states are exhausted
+        Iterator<ResolutionState> buildStates = getQuery().expandedStates(getSubstitution(), getUnifier(), this, getVisitedSubGoals()).iterator();
+        Iterator<Iterator<ResolutionState>> probeStates = Iterators.transform(
+                Iterators.singletonIterator(this),
+                state -> state.probeStates());
+        return Iterators.concat(buildStates, Iterators.concat(probeStates));
+    }
+
+    private Iterator<ResolutionState> probeStates(){
+        probing = true;
+        if (buildAnswers.isEmpty() && unindexedBuildAnswers.isEmpty()) return Collections.emptyIterator();
+        return probeQuery.expandedStates(getSubstitution(), getUnifier(), this, getVisitedSubGoals()).iterator();
+    }
+
+    @Override
+    public String toString(){
+        return super.toString() +  "\n" +
+                getSubstitution() + "\n" +
+                getQuery() + "\n" +
+                "probe: " + probeQuery + "\n" +
+                subQueries.stream().map(ReasonerQueryImpl::toString).collect(Collectors.joining("\n")) + "\n";
+    }
+
+    @Override
+    public ResolutionState propagateAnswer(AnswerState state) {
+        if (!probing) {
+            ConceptMap answer = JoinState.joinAnswers(getSubstitution(), JoinState.withQueryPattern(consumeAnswer(state), getQuery()));
+            if (answer.isEmpty()) return null;
+            if (answer.vars().containsAll(joinVars)) {
+                buildAnswers.computeIfAbsent(answer.project(joinVars), key -> new ArrayList<>()).add(answer);
+            } else {
+                unindexedBuildAnswers.add(answer);
+            }
+            return null;
+        }
+
+        ConceptMap probeAnswer = JoinState.withQueryPattern(consumeAnswer(state), probeQuery);
+        List<ConceptMap> matches = probeAnswer.vars().containsAll(joinVars) ?
+                buildAnswers.getOrDefault(probeAnswer.project(joinVars), Collections.emptyList()) :
+                buildAnswers.values().stream().flatMap(List::stream).collect(Collectors.toList());
+
+        List<ResolutionState> joinedStates = new ArrayList<>();
+        Iterators.concat(matches.iterator(), unindexedBuildAnswers.iterator()).forEachRemaining(buildAnswer -> {
+            ConceptMap answer = JoinState.joinAnswers(buildAnswer, probeAnswer);
+            if (!answer.isEmpty()) joinedStates.add(joinedState(answer));
+        });
+
+        if (joinedStates.isEmpty()) return null;
+        if (joinedStates.size() == 1) return joinedStates.iterator().next();
+        return new JoinedAnswersState(joinedStates.iterator(), this);
+    }
+
+    private ResolutionState joinedState(ConceptMap answer){
+        //NB: if we know that it is a final answer we pass it directly to the conjunctive query
+        if (subQueries.isEmpty()) return new AnswerState(answer, getUnifier(), getParentState());
+        return new JoinState(subQueries, answer, getUnifier(), getParentState(), getVisitedSubGoals());
+    }
+
+    @Override
+    ConceptMap consumeAnswer(AnswerState state) {
+        return state.getSubstitution();
+    }
+
+    /**
+     * Intermediate state emitting the states of multiple joined answers obtained from a single probe answer.
+     */
+    private static class JoinedAnswersState extends ResolutionState {
+
+        private final Iterator<ResolutionState> joinedStates;
+
+        JoinedAnswersState(Iterator<ResolutionState> joinedStates, AnswerPropagatorState parent) {
+            super(new ConceptMap(), parent);
+            this.joinedStates = joinedStates;
+        }
+
+        @Override
+        public ResolutionState generateChildState() {
+            return joinedStates.hasNext() ? joinedStates.next() : null;
+        }
+    }
+}
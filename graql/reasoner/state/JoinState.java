@@ -67,14 +67,7 @@ public class JoinState extends AnswerPropagatorState<ReasonerQueryImpl> {
 
     @Override
     public ResolutionState propagateAnswer(AnswerState state) {
-        ConceptMap accumulatedAnswer = getSubstitution();
-        // we need to pass ID substitutions whenever we set the pattern from raw query
-        ConceptMap toMerge = state.getSubstitution().withPattern(getQuery().withSubstitution(state.getSubstitution()).getPattern());
-        ConceptMap merged = AnswerUtil.joinAnswers(accumulatedAnswer, toMerge);
-        ConceptMap answer = new ConceptMap(
-                merged.map(),
-                mergeExplanations(accumulatedAnswer, toMerge),
-                merged.getPattern());
+        ConceptMap answer = joinAnswers(getSubstitution(), withQueryPattern(state.getSubstitution(), getQuery()));
 
         if (answer.isEmpty()) return null;
         //NB: if we know that it is a final answer we pass it directly to the conjunctive query
@@ -87,6 +80,27 @@ public class JoinState extends AnswerPropagatorState<ReasonerQueryImpl> {
         return state.getSubstitution();
     }
 
+    /**
+     * @param answer answer to the query
+     * @param query  query the answer comes from
+     * @return answer with its pattern set to the query pattern with the answer substitution
+     */
+    static ConceptMap withQueryPattern(ConceptMap answer, ReasonerQueryImpl query) {
+        // we need to pass ID substitutions whenever we set the pattern from raw query
+        return answer.withPattern(query.withSubstitution(answer).getPattern());
+    }
+
+    /**
+     * @return join of the answers with merged explanations, empty answer if the answers are not compatible
+     */
+    static ConceptMap joinAnswers(ConceptMap accumulatedAnswer, ConceptMap toMerge) {
+        ConceptMap merged = AnswerUtil.joinAnswers(accumulatedAnswer, toMerge);
+        return new ConceptMap(
+                merged.map(),
+                mergeExplanations(accumulatedAnswer, toMerge),
+                merged.getPattern());
+    }
+
     private static Explanation mergeExplanations(ConceptMap base, ConceptMap toMerge) {
         if (toMerge.isEmpty()) return base.explanation();
         if (base.isEmpty()) return toMerge.explanation();
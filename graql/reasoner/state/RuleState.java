@@ -20,6 +20,8 @@ package grakn.core.graql.reasoner.state;
 
 import com.google.common.collect.Iterators;
 import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graql.reasoner.CacheCasting;
+import grakn.core.graql.reasoner.cache.RuleApplicationTracker;
 import grakn.core.graql.reasoner.query.ReasonerAtomicQuery;
 import grakn.core.graql.reasoner.query.ResolvableQuery;
 import grakn.core.graql.reasoner.rule.InferenceRule;
@@ -39,10 +41,26 @@ import java.util.Set;
 public class RuleState extends AnswerPropagatorState<ResolvableQuery> {
 
     private final InferenceRule rule;
+    private final RuleApplicationTracker tracker;
+    private final long evaluationStart;
+    private boolean evaluated = false;
 
     public RuleState(InferenceRule rule, ConceptMap sub, Unifier unifier, AnswerPropagatorState parent, Set<ReasonerAtomicQuery> visitedSubGoals) {
         super(rule.getBody(), sub, unifier, parent, visitedSubGoals);
         this.rule = rule;
+        this.tracker = CacheCasting.queryCacheCast(rule.getBody().context().queryCache()).ruleApplicationTracker();
+        this.evaluationStart = tracker.clock();
+    }
+
+    @Override
+    public ResolutionState generateChildState() {
+        ResolutionState childState = super.generateChildState();
+        //NB: the body state sits above this state on the stack, hence once we are out of child states, the body is fully evaluated
+        if (childState == null && !evaluated && getParentState() instanceof AtomicState) {
+            tracker.ackEvaluation(((AtomicState) getParentState()).getQuery(), rule, getUnifier(), evaluationStart);
+            evaluated = true;
+        }
+        return childState;
     }
 
     @Override
@@ -47,6 +47,8 @@ public interface ConceptListener {
 
     void schemaConceptDeleted(SchemaConcept schemaConcept);
 
+    void schemaConceptModified(SchemaConcept schemaConcept);
+
     <D> void attributeCreated(Attribute<D> attribute, D value, boolean isInferred);
 
     void relationCreated(Relation relation, boolean isInferred);
@@ -41,6 +41,8 @@ import graql.lang.pattern.Pattern;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 public interface ConceptManager {
@@ -57,10 +59,11 @@ public interface ConceptManager {
     Role getRole(String label);
     Rule getRule(String label);
     <D> Attribute<D> getCachedAttribute(String index);
-    <D> Attribute<D> getAttribute(String index);
+    <D> Attribute<D> getAttribute(AttributeType<D> type, D value);
 
     <T extends Concept> T getConcept(Schema.VertexProperty vertexProperty, Object propertyValue);
     <T extends Concept> T getConcept(ConceptId conceptId);
+    Map<ConceptId, Concept> getConcepts(Collection<ConceptId> conceptIds);
 
     Type getMetaConcept();
     EntityType getMetaEntityType();
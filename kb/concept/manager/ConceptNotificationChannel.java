@@ -51,6 +51,7 @@ public interface ConceptNotificationChannel {
     void castingDeleted(Casting casting);
 
     void schemaConceptDeleted(SchemaConcept schemaConcept);
+    void schemaConceptModified(SchemaConcept schemaConcept);
 
     void hasAttributeRemoved(Thing owner, Attribute<?> owned, boolean isInferred);
 
@@ -34,8 +34,9 @@ public interface Shard {
      * Links a new concept's vertex to this shard.
      *
      * @param conceptVertex The concept to link to this shard
+     * @return The isa edge linking the concept to this shard
      */
-    void link(VertexElement conceptVertex);
+    EdgeElement link(VertexElement conceptVertex);
 
     /**
      * @return All the concept linked to this shard
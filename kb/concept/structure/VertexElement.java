@@ -87,5 +87,6 @@ public interface VertexElement extends AbstractElement<Vertex> {
     // methods that should probably be removed from the interface
     Stream<EdgeElement> roleCastingsEdges(Integer typeLabelId, Set<Integer> allowedRoleTypeIds);
     Stream<VertexElement> relations(Set<Integer> roleIds);
+    Stream<EdgeElement> attributeEdges(Set<Integer> attributeTypeIds);
 }
 
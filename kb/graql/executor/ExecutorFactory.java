@@ -34,4 +34,9 @@ package grakn.core.kb.graql.executor;
 public interface ExecutorFactory {
     ComputeExecutor compute();
     QueryExecutor transactional(boolean infer);
+
+    /**
+     * Stop any work the executors are doing for the transaction in the background, as the transaction is closed
+     */
+    void close();
 }
@@ -66,6 +66,21 @@ public interface RuleCache {
      */
     Stream<Rule> getRulesWithType(Type type, boolean direct);
 
+    /**
+     * acknowledge a modification of the schema (including rules) in the transaction of this cache
+     */
+    void ackSchemaModification();
+
+    /**
+     * acknowledge the start of a commit of the transaction of this cache which modifies the schema
+     */
+    void beginSchemaCommit();
+
+    /**
+     * acknowledge a commit of the transaction of this cache which modified the schema, written or failed
+     */
+    void ackSchemaCommit();
+
     /**
      * cleans cache contents
      */
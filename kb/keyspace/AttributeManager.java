@@ -20,8 +20,6 @@
 package grakn.core.kb.keyspace;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import grakn.core.kb.concept.api.ConceptId;
 
 import java.util.Set;
 
@@ -29,7 +27,7 @@ import java.util.Set;
  * When loading concurrently, we want to minimise the amount of locking needed for correctness and consistency.
  * To be able to lock more effectively, we need to lock selectively based on the creation of identical attributes among different transactions.
  *
- * The idea is that if two transactions insert the same attribute, we require them to acquire graph locks when committing.
+ * The idea is that if two transactions insert the same attribute, we require them to acquire the commit lock of that attribute when committing.
  * To be able to recognise this situation taking place, we introduce the AttributeManager. The AttributeManager is a session-wide
  * object used to manage attribute mutations. All transactions must report their attribute insertions, deletions and commits to the AttributeManager.
  * The AttributeManager then tracks the attribute mutations as well as txs in which the mutations took place. By logging this information the AttributeManager can then
@@ -38,15 +36,16 @@ import java.util.Set;
  * When about to commit, each transaction polls the AttributeManager if it needs to use a lock during commit.
  * If the AttributeManager finds at least two transactions with a shared attribute, it will advise the competing transactions
  * to use a lock when committing.
+ *
+ * As identical attributes are stored in the same vertex, the competing transactions then only need to check whether
+ * the vertex has been committed meanwhile, in which case they drop their duplicate type edge of the attribute.
  */
 public interface AttributeManager {
 
-    Cache<String, ConceptId> attributesCommitted();
     void ackAttributeInsert(String index, String txId);
     void ackAttributeDelete(String index, String txId);
     void ackCommit(Set<String> indices, String txId);
     boolean requiresLock(String txId);
-    boolean isAttributeEphemeral(String index);
 
     @VisibleForTesting
     boolean lockCandidatesPresent();
@@ -22,9 +22,8 @@ import com.google.common.collect.ImmutableMap;
 import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.concept.api.LabelId;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Keyspace cache contains:
@@ -32,18 +31,16 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * <p>
  * This cache is shared across sessions and transactions to the same keyspace, and kept in sync
  * on commit.
+ * <p>
+ * The labels are published as an immutable snapshot through a volatile reference: transactions read the current
+ * snapshot without locking or copying it, while writers (commits and session initialisation, both rare) replace
+ * the snapshot as a whole.
  */
 public class KeyspaceSchemaCache {
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Map<Label, LabelId> cachedLabels;
-
-    public KeyspaceSchemaCache() {
-        cachedLabels = new ConcurrentHashMap<>();
-    }
-
-    public ReentrantReadWriteLock concurrentUpdateLock() {
-        return lock;
-    }
+    private volatile ImmutableMap<Label, LabelId> cachedLabels = ImmutableMap.of();
+    private volatile boolean sortedValuesIndexed = false;
+    private volatile boolean attributeIdsDerived = false;
+    private volatile boolean textIndexed = false;
 
     /**
      * Caches a label so we can map type labels to type ids. This is necessary so we can make fast
@@ -52,8 +49,26 @@ public class KeyspaceSchemaCache {
      * @param label The label of the type to cache
      * @param id    The id of the type to cache
      */
-    public void cacheLabel(Label label, LabelId id) {
-        cachedLabels.put(label, id);
+    public synchronized void cacheLabel(Label label, LabelId id) {
+        if (id.equals(cachedLabels.get(label))) return;
+        ImmutableMap.Builder<Label, LabelId> labels = ImmutableMap.builder();
+        cachedLabels.forEach((cachedLabel, cachedId) -> {
+            if (!cachedLabel.equals(label)) labels.put(cachedLabel, cachedId);
+        });
+        cachedLabels = labels.put(label, id).build();
+    }
+
+    /**
+     * Caches a number of labels at once, replacing the snapshot a single time rather than once per label.
+     * Used when initialising the cache with the whole schema.
+     *
+     * @param labels The labels of the types to cache, mapped to the ids of the types
+     */
+    public synchronized void cacheLabels(Map<Label, LabelId> labels) {
+        Map<Label, LabelId> merged = new HashMap<>(cachedLabels);
+        merged.putAll(labels);
+        if (merged.equals(cachedLabels)) return;
+        cachedLabels = ImmutableMap.copyOf(merged);
     }
 
 
@@ -62,25 +77,63 @@ public class KeyspaceSchemaCache {
      * into the keyspace cache. This happens when a commit occurs and allows us to track schema
      * mutations without having to read the graph.
      */
-    public void overwriteCache(Map<Label, LabelId> modifiedLabelCache) {
-        try {
-            lock.writeLock().lock();
-            cachedLabels.clear();
-            cachedLabels.putAll(modifiedLabelCache);
-        } finally {
-            lock.writeLock().unlock();
-        }
+    public synchronized void overwriteCache(Map<Label, LabelId> modifiedLabelCache) {
+        cachedLabels = ImmutableMap.copyOf(modifiedLabelCache);
     }
 
     /**
-     * A copy of the cached labels. This is used when creating a new transaction.
+     * The current snapshot of the cached labels. This is used when creating a new transaction.
      *
-     * @return an immutable copy of the cached labels.
+     * @return an immutable snapshot of the cached labels, unaffected by later updates of this cache
+     */
+    public Map<Label, LabelId> labelCacheSnapshot() {
+        return cachedLabels;
+    }
+
+
+    /**
+     * Acknowledge that all the range indexed attributes of the keyspace carry their sorted values on their isa edges,
+     * which is checked when a session is opened, and otherwise brought about in the background.
+     */
+    public void ackSortedValuesIndexed() {
+        sortedValuesIndexed = true;
+    }
+
+    /**
+     * @return true if range comparisons on attributes can be looked up by the sorted values of their isa edges
      */
-    public Map<Label, LabelId> labelCacheCopy() {
-        return ImmutableMap.copyOf(cachedLabels);
+    public boolean sortedValuesIndexed() {
+        return sortedValuesIndexed;
     }
 
+    /**
+     * Acknowledge that all the attributes of the keyspace are stored in the vertices with the ids derived from their
+     * type and value, unless taken by another attribute, which is the case of keyspaces created with derived ids.
+     */
+    public void ackAttributeIdsDerived() {
+        attributeIdsDerived = true;
+    }
+
+    /**
+     * @return true if an attribute missing from the vertex with the id derived from its type and value does not exist
+     */
+    public boolean attributeIdsDerived() {
+        return attributeIdsDerived;
+    }
+
+    /**
+     * Acknowledge that the text index of the keyspace is enabled, which is checked when a session is opened.
+     */
+    public void ackTextIndexed() {
+        textIndexed = true;
+    }
+
+    /**
+     * @return true if contains and like comparisons on string attributes can be looked up in the text index
+     */
+    public boolean textIndexed() {
+        return textIndexed;
+    }
 
     public boolean isEmpty(){
         return cachedLabels.isEmpty();
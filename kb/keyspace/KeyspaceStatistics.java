@@ -28,4 +28,16 @@ public interface KeyspaceStatistics {
     long count(ConceptManager conceptManager, Label label);
     long countOwnerships(ConceptManager conceptManager, Label attributeOwned);
     void commit(ConceptManager conceptManager, StatisticsDelta statisticsDelta);
+
+    /**
+     * Merge the delta into the shared counts, deferring writing them to the schema concepts to the next regular commit,
+     * the next seal or one in a fixed number of deferred commits. Used by BATCH transactions, to avoid all of them
+     * writing to the same vertices.
+     */
+    void commitDeferred(ConceptManager conceptManager, StatisticsDelta statisticsDelta);
+
+    /**
+     * Write the counts modified by deferred commits to the schema concepts
+     */
+    void seal(ConceptManager conceptManager);
 }
@@ -27,7 +27,7 @@ import java.util.Set;
  * When loading concurrently, we want to minimise the amount of locking needed for correctness and consistency.
  * To be able to lock more effectively, we need to lock selectively based on the creation of shards of the same type.
  *
- * The idea is that if two transactions are about to insert a shard for the same type, we require them to acquire graph locks when committing.
+ * The idea is that if two transactions are about to insert a shard for the same type, we require them to acquire the commit lock of that type when committing.
  * To do so we introduce the ShardManager. The ShardManager is a session-wide object used to resolve shard creation contention.
  * Just before committing, all transactions are required to signal their need to create a new shard vertex to the ShardManager.
  * The ShardManager then tracks the transaction shard requirements for specific types. This way it can find and resolve possible contention.
@@ -40,6 +40,11 @@ public interface StatisticsDelta {
      */
     void decrementAttribute(Label label);
 
+    /**
+     * @return true if any instance or ownership was deleted
+     */
+    boolean containsDeletions();
+
     HashMap<Label, Long> instanceDeltas();
 
     HashMap<Label, Long> ownershipDeltas();
@@ -28,6 +28,16 @@ import java.util.function.Consumer;
 public interface Session extends AutoCloseable {
     Transaction transaction(Transaction.Type type);
 
+    /**
+     * Validate the instances committed by BATCH transactions to this keyspace and write the statistics
+     * they deferred. Should be called once the bulk load is complete, with no BATCH transactions open.
+     *
+     * The valid instances are sealed even if some are not, and the invalid ones are validated again by the next seal.
+     *
+     * @throws grakn.core.kb.server.exception.InvalidKBException if any of the committed instances is not valid
+     */
+    void sealBatch();
+
     /**
      * Method used by SessionFactory to register a callback function that has to be triggered when closing current session.
      *
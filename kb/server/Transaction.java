@@ -55,6 +55,7 @@ import graql.lang.query.MatchClause;
 import javax.annotation.CheckReturnValue;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 public interface Transaction extends AutoCloseable {
@@ -195,6 +196,13 @@ public interface Transaction extends AutoCloseable {
      */
     <T extends Concept> T getConcept(ConceptId id);
 
+    /**
+     * @param ids unique identifiers of Concepts in the graph
+     * @return the Concepts with the provided ids that exist, mapped by their id. Concepts are fetched in a single lookup.
+     * @throws TransactionException if the graph is closed
+     */
+    Map<ConceptId, Concept> getConcepts(Collection<ConceptId> ids);
+
     /**
      * Get the root of all Types.
      *
@@ -335,10 +343,13 @@ public interface Transaction extends AutoCloseable {
      * READ - A read only transaction. If you attempt to mutate the graph with such a transaction an exception will be thrown.
      * WRITE - A transaction which allows you to mutate the graph.
      * BATCH - A transaction which allows mutations to be performed more quickly but disables some consistency checks.
+     * Its mutations are buffered and written on commit like those of WRITE transactions, but the validation of the
+     * inserted instances and the statistics writes are deferred until the batch is sealed with Session#sealBatch().
      */
     enum Type {
         READ(0),  //Read only transaction where mutations to the graph are prohibited
-        WRITE(1); //Write transaction where the graph can be mutated
+        WRITE(1), //Write transaction where the graph can be mutated
+        BATCH(2); //Bulk load transaction where the graph can be mutated, validated once the batch is sealed
 
         private final int type;
 
@@ -24,8 +24,9 @@ package grakn.core.kb.server;
  */
 public interface TransactionProvider {
     /**
-     * Prepare a generic transaction in a session that hasn't been opened or has a transaction type set
+     * Prepare a transaction in a session that hasn't been opened yet
+     * @param type type the transaction will be opened with, which determines how its mutations are written
      * @return
      */
-    Transaction newTransaction(Session session);
+    Transaction newTransaction(Session session, Transaction.Type type);
 }
\ No newline at end of file
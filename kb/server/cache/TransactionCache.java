@@ -36,11 +36,11 @@ import grakn.core.kb.concept.api.Type;
 import grakn.core.kb.concept.api.Casting;
 import grakn.core.kb.keyspace.KeyspaceSchemaCache;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -59,7 +59,10 @@ public class TransactionCache {
     private final Map<ConceptId, Concept> conceptCache = new HashMap<>();
     private final Map<String, Attribute> attributeCache = new HashMap<>();
     private final Map<Label, SchemaConcept> schemaConceptCache = new HashMap<>();
+    // labels cached by this transaction, on top of the snapshot of the keyspace labels taken when it was opened
     private final Map<Label, LabelId> labelCache = new HashMap<>();
+    private final Set<Label> evictedLabels = new HashSet<>();
+    private Map<Label, LabelId> keyspaceLabels = Collections.emptyMap();
 
     //Elements Tracked For Validation
     private final Set<Relation> newRelations = new HashSet<>();
@@ -67,6 +70,8 @@ public class TransactionCache {
 
     private final Set<Role> modifiedRoles = new HashSet<>();
     private final Set<Casting> modifiedCastings = new HashSet<>();
+    private boolean castingsDeleted = false;
+    private boolean schemaModified = false;
 
     private final Set<RelationType> modifiedRelationTypes = new HashSet<>();
 
@@ -91,26 +96,25 @@ public class TransactionCache {
     }
 
     public void flushSchemaLabelIdsToCache() {
+        // nothing was cached on top of the keyspace snapshot, hence there is nothing to flush
+        if (labelCache.isEmpty() && evictedLabels.isEmpty()) return;
+
+        Map<Label, LabelId> labels = new HashMap<>(keyspaceLabels);
+        labels.keySet().removeAll(evictedLabels);
+        labels.putAll(labelCache);
         //Check if the schema has been changed and should be flushed into this cache
-        if (!keyspaceSchemaCache.cacheMatches(labelCache)) {
-            keyspaceSchemaCache.overwriteCache(labelCache);
+        if (!keyspaceSchemaCache.cacheMatches(labels)) {
+            keyspaceSchemaCache.overwriteCache(labels);
         }
     }
 
     /**
-     * Refreshes the transaction schema cache by reading the keyspace schema cache into this transaction cache.
-     * This method performs this operation whilst making a deep clone of the cached concepts to ensure transactions
-     * do not accidentally break the central schema cache.
+     * Refreshes the transaction schema cache by taking the current snapshot of the keyspace schema cache.
+     * The snapshot is immutable, hence it is shared rather than copied and the labels cached by this transaction
+     * are kept separately.
      */
     public void updateSchemaCacheFromKeyspaceCache() {
-        ReentrantReadWriteLock schemaCacheLock = keyspaceSchemaCache.concurrentUpdateLock();
-        try {
-            schemaCacheLock.writeLock().lock();
-            Map<Label, LabelId> cachedLabelsSnapshot = keyspaceSchemaCache.labelCacheCopy();
-            cachedLabelsSnapshot.forEach(this::cacheLabel);
-        } finally {
-            schemaCacheLock.writeLock().unlock();
-        }
+        keyspaceLabels = keyspaceSchemaCache.labelCacheSnapshot();
     }
 
     /**
@@ -174,11 +178,13 @@ public class TransactionCache {
             Label label = concept.asSchemaConcept().label();
             schemaConceptCache.remove(label);
             labelCache.remove(label);
+            evictedLabels.add(label);
         }
     }
 
     public void deleteCasting(Casting casting) {
         modifiedCastings.remove(casting);
+        castingsDeleted = true;
     }
 
     /**
@@ -191,7 +197,7 @@ public class TransactionCache {
         if (concept.isSchemaConcept()) {
             SchemaConcept schemaConcept = concept.asSchemaConcept();
             schemaConceptCache.put(schemaConcept.label(), schemaConcept);
-            labelCache.put(schemaConcept.label(), schemaConcept.labelId());
+            cacheLabel(schemaConcept.label(), schemaConcept.labelId());
         }
         if (concept.isAttribute()){
             Attribute<Object> attribute = concept.asAttribute();
@@ -208,6 +214,7 @@ public class TransactionCache {
      */
     public void cacheLabel(Label label, LabelId id) {
         labelCache.put(label, id);
+        evictedLabels.remove(label);
     }
 
     /**
@@ -233,7 +240,7 @@ public class TransactionCache {
      * @return true if the label is cached and has a valid mapping to a id
      */
     public boolean isLabelCached(Label label) {
-        return labelCache.containsKey(label);
+        return labelCache.containsKey(label) || (!evictedLabels.contains(label) && keyspaceLabels.containsKey(label));
     }
 
     /**
@@ -323,7 +330,9 @@ public class TransactionCache {
     }
 
     public LabelId convertLabelToId(Label label) {
-        return labelCache.get(label);
+        LabelId labelId = labelCache.get(label);
+        if (labelId != null || evictedLabels.contains(label)) return labelId;
+        return keyspaceLabels.get(label);
     }
 
     public void addNewAttribute(Label label, String index, ConceptId conceptId) {
@@ -361,6 +370,42 @@ public class TransactionCache {
         return modifiedRules;
     }
 
+    /**
+     * Acknowledge a modification of the schema that might change answers to queries over existing data
+     */
+    public void ackSchemaModification() {
+        schemaModified = true;
+    }
+
+    public boolean isSchemaModified() {
+        return schemaModified;
+    }
+
+    /**
+     * @return true if range comparisons on attributes can be looked up by the sorted values of their isa edges
+     */
+    public boolean sortedValuesIndexed() {
+        return keyspaceSchemaCache.sortedValuesIndexed();
+    }
+
+    /**
+     * @return true if contains and like comparisons on string attributes can be looked up in the text index
+     */
+    public boolean textIndexed() {
+        return keyspaceSchemaCache.textIndexed();
+    }
+
+    /**
+     * @return true if an attribute missing from the vertex with the id derived from its type and value does not exist
+     */
+    public boolean attributeIdsDerived() {
+        return keyspaceSchemaCache.attributeIdsDerived();
+    }
+
+    public boolean anyCastingsDeleted() {
+        return castingsDeleted;
+    }
+
     public Set<Casting> getModifiedCastings() {
         return modifiedCastings;
     }
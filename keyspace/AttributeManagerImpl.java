@@ -19,44 +19,21 @@
 
 package grakn.core.keyspace;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import grakn.core.kb.concept.api.ConceptId;
 import grakn.core.kb.keyspace.AttributeManager;
 
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 public class AttributeManagerImpl implements AttributeManager {
-    private final static int TIMEOUT_MINUTES_ATTRIBUTES_CACHE = 2;
-    private final static int ATTRIBUTES_CACHE_MAX_SIZE = 10000;
-
-    private final Cache<String, ConceptId> attributesCommitted;
     //we track txs that insert an attribute with given index
     private final ConcurrentHashMap<String, Set<String>> attributesEphemeral;
     private final Set<String> lockCandidates;
 
     public AttributeManagerImpl(){
-        this.attributesCommitted = CacheBuilder.newBuilder()
-                .expireAfterAccess(TIMEOUT_MINUTES_ATTRIBUTES_CACHE, TimeUnit.MINUTES)
-                .maximumSize(ATTRIBUTES_CACHE_MAX_SIZE)
-                .build();
-
         this.attributesEphemeral = new ConcurrentHashMap<>();
         this.lockCandidates = ConcurrentHashMap.newKeySet();
     }
 
-    @Override
-    public boolean isAttributeEphemeral(String index) {
-        return attributesEphemeral.containsKey(index);
-    }
-
-    @Override
-    public Cache<String, ConceptId> attributesCommitted() {
-        return attributesCommitted;
-    }
-
     @Override
     public void ackAttributeInsert(String index, String txId) {
         //transaction of txId signals that it inserted an attribute with specific index:
@@ -30,13 +30,15 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
  * This class is bound per-keyspace, and shared between sessions on the same keyspace just like the JanusGraph object.
  * The general method of operation is as a cache, into which the statistics delta is merged on commit.
  * At this point we also write the statistics to JanusGraph, writing recorded values as vertex properties on the schema
- * concepts.
+ * concepts. BATCH transactions only merge their delta into the cache, the counts they modify are written by the next
+ * regular commit, by every DEFERRED_COMMITS_PER_PERSIST-th BATCH commit, or when the batch is sealed.
  * <p>
  * On cache miss, we read from JanusGraph schema vertices, which only have the INSTANCE_COUNT property if the
  * count is non-zero or has been non-zero in the past. No such property means instance count is 0.
@@ -47,12 +49,22 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class KeyspaceStatisticsImpl implements KeyspaceStatistics {
 
+    // number of deferred commits after which one of them writes the counts deferred so far
+    private static final long DEFERRED_COMMITS_PER_PERSIST = 100;
+
     private ConcurrentHashMap<Label, Long> instanceCountsCache;
     private ConcurrentHashMap<Label, Long> ownershipCountsCache;
+    // labels whose cached counts were updated by deferred commits and are yet to be written to Janus
+    private Set<Label> deferredInstanceLabels;
+    private Set<Label> deferredOwnershipLabels;
+    private final AtomicLong deferredCommits;
 
     public KeyspaceStatisticsImpl() {
         instanceCountsCache = new ConcurrentHashMap<>();
         ownershipCountsCache = new ConcurrentHashMap<>();
+        deferredInstanceLabels = ConcurrentHashMap.newKeySet();
+        deferredOwnershipLabels = ConcurrentHashMap.newKeySet();
+        deferredCommits = new AtomicLong();
     }
 
     @Override
@@ -71,10 +83,39 @@ public class KeyspaceStatisticsImpl implements KeyspaceStatistics {
 
     @Override
     public void commit(ConceptManager conceptManager, StatisticsDelta statisticsDelta) {
-        HashMap<Label, Long> deltaMap = statisticsDelta.instanceDeltas();
-
+        // counts deferred by BATCH transactions are written along, so they don't depend on the batch being sealed
+        Set<Label> instanceLabelsToPersist = drain(deferredInstanceLabels);
+        Set<Label> ownershipLabelsToPersist = drain(deferredOwnershipLabels);
         // merge each delta into the cache, then flush the cache to Janus
-        Set<Label> instanceLabelsToPersist = new HashSet<>();
+        merge(conceptManager, statisticsDelta, instanceLabelsToPersist, ownershipLabelsToPersist);
+        persist(conceptManager, instanceLabelsToPersist, ownershipLabelsToPersist);
+    }
+
+    @Override
+    public void commitDeferred(ConceptManager conceptManager, StatisticsDelta statisticsDelta) {
+        merge(conceptManager, statisticsDelta, deferredInstanceLabels, deferredOwnershipLabels);
+        if (deferredCommits.incrementAndGet() % DEFERRED_COMMITS_PER_PERSIST == 0) seal(conceptManager);
+    }
+
+    @Override
+    public void seal(ConceptManager conceptManager) {
+        // the persisted values are read from the cache, hence labels deferred concurrently are persisted later at worst
+        Set<Label> instanceLabelsToPersist = drain(deferredInstanceLabels);
+        Set<Label> ownershipLabelsToPersist = drain(deferredOwnershipLabels);
+        persist(conceptManager, instanceLabelsToPersist, ownershipLabelsToPersist);
+    }
+
+    private static Set<Label> drain(Set<Label> labels) {
+        Set<Label> drained = new HashSet<>();
+        for (Label label : labels) {
+            if (labels.remove(label)) drained.add(label);
+        }
+        return drained;
+    }
+
+    private void merge(ConceptManager conceptManager, StatisticsDelta statisticsDelta,
+                       Set<Label> instanceLabelsToPersist, Set<Label> ownershipLabelsToPersist) {
+        HashMap<Label, Long> deltaMap = statisticsDelta.instanceDeltas();
         deltaMap.entrySet().stream()
                 .filter(e -> e.getValue() != 0)
                 .forEach(entry -> {
@@ -90,7 +131,6 @@ public class KeyspaceStatisticsImpl implements KeyspaceStatistics {
                 });
 
         HashMap<Label, Long> ownershipDelta = statisticsDelta.ownershipDeltas();
-        Set<Label> ownershipLabelsToPersist = new HashSet<>();
         ownershipDelta.entrySet().stream()
                 .filter(e -> e.getValue() != 0)
                 .forEach(entry -> {
@@ -103,9 +143,6 @@ public class KeyspaceStatisticsImpl implements KeyspaceStatistics {
                                 prior + delta
                     );
                 });
-
-        persist(conceptManager, instanceLabelsToPersist, ownershipLabelsToPersist);
-
     }
 
     private void persist(ConceptManager conceptManager, Set<Label> labelsToPersist, Set<Label> ownershipLabelsToPersist) {
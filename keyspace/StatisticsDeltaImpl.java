@@ -46,6 +46,8 @@ public class StatisticsDeltaImpl implements StatisticsDelta {
     private long relationCount = 0;
     private long attributeCount = 0;
 
+    private boolean containsDeletions = false;
+
     public StatisticsDeltaImpl() {
         instanceDeltas = new HashMap<>();
         ownershipDeltas = new HashMap<>();
@@ -87,6 +89,7 @@ public class StatisticsDeltaImpl implements StatisticsDelta {
 
     @Override
     public void decrement(Type type) {
+        containsDeletions = true;
         Label label = type.label();
         Long currentCount = instanceDeltas.getOrDefault(label, 0L);
         instanceDeltas.put(label, currentCount - 1);
@@ -104,6 +107,7 @@ public class StatisticsDeltaImpl implements StatisticsDelta {
 
     @Override
     public void decrementOwnership(AttributeType<?> type) {
+        containsDeletions = true;
         Label label = type.label();
         Long currentCount = ownershipDeltas.getOrDefault(label, 0L);
         ownershipDeltas.put(label, currentCount - 1);
@@ -121,6 +125,11 @@ public class StatisticsDeltaImpl implements StatisticsDelta {
         attributeCount--;
     }
 
+    @Override
+    public boolean containsDeletions() {
+        return containsDeletions;
+    }
+
     @Override
     public HashMap<Label, Long> instanceDeltas() {
         // copy the meta type counts into the map on retrieval
@@ -17,9 +17,11 @@
  */
 package grakn.core.server;
 
+import grakn.core.server.session.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
 /**
@@ -29,10 +31,17 @@ public class Server implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(Server.class);
 
     private final io.grpc.Server serverRPC;
+    @Nullable
+    private final SessionFactory sessionFactory;
 
     public Server(io.grpc.Server serverRPC) {
+        this(serverRPC, null);
+    }
+
+    public Server(io.grpc.Server serverRPC, @Nullable SessionFactory sessionFactory) {
         // Lock provider
         this.serverRPC = serverRPC;
+        this.sessionFactory = sessionFactory;
     }
 
     public void start() throws IOException {
@@ -52,6 +61,8 @@ public class Server implements AutoCloseable {
         } catch (InterruptedException e) {
             LOG.error("Exception while closing Server:", e);
             Thread.currentThread().interrupt();
+        } finally {
+            if (sessionFactory != null) sessionFactory.close();
         }
     }
 }
@@ -39,6 +39,7 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -102,7 +103,7 @@ public class ServerFactory {
         // create gRPC server
         io.grpc.Server serverRPC = createServerRPC(config, sessionFactory, keyspaceManager);
 
-        return createServer(serverRPC);
+        return createServer(serverRPC, sessionFactory);
     }
 
     /**
@@ -112,7 +113,16 @@ public class ServerFactory {
      */
 
     public static Server createServer(io.grpc.Server rpcServer) {
-        Server server = new Server(rpcServer);
+        return createServer(rpcServer, null);
+    }
+
+    /**
+     * Allows the creation of a Server instance which also releases the resources of the session factory when closed
+     *
+     * @return a Server instance
+     */
+    public static Server createServer(io.grpc.Server rpcServer, @Nullable SessionFactory sessionFactory) {
+        Server server = new Server(rpcServer, sessionFactory);
 
         Runtime.getRuntime().addShutdownHook(new Thread(server::close, "grakn-server-shutdown"));
 
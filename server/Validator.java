@@ -20,6 +20,8 @@ package grakn.core.server;
 
 import grakn.core.graql.reasoner.query.ReasonerQueryFactory;
 import grakn.core.kb.concept.api.Casting;
+import grakn.core.kb.concept.api.Concept;
+import grakn.core.kb.concept.api.ConceptId;
 import grakn.core.kb.concept.api.Relation;
 import grakn.core.kb.concept.api.RelationType;
 import grakn.core.kb.concept.api.Role;
@@ -29,6 +31,7 @@ import grakn.core.kb.concept.manager.ConceptManager;
 import grakn.core.kb.server.cache.TransactionCache;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -60,6 +63,48 @@ public class Validator {
      * @return True if the data and schema conforms to our concept.
      */
     public boolean validate() {
+        validateInstances();
+        validateSchemaConcepts();
+        return errorsFound.size() == 0;
+    }
+
+    /**
+     * Used by BATCH transactions, which defer the validation of the modified instances to validateCommitted
+     *
+     * @return True if the schema conforms to our concept.
+     */
+    public boolean validateSchema() {
+        validateSchemaConcepts();
+        return errorsFound.size() == 0;
+    }
+
+    /**
+     * Validates instances committed by BATCH transactions. As the castings modified by those transactions are not
+     * tracked anymore, all castings of the committed relations are validated.
+     *
+     * @param conceptIds ids of the committed things and relations, some of which may have been deleted since
+     * @return ids of the committed instances which do not conform to our concept
+     */
+    public Set<ConceptId> validateCommitted(Set<ConceptId> conceptIds) {
+        Set<ConceptId> invalid = new HashSet<>();
+        for (ConceptId conceptId : conceptIds) {
+            Concept concept = conceptManager.getConcept(conceptId);
+            if (concept == null || !concept.isThing()) continue;
+
+            int errors = errorsFound.size();
+            Thing thing = concept.asThing();
+            validateThing(thing);
+            if (thing.isRelation()) {
+                Relation relation = thing.asRelation();
+                validateRelation(relation);
+                relation.castingsRelation().forEach(this::validateCasting);
+            }
+            if (errorsFound.size() > errors) invalid.add(conceptId);
+        }
+        return invalid;
+    }
+
+    private void validateInstances() {
         //Validate Things
         for (Thing thing : transactionCache.getModifiedThings()) {
             validateThing(thing);
@@ -68,10 +113,13 @@ public class Validator {
         //Validate Relations
         transactionCache.getNewRelations().forEach(this::validateRelation);
 
-        //Validate RoleTypes
-        transactionCache.getModifiedRoles().forEach(this::validateRole);
         //Validate Role Players
         transactionCache.getModifiedCastings().forEach(this::validateCasting);
+    }
+
+    private void validateSchemaConcepts() {
+        //Validate RoleTypes
+        transactionCache.getModifiedRoles().forEach(this::validateRole);
 
         //Validate Relation Types
         transactionCache.getModifiedRelationTypes().forEach(this::validateRelationType);
@@ -83,8 +131,6 @@ public class Validator {
         if (!transactionCache.getModifiedRules().isEmpty()) {
             errorsFound.addAll(ValidateGlobalRules.validateRuleStratifiability(conceptManager));
         }
-
-        return errorsFound.size() == 0;
     }
 
     /**
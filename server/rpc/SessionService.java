@@ -17,6 +17,7 @@
 
 package grakn.core.server.rpc;
 
+import com.google.common.collect.Streams;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import grabl.tracing.client.GrablTracing;
 import grabl.tracing.client.GrablTracingThreadStatic;
@@ -36,6 +37,7 @@ import grakn.core.kb.server.Session;
 import grakn.core.kb.server.exception.SessionException;
 import grakn.core.kb.server.exception.TransactionException;
 import grakn.protocol.session.AnswerProto;
+import grakn.protocol.session.ConceptProto;
 import grakn.protocol.session.SessionProto;
 import grakn.protocol.session.SessionProto.Transaction;
 import grakn.protocol.session.SessionServiceGrpc;
@@ -44,15 +46,24 @@ import graql.lang.pattern.Pattern;
 import graql.lang.query.GraqlQuery;
 import io.grpc.Status;
 import io.grpc.StatusException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -60,11 +71,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static grabl.tracing.client.GrablTracingThreadStatic.traceOnThread;
@@ -80,6 +94,13 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
     private static final Logger LOG = LoggerFactory.getLogger(SessionService.class);
 
     private static final int DEFAULT_BATCH_SIZE = 50;
+    // Upper bounds of adaptively sized batches, by number of answers and by their total serialised size
+    private static final int MAX_ADAPTIVE_BATCH_SIZE = 5000;
+    private static final long MAX_ADAPTIVE_BATCH_BYTES = 4 * 1024 * 1024;
+    // Request metadata making a concept method request apply in bulk: the comma-separated ids of the concepts, and the
+    // comma-separated, base64 encoded methods to apply to each of them after the method of the request itself
+    static final String BULK_CONCEPT_IDS = "conceptIds";
+    static final String BULK_CONCEPT_METHODS = "conceptMethods";
 
     private final OpenRequest requestOpener;
     // Each client's connection obtains a unique ID, which we map to the shared session under the hood
@@ -159,7 +180,7 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
         private final AtomicBoolean terminated = new AtomicBoolean(false);
         private final ExecutorService threadExecutor;
         private final Map<String, Session> openSessions;
-        private final Iterators iterators = new Iterators(this::onNextResponse);
+        private final Iterators iterators = new Iterators(this::onNextResponse, this::schedule, this::transportReady);
 
         @Nullable
         private grakn.core.kb.server.Transaction tx = null;
@@ -170,6 +191,10 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("transaction-listener").build();
             this.threadExecutor = Executors.newSingleThreadExecutor(threadFactory);
             this.openSessions = openSessions;
+            if (responseSender instanceof ServerCallStreamObserver) {
+                // once the transport drains, resume prefetching answers that were held back
+                ((ServerCallStreamObserver<Transaction.Res>) responseSender).setOnReadyHandler(() -> schedule(iterators::resumePrefetching));
+            }
         }
 
 
@@ -234,7 +259,7 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                     commit();
                     break;
                 case ITER_REQ:
-                    handleIterRequest(request.getIterReq());
+                    handleIterRequest(request.getIterReq(), request.getMetadataMap());
                     break;
                 case GETSCHEMACONCEPT_REQ:
                     getSchemaConcept(request.getGetSchemaConceptReq());
@@ -258,7 +283,7 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                     putRule(request.getPutRuleReq());
                     break;
                 case CONCEPTMETHOD_REQ:
-                    conceptMethod(request.getConceptMethodReq());
+                    conceptMethod(request.getConceptMethodReq(), request.getMetadataMap());
                     break;
                 case EXPLANATION_REQ:
                     explanation(request.getExplanationReq());
@@ -270,6 +295,10 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
         }
 
         public void handleIterRequest(Transaction.Iter.Req request) {
+            handleIterRequest(request, Collections.emptyMap());
+        }
+
+        private void handleIterRequest(Transaction.Iter.Req request, Map<String, String> metadata) {
             switch (request.getReqCase()) {
                 case ITERATORID:
                     iterators.resumeBatchIterating(request.getIteratorId(), request.getOptions());
@@ -278,7 +307,7 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                     query(request.getQueryIterReq(), request.getOptions());
                     break;
                 case CONCEPTMETHOD_ITER_REQ:
-                    conceptIterMethod(request.getConceptMethodIterReq(), request.getOptions());
+                    conceptIterMethod(request.getConceptMethodIterReq(), request.getOptions(), metadata);
                     break;
                 case GETATTRIBUTES_ITER_REQ:
                     getAttributes(request.getGetAttributesIterReq(), request.getOptions());
@@ -322,6 +351,22 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             }
         }
 
+        /**
+         * Run a task on the transaction thread without waiting for it, used to prefetch answers in between requests.
+         */
+        private void schedule(Runnable runnable) {
+            if (terminated.get()) return;
+            try {
+                threadExecutor.execute(runnable);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Transaction thread already terminated, task not scheduled", e);
+            }
+        }
+
+        private boolean transportReady() {
+            return !(responseSender instanceof ServerCallStreamObserver) || ((ServerCallStreamObserver<Transaction.Res>) responseSender).isReady();
+        }
+
         private void open(Transaction.Open.Req request) {
             if (tx != null) {
                 throw ResponseBuilder.exception(Status.FAILED_PRECONDITION);
@@ -454,14 +499,85 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             return nonNull(tx);
         }
 
-        private void conceptMethod(Transaction.ConceptMethod.Req request) {
-            Concept concept = nonNull(tx().getConcept(ConceptId.of(request.getId())));
-            ConceptMethod.run(concept, request.getMethod(), iterators, tx(), this::onNextResponse);
+        /**
+         * A bulk request applies its method, followed by the methods listed in its metadata, to each of the concepts
+         * listed in its metadata. Exactly one response is sent per concept and method, concept by concept, so a method
+         * without a result is answered with an empty response.
+         */
+        private void conceptMethod(Transaction.ConceptMethod.Req request, Map<String, String> metadata) {
+            List<ConceptId> bulkConceptIds = bulkConceptIds(metadata);
+            if (bulkConceptIds.isEmpty()) {
+                Concept concept = nonNull(tx().getConcept(ConceptId.of(request.getId())));
+                ConceptMethod.run(concept, request.getMethod(), iterators, tx(), this::onNextResponse);
+                return;
+            }
+
+            List<ConceptProto.Method.Req> methods = bulkMethods(request.getMethod(), metadata, ConceptProto.Method.Req::parseFrom);
+            for (Concept concept : concepts(bulkConceptIds)) {
+                for (ConceptProto.Method.Req method : methods) {
+                    ConceptMethod.run(concept, method, iterators, tx(), response -> onNextResponse(response != null ? response :
+                            Transaction.Res.newBuilder().setConceptMethodRes(Transaction.ConceptMethod.Res.getDefaultInstance()).build()));
+                }
+            }
+        }
+
+        /**
+         * A bulk request applies its method, followed by the methods listed in its metadata, to each of the concepts
+         * listed in its metadata. The responses of all of them are streamed through a single iterator, concept by
+         * concept, and those of each concept and method are followed by an empty response marking their end.
+         */
+        private void conceptIterMethod(Transaction.ConceptMethod.Iter.Req request, Transaction.Iter.Req.Options options, Map<String, String> metadata) {
+            List<ConceptId> bulkConceptIds = bulkConceptIds(metadata);
+            if (bulkConceptIds.isEmpty()) {
+                Concept concept = nonNull(tx().getConcept(ConceptId.of(request.getId())));
+                ConceptMethod.iter(concept, request.getMethod(), iterators, tx(), this::onNextResponse, options);
+                return;
+            }
+
+            List<ConceptProto.Method.Iter.Req> methods = bulkMethods(request.getMethod(), metadata, ConceptProto.Method.Iter.Req::parseFrom);
+            Iterator<Transaction.Res> responses = concepts(bulkConceptIds).stream()
+                    .flatMap(concept -> methods.stream().flatMap(method -> {
+                        // the method hands its responses over to the iterators, we collect them instead
+                        BulkIterators methodResponses = new BulkIterators();
+                        ConceptMethod.iter(concept, method, methodResponses, tx(), this::onNextResponse, options);
+                        return methodResponses.responses();
+                    }))
+                    .iterator();
+            iterators.startBatchIterating(responses, options);
+        }
+
+        /**
+         * Fetch all concepts of a bulk request in a single lookup, preserving the order of the ids.
+         * All of them are checked to exist before anything is sent, so the request either fails or is answered in full.
+         */
+        private List<Concept> concepts(List<ConceptId> ids) {
+            Map<ConceptId, Concept> concepts = tx().getConcepts(ids);
+            List<ConceptId> missing = ids.stream().filter(id -> !concepts.containsKey(id)).collect(Collectors.toList());
+            if (!missing.isEmpty()) {
+                throw ResponseBuilder.exception(Status.FAILED_PRECONDITION.withDescription("Concepts do not exist: " + missing));
+            }
+            return ids.stream().map(concepts::get).collect(Collectors.toList());
+        }
+
+        private List<ConceptId> bulkConceptIds(Map<String, String> metadata) {
+            String conceptIds = metadata.get(BULK_CONCEPT_IDS);
+            if (conceptIds == null || conceptIds.isEmpty()) return Collections.emptyList();
+            return Arrays.stream(conceptIds.split(",")).map(ConceptId::of).collect(Collectors.toList());
         }
 
-        private void conceptIterMethod(Transaction.ConceptMethod.Iter.Req request, Transaction.Iter.Req.Options options) {
-            Concept concept = nonNull(tx().getConcept(ConceptId.of(request.getId())));
-            ConceptMethod.iter(concept, request.getMethod(), iterators, tx(), this::onNextResponse, options);
+        private <M> List<M> bulkMethods(M method, Map<String, String> metadata, MethodParser<M> parser) {
+            List<M> methods = new ArrayList<>();
+            methods.add(method);
+            String bulkMethods = metadata.get(BULK_CONCEPT_METHODS);
+            if (bulkMethods == null || bulkMethods.isEmpty()) return methods;
+            for (String bulkMethod : bulkMethods.split(",")) {
+                try {
+                    methods.add(parser.parse(Base64.getDecoder().decode(bulkMethod)));
+                } catch (IOException | IllegalArgumentException e) {
+                    throw ResponseBuilder.exception(Status.INVALID_ARGUMENT.withDescription("Malformed concept method: " + bulkMethod));
+                }
+            }
+            return methods;
         }
 
         /**
@@ -480,19 +596,57 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
         }
     }
 
+    @FunctionalInterface
+    private interface MethodParser<M> {
+        M parse(byte[] bytes) throws IOException;
+    }
+
+    /**
+     * Collects the responses a concept method hands over to be iterated, rather than starting an iterator for them,
+     * so that the responses of a bulk concept method request can all go through the same iterator.
+     */
+    private static class BulkIterators extends Iterators {
+        private static final Transaction.Res END_OF_METHOD = Transaction.Res.newBuilder()
+                .setIterRes(Transaction.Iter.Res.newBuilder()
+                        .setConceptMethodIterRes(Transaction.ConceptMethod.Iter.Res.getDefaultInstance()))
+                .build();
+
+        private Iterator<Transaction.Res> responses = Collections.emptyIterator();
+
+        BulkIterators() {
+            super(response -> { }, prefetch -> { }, () -> false);
+        }
+
+        @Override
+        public void startBatchIterating(Iterator<Transaction.Res> iterator, @Nullable Transaction.Iter.Req.Options options) {
+            responses = iterator;
+        }
+
+        Stream<Transaction.Res> responses() {
+            return Stream.concat(Streams.stream(responses), Stream.of(END_OF_METHOD));
+        }
+    }
+
     /**
      * Contains a mutable map of iterators of Transaction.Res for gRPC. These iterators are used for returning
      * lazy, streaming responses such as for Graql query results.
      *
-     * The iterators operate by batching results to reduce total round-trips.
+     * The iterators operate by batching results to reduce total round-trips. While a batch is in flight, the next one
+     * is prefetched on the transaction thread, as long as the gRPC transport is ready to accept more messages.
+     * Unless the client asks for a specific batch size, batches grow while answers are produced faster than the client
+     * round trip, bounded by the number and the serialised size of the answers.
      */
     static class Iterators {
         private final Consumer<Transaction.Res> responseSender;
+        private final Consumer<Runnable> prefetchScheduler;
+        private final BooleanSupplier transportReady;
         private final AtomicInteger iteratorIdCounter = new AtomicInteger(0);
         private final Map<Integer, BatchingIterator> iterators = new ConcurrentHashMap<>();
 
-        public Iterators(Consumer<Transaction.Res> responseSender) {
+        public Iterators(Consumer<Transaction.Res> responseSender, Consumer<Runnable> prefetchScheduler, BooleanSupplier transportReady) {
             this.responseSender = responseSender;
+            this.prefetchScheduler = prefetchScheduler;
+            this.transportReady = transportReady;
         }
 
         /**
@@ -513,6 +667,14 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             iterator.iterateBatch(options);
         }
 
+        /**
+         * Continue prefetching for the iterators whose prefetching was held back by the transport not being ready.
+         * Must run on the transaction thread.
+         */
+        public void resumePrefetching() {
+            iterators.values().forEach(BatchingIterator::prefetch);
+        }
+
         public void stop(int iteratorId) {
             iterators.remove(iteratorId);
         }
@@ -523,9 +685,20 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             return id;
         }
 
+        /**
+         * All methods are called on the transaction thread, hence the state needs no synchronisation.
+         */
         public class BatchingIterator {
             private int id = 0;
             private final Iterator<Transaction.Res> iterator;
+            private final Deque<Transaction.Res> prefetched = new ArrayDeque<>();
+            private RuntimeException prefetchError = null;
+
+            private int prefetchSize = 0;
+            private long prefetchNanos = 0;
+            private long batchSentAt = 0;
+            private int adaptiveBatchSize = DEFAULT_BATCH_SIZE;
+            private long averageResponseBytes = 0;
 
             public BatchingIterator(Iterator<Transaction.Res> iterator) {
                 this.iterator = iterator;
@@ -547,17 +720,37 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                 }
             }
 
+            private boolean hasNext() {
+                if (!prefetched.isEmpty()) return true;
+                if (prefetchError != null) throw prefetchError;
+                return iterator.hasNext();
+            }
+
+            private Transaction.Res next() {
+                if (!prefetched.isEmpty()) return prefetched.poll();
+                return iterator.next();
+            }
+
             public void iterateBatch(@Nullable Transaction.Iter.Req.Options options) {
                 int batchSize = getSizeFrom(options);
-                for (int i = 0; i < batchSize && iterator.hasNext(); i++) {
-                    responseSender.accept(iterator.next());
+                long batchBytes = 0;
+                int sent = 0;
+                for (; sent < batchSize && hasNext(); sent++) {
+                    Transaction.Res response = next();
+                    batchBytes += response.getSerializedSize();
+                    responseSender.accept(response);
                 }
+                if (sent > 0) averageResponseBytes = batchBytes / sent;
 
-                if (iterator.hasNext()) {
+                if (hasNext()) {
                     save();
                     responseSender.accept(SessionProto.Transaction.Res.newBuilder()
                             .setIterRes(SessionProto.Transaction.Iter.Res.newBuilder()
                                     .setIteratorId(id)).build());
+                    batchSentAt = System.nanoTime();
+                    prefetchSize = batchSize;
+                    prefetchNanos = 0;
+                    prefetchScheduler.accept(this::prefetch);
                 } else {
                     end();
                     responseSender.accept(SessionProto.Transaction.Res.newBuilder()
@@ -565,17 +758,55 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                                     .setDone(true)).build());
                 }
             }
-        }
 
-        private static int getSizeFrom(@Nullable Transaction.Iter.Req.Options options) {
-            switch (options.getBatchSizeCase()) {
-                case ALL:
-                    return Integer.MAX_VALUE;
-                case NUMBER:
-                    return options.getNumber();
-                case BATCHSIZE_NOT_SET:
-                default:
-                    return DEFAULT_BATCH_SIZE;
+            /**
+             * Compute answers of the next batch ahead of the client asking for them.
+             * Stops when the transport isn't ready, in which case it is resumed by the transport's onReady callback.
+             */
+            private void prefetch() {
+                long start = System.nanoTime();
+                try {
+                    while (prefetched.size() < prefetchSize && prefetchError == null && transportReady.getAsBoolean() && iterator.hasNext()) {
+                        prefetched.add(iterator.next());
+                    }
+                } catch (RuntimeException e) {
+                    // delivered to the client when it asks for the next batch
+                    prefetchError = e;
+                } finally {
+                    prefetchNanos += System.nanoTime() - start;
+                }
+            }
+
+            private int getSizeFrom(@Nullable Transaction.Iter.Req.Options options) {
+                if (options == null) return nextAdaptiveBatchSize();
+                switch (options.getBatchSizeCase()) {
+                    case ALL:
+                        return Integer.MAX_VALUE;
+                    case NUMBER:
+                        return options.getNumber();
+                    case BATCHSIZE_NOT_SET:
+                    default:
+                        return nextAdaptiveBatchSize();
+                }
+            }
+
+            /**
+             * If the previous batch was fully prefetched before the client asked for it, the round trip dominates and
+             * larger batches pay off. If prefetching couldn't keep up, answer production dominates and we shrink back.
+             */
+            private int nextAdaptiveBatchSize() {
+                if (batchSentAt != 0) {
+                    long roundTripNanos = System.nanoTime() - batchSentAt;
+                    if (prefetched.size() >= prefetchSize && prefetchNanos < roundTripNanos) {
+                        adaptiveBatchSize = Math.min(adaptiveBatchSize * 2, MAX_ADAPTIVE_BATCH_SIZE);
+                    } else if (prefetched.size() < prefetchSize) {
+                        adaptiveBatchSize = Math.max(adaptiveBatchSize / 2, DEFAULT_BATCH_SIZE);
+                    }
+                }
+                if (averageResponseBytes > 0) {
+                    adaptiveBatchSize = (int) Math.max(1, Math.min(adaptiveBatchSize, MAX_ADAPTIVE_BATCH_BYTES / averageResponseBytes));
+                }
+                return adaptiveBatchSize;
             }
         }
     }
@@ -17,9 +17,11 @@
 
 package grakn.core.server.session;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import grakn.core.common.config.Config;
 import grakn.core.common.config.ConfigKey;
 import grakn.core.core.Schema;
+import grakn.core.core.TextIndex;
 import grakn.core.graph.core.EdgeLabel;
 import grakn.core.graph.core.JanusGraph;
 import grakn.core.graph.core.Namifiable;
@@ -28,7 +30,10 @@ import grakn.core.graph.core.RelationType;
 import grakn.core.graph.core.VertexLabel;
 import grakn.core.graph.core.schema.JanusGraphIndex;
 import grakn.core.graph.core.schema.JanusGraphManagement;
+import grakn.core.graph.core.schema.RelationTypeIndex;
+import grakn.core.graph.core.schema.SchemaStatus;
 import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graph.graphdb.database.management.IndexBackfillJob;
 import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
 import grakn.core.server.session.optimisation.JanusPreviousPropertyStepStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
@@ -36,12 +41,21 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -55,6 +69,9 @@ final public class JanusGraphFactory {
     private final static Logger LOG = LoggerFactory.getLogger(JanusGraphFactory.class);
     private static final AtomicBoolean strategiesApplied = new AtomicBoolean(false);
     private static final String CQL_BACKEND = "cql";
+    // backfills the indexes one at a time, each job scans with its own pool of workers
+    private static final ExecutorService INDEX_BACKFILL_SERVICE = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("index-backfill-%d").build());
 
     private Config config;
 
@@ -64,7 +81,8 @@ final public class JanusGraphFactory {
 
     public StandardJanusGraph openGraph(String keyspace) {
         StandardJanusGraph janusGraph = configureGraph(keyspace, config);
-        buildJanusIndexes(janusGraph);
+        buildJanusIndexes(janusGraph, textIndexEnabled(config));
+        backfillJanusIndexes(janusGraph);
         if (!strategiesApplied.getAndSet(true)) {
             TraversalStrategies strategies = TraversalStrategies.GlobalCache.getStrategies(StandardJanusGraphTx.class);
             strategies = strategies.clone().addStrategies(new JanusPreviousPropertyStepStrategy());
@@ -89,7 +107,8 @@ final public class JanusGraphFactory {
     private static StandardJanusGraph configureGraph(String keyspace, Config config) {
         grakn.core.graph.core.JanusGraphFactory.Builder builder = grakn.core.graph.core.JanusGraphFactory.build()
                 .set(ConfigKey.STORAGE_BACKEND.name(), CQL_BACKEND)
-                .set(ConfigKey.STORAGE_KEYSPACE.name(), keyspace);
+                .set(ConfigKey.STORAGE_KEYSPACE.name(), keyspace)
+                .set("index." + TextIndex.BACKING_INDEX + ".backend", TextIndex.BACKEND);
 
         //Load Passed in properties
         config.properties().forEach((key, value) -> {
@@ -101,7 +120,12 @@ final public class JanusGraphFactory {
     }
 
 
-    private static void buildJanusIndexes(JanusGraph graph) {
+    private static boolean textIndexEnabled(Config config) {
+        if (!config.properties().containsKey(ConfigKey.TEXT_INDEX.name())) return false;
+        return config.getProperty(ConfigKey.TEXT_INDEX);
+    }
+
+    private static void buildJanusIndexes(JanusGraph graph, boolean textIndex) {
         JanusGraphManagement management = graph.openManagement();
 
         makeVertexLabels(management);
@@ -110,10 +134,53 @@ final public class JanusGraphFactory {
 
         makeIndicesVertexCentric(management);
         makeIndicesComposite(management);
+        if (textIndex) {
+            makeIndexText(management);
+        } else {
+            disableIndexText(management);
+        }
 
         management.commit();
     }
 
+    /**
+     * Indexes defined over an existing keyspace (e.g. a composite index added to indices-composite, or a vertex-centric
+     * index added to indices-edges) are not used by queries until they are populated with the existing data, which is
+     * done in the background.
+     */
+    private static void backfillJanusIndexes(StandardJanusGraph graph) {
+        JanusGraphManagement management = graph.openManagement();
+        List<IndexBackfillJob> jobs = new ArrayList<>();
+        for (JanusGraphIndex index : management.getGraphIndexes(Vertex.class)) {
+            if (IndexBackfillJob.needsBackfill(index)) jobs.add(new IndexBackfillJob(graph, index.name()));
+        }
+        for (RelationType type : management.getRelationTypes(RelationType.class)) {
+            for (RelationTypeIndex index : management.getRelationIndexes(type)) {
+                if (IndexBackfillJob.needsBackfill(index)) jobs.add(new IndexBackfillJob(graph, type.name(), index.name()));
+            }
+        }
+        List<String> unsupported = new ArrayList<>();
+        for (Class<? extends Element> element : Arrays.asList(Edge.class, VertexProperty.class)) {
+            for (JanusGraphIndex index : management.getGraphIndexes(element)) {
+                if (IndexBackfillJob.needsBackfill(index)) unsupported.add(index.name());
+            }
+        }
+        management.rollback();
+        if (!unsupported.isEmpty()) {
+            throw new IllegalStateException("Graph indexes of edges and properties defined over existing data cannot be backfilled: " + unsupported);
+        }
+
+        for (IndexBackfillJob job : jobs) {
+            INDEX_BACKFILL_SERVICE.submit(() -> {
+                try {
+                    job.call();
+                } catch (Exception e) {
+                    LOG.error("Failed to backfill an index of graph {}, it will be resumed once the graph is reopened", graph, e);
+                }
+            });
+        }
+    }
+
     private static void makeEdgeLabels(JanusGraphManagement management) {
         for (Schema.EdgeLabel edgeLabel : Schema.EdgeLabel.values()) {
             EdgeLabel label = management.getEdgeLabel(edgeLabel.getLabel());
@@ -132,38 +199,46 @@ final public class JanusGraphFactory {
         }
     }
 
+    /**
+     * Each edge label is indexed by the groups of property keys separated by ';', every group being indexed by each
+     * of its keys and, when it has more than one key, by all of them combined.
+     */
     private static void makeIndicesVertexCentric(JanusGraphManagement management) {
         ResourceBundle keys = ResourceBundle.getBundle("resources/indices-edges");
         Set<String> edgeLabels = keys.keySet();
         for (String edgeLabel : edgeLabels) {
-            String[] propertyKeyStrings = keys.getString(edgeLabel).split(",");
+            for (String propertyKeyGroup : keys.getString(edgeLabel).split(";")) {
+                makeIndicesVertexCentric(management, edgeLabel, propertyKeyGroup.split(","));
+            }
+        }
+    }
 
-            //Get all the property keys we need
-            Set<PropertyKey> propertyKeys = stream(propertyKeyStrings).map(keyId -> {
-                PropertyKey key = management.getPropertyKey(keyId);
-                if (key == null) {
-                    throw new RuntimeException("Trying to create edge index on label [" + edgeLabel + "] but the property [" + keyId + "] does not exist");
-                }
-                return key;
-            }).collect(Collectors.toSet());
+    private static void makeIndicesVertexCentric(JanusGraphManagement management, String edgeLabel, String[] propertyKeyStrings) {
+        //Get all the property keys we need
+        Set<PropertyKey> propertyKeys = stream(propertyKeyStrings).map(keyId -> {
+            PropertyKey key = management.getPropertyKey(keyId);
+            if (key == null) {
+                throw new RuntimeException("Trying to create edge index on label [" + edgeLabel + "] but the property [" + keyId + "] does not exist");
+            }
+            return key;
+        }).collect(Collectors.toSet());
 
-            //Get the edge and indexing information
-            RelationType relationType = management.getRelationType(edgeLabel);
-            EdgeLabel label = management.getEdgeLabel(edgeLabel);
+        //Get the edge and indexing information
+        RelationType relationType = management.getRelationType(edgeLabel);
+        EdgeLabel label = management.getEdgeLabel(edgeLabel);
 
-            //Create index on each property key
-            for (PropertyKey key : propertyKeys) {
-                if (management.getRelationIndex(relationType, edgeLabel + "by" + key.name()) == null) {
-                    management.buildEdgeIndex(label, edgeLabel + "by" + key.name(), Direction.BOTH, Order.decr, key);
-                }
+        //Create index on each property key
+        for (PropertyKey key : propertyKeys) {
+            if (management.getRelationIndex(relationType, edgeLabel + "by" + key.name()) == null) {
+                management.buildEdgeIndex(label, edgeLabel + "by" + key.name(), Direction.BOTH, Order.decr, key);
             }
+        }
 
-            //Create index on all property keys
-            String propertyKeyId = propertyKeys.stream().map(Namifiable::name).collect(Collectors.joining("_"));
-            if (management.getRelationIndex(relationType, edgeLabel + "by" + propertyKeyId) == null) {
-                PropertyKey[] allKeys = propertyKeys.toArray(new PropertyKey[propertyKeys.size()]);
-                management.buildEdgeIndex(label, edgeLabel + "by" + propertyKeyId, Direction.BOTH, Order.decr, allKeys);
-            }
+        //Create index on all property keys
+        String propertyKeyId = propertyKeys.stream().map(Namifiable::name).collect(Collectors.joining("_"));
+        if (management.getRelationIndex(relationType, edgeLabel + "by" + propertyKeyId) == null) {
+            PropertyKey[] allKeys = propertyKeys.toArray(new PropertyKey[propertyKeys.size()]);
+            management.buildEdgeIndex(label, edgeLabel + "by" + propertyKeyId, Direction.BOTH, Order.decr, allKeys);
         }
     }
 
@@ -199,5 +274,34 @@ final public class JanusGraphFactory {
             }
         }
     }
-}
 
+    /**
+     * The text index is created over existing keyspaces as INSTALLED, and backfilled in the background. A text index
+     * disabled while the option was turned off is missing the values committed in the meantime, hence it is also
+     * moved back to INSTALLED to be backfilled again.
+     */
+    private static void makeIndexText(JanusGraphManagement management) {
+        JanusGraphIndex index = management.getGraphIndex(TextIndex.NAME);
+        if (index == null) {
+            PropertyKey key = management.getPropertyKey(Schema.VertexProperty.VALUE_STRING.name());
+            management.buildIndex(TextIndex.NAME, Vertex.class).addKey(key).buildMixedIndex(TextIndex.BACKING_INDEX);
+        } else if (indexStatuses(index).contains(SchemaStatus.DISABLED)) {
+            management.updateIndexStatus(index, SchemaStatus.INSTALLED);
+        }
+    }
+
+    /**
+     * Stops maintaining the text index of keyspaces created while the option was turned on, their text queries
+     * scan the attributes instead.
+     */
+    private static void disableIndexText(JanusGraphManagement management) {
+        JanusGraphIndex index = management.getGraphIndex(TextIndex.NAME);
+        if (index != null && !indexStatuses(index).equals(Collections.singleton(SchemaStatus.DISABLED))) {
+            management.updateIndexStatus(index, SchemaStatus.DISABLED);
+        }
+    }
+
+    private static Set<SchemaStatus> indexStatuses(JanusGraphIndex index) {
+        return stream(index.getFieldKeys()).map(index::getIndexStatus).collect(Collectors.toSet());
+    }
+}
@@ -17,9 +17,14 @@
 
 package grakn.core.server.session;
 
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import grakn.core.common.config.Config;
 import grakn.core.common.config.ConfigKey;
 import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graql.planning.TraversalPlanCache;
+import grakn.core.graql.reasoner.cache.KeyspaceQueryCache;
+import grakn.core.graql.reasoner.cache.KeyspaceRuleCache;
 import grakn.core.kb.keyspace.AttributeManager;
 import grakn.core.kb.keyspace.KeyspaceSchemaCache;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
@@ -33,13 +38,16 @@ import grakn.core.keyspace.ShardManagerImpl;
 import grakn.core.server.util.LockManager;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Grakn Server's internal SessionImpl Factory
@@ -47,6 +55,11 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * it is possible to also update the Keyspace Store (which tracks all existing keyspaces).
  */
 public class SessionFactory {
+    private static final long DEFAULT_REASONER_CACHE_SIZE = 100000;
+    // Commits contending on the same attribute index, key index or type shard serialise on the same stripe
+    public static final int COMMIT_LOCK_STRIPES = 1024;
+    private static final long DEFAULT_TRAVERSAL_PLAN_CACHE_SIZE = 10000;
+    private static final long RULE_CACHE_SIZE = 10000;
 
     // Keep visibility to protected as this is used by KGMS
     protected final JanusGraphFactory janusGraphFactory;
@@ -57,6 +70,8 @@ public class SessionFactory {
     protected final LockManager lockManager;
 
     private final Map<Keyspace, SharedKeyspaceData> sharedKeyspaceDataMap;
+    // evaluates the disjuncts of read queries of all sessions, null if they are evaluated in the transaction thread
+    private final ExecutorService disjunctionWorkers;
 
     public SessionFactory(LockManager lockManager, JanusGraphFactory janusGraphFactory, HadoopGraphFactory hadoopGraphFactory, Config config) {
         this.janusGraphFactory = janusGraphFactory;
@@ -64,6 +79,7 @@ public class SessionFactory {
         this.lockManager = lockManager;
         this.config = config;
         this.sharedKeyspaceDataMap = new HashMap<>();
+        this.disjunctionWorkers = disjunctionWorkers();
     }
 
     /**
@@ -80,8 +96,11 @@ public class SessionFactory {
         KeyspaceStatistics keyspaceStatistics;
         AttributeManager attributeManager;
         ShardManager shardManager;
-        ReadWriteLock graphLock;
+        Striped<Lock> commitLocks;
         HadoopGraph hadoopGraph;
+        KeyspaceQueryCache queryCache;
+        TraversalPlanCache planCache;
+        KeyspaceRuleCache ruleCache;
 
         Lock lock = lockManager.getLock(keyspace.name());
         lock.lock();
@@ -95,8 +114,11 @@ public class SessionFactory {
                 keyspaceStatistics = cacheContainer.keyspaceStatistics();
                 attributeManager = cacheContainer.attributeManager();
                 shardManager = cacheContainer.shardManager();
-                graphLock = cacheContainer.graphLock();
+                commitLocks = cacheContainer.commitLocks();
                 hadoopGraph = cacheContainer.hadoopGraph();
+                queryCache = cacheContainer.queryCache();
+                planCache = cacheContainer.planCache();
+                ruleCache = cacheContainer.ruleCache();
 
             } else { // If keyspace reference not cached, put keyspace in keyspace manager, open new graph and instantiate new keyspace cache
                 graph = janusGraphFactory.openGraph(keyspace.name());
@@ -105,13 +127,16 @@ public class SessionFactory {
                 keyspaceStatistics = new KeyspaceStatisticsImpl();
                 attributeManager = new AttributeManagerImpl();
                 shardManager = new ShardManagerImpl();
-                graphLock = new ReentrantReadWriteLock();
-                cacheContainer = new SharedKeyspaceData(cache, graph, keyspaceStatistics, attributeManager, shardManager, graphLock, hadoopGraph);
+                commitLocks = Striped.lock(COMMIT_LOCK_STRIPES);
+                queryCache = new KeyspaceQueryCache(reasonerCacheSize());
+                planCache = traversalPlanCacheSize() > 0 ? new TraversalPlanCache(traversalPlanCacheSize()) : null;
+                ruleCache = new KeyspaceRuleCache(RULE_CACHE_SIZE);
+                cacheContainer = new SharedKeyspaceData(cache, graph, keyspaceStatistics, attributeManager, shardManager, commitLocks, hadoopGraph, queryCache, planCache, ruleCache);
                 sharedKeyspaceDataMap.put(keyspace, cacheContainer);
             }
 
             long typeShardThreshold = config.getProperty(ConfigKey.TYPE_SHARD_THRESHOLD);
-            TransactionProvider transactionProvider = new TransactionProviderImpl(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, graphLock, typeShardThreshold);
+            TransactionProvider transactionProvider = new TransactionProviderImpl(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, commitLocks, typeShardThreshold, queryCache, planCache, ruleCache, disjunctionWorkers);
             Session session = new SessionImpl(keyspace, transactionProvider, cache, graph, keyspaceStatistics, attributeManager, shardManager);
             session.setOnClose(this::onSessionClose);
             cacheContainer.addSessionReference(session);
@@ -121,6 +146,26 @@ public class SessionFactory {
         }
     }
 
+    private long reasonerCacheSize() {
+        if (!config.properties().containsKey(ConfigKey.REASONER_CACHE_SIZE.name())) return DEFAULT_REASONER_CACHE_SIZE;
+        return config.getProperty(ConfigKey.REASONER_CACHE_SIZE);
+    }
+
+    private long traversalPlanCacheSize() {
+        if (!config.properties().containsKey(ConfigKey.TRAVERSAL_PLAN_CACHE_SIZE.name())) return DEFAULT_TRAVERSAL_PLAN_CACHE_SIZE;
+        return config.getProperty(ConfigKey.TRAVERSAL_PLAN_CACHE_SIZE);
+    }
+
+    @Nullable
+    private ExecutorService disjunctionWorkers() {
+        int workers = config.properties().containsKey(ConfigKey.DISJUNCTION_WORKERS.name()) ?
+                config.getProperty(ConfigKey.DISJUNCTION_WORKERS) : Runtime.getRuntime().availableProcessors();
+        if (workers <= 0) return null;
+        // hands disjuncts over to idle workers only, rejecting them when all workers are busy
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("disjunction-worker-%d").build());
+    }
+
     /**
      * Invoked when user deletes a keyspace.
      * Remove keyspace reference from internal cache, closes graph associated to it and
@@ -144,6 +189,13 @@ public class SessionFactory {
     }
 
 
+    /**
+     * Invoked when the server shuts down. Interrupts the workers evaluating disjuncts, which close their transactions.
+     */
+    public void close() {
+        if (disjunctionWorkers != null) disjunctionWorkers.shutdownNow();
+    }
+
     /**
      * Callback function invoked by Session when it gets closed.
      * This access the sharedKeyspaceDataMap to remove the reference of closed session.
@@ -194,11 +246,21 @@ public class SessionFactory {
 
         private final ShardManager shardManager;
 
-        private final ReadWriteLock graphLock;
+        private final Striped<Lock> commitLocks;
+
+        // Complete reasoner answer sets shared by read transactions
+        private final KeyspaceQueryCache queryCache;
+
+        // Traversal plans shared by all transactions
+        private final TraversalPlanCache planCache;
+
+        // Compiled rule patterns and rule orderings shared by all transactions
+        private final KeyspaceRuleCache ruleCache;
 
         // Keep visibility to public as this is used by KGMS
         public SharedKeyspaceData(KeyspaceSchemaCache keyspaceSchemaCache, StandardJanusGraph graph, KeyspaceStatistics keyspaceStatistics,
-                                  AttributeManager attributeManager, ShardManager shardManager, ReadWriteLock graphLock, HadoopGraph hadoopGraph) {
+                                  AttributeManager attributeManager, ShardManager shardManager, Striped<Lock> commitLocks, HadoopGraph hadoopGraph,
+                                  KeyspaceQueryCache queryCache, TraversalPlanCache planCache, KeyspaceRuleCache ruleCache) {
             this.keyspaceSchemaCache = keyspaceSchemaCache;
             this.graph = graph;
             this.hadoopGraph = hadoopGraph;
@@ -206,12 +268,15 @@ public class SessionFactory {
             this.keyspaceStatistics = keyspaceStatistics;
             this.attributeManager = attributeManager;
             this.shardManager = shardManager;
-            this.graphLock = graphLock;
+            this.commitLocks = commitLocks;
+            this.queryCache = queryCache;
+            this.planCache = planCache;
+            this.ruleCache = ruleCache;
         }
 
         // Keep visibility to public as this is used by KGMS
-        public ReadWriteLock graphLock() {
-            return graphLock;
+        public Striped<Lock> commitLocks() {
+            return commitLocks;
         }
 
         // Keep visibility to public as this is used by KGMS
@@ -255,6 +320,21 @@ public class SessionFactory {
 
         public ShardManager shardManager(){ return shardManager;}
 
+        // Keep visibility to public as this is used by KGMS
+        public KeyspaceQueryCache queryCache() {
+            return queryCache;
+        }
+
+        // Keep visibility to public as this is used by KGMS
+        public TraversalPlanCache planCache() {
+            return planCache;
+        }
+
+        // Keep visibility to public as this is used by KGMS
+        public KeyspaceRuleCache ruleCache() {
+            return ruleCache;
+        }
+
         // Keep visibility to public as this is used by KGMS
         public HadoopGraph hadoopGraph() {
             return hadoopGraph;
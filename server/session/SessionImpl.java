@@ -18,8 +18,14 @@
 
 package grakn.core.server.session;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import grakn.common.util.Pair;
 import grakn.core.common.exception.ErrorMessage;
+import grakn.core.core.Schema;
+import grakn.core.graph.core.JanusGraphTransaction;
 import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.LabelId;
 import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.keyspace.AttributeManager;
 import grakn.core.kb.keyspace.KeyspaceSchemaCache;
@@ -29,10 +35,23 @@ import grakn.core.kb.server.Session;
 import grakn.core.kb.server.Transaction;
 import grakn.core.kb.server.TransactionProvider;
 import grakn.core.kb.server.exception.GraknServerException;
+import grakn.core.kb.server.exception.InvalidKBException;
 import grakn.core.kb.server.exception.SessionException;
 import grakn.core.kb.server.exception.TransactionException;
 import grakn.core.kb.server.keyspace.Keyspace;
-
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 /**
@@ -48,6 +67,16 @@ import java.util.function.Consumer;
  */
 public class SessionImpl implements Session {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SessionImpl.class);
+    // number of isa edges the sorted values are copied onto per transaction, when migrating a keyspace
+    private static final int SORTED_VALUE_BATCH_SIZE = 10000;
+    // copies the sorted values of the keyspaces being migrated in the background, one keyspace at a time
+    private static final ExecutorService SORTED_VALUES_SERVICE = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("sorted-values-%d").build());
+    private static final Set<Keyspace> SORTED_VALUES_INDEXING = ConcurrentHashMap.newKeySet();
+    // number of instances committed by BATCH transactions validated per transaction, when sealing a batch
+    private static final int SEAL_BATCH_SIZE = 10000;
+
     // An explicit constraint we enforce that we can have at most 1 tx per thread, so we keep a local reference here
     private final ThreadLocal<Transaction> localOLTPTransactionContainer = new ThreadLocal<>();
 
@@ -89,7 +118,26 @@ public class SessionImpl implements Session {
             copySchemaConceptLabelsToKeyspaceCache(tx);
         }
 
+        boolean sortedValuesIndexed = ((TransactionImpl) tx).sortedValuesIndexed();
+        // attributes of keyspaces created before the attribute ids were derived are also looked up by index
+        if (((TransactionImpl) tx).attributeIdsDerived()) keyspaceSchemaCache.ackAttributeIdsDerived();
+        if (((TransactionImpl) tx).textIndexed()) keyspaceSchemaCache.ackTextIndexed();
         tx.commit();
+
+        if (sortedValuesIndexed) {
+            keyspaceSchemaCache.ackSortedValuesIndexed();
+        } else if (SORTED_VALUES_INDEXING.add(keyspace)) {
+            // the plans without range lookups are used until the migration is done
+            SORTED_VALUES_SERVICE.submit(() -> {
+                try {
+                    indexSortedValues();
+                } catch (RuntimeException e) {
+                    LOG.error("Failed to copy the values of attributes of keyspace {} onto their isa edges, it will be resumed once the keyspace is reopened", keyspace, e);
+                } finally {
+                    SORTED_VALUES_INDEXING.remove(keyspace);
+                }
+            });
+        }
     }
 
     @Override
@@ -104,7 +152,7 @@ public class SessionImpl implements Session {
         // If transaction is already open in current thread throw exception
         if (localTx != null && localTx.isOpen()) throw TransactionException.transactionOpen(localTx);
 
-        Transaction tx = transactionProvider.newTransaction(this);
+        Transaction tx = transactionProvider.newTransaction(this, type);
 
         tx.open(type);
         localOLTPTransactionContainer.set(tx);
@@ -112,6 +160,31 @@ public class SessionImpl implements Session {
         return tx;
     }
 
+    /**
+     * The instances committed by BATCH transactions are marked as unvalidated in the graph, so a batch can be sealed by
+     * any session on the keyspace. They are validated and unmarked a bounded number per transaction, bucket by bucket.
+     * The instances found invalid are marked as such, and a bounded number of them per bucket is revalidated by each
+     * seal, so that they are sealed once they are fixed.
+     *
+     * @throws InvalidKBException listing the errors of all instances found invalid, once all buckets are sealed
+     */
+    @Override
+    public void sealBatch() {
+        List<String> errors = new ArrayList<>();
+        for (int bucket = 0; bucket < TransactionImpl.UNVALIDATED_BUCKETS; bucket++) {
+            try (Transaction tx = transaction(Transaction.Type.WRITE)) {
+                ((TransactionImpl) tx).sealBatch(Schema.VertexProperty.INVALID, bucket, SEAL_BATCH_SIZE, errors);
+            }
+            int sealed;
+            do {
+                try (Transaction tx = transaction(Transaction.Type.WRITE)) {
+                    sealed = ((TransactionImpl) tx).sealBatch(Schema.VertexProperty.UNVALIDATED, bucket, SEAL_BATCH_SIZE, errors);
+                }
+            } while (sealed == SEAL_BATCH_SIZE);
+        }
+        if (!errors.isEmpty()) throw InvalidKBException.validationErrors(errors);
+    }
+
     /**
      * This creates the first meta schema in an empty keyspace which has not been initialised yet
      * Does a lower level operation, so we cast it to the Implementation
@@ -127,16 +200,53 @@ public class SessionImpl implements Session {
      * Copy schema concepts labels to current KeyspaceCache
      */
     private void copySchemaConceptLabelsToKeyspaceCache(Transaction tx) {
-        copyToCache(tx.getMetaConcept());
-        copyToCache(tx.getMetaRole());
-        copyToCache(tx.getMetaRule());
+        Map<Label, LabelId> labels = new HashMap<>();
+        collectLabels(tx.getMetaConcept(), labels);
+        collectLabels(tx.getMetaRole(), labels);
+        collectLabels(tx.getMetaRule(), labels);
+        keyspaceSchemaCache.cacheLabels(labels);
+    }
+
+    /**
+     * Collect the labels of schema concept and all its subs
+     */
+    private static void collectLabels(SchemaConcept schemaConcept, Map<Label, LabelId> labels) {
+        schemaConcept.subs().forEach(concept -> labels.put(concept.label(), concept.labelId()));
     }
 
     /**
-     * Copy schema concept and all its subs labels to keyspace cache
+     * Range comparisons are looked up by the values of attributes sorted on their isa edges. The isa edges of
+     * attributes written before the values were stored on them are filled in here, in a single pass over the isa edges
+     * of a read transaction, whose writes are committed a bounded number at a time. The keyspace is marked as indexed
+     * once the pass is done. An interrupted run is picked up by the next session opened.
      */
-    private void copyToCache(SchemaConcept schemaConcept) {
-        schemaConcept.subs().forEach(concept -> keyspaceSchemaCache.cacheLabel(concept.label(), concept.labelId()));
+    private void indexSortedValues() {
+        LOG.info("Copying the values of range indexed attributes of keyspace {} onto their isa edges", keyspace);
+        long total = 0;
+        try (Transaction tx = transaction(Transaction.Type.READ)) {
+            Iterator<Pair<Object, Object>> sortedValues = ((TransactionImpl) tx).unsortedIsaEdges().iterator();
+            while (sortedValues.hasNext()) {
+                JanusGraphTransaction writeTx = graph.newTransaction();
+                try {
+                    for (int indexed = 0; indexed < SORTED_VALUE_BATCH_SIZE && sortedValues.hasNext(); indexed++) {
+                        Pair<Object, Object> sortedValue = sortedValues.next();
+                        Iterator<Edge> isaEdge = writeTx.edges(sortedValue.first());
+                        // the attribute may have been deleted since
+                        if (isaEdge.hasNext()) isaEdge.next().property(Schema.EdgeProperty.SORTED_VALUE.name(), sortedValue.second());
+                        total++;
+                    }
+                    writeTx.commit();
+                } finally {
+                    if (writeTx.isOpen()) writeTx.rollback();
+                }
+            }
+        }
+        try (Transaction tx = transaction(Transaction.Type.WRITE)) {
+            ((TransactionImpl) tx).markSortedValuesIndexed();
+            tx.commit();
+        }
+        keyspaceSchemaCache.ackSortedValuesIndexed();
+        LOG.info("Copied the values of {} attributes of keyspace {} onto their isa edges", total, keyspace);
     }
 
     private boolean keyspaceHasBeenInitialised(Transaction tx) {
@@ -20,6 +20,7 @@ package grakn.core.server.session;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Striped;
 import grakn.common.util.Pair;
 import grakn.core.common.exception.ErrorMessage;
 import grakn.core.concept.answer.Answer;
@@ -37,11 +38,16 @@ import grakn.core.concept.util.ConceptUtils;
 import grakn.core.core.AttributeSerialiser;
 import grakn.core.core.JanusTraversalSourceProvider;
 import grakn.core.core.Schema;
+import grakn.core.core.TextIndex;
+import grakn.core.graph.core.JanusGraphElement;
 import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
+import grakn.core.graql.planning.TraversalPlanCache;
 import grakn.core.graql.reasoner.cache.MultilevelSemanticCache;
 import grakn.core.graql.reasoner.query.ReasonerQueryFactory;
 import grakn.core.kb.concept.api.Attribute;
 import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.Casting;
 import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.ConceptId;
 import grakn.core.kb.concept.api.EntityType;
@@ -53,6 +59,7 @@ import grakn.core.kb.concept.api.Rule;
 import grakn.core.kb.concept.api.SchemaConcept;
 import grakn.core.kb.concept.api.Thing;
 import grakn.core.kb.concept.manager.ConceptManager;
+import grakn.core.kb.concept.structure.EdgeElement;
 import grakn.core.kb.concept.structure.GraknElementException;
 import grakn.core.kb.concept.structure.PropertyNotUniqueException;
 import grakn.core.kb.concept.structure.VertexElement;
@@ -77,26 +84,22 @@ import graql.lang.query.GraqlInsert;
 import graql.lang.query.GraqlQuery;
 import graql.lang.query.GraqlUndefine;
 import graql.lang.query.MatchClause;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Direction;
-import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.CheckReturnValue;
-import java.util.ArrayList;
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -105,6 +108,10 @@ import java.util.stream.Stream;
  */
 public class TransactionImpl implements Transaction {
     private final static Logger LOG = LoggerFactory.getLogger(TransactionImpl.class);
+    // number of buckets the instances committed by BATCH transactions are marked with until the batch is sealed
+    static final int UNVALIDATED_BUCKETS = 64;
+    // commit lock stripe serialising the commits modifying the schema
+    private static final String SCHEMA_COMMIT_LOCK_KEY = "schema";
     private final long typeShardThreshold;
 
     // Shared Variables
@@ -131,18 +138,32 @@ public class TransactionImpl implements Transaction {
 
     protected final JanusTraversalSourceProvider janusTraversalSourceProvider;
     protected final ReasonerQueryFactory reasonerQueryFactory;
-    private final ReadWriteLock graphLock;
+    private final Striped<Lock> commitLocks;
+    private final TraversalPlanCache traversalPlanCache;
 
     public TransactionImpl(Session session, JanusGraphTransaction janusTransaction, ConceptManager conceptManager,
                            JanusTraversalSourceProvider janusTraversalSourceProvider, TransactionCache transactionCache,
                            MultilevelSemanticCache queryCache, RuleCache ruleCache, ExplanationCache explanationCache,
                            StatisticsDeltaImpl statisticsDelta, ExecutorFactory executorFactory,
                            ReasonerQueryFactory reasonerQueryFactory,
-                           ReadWriteLock graphLock, long typeShardThreshold) {
+                           Striped<Lock> commitLocks, long typeShardThreshold) {
+        this(session, janusTransaction, conceptManager, janusTraversalSourceProvider, transactionCache,
+                queryCache, ruleCache, explanationCache, statisticsDelta, executorFactory, reasonerQueryFactory,
+                commitLocks, typeShardThreshold, null);
+    }
+
+    public TransactionImpl(Session session, JanusGraphTransaction janusTransaction, ConceptManager conceptManager,
+                           JanusTraversalSourceProvider janusTraversalSourceProvider, TransactionCache transactionCache,
+                           MultilevelSemanticCache queryCache, RuleCache ruleCache, ExplanationCache explanationCache,
+                           StatisticsDeltaImpl statisticsDelta, ExecutorFactory executorFactory,
+                           ReasonerQueryFactory reasonerQueryFactory,
+                           Striped<Lock> commitLocks, long typeShardThreshold,
+                           @Nullable TraversalPlanCache traversalPlanCache) {
         createdInCurrentThread.set(true);
 
         this.session = session;
-        this.graphLock = graphLock;
+        this.commitLocks = commitLocks;
+        this.traversalPlanCache = traversalPlanCache;
 
         this.janusTransaction = janusTransaction;
         this.janusTraversalSourceProvider = janusTraversalSourceProvider;
@@ -166,6 +187,8 @@ public class TransactionImpl implements Transaction {
         this.txType = type;
         this.isTxOpen = true;
         this.transactionCache.updateSchemaCacheFromKeyspaceCache();
+        // only read transactions are guaranteed not to observe uncommitted changes, hence only those can share answers
+        if (Type.READ.equals(type)) queryCache.enableKeyspaceCache();
     }
 
     /**
@@ -174,9 +197,10 @@ public class TransactionImpl implements Transaction {
      * - use a lock to serialise commits if two given txs try to insert a shard for the same type that
      * - use a lock if there is a tx that deletes attributes
      * - use a lock if there is a tx that mutates "has" key ownerships
+     * - use a lock if there is a tx that modifies the schema
      * - otherwise do not lock
      *
-     * @return true if graph lock need to be acquired for commit
+     * @return true if commit locks need to be acquired for commit
      */
     @VisibleForTesting
     public boolean commitLockRequired() {
@@ -185,87 +209,113 @@ public class TransactionImpl implements Transaction {
         boolean shardLockRequired = session.shardManager().requiresLock(txId);
         boolean keyLockRequired = false;
         Set<String> modifiedKeyIndices = transactionCache.getModifiedKeyIndices();
-        if (!modifiedKeyIndices.isEmpty()) {
+        // keys committed by BATCH transactions are validated once the batch is sealed, hence need no serialisation
+        if (!modifiedKeyIndices.isEmpty() && !Type.BATCH.equals(txType)) {
             Set<String> insertedIndices = transactionCache.getNewAttributes().keySet().stream().map(Pair::second).collect(Collectors.toSet());
             keyLockRequired = modifiedKeyIndices.stream().anyMatch(keyIndex -> !insertedIndices.contains(keyIndex));
         }
         boolean lockRequired = attributeLockRequired
                 || shardLockRequired
                 // In this case we need to lock, so that other concurrent Transactions
-                // that are trying to create new attributes will read an updated version of attributesCache
-                // Not locking here might lead to concurrent transactions reading the attributesCache that still
-                // contains attributes that we are removing in this transaction.
+                // that are trying to create the attributes we are removing check the existence of their vertices
+                // only once the removal is committed.
                 || !transactionCache.getRemovedAttributes().isEmpty()
-                || keyLockRequired;
+                || keyLockRequired
+                // schema commits are serialised, so that the keyspace caches see one of them in progress at a time
+                || transactionCache.isSchemaModified();
         if (lockRequired) {
             LOG.debug(txId + " needs lock: " +
                     (attributeLockRequired ? "attribute" : "") +
                     (shardLockRequired ? "shard" : "") +
                     (keyLockRequired ? "key" : "") +
-                    (!transactionCache.getRemovedAttributes().isEmpty() ? "delete" : ""));
+                    (!transactionCache.getRemovedAttributes().isEmpty() ? "delete" : "") +
+                    (transactionCache.isSchemaModified() ? "schema" : ""));
         }
         return lockRequired;
     }
 
     private void commitInternal() throws InvalidKBException {
         boolean lockRequired = commitLockRequired();
-        if (lockRequired) graphLock.writeLock().lock();
+        List<Lock> locks = lockRequired ? Lists.newArrayList(commitLocks.bulkGet(commitLockKeys())) : Collections.emptyList();
+        // bulkGet returns the stripes in a consistent order, so acquiring them in sequence can't deadlock
+        locks.forEach(Lock::lock);
+        // transactions opened from now on until the schema is written may read either schema
+        boolean schemaModified = transactionCache.isSchemaModified();
+        if (schemaModified) {
+            if (traversalPlanCache != null) traversalPlanCache.beginSchemaCommit();
+            ruleCache.beginSchemaCommit();
+        }
         try {
             createNewTypeShardsWhenThresholdReached();
-            transactionCache.getRemovedAttributes().forEach(index -> session.attributeManager().attributesCommitted().invalidate(index));
-            Set<String> deduplicatedIndices = mergeAttributes();
+            if (session.attributeManager().requiresLock(janusTransaction.toString())) deduplicateAttributes();
             persistInternal();
-            ackCommit(deduplicatedIndices);
+            ackCommit();
 
         } finally {
-            if (lockRequired) graphLock.writeLock().unlock();
+            if (schemaModified) {
+                if (traversalPlanCache != null) traversalPlanCache.ackSchemaCommit();
+                ruleCache.ackSchemaCommit();
+            }
+            Lists.reverse(locks).forEach(Lock::unlock);
         }
     }
 
+    /**
+     * Commits only need to be serialised with commits contending for the same attribute, key or type shard,
+     * hence we lock the stripes of the attribute indices and the shard labels this transaction touches
+     * instead of the whole keyspace.
+     *
+     * @return keys of the commit lock stripes this transaction needs to hold while committing
+     */
+    private Set<Object> commitLockKeys() {
+        Set<Object> keys = new HashSet<>();
+        transactionCache.getNewAttributes().keySet().forEach(labelIndexPair -> keys.add(labelIndexPair.second()));
+        keys.addAll(transactionCache.getRemovedAttributes());
+        if (!Type.BATCH.equals(txType)) keys.addAll(transactionCache.getModifiedKeyIndices());
+        keys.addAll(transactionCache.getNewShards().keySet());
+        if (transactionCache.isSchemaModified()) keys.add(SCHEMA_COMMIT_LOCK_KEY);
+        return keys;
+    }
+
     private void persistInternal() throws InvalidKBException {
-        validateGraph();
-        session.keyspaceStatistics().commit(conceptManager, uncomittedStatisticsDelta);
+        if (Type.BATCH.equals(txType)) {
+            // the instances are validated once the batch is sealed, and the statistics written later on
+            validateSchema();
+            markUnvalidated();
+            session.keyspaceStatistics().commitDeferred(conceptManager, uncomittedStatisticsDelta);
+        } else {
+            validateGraph();
+            session.keyspaceStatistics().commit(conceptManager, uncomittedStatisticsDelta);
+        }
         LOG.trace("Graph is valid. Committing graph...");
         janusTransaction.commit();
         LOG.trace("Graph committed.");
     }
 
-    private void ackCommit(Set<String> deduplicatedIndices) {
+    private void ackCommit() {
         String txId = this.janusTransaction.toString();
         session.shardManager().ackCommit(transactionCache.getNewShards().keySet(), txId);
         //this should ack all inserts so that insert requests are cleared
         Set<String> newIndices = transactionCache.getNewAttributes().keySet().stream().map(Pair::second).collect(Collectors.toSet());
         session.attributeManager().ackCommit(newIndices, txId);
-
-        //this should ack all inserts that weren't deduplicated so that we have correct attributes in attributesCommitted
-        transactionCache.getNewAttributes().forEach((indexPair, conceptId) -> {
-            String index = indexPair.second();
-            if (!deduplicatedIndices.contains(index)) {
-                session.attributeManager().attributesCommitted().put(index, conceptId);
-            }
-        });
     }
 
     // When there are new attributes in the current transaction that is about to be committed
-    // we serialise the commit by locking and merge attributes that are duplicates.
-    private Set<String> mergeAttributes() {
-        Set<String> deduplicatesIndices = new HashSet<>();
+    // we serialise the commit by locking and drop the duplicate type edges of the attributes committed meanwhile.
+    private void deduplicateAttributes() {
+        StandardJanusGraphTx janusTx = (StandardJanusGraphTx) janusTransaction;
         transactionCache.getNewAttributes().forEach(((labelIndexPair, conceptId) -> {
-            // If the same index is contained in attributesCommitted, it means
-            // another concurrent transaction inserted the same attribute, time to merge!
-            // NOTE: we still need to rely on attributesCommitted instead of checking in the graph
-            // if the index exists, because apparently JanusGraph does not make indexes available
-            // in a Read Committed fashion
-            String index = labelIndexPair.second();
-            Label label = labelIndexPair.first();
-            ConceptId targetId = session.attributeManager().attributesCommitted().getIfPresent(index);
-            if (targetId != null) {
-                merge(conceptId, targetId);
-                deduplicatesIndices.add(index);
-                uncomittedStatisticsDelta.decrementAttribute(label);
+            // Attribute vertex ids are derived from the type and the value, so if the vertex already exists,
+            // another concurrent transaction inserted the same attribute. Both transactions write the same vertex
+            // and properties, and the edges to the owners are distinct, hence only the ISA edge is duplicated.
+            if (janusTx.isVertexCommitted(Long.parseLong(Schema.elementId(conceptId)))) {
+                Attribute<?> attribute = conceptManager.getConcept(conceptId);
+                ConceptVertex.from(attribute).vertex().getEdgesOfType(Direction.OUT, Schema.EdgeLabel.ISA)
+                        .filter(edge -> ((JanusGraphElement) edge.element()).isNew())
+                        .forEach(EdgeElement::delete);
+                uncomittedStatisticsDelta.decrementAttribute(labelIndexPair.first());
             }
         }));
-        return deduplicatesIndices;
     }
 
     @VisibleForTesting
@@ -301,59 +351,6 @@ public class TransactionImpl implements Transaction {
                 });
     }
 
-    private void merge(ConceptId duplicateId, ConceptId targetId) {
-        GraphTraversalSource tinkerTraversal = janusTraversalSourceProvider.getTinkerTraversal();
-        Vertex duplicate = tinkerTraversal.V(Schema.elementId(duplicateId)).next();
-        Vertex mergeTargetV = tinkerTraversal.V(Schema.elementId(targetId)).next();
-
-        duplicate.vertices(Direction.IN).forEachRemaining(connectedVertex -> {
-            // merge attribute edge connecting 'duplicate' and 'connectedVertex' to 'mergeTargetV', if exists
-            GraphTraversal<Vertex, Edge> attributeEdge =
-                    tinkerTraversal.V(duplicate).inE(Schema.EdgeLabel.ATTRIBUTE.getLabel()).filter(__.outV().is(connectedVertex));
-            if (attributeEdge.hasNext()) {
-                mergeAttributeEdge(mergeTargetV, connectedVertex, attributeEdge);
-            }
-
-            // merge role-player edge connecting 'duplicate' and 'connectedVertex' to 'mergeTargetV', if exists
-            GraphTraversal<Vertex, Edge> rolePlayerEdge =
-                    tinkerTraversal.V(duplicate).inE(Schema.EdgeLabel.ROLE_PLAYER.getLabel()).filter(__.outV().is(connectedVertex));
-            if (rolePlayerEdge.hasNext()) {
-                mergeRolePlayerEdge(mergeTargetV, rolePlayerEdge);
-            }
-            try {
-                attributeEdge.close();
-                rolePlayerEdge.close();
-            } catch (Exception e) {
-                LOG.warn("Error closing the merging traversals", e);
-            }
-        });
-        duplicate.remove();
-    }
-
-    private void mergeRolePlayerEdge(Vertex mergeTargetV, GraphTraversal<Vertex, Edge> rolePlayerEdge) {
-        Edge edge = rolePlayerEdge.next();
-        Vertex relationVertex = edge.outVertex();
-        Object[] properties = propertiesToArray(Lists.newArrayList(edge.properties()));
-        relationVertex.addEdge(Schema.EdgeLabel.ROLE_PLAYER.getLabel(), mergeTargetV, properties);
-        edge.remove();
-    }
-
-    private void mergeAttributeEdge(Vertex mergeTargetV, Vertex ent, GraphTraversal<Vertex, Edge> attributeEdge) {
-        Edge edge = attributeEdge.next();
-        Object[] properties = propertiesToArray(Lists.newArrayList(edge.properties()));
-        ent.addEdge(Schema.EdgeLabel.ATTRIBUTE.getLabel(), mergeTargetV, properties);
-        edge.remove();
-    }
-
-    private Object[] propertiesToArray(ArrayList<Property<Object>> propertiesAsKeyValue) {
-        ArrayList<Object> propertiesAsObj = new ArrayList<>();
-        for (Property<Object> property : propertiesAsKeyValue) {
-            propertiesAsObj.add(property.key());
-            propertiesAsObj.add(property.value());
-        }
-        return propertiesAsObj.toArray();
-    }
-
     @Override
     public Session session() {
         return session;
@@ -935,6 +932,12 @@ public class TransactionImpl implements Transaction {
         return conceptManager.getConcept(id);
     }
 
+    @Override
+    public Map<ConceptId, Concept> getConcepts(Collection<ConceptId> ids) {
+        checkGraphIsOpen();
+        return conceptManager.getConcepts(ids);
+    }
+
     /**
      * Get the root of all Types.
      *
@@ -1145,6 +1148,7 @@ public class TransactionImpl implements Transaction {
         }
         try {
             if (janusTransaction.isOpen()) {
+                publishReasonerAnswers();
                 janusTransaction.rollback();
             }
         } finally {
@@ -1152,6 +1156,18 @@ public class TransactionImpl implements Transaction {
         }
     }
 
+    /**
+     * Share the complete answer sets computed by the reasoner in this transaction with subsequent transactions.
+     * Needs to happen before the Janus transaction is closed as answers are read from the graph when being published.
+     */
+    private void publishReasonerAnswers() {
+        try {
+            queryCache.publishToKeyspaceCache();
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to publish reasoner answers to the keyspace cache", e);
+        }
+    }
+
     /**
      * Commits and closes the transaction
      *
@@ -1167,22 +1183,53 @@ public class TransactionImpl implements Transaction {
             checkMutationAllowed();
             removeInferredFacts();
             computeShardCandidates();
+            // needs to be computed while the graph is still readable
+            boolean reasonerCacheInvalidated = invalidatesAllReasonerAnswers();
+            Set<Label> modifiedTypes = reasonerCacheInvalidated ? Collections.emptySet() : modifiedTypes();
+            boolean schemaModified = transactionCache.isSchemaModified();
 
             // lock on the keyspace cache shared between concurrent tx's to the same keyspace
             // force serialized updates, keeping Janus and our KeyspaceCache in sync
             commitInternal();
             transactionCache.flushSchemaLabelIdsToCache();
+            queryCache.ackCommit(modifiedTypes, reasonerCacheInvalidated);
         } finally {
             String closeMessage = ErrorMessage.TX_CLOSED_ON_ACTION.getMessage("committed", keyspace());
             closeTransaction(closeMessage);
         }
     }
 
+    /**
+     * Keyspace-level reasoner answers are invalidated by the types of inserted data. Any deletion or schema
+     * modification can change answers in ways we do not track, and hence invalidates all answers.
+     *
+     * @return true if committing this transaction should invalidate all keyspace-level reasoner answers
+     */
+    private boolean invalidatesAllReasonerAnswers() {
+        return uncomittedStatisticsDelta.containsDeletions()
+                || transactionCache.anyCastingsDeleted()
+                || transactionCache.isSchemaModified()
+                || !transactionCache.getModifiedRules().isEmpty()
+                || !transactionCache.getRemovedAttributes().isEmpty();
+    }
+
+    /**
+     * @return labels of types whose instances, ownerships or role players were inserted in this transaction
+     */
+    private Set<Label> modifiedTypes() {
+        Set<Label> modifiedTypes = new HashSet<>();
+        modifiedTypes.addAll(uncomittedStatisticsDelta.instanceDeltas().keySet());
+        modifiedTypes.addAll(uncomittedStatisticsDelta.ownershipDeltas().keySet());
+        transactionCache.getModifiedCastings().forEach(casting -> modifiedTypes.add(casting.getRelationType().label()));
+        return modifiedTypes;
+    }
+
     private void closeTransaction(String closedReason) {
         this.closedReason = closedReason;
         this.isTxOpen = false;
         ruleCache.clear();
         queryCache.clear();
+        executorFactory.close();
     }
 
     private void removeInferredFacts() {
@@ -1204,6 +1251,66 @@ public class TransactionImpl implements Transaction {
         }
     }
 
+    private void validateSchema() throws InvalidKBException {
+        Validator validator = new Validator(reasonerQueryFactory, transactionCache, conceptManager);
+        if (!validator.validateSchema()) {
+            List<String> errors = validator.getErrorsFound();
+            if (!errors.isEmpty()) throw InvalidKBException.validationErrors(errors);
+        }
+    }
+
+    /**
+     * Marks the things and relations the validation of a BATCH transaction is deferred for, so that they are
+     * persisted along with the instances until the batch is sealed
+     */
+    private void markUnvalidated() {
+        Set<Thing> instances = new HashSet<>();
+        transactionCache.getModifiedThings().stream()
+                .filter(thing -> !thing.isDeleted())
+                .forEach(instances::add);
+        transactionCache.getNewRelations().stream()
+                .filter(relation -> !relation.isDeleted())
+                .forEach(instances::add);
+        transactionCache.getModifiedCastings().stream()
+                .map(Casting::getRelation)
+                .filter(relation -> !relation.isDeleted())
+                .forEach(instances::add);
+        instances.forEach(instance -> ConceptVertex.from(instance).vertex()
+                .property(Schema.VertexProperty.UNVALIDATED, Math.floorMod(instance.id().getValue().hashCode(), UNVALIDATED_BUCKETS)));
+    }
+
+    /**
+     * Seals a chunk of a bucket of the BATCH transactions committed before: validates a bounded number of the instances
+     * they marked as unvalidated, or of the instances found invalid by an earlier seal, and unmarks them, then commits
+     * this transaction along with the statistics they deferred. The instances found invalid are marked as such instead,
+     * so that sealing moves past them, and revalidated when the batch is sealed again.
+     *
+     * @param marker either VertexProperty#UNVALIDATED or VertexProperty#INVALID
+     * @param bucket bucket of the instances to validate
+     * @param limit  maximum number of instances to validate
+     * @param errors collects the validation errors of the invalid instances
+     * @return number of instances validated, less than the limit once no instances are left in the bucket
+     */
+    int sealBatch(Schema.VertexProperty marker, int bucket, int limit, List<String> errors) {
+        Set<ConceptId> conceptIds = janusTraversalSourceProvider.getTinkerTraversal().V()
+                .has(marker.name(), bucket)
+                .limit(limit)
+                .toStream()
+                .map(Schema::conceptId)
+                .collect(Collectors.toSet());
+        Validator validator = new Validator(reasonerQueryFactory, transactionCache, conceptManager);
+        Set<ConceptId> invalid = validator.validateCommitted(conceptIds);
+        errors.addAll(validator.getErrorsFound());
+        conceptManager.getConcepts(conceptIds).forEach((conceptId, concept) -> {
+            VertexElement vertex = ConceptVertex.from(concept).vertex();
+            boolean valid = !invalid.contains(conceptId);
+            if (valid || marker.equals(Schema.VertexProperty.UNVALIDATED)) vertex.property(marker, null);
+            if (!valid && marker.equals(Schema.VertexProperty.UNVALIDATED)) vertex.property(Schema.VertexProperty.INVALID, bucket);
+        });
+        commit();
+        return conceptIds.size();
+    }
+
     /**
      * Creates a new shard for the concept - only used in tests
      *
@@ -1283,6 +1390,54 @@ public class TransactionImpl implements Transaction {
     }
 
     // ----------- Exposed low level methods that should not be exposed here TODO refactor
+
+    /**
+     * @return true if the keyspace is marked as having the sorted values of all its range indexed attributes
+     * on their isa edges
+     */
+    boolean sortedValuesIndexed() {
+        Boolean indexed = ConceptVertex.from(getMetaAttributeType()).vertex().property(Schema.VertexProperty.SORTED_VALUES_INDEXED);
+        return Boolean.TRUE.equals(indexed);
+    }
+
+    /**
+     * @return true if the keyspace is marked as storing all its attributes in the vertices with the ids derived from
+     * their type and value, unless taken by another attribute
+     */
+    boolean attributeIdsDerived() {
+        Boolean derived = ConceptVertex.from(getMetaAttributeType()).vertex().property(Schema.VertexProperty.ATTRIBUTE_IDS_DERIVED);
+        return Boolean.TRUE.equals(derived);
+    }
+
+    /**
+     * @return true if the text index of the keyspace is enabled, i.e. neither being backfilled nor disabled
+     */
+    boolean textIndexed() {
+        return TextIndex.enabled((StandardJanusGraphTx) janusTransaction);
+    }
+
+    void markSortedValuesIndexed() {
+        ConceptVertex.from(getMetaAttributeType()).vertex().property(Schema.VertexProperty.SORTED_VALUES_INDEXED, true);
+    }
+
+    /**
+     * Streams the isa edges of range indexed attributes that don't carry their sorted values yet, i.e. the isa edges
+     * written before the values were sorted in the range index, in a single pass over the shards of the attribute types.
+     *
+     * @return pairs of the ids of the isa edges and of the sorted values of their attributes
+     */
+    Stream<Pair<Object, Object>> unsortedIsaEdges() {
+        return getMetaAttributeType().subs()
+                .filter(type -> type.valueType() != null && Schema.isRangeIndexed(type.valueType()))
+                .flatMap(attributeType -> {
+                    Schema.VertexProperty valueProperty = Schema.VertexProperty.ofValueType(attributeType.valueType());
+                    return ConceptVertex.from(attributeType).vertex().shards()
+                            .flatMap(shard -> shard.vertex().getEdgesOfType(Direction.IN, Schema.EdgeLabel.ISA))
+                            .filter(isaEdge -> isaEdge.property(Schema.EdgeProperty.SORTED_VALUE) == null)
+                            .map(isaEdge -> new Pair<>(isaEdge.id(), Schema.sortedValue(isaEdge.source().property(valueProperty))));
+                });
+    }
+
     void createMetaConcepts() {
         VertexElement type = conceptManager.addTypeVertex(Schema.MetaSchema.THING.getId(), Schema.MetaSchema.THING.getLabel(), Schema.BaseType.TYPE);
         VertexElement entityType = conceptManager.addTypeVertex(Schema.MetaSchema.ENTITY.getId(), Schema.MetaSchema.ENTITY.getLabel(), Schema.BaseType.ENTITY_TYPE);
@@ -1294,6 +1449,9 @@ public class TransactionImpl implements Transaction {
         relationType.property(Schema.VertexProperty.IS_ABSTRACT, true);
         resourceType.property(Schema.VertexProperty.IS_ABSTRACT, true);
         entityType.property(Schema.VertexProperty.IS_ABSTRACT, true);
+        // all attributes of a new keyspace are written with their sorted values, in the vertices with derived ids
+        resourceType.property(Schema.VertexProperty.SORTED_VALUES_INDEXED, true);
+        resourceType.property(Schema.VertexProperty.ATTRIBUTE_IDS_DERIVED, true);
 
         relationType.addEdge(type, Schema.EdgeLabel.SUB);
         resourceType.addEdge(type, Schema.EdgeLabel.SUB);
@@ -18,6 +18,7 @@
 
 package grakn.core.server.session;
 
+import com.google.common.util.concurrent.Striped;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.answer.Explanation;
 import grakn.core.concept.manager.ConceptListenerImpl;
@@ -27,11 +28,16 @@ import grakn.core.concept.structure.ElementFactory;
 import grakn.core.core.JanusTraversalSourceProvider;
 import grakn.core.graph.core.JanusGraphTransaction;
 import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graph.graphdb.transaction.StandardTransactionBuilder;
+import grakn.core.graql.executor.DisjunctionExecutor;
 import grakn.core.graql.executor.ExecutorFactoryImpl;
 import grakn.core.graql.executor.TraversalExecutorImpl;
 import grakn.core.graql.executor.property.PropertyExecutorFactoryImpl;
+import grakn.core.graql.planning.TraversalPlanCache;
 import grakn.core.graql.planning.TraversalPlanFactoryImpl;
 import grakn.core.graql.reasoner.atom.PropertyAtomicFactory;
+import grakn.core.graql.reasoner.cache.KeyspaceQueryCache;
+import grakn.core.graql.reasoner.cache.KeyspaceRuleCache;
 import grakn.core.graql.reasoner.cache.MultilevelSemanticCache;
 import grakn.core.graql.reasoner.cache.RuleCacheImpl;
 import grakn.core.graql.reasoner.query.ReasonerQueryFactory;
@@ -51,9 +57,11 @@ import grakn.core.keyspace.StatisticsDeltaImpl;
 import grakn.core.server.cache.ExplanationCacheImpl;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Lock;
 
 /**
  * A component performing inversion of control, removing the creation of Transactions from the SessionImpl
@@ -64,26 +72,36 @@ public class TransactionProviderImpl implements TransactionProvider {
     private final KeyspaceSchemaCache keyspaceSchemaCache;
     private final KeyspaceStatistics keyspaceStatistics;
     private final AttributeManager attributeManager;
-    private ReadWriteLock graphLock;
+    private Striped<Lock> commitLocks;
     private final long typeShardThreshold;
+    private final KeyspaceQueryCache keyspaceQueryCache;
+    private final TraversalPlanCache traversalPlanCache;
+    private final KeyspaceRuleCache keyspaceRuleCache;
+    private final ExecutorService disjunctionWorkers;
 
     public TransactionProviderImpl(StandardJanusGraph graph, HadoopGraph hadoopGraph,
                                    KeyspaceSchemaCache keyspaceSchemaCache, KeyspaceStatistics keyspaceStatistics,
-                                   AttributeManager attributeManager, ReadWriteLock graphLock, long typeShardThreshold) {
+                                   AttributeManager attributeManager, Striped<Lock> commitLocks, long typeShardThreshold,
+                                   KeyspaceQueryCache keyspaceQueryCache, TraversalPlanCache traversalPlanCache,
+                                   KeyspaceRuleCache keyspaceRuleCache, @Nullable ExecutorService disjunctionWorkers) {
         this.graph = graph;
         this.hadoopGraph = hadoopGraph;
         this.keyspaceSchemaCache = keyspaceSchemaCache;
         this.keyspaceStatistics = keyspaceStatistics;
         this.attributeManager = attributeManager;
-        this.graphLock = graphLock;
+        this.commitLocks = commitLocks;
         this.typeShardThreshold = typeShardThreshold;
+        this.keyspaceQueryCache = keyspaceQueryCache;
+        this.traversalPlanCache = traversalPlanCache;
+        this.keyspaceRuleCache = keyspaceRuleCache;
+        this.disjunctionWorkers = disjunctionWorkers;
     }
 
     /*
     TODO - this is the centralised circular hairball dependency mess
      */
     @Override
-    public Transaction newTransaction(Session session) {
+    public Transaction newTransaction(Session session, Transaction.Type type) {
 
         // Data structures
         ConceptNotificationChannel conceptNotificationChannel = new ConceptNotificationChannelImpl();
@@ -92,23 +110,31 @@ public class TransactionProviderImpl implements TransactionProvider {
         ExplanationCacheImpl explanationCache = new ExplanationCacheImpl();
 
         // Janus elements
-        JanusGraphTransaction janusGraphTransaction = graph.newThreadBoundTransaction();
+        StandardTransactionBuilder janusTransactionBuilder = graph.buildTransaction().threadBound();
+        if (Transaction.Type.BATCH.equals(type)) {
+            // flush mutations to storage in unlogged batches as they accumulate, but still look up vertices by id
+            janusTransactionBuilder.enableBatchLoading().checkExternalVertexExistence(true);
+        }
+        JanusGraphTransaction janusGraphTransaction = janusTransactionBuilder.start();
         JanusTraversalSourceProvider janusTraversalSourceProvider = new JanusTraversalSourceProvider(janusGraphTransaction);
         ElementFactory elementFactory = new ElementFactory(janusGraphTransaction, janusTraversalSourceProvider);
 
         // Grakn elements
         PropertyExecutorFactory propertyExecutorFactory = new PropertyExecutorFactoryImpl();
-        ConceptManager conceptManager = new ConceptManagerImpl(elementFactory, transactionCache, conceptNotificationChannel, attributeManager);
-        TraversalPlanFactory traversalPlanFactory = new TraversalPlanFactoryImpl(janusTraversalSourceProvider, conceptManager, propertyExecutorFactory, typeShardThreshold, keyspaceStatistics);
+        ConceptManager conceptManager = new ConceptManagerImpl(elementFactory, transactionCache, conceptNotificationChannel);
+        TraversalPlanFactory traversalPlanFactory = new TraversalPlanFactoryImpl(janusTraversalSourceProvider, conceptManager, propertyExecutorFactory, typeShardThreshold, keyspaceStatistics, traversalPlanCache, transactionCache);
         TraversalExecutor traversalExecutor = new TraversalExecutorImpl(traversalPlanFactory, conceptManager);
         ExecutorFactoryImpl executorFactory = new ExecutorFactoryImpl(conceptManager, hadoopGraph, keyspaceStatistics, traversalPlanFactory, traversalExecutor, explanationCache);
-        RuleCacheImpl ruleCache = new RuleCacheImpl(conceptManager, keyspaceStatistics);
-        MultilevelSemanticCache queryCache = new MultilevelSemanticCache(traversalPlanFactory, traversalExecutor);
+        RuleCacheImpl ruleCache = new RuleCacheImpl(conceptManager, keyspaceStatistics, keyspaceRuleCache);
+        MultilevelSemanticCache queryCache = new MultilevelSemanticCache(traversalPlanFactory, traversalExecutor, keyspaceQueryCache);
 
 
         PropertyAtomicFactory propertyAtomicFactory = new PropertyAtomicFactory(conceptManager, ruleCache, queryCache, keyspaceStatistics);
         ReasonerQueryFactory reasonerQueryFactory = new ReasonerQueryFactory(conceptManager, queryCache, ruleCache, keyspaceStatistics, propertyAtomicFactory, traversalPlanFactory, traversalExecutor);
         executorFactory.setReasonerQueryFactory(reasonerQueryFactory);
+        if (disjunctionWorkers != null && Transaction.Type.READ.equals(type)) {
+            executorFactory.setDisjunctionExecutor(new DisjunctionExecutor(session, disjunctionWorkers, conceptManager));
+        }
         propertyAtomicFactory.setReasonerQueryFactory(reasonerQueryFactory);
         ruleCache.setReasonerQueryFactory(reasonerQueryFactory);
 
@@ -117,7 +143,7 @@ public class TransactionProviderImpl implements TransactionProvider {
                 janusTraversalSourceProvider, transactionCache, queryCache,
                 ruleCache,  explanationCache, statisticsDelta,
                 executorFactory, reasonerQueryFactory,
-                graphLock, typeShardThreshold
+                commitLocks, typeShardThreshold, traversalPlanCache
         );
 
         ConceptListenerImpl conceptListener = new ConceptListenerImpl(transactionCache, queryCache, ruleCache, statisticsDelta, attributeManager, janusGraphTransaction.toString());
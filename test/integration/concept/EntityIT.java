@@ -43,6 +43,7 @@ import org.junit.rules.ExpectedException;
 
 import java.util.stream.Collectors;
 
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
@@ -208,6 +209,23 @@ public class EntityIT {
         assertThat(aPerson.attributes().collect(toSet()), containsInAnyOrder(fim, pim));
     }
 
+    @Test
+    public void whenGettingAttributesOfATypeFromAnEntity_EnsureOnlyThatTypeAndItsSubsAreReturned(){
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.ValueType.STRING);
+        AttributeType<String> nickname = tx.putAttributeType("nickname", AttributeType.ValueType.STRING).sup(name);
+        AttributeType<Long> age = tx.putAttributeType("age", AttributeType.ValueType.LONG);
+        Attribute<String> fim = name.create("Fim");
+        Attribute<String> tim = nickname.create("Tim");
+        Attribute<Long> ten = age.create(10L);
+
+        EntityType person = tx.putEntityType("person").has(name).has(nickname).has(age);
+        Entity aPerson = person.create().has(fim).has(tim).has(ten).has(tim);
+
+        assertThat(aPerson.attributes(name).collect(toList()), containsInAnyOrder(fim, tim));
+        assertThat(aPerson.attributes(nickname).collect(toList()), containsInAnyOrder(tim));
+        assertThat(aPerson.attributes(age).collect(toList()), containsInAnyOrder(ten));
+    }
+
 
     @Test
     public void whenCreatingInferredAttributeLink_EnsureMarkedAsInferred(){
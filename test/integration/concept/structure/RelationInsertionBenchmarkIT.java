@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concept.structure;
+
+import grakn.core.kb.concept.api.Attribute;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.concept.api.Entity;
+import grakn.core.kb.concept.api.EntityType;
+import grakn.core.kb.concept.api.RelationType;
+import grakn.core.kb.concept.api.Role;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.test.rule.GraknTestServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the throughput of inserting relations and attribute ownerships into a transaction, which is dominated
+ * by the edge lookups of ElementFactory: every role player assignment and every ownership first looks for an
+ * existing edge between the two vertices.
+ */
+public class RelationInsertionBenchmarkIT {
+
+    private static final int PLAYERS = 100;
+    private static final int RELATIONS = 20_000;
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private Session session;
+    private Transaction tx;
+
+    @Before
+    public void setUp() {
+        session = server.sessionWithNewKeyspace();
+        tx = session.transaction(Transaction.Type.WRITE);
+    }
+
+    @After
+    public void tearDown() {
+        tx.close();
+        session.close();
+    }
+
+    @Test
+    public void insertRelationsBetweenFewPlayers() {
+        Role employer = tx.putRole("employer");
+        Role employee = tx.putRole("employee");
+        RelationType employment = tx.putRelationType("employment").relates(employer).relates(employee);
+        AttributeType<Long> since = tx.putAttributeType("since", AttributeType.ValueType.LONG);
+        employment.has(since);
+        EntityType person = tx.putEntityType("person").plays(employer).plays(employee);
+
+        List<Entity> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(person.create());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < RELATIONS; i++) {
+            // the players are shared by many relations, so each has many edges to look the new ones up among
+            Attribute<Long> year = since.create((long) (i % 50));
+            employment.create()
+                    .assign(employer, players.get(i % PLAYERS))
+                    .assign(employee, players.get((i + 1) % PLAYERS))
+                    .has(year);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%d relations/s", (long) (RELATIONS / (elapsed / 1e9))));
+
+        start = System.nanoTime();
+        long relationsFound = players.stream().mapToLong(player -> player.relations(employer).count()).sum();
+        elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%d role player lookups/s", (long) (PLAYERS / (elapsed / 1e9))));
+
+        assertEquals(RELATIONS, relationsFound);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.diskstorage.keycolumnvalue.cache;
+
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyIterator;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyRangeQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.StaticArrayEntryList;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the heap based KCVSExpirationCache with the off-heap KCVSOffHeapCache on a skewed read workload
+ * interleaved with scans, reporting the throughput, the hit rate and the heap used by each of the caches.
+ */
+public class KCVSCacheBenchmarkIT {
+
+    private static final int KEYS = 200_000;
+    private static final int ENTRIES_PER_KEY = 8;
+    private static final int READS = 2_000_000;
+    private static final long CACHE_SIZE = 32L * 1024 * 1024;
+    private static final long CACHE_TIME = 60_000;
+
+    private static final SliceQuery ALL = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(4));
+    private static final CacheTransaction TX = new CacheTransaction(null, null, 1, Duration.ZERO, false);
+
+    @Test
+    public void whenKeyIsInvalidated_offHeapCacheReturnsUpdatedSlice() throws BackendException {
+        InMemoryStore store = new InMemoryStore();
+        KCVSOffHeapCache cache = new KCVSOffHeapCache(store, CACHE_TIME, 0, CACHE_SIZE);
+        KeySliceQuery query = new KeySliceQuery(key(1), ALL);
+
+        assertEquals(store.slice(key(1)), cache.getSlice(query, TX));
+        assertEquals(store.slice(key(1)), cache.getSlice(query, TX));
+
+        store.put(key(1), entries(1, 2));
+        cache.invalidate(key(1), Collections.emptyList());
+        assertEquals(store.slice(key(1)), cache.getSlice(query, TX));
+        assertEquals(2, cache.getSlice(query, TX).size());
+        cache.close();
+    }
+
+    @Test
+    public void compareCachesOnSkewedReadsWithScans() throws BackendException {
+        System.out.println("expiration cache: " + run(store -> new KCVSExpirationCache(store, CACHE_TIME, 0, CACHE_SIZE)));
+        System.out.println("off-heap cache: " + run(store -> new KCVSOffHeapCache(store, CACHE_TIME, 0, CACHE_SIZE)));
+    }
+
+    private static String run(Function<KeyColumnValueStore, KCVSCache> cacheFactory) throws BackendException {
+        InMemoryStore store = new InMemoryStore();
+        KCVSCache cache = cacheFactory.apply(store);
+        Random random = new Random(0);
+        System.gc();
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            // every tenth read belongs to a scan through all of the keys, the others mostly hit a few hot keys
+            int key = i % 10 == 0 ? (i / 10) % KEYS : (int) (KEYS * Math.pow(random.nextDouble(), 8));
+            KeySliceQuery query = new KeySliceQuery(key(key), ALL);
+            assertEquals(ENTRIES_PER_KEY, cache.getSlice(query, TX).size());
+        }
+        long elapsed = System.nanoTime() - start;
+        System.gc();
+        long heapAfter = usedHeap();
+        cache.close();
+        double hitRate = 1 - (double) store.reads.get() / READS;
+        return String.format("%d reads/s, hit rate %.3f, heap %d MB",
+                (long) (READS / (elapsed / 1e9)), hitRate, (heapAfter - heapBefore) / (1024 * 1024));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static StaticBuffer key(int key) {
+        return BufferUtil.getIntBuffer(key);
+    }
+
+    private static EntryList entries(int key, int count) {
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // 8 bytes of column, ordered by the index of the entry, followed by 16 bytes of value
+            byte[] entry = new byte[24];
+            entry[0] = 1;
+            entry[1] = (byte) i;
+            for (int b = 2; b < entry.length; b++) {
+                entry[b] = (byte) (key >>> (8 * (b % 4)));
+            }
+            entries.add(new StaticArrayEntry(entry, 8));
+        }
+        return StaticArrayEntryList.of(entries);
+    }
+
+    /**
+     * Store keeping a single slice per key, counting the reads that reach it.
+     */
+    private static class InMemoryStore implements KeyColumnValueStore {
+
+        private final Map<StaticBuffer, EntryList> slices = new ConcurrentHashMap<>();
+        private final AtomicLong reads = new AtomicLong();
+
+        EntryList slice(StaticBuffer key) {
+            return slices.computeIfAbsent(key, k -> entries(k.getInt(0), ENTRIES_PER_KEY));
+        }
+
+        void put(StaticBuffer key, EntryList entries) {
+            slices.put(key, entries);
+        }
+
+        @Override
+        public EntryList getSlice(KeySliceQuery query, StoreTransaction txh) {
+            reads.incrementAndGet();
+            return slice(query.getKey());
+        }
+
+        @Override
+        public Map<StaticBuffer, EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) {
+            Map<StaticBuffer, EntryList> result = new HashMap<>();
+            for (StaticBuffer key : keys) {
+                result.put(key, getSlice(new KeySliceQuery(key, query), txh));
+            }
+            return result;
+        }
+
+        @Override
+        public void mutate(StaticBuffer key, List<Entry> additions, List<StaticBuffer> deletions, StoreTransaction txh) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public KeyIterator getKeys(KeyRangeQuery query, StoreTransaction txh) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public KeyIterator getKeys(SliceQuery query, StoreTransaction txh) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return "benchmark";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.graph.diskstorage.keycolumnvalue.cache;
+
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyIterator;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyRangeQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.StaticArrayEntryList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the segmented LRU policy of KCVSOffHeapCache on a cache of 10 blocks, 8 of them for the protected segment,
+ * with slices taking a single block each and a clock that only moves when the test advances it.
+ */
+public class KCVSOffHeapCacheIT {
+
+    private static final int BLOCK_SIZE = 128;
+    private static final int BLOCKS = 10;
+    private static final long CACHE_TIME = 1000;
+    private static final long GRACE_PERIOD = 500;
+
+    private static final SliceQuery ALL = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(4));
+    private static final CacheTransaction TX = new CacheTransaction(null, null, 1, Duration.ZERO, false);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private CountingStore store;
+    private KCVSOffHeapCache cache;
+
+    @Before
+    public void createCache() {
+        store = new CountingStore();
+        cache = new KCVSOffHeapCache(store, CACHE_TIME, GRACE_PERIOD, BLOCKS * BLOCK_SIZE, clock::get);
+    }
+
+    @After
+    public void closeCache() throws BackendException {
+        cache.close();
+    }
+
+    @Test
+    public void whenSliceIsReadOnce_itIsEvictedByAScan() throws BackendException {
+        read(1);
+        scan(100, BLOCKS);
+
+        assertMiss(1);
+    }
+
+    @Test
+    public void whenSliceIsReadAgain_itIsPromotedAndSurvivesAScan() throws BackendException {
+        read(1);
+        assertHit(1);
+        scan(100, 2 * BLOCKS);
+
+        assertHit(1);
+    }
+
+    @Test
+    public void whenProtectedSegmentIsFull_leastRecentlyUsedSliceIsDemotedAndEvictedFirst() throws BackendException {
+        // 9 promoted slices don't fit in the 8 protected blocks, so the first one is demoted to probation
+        for (int key = 1; key <= 9; key++) {
+            read(key);
+            assertHit(key);
+        }
+        // fills the last free block, then evicts the eldest slice of probation: the demoted one
+        scan(100, 2);
+
+        for (int key = 2; key <= 9; key++) {
+            assertHit(key);
+        }
+        assertMiss(1);
+    }
+
+    @Test
+    public void whenSliceExpires_itIsReadFromTheStoreAgain() throws BackendException {
+        read(1);
+        clock.addAndGet(CACHE_TIME);
+        assertHit(1);
+
+        clock.addAndGet(CACHE_TIME + 1);
+        assertMiss(1);
+        assertHit(1);
+    }
+
+    @Test
+    public void whenPromotedSliceExpires_itIsReadFromTheStoreAgain() throws BackendException {
+        read(1);
+        assertHit(1);
+
+        clock.addAndGet(CACHE_TIME + 1);
+        assertMiss(1);
+        assertHit(1);
+    }
+
+    @Test
+    public void whenKeyIsInvalidated_itIsNotCachedUntilTheGracePeriodEnds() throws BackendException {
+        read(1);
+        cache.invalidate(key(1), Collections.emptyList());
+
+        assertMiss(1);
+        assertMiss(1);
+
+        clock.addAndGet(GRACE_PERIOD + 1);
+        assertMiss(1);
+        assertHit(1);
+    }
+
+    private void read(int key) throws BackendException {
+        assertEquals(store.slice(key(key)), cache.getSlice(new KeySliceQuery(key(key), ALL), TX));
+    }
+
+    private void scan(int firstKey, int count) throws BackendException {
+        for (int key = firstKey; key < firstKey + count; key++) {
+            read(key);
+        }
+    }
+
+    private void assertHit(int key) throws BackendException {
+        long reads = store.reads;
+        read(key);
+        assertEquals("slice " + key + " should be cached", reads, store.reads);
+    }
+
+    private void assertMiss(int key) throws BackendException {
+        long reads = store.reads;
+        read(key);
+        assertEquals("slice " + key + " should not be cached", reads + 1, store.reads);
+    }
+
+    private static StaticBuffer key(int key) {
+        return BufferUtil.getIntBuffer(key);
+    }
+
+    /**
+     * Store returning 3 entries of 24 bytes per key, which are serialised in 100 bytes, hence a single block,
+     * and counting the reads that reach it.
+     */
+    private static class CountingStore implements KeyColumnValueStore {
+
+        private long reads = 0;
+
+        EntryList slice(StaticBuffer key) {
+            List<Entry> entries = new ArrayList<>(3);
+            for (int i = 0; i < 3; i++) {
+                byte[] entry = new byte[24];
+                entry[0] = (byte) i;
+                for (int b = 1; b < entry.length; b++) {
+                    entry[b] = (byte) (key.getInt(0) >>> (8 * (b % 4)));
+                }
+                entries.add(new StaticArrayEntry(entry, 8));
+            }
+            return StaticArrayEntryList.of(entries);
+        }
+
+        @Override
+        public EntryList getSlice(KeySliceQuery query, StoreTransaction txh) {
+            reads++;
+            return slice(query.getKey());
+        }
+
+        @Override
+        public Map<StaticBuffer, EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) {
+            Map<StaticBuffer, EntryList> result = new HashMap<>();
+            for (StaticBuffer key : keys) {
+                result.put(key, getSlice(new KeySliceQuery(key, query), txh));
+            }
+            return result;
+        }
+
+        @Override
+        public void mutate(StaticBuffer key, List<Entry> additions, List<StaticBuffer> deletions, StoreTransaction txh) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public KeyIterator getKeys(KeyRangeQuery query, StoreTransaction txh) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public KeyIterator getKeys(SliceQuery query, StoreTransaction txh) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.graph.diskstorage.cql;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.PermanentBackendException;
+import grakn.core.graph.diskstorage.StaticBuffer;
+import grakn.core.graph.diskstorage.configuration.BasicConfiguration;
+import grakn.core.graph.diskstorage.configuration.backend.CommonsConfiguration;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.graph.diskstorage.util.StandardBaseTransactionConfig;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import grakn.core.graph.diskstorage.util.time.TimestampProviders;
+import grakn.core.test.rule.GraknTestStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.ROOT_NS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CQLMultiKeySliceIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private static final String KEYSPACE = "multi_key_slice";
+    private static final String STORE = "edgestore";
+    private static final SliceQuery ALL = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(4));
+
+    private CQLStoreManager storeManager;
+    private KeyColumnValueStore store;
+    private StoreTransaction tx;
+
+    @Before
+    public void openStore() throws BackendException {
+        Config config = storage.createCompatibleServerConfig();
+        CommonsConfiguration configuration = new CommonsConfiguration();
+        configuration.set(ConfigKey.STORAGE_BACKEND.name(), "cql");
+        configuration.set(ConfigKey.STORAGE_KEYSPACE.name(), KEYSPACE);
+        config.properties().forEach((key, value) -> configuration.set(key.toString(), value));
+
+        storeManager = new CQLStoreManager(new BasicConfiguration(ROOT_NS, configuration));
+        store = storeManager.openDatabase(STORE);
+        tx = storeManager.beginTransaction(StandardBaseTransactionConfig.of(TimestampProviders.MICRO));
+    }
+
+    @After
+    public void closeStore() throws BackendException {
+        storeManager.clearStorage();
+        storeManager.close();
+    }
+
+    @Test
+    public void whenSlicingManyKeys_eachKeyGetsItsOwnEntries() throws BackendException {
+        List<StaticBuffer> keys = new ArrayList<>();
+        for (int key = 0; key < 50; key++) {
+            keys.add(BufferUtil.getIntBuffer(key));
+            store.mutate(BufferUtil.getIntBuffer(key), entries(key, key % 5), Collections.emptyList(), tx);
+        }
+        // a key without any entries gets an empty slice
+        keys.add(BufferUtil.getIntBuffer(1000));
+
+        Map<StaticBuffer, EntryList> slices = store.getSlice(keys, ALL, tx);
+
+        assertEquals(keys.size(), slices.size());
+        for (int key = 0; key < 50; key++) {
+            assertEquals(entries(key, key % 5), slices.get(BufferUtil.getIntBuffer(key)));
+        }
+        assertTrue(slices.get(BufferUtil.getIntBuffer(1000)).isEmpty());
+    }
+
+    @Test
+    public void whenSlicingManyKeysFails_theDriverExceptionIsMapped() throws BackendException {
+        List<StaticBuffer> keys = new ArrayList<>();
+        for (int key = 0; key < 10; key++) {
+            keys.add(BufferUtil.getIntBuffer(key));
+        }
+        storeManager.getSession().execute("DROP TABLE " + KEYSPACE + "." + STORE);
+
+        try {
+            store.getSlice(keys, ALL, tx);
+            fail();
+        } catch (PermanentBackendException e) {
+            // querying a table which doesn't exist is invalid, so the failure must not be retried as a temporary one
+        }
+    }
+
+    private static List<Entry> entries(int key, int count) {
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(StaticArrayEntry.of(BufferUtil.getIntBuffer(i + 1), BufferUtil.getIntBuffer(key)));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.diskstorage.cql;
+
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.EntryMetaData;
+import grakn.core.graph.diskstorage.util.BufferUtil;
+import grakn.core.graph.diskstorage.util.StaticArrayEntry;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that CQLKeyColumnValueStore#fromResultSet only fetches the pages of a driver ResultSet as the entries of the
+ * previous ones are consumed, using a ResultSet whose pages are counted as the driver would fetch them.
+ */
+public class CQLResultSetPagingIT {
+
+    private static final CQLColValGetter GETTER = new CQLColValGetter(new EntryMetaData[0]);
+
+    @Test
+    public void whenIterationStopsEarly_theRemainingPagesAreNotFetched() {
+        PagedRows rows = new PagedRows(3, 2, 4);
+        EntryList entries = CQLKeyColumnValueStore.fromResultSet(rows.resultSet(), GETTER);
+
+        Iterator<Entry> iterator = entries.iterator();
+        for (int i = 0; i < 3; i++) assertEquals(entry(i), iterator.next());
+        assertEquals(1, rows.fetched);
+        assertEquals(entry(3), iterator.next());
+        assertEquals(2, rows.fetched);
+    }
+
+    @Test
+    public void whenGettingEntriesAcrossPageBoundaries_theRightEntriesAreReturned() {
+        PagedRows rows = new PagedRows(3, 2, 4);
+        EntryList entries = CQLKeyColumnValueStore.fromResultSet(rows.resultSet(), GETTER);
+
+        assertEquals(entry(4), entries.get(4));
+        assertEquals(2, rows.fetched);
+        assertEquals(entry(2), entries.get(2));
+        assertEquals(entry(8), entries.get(8));
+        assertEquals(3, rows.fetched);
+    }
+
+    @Test
+    public void whenGettingSize_allPagesAreFetchedAndTheRowsIteratedOnce() {
+        PagedRows rows = new PagedRows(3, 2, 4);
+        EntryList entries = CQLKeyColumnValueStore.fromResultSet(rows.resultSet(), GETTER);
+
+        assertEquals(9, entries.size());
+        assertEquals(3, rows.fetched);
+
+        List<Entry> expected = new ArrayList<>();
+        for (int i = 0; i < 9; i++) expected.add(entry(i));
+        List<Entry> iterated = new ArrayList<>();
+        entries.iterator().forEachRemaining(iterated::add);
+        assertEquals(expected, iterated);
+        assertEquals(3, rows.fetched);
+    }
+
+    private static Entry entry(int i) {
+        return StaticArrayEntry.of(BufferUtil.getIntBuffer(i), BufferUtil.getIntBuffer(-i));
+    }
+
+    private static Row row(int i) {
+        Row row = mock(Row.class);
+        when(row.getByteBuffer(CQLKeyColumnValueStore.COLUMN_COLUMN_NAME)).thenAnswer(invocation -> BufferUtil.getIntBuffer(i).asByteBuffer());
+        when(row.getByteBuffer(CQLKeyColumnValueStore.VALUE_COLUMN_NAME)).thenAnswer(invocation -> BufferUtil.getIntBuffer(-i).asByteBuffer());
+        return row;
+    }
+
+    /**
+     * Rows of a result split in pages, where, like the driver, a page is only fetched once the rows of the previous
+     * one have been iterated, and only the rows of the current page are available without fetching.
+     */
+    private static class PagedRows implements Iterator<Row> {
+
+        private final List<List<Row>> pages = new ArrayList<>();
+        private int fetched = 0;
+        private Iterator<Row> page = null;
+        private int available = 0;
+
+        private PagedRows(int... pageSizes) {
+            int next = 0;
+            for (int pageSize : pageSizes) {
+                List<Row> pageRows = new ArrayList<>();
+                for (int i = 0; i < pageSize; i++) pageRows.add(row(next++));
+                pages.add(pageRows);
+            }
+        }
+
+        private ResultSet resultSet() {
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.iterator()).thenReturn(this);
+            when(resultSet.getAvailableWithoutFetching()).thenAnswer(invocation -> available);
+            return resultSet;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (page == null || !page.hasNext()) {
+                if (fetched == pages.size()) return false;
+                List<Row> nextPage = pages.get(fetched++);
+                page = nextPage.iterator();
+                available = nextPage.size();
+            }
+            return true;
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            available--;
+            return page.next();
+        }
+    }
+}
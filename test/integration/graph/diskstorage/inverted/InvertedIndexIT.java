@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.graph.diskstorage.inverted;
+
+import com.google.common.collect.ImmutableMap;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graph.core.JanusGraphElement;
+import grakn.core.graph.core.attribute.Cmp;
+import grakn.core.graph.core.attribute.Text;
+import grakn.core.graph.core.schema.Parameter;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.configuration.BasicConfiguration;
+import grakn.core.graph.diskstorage.configuration.backend.CommonsConfiguration;
+import grakn.core.graph.diskstorage.cql.CQLStoreManager;
+import grakn.core.graph.diskstorage.indexing.IndexEntry;
+import grakn.core.graph.diskstorage.indexing.IndexQuery;
+import grakn.core.graph.diskstorage.indexing.RawQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.StoreTransaction;
+import grakn.core.graph.diskstorage.util.StandardBaseTransactionConfig;
+import grakn.core.graph.diskstorage.util.time.TimestampProviders;
+import grakn.core.graph.graphdb.query.condition.And;
+import grakn.core.graph.graphdb.query.condition.Condition;
+import grakn.core.graph.graphdb.query.condition.PredicateCondition;
+import grakn.core.test.rule.GraknTestStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static grakn.core.graph.graphdb.configuration.GraphDatabaseConfiguration.ROOT_NS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InvertedIndexIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private static final String KEYSPACE = "inverted_index";
+    private static final String STORE = "vertex";
+    private static final String NAME = "name";
+    private static final String NICKNAME = "nickname";
+
+    private CQLStoreManager storeManager;
+    private InvertedIndex index;
+    private StoreTransaction tx;
+
+    @Before
+    public void openIndex() throws BackendException {
+        Config config = storage.createCompatibleServerConfig();
+        CommonsConfiguration configuration = new CommonsConfiguration();
+        configuration.set(ConfigKey.STORAGE_BACKEND.name(), "cql");
+        configuration.set(ConfigKey.STORAGE_KEYSPACE.name(), KEYSPACE);
+        config.properties().forEach((key, value) -> configuration.set(key.toString(), value));
+
+        BasicConfiguration basicConfiguration = new BasicConfiguration(ROOT_NS, configuration);
+        storeManager = new CQLStoreManager(basicConfiguration);
+        index = new InvertedIndex(basicConfiguration, storeManager);
+        tx = storeManager.beginTransaction(StandardBaseTransactionConfig.of(TimestampProviders.MICRO));
+
+        index.restore(ImmutableMap.of(STORE, ImmutableMap.of(
+                "alice", entries("Alice Smith", "Ali"),
+                "alistair", entries("Alistair Smith", "Al"),
+                "bob", entries("Bob Smithers", "Bobby"))), null, tx);
+    }
+
+    @After
+    public void closeIndex() throws BackendException {
+        index.close();
+        storeManager.clearStorage();
+        storeManager.close();
+    }
+
+    @Test
+    public void whenQueryingByEquality_onlyExactValuesMatch() throws BackendException {
+        assertEquals(Collections.singleton("alice"), query(PredicateCondition.of(NAME, Cmp.EQUAL, "Alice Smith")));
+        // the grams of a differently cased value are the same, but the value is not equal
+        assertEquals(Collections.emptySet(), query(PredicateCondition.of(NAME, Cmp.EQUAL, "alice smith")));
+    }
+
+    @Test
+    public void whenQueryingByPrefix_onlyValuesStartingWithThePrefixMatch() throws BackendException {
+        assertEquals(set("alice", "alistair"), query(PredicateCondition.of(NAME, Text.PREFIX, "Alis")));
+        assertEquals(Collections.singleton("alistair"), query(PredicateCondition.of(NAME, Text.PREFIX, "Alist")));
+        // "Smith" is contained in all values, but none of them starts with it
+        assertEquals(Collections.emptySet(), query(PredicateCondition.of(NAME, Text.PREFIX, "Smith")));
+    }
+
+    @Test
+    public void whenQueryingByPrefixShorterThanGrams_allDocumentsAreScanned() throws BackendException {
+        assertEquals(set("alice", "alistair"), query(PredicateCondition.of(NICKNAME, Text.PREFIX, "Al")));
+        assertEquals(Collections.singleton("bob"), query(PredicateCondition.of(NICKNAME, Text.PREFIX, "B")));
+    }
+
+    @Test
+    public void whenQueryingByConjunction_allConditionsMustMatch() throws BackendException {
+        And<JanusGraphElement> conjunction = new And<>(
+                PredicateCondition.of(NAME, Text.PREFIX, "Ali"),
+                PredicateCondition.of(NICKNAME, Cmp.EQUAL, "Al"));
+        assertEquals(Collections.singleton("alistair"), query(conjunction));
+    }
+
+    @Test
+    public void whenQueryingWithLimit_resultsAreLimited() throws BackendException {
+        IndexQuery query = new IndexQuery(STORE, PredicateCondition.of(NAME, Text.PREFIX, "Ali"), 1);
+        assertEquals(1, index.query(query, null, tx).count());
+    }
+
+    @Test
+    public void whenStorageIsCleared_noDocumentIsFound() throws BackendException {
+        index.clearStorage();
+
+        RawQuery query = new RawQuery(STORE, NAME, new Parameter[]{new Parameter<>(InvertedIndex.CONTAINS_PARAMETER, "smith")});
+        assertEquals(0, index.query(query, null, tx).count());
+        assertTrue(query(PredicateCondition.of(NICKNAME, Text.PREFIX, "")).isEmpty());
+    }
+
+    private Set<String> query(Condition<JanusGraphElement> condition) throws BackendException {
+        IndexQuery query = new IndexQuery(STORE, condition);
+        return index.query(query, null, tx).collect(Collectors.toSet());
+    }
+
+    private static List<IndexEntry> entries(String name, String nickname) {
+        return Arrays.asList(new IndexEntry(NAME, name), new IndexEntry(NICKNAME, nickname));
+    }
+
+    private static Set<String> set(String... documentIds) {
+        return Arrays.stream(documentIds).collect(Collectors.toSet());
+    }
+}
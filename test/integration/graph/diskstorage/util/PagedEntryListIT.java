@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.diskstorage.util;
+
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that PagedEntryList only fetches the pages of a result up to the entries that are accessed, using a page
+ * source that counts how many pages have been fetched from it.
+ */
+public class PagedEntryListIT {
+
+    @Test
+    public void whenGettingEntriesAcrossPageBoundaries_theRightEntriesAreReturned() {
+        CountingPages pages = new CountingPages(page(0, 3), page(3, 2), page(5, 4));
+        PagedEntryList entries = new PagedEntryList(pages);
+
+        assertEquals(0, pages.fetched);
+        assertEquals(entry(0), entries.get(0));
+        assertEquals(1, pages.fetched);
+        assertEquals(entry(2), entries.get(2));
+        assertEquals(1, pages.fetched);
+        assertEquals(entry(3), entries.get(3));
+        assertEquals(2, pages.fetched);
+        assertEquals(entry(8), entries.get(8));
+        assertEquals(entry(4), entries.get(4));
+        assertEquals(entry(5), entries.get(5));
+        assertEquals(3, pages.fetched);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void whenGettingEntryPastTheLastPage_throw() {
+        new PagedEntryList(new CountingPages(page(0, 3), page(3, 2))).get(5);
+    }
+
+    @Test
+    public void whenPagesAreEmpty_theyAreSkipped() {
+        CountingPages pages = new CountingPages(page(0, 0), page(0, 2), page(2, 0), page(2, 0), page(2, 1), page(3, 0));
+        PagedEntryList entries = new PagedEntryList(pages);
+
+        assertFalse(entries.isEmpty());
+        assertEquals(2, pages.fetched);
+        assertEquals(entry(1), entries.get(1));
+        assertEquals(entry(2), entries.get(2));
+        assertEquals(5, pages.fetched);
+        assertEquals(Arrays.asList(entry(0), entry(1), entry(2)), collect(entries.iterator()));
+        assertEquals(3, entries.size());
+    }
+
+    @Test
+    public void whenAllPagesAreEmpty_theListIsEmpty() {
+        PagedEntryList entries = new PagedEntryList(new CountingPages(page(0, 0), page(0, 0)));
+
+        assertTrue(entries.isEmpty());
+        assertEquals(0, entries.size());
+        assertEquals(0, entries.getByteSize());
+        assertFalse(entries.iterator().hasNext());
+    }
+
+    @Test
+    public void whenGettingSize_allPagesAreFetched() {
+        CountingPages pages = new CountingPages(page(0, 3), page(3, 2), page(5, 4));
+        PagedEntryList entries = new PagedEntryList(pages);
+
+        entries.get(0);
+        assertEquals(1, pages.fetched);
+        assertEquals(9, entries.size());
+        assertEquals(3, pages.fetched);
+    }
+
+    @Test
+    public void whenGettingByteSize_allPagesAreFetched() {
+        EntryList[] pageArray = {page(0, 3), page(3, 2), page(5, 4)};
+        CountingPages pages = new CountingPages(pageArray);
+        PagedEntryList entries = new PagedEntryList(pages);
+
+        int expectedByteSize = 0;
+        for (EntryList page : pageArray) expectedByteSize += page.getByteSize();
+
+        assertEquals(expectedByteSize, entries.getByteSize());
+        assertEquals(3, pages.fetched);
+    }
+
+    @Test
+    public void whenIteratingMoreThanOnce_theSameEntriesAreReturnedWithoutFetchingAgain() {
+        CountingPages pages = new CountingPages(page(0, 3), page(3, 2), page(5, 4));
+        PagedEntryList entries = new PagedEntryList(pages);
+        List<Entry> expected = new ArrayList<>();
+        for (int i = 0; i < 9; i++) expected.add(entry(i));
+
+        assertEquals(expected, collect(entries.iterator()));
+        assertEquals(3, pages.fetched);
+        assertEquals(expected, collect(entries.iterator()));
+        assertEquals(expected, collect(entries.reuseIterator()));
+        assertEquals(3, pages.fetched);
+    }
+
+    @Test
+    public void whenIterationStopsEarly_theRemainingPagesAreNotFetched() {
+        CountingPages pages = new CountingPages(page(0, 3), page(3, 2), page(5, 4));
+        PagedEntryList entries = new PagedEntryList(pages);
+
+        Iterator<Entry> iterator = entries.iterator();
+        for (int i = 0; i < 4; i++) assertEquals(entry(i), iterator.next());
+        assertEquals(2, pages.fetched);
+
+        // a second iteration stopping within the fetched pages doesn't fetch anything either
+        Iterator<Entry> secondIterator = entries.iterator();
+        assertEquals(entry(0), secondIterator.next());
+        assertEquals(2, pages.fetched);
+
+        // resuming the first iteration fetches the following pages only
+        assertEquals(entry(4), iterator.next());
+        assertEquals(2, pages.fetched);
+        assertEquals(entry(5), iterator.next());
+        assertEquals(3, pages.fetched);
+    }
+
+    private static Entry entry(int i) {
+        return StaticArrayEntry.of(BufferUtil.getIntBuffer(i), BufferUtil.getIntBuffer(-i));
+    }
+
+    private static EntryList page(int from, int count) {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = from; i < from + count; i++) entries.add(entry(i));
+        return StaticArrayEntryList.of(entries);
+    }
+
+    private static List<Entry> collect(Iterator<Entry> iterator) {
+        List<Entry> entries = new ArrayList<>();
+        iterator.forEachRemaining(entries::add);
+        return entries;
+    }
+
+    private static class CountingPages implements Iterator<EntryList> {
+
+        private final Iterator<EntryList> pages;
+        private int fetched = 0;
+
+        private CountingPages(EntryList... pages) {
+            this.pages = Arrays.asList(pages).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pages.hasNext();
+        }
+
+        @Override
+        public EntryList next() {
+            fetched++;
+            return pages.next();
+        }
+    }
+}
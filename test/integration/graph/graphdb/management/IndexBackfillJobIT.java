@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.graph.graphdb.database.management;
+
+import com.google.common.collect.Iterables;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graph.core.EdgeLabel;
+import grakn.core.graph.core.JanusGraphFactory;
+import grakn.core.graph.core.JanusGraphTransaction;
+import grakn.core.graph.core.JanusGraphVertex;
+import grakn.core.graph.core.schema.JanusGraphManagement;
+import grakn.core.graph.core.schema.RelationTypeIndex;
+import grakn.core.graph.core.schema.SchemaStatus;
+import grakn.core.graph.diskstorage.BackendException;
+import grakn.core.graph.diskstorage.Entry;
+import grakn.core.graph.diskstorage.EntryList;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeyIterator;
+import grakn.core.graph.diskstorage.keycolumnvalue.KeySliceQuery;
+import grakn.core.graph.diskstorage.keycolumnvalue.SliceQuery;
+import grakn.core.graph.diskstorage.util.RecordIterator;
+import grakn.core.graph.graphdb.database.EdgeSerializer;
+import grakn.core.graph.graphdb.database.StandardJanusGraph;
+import grakn.core.graph.graphdb.idmanagement.IDManager;
+import grakn.core.graph.graphdb.internal.InternalRelationType;
+import grakn.core.graph.graphdb.internal.RelationCategory;
+import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
+import grakn.core.test.rule.GraknTestStorage;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class IndexBackfillJobIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private static final int VERTICES = 100;
+    private static final String NAME = "name";
+    private static final String WEIGHT = "weight";
+    private static final String LINK = "link";
+    private static final String BY_NAME = "byName";
+    private static final String BY_WEIGHT = "byWeight";
+
+    private StandardJanusGraph graph;
+    // ids of the vertices, by the index of their name
+    private final List<Long> vertexIds = new ArrayList<>();
+
+    @Before
+    public void openGraphWithData() {
+        Config config = storage.createCompatibleServerConfig();
+        JanusGraphFactory.Builder builder = JanusGraphFactory.build()
+                .set(ConfigKey.STORAGE_BACKEND.name(), "cql")
+                .set(ConfigKey.STORAGE_KEYSPACE.name(), "a" + UUID.randomUUID().toString().replaceAll("-", ""));
+        config.properties().forEach((key, value) -> builder.set(key.toString(), value));
+        graph = (StandardJanusGraph) builder.open();
+
+        JanusGraphManagement management = graph.openManagement();
+        management.makePropertyKey(NAME).dataType(String.class).make();
+        management.makePropertyKey(WEIGHT).dataType(Integer.class).make();
+        management.makeEdgeLabel(LINK).make();
+        management.commit();
+
+        // a ring of vertices, each linked to the next one
+        JanusGraphTransaction tx = graph.newTransaction();
+        List<JanusGraphVertex> vertices = new ArrayList<>();
+        for (int i = 0; i < VERTICES; i++) {
+            JanusGraphVertex vertex = tx.addVertex();
+            vertex.property(NAME, name(i));
+            vertices.add(vertex);
+        }
+        for (int i = 0; i < VERTICES; i++) {
+            vertices.get(i).addEdge(LINK, vertices.get((i + 1) % VERTICES), WEIGHT, i % 10);
+        }
+        tx.commit();
+        vertices.forEach(vertex -> vertexIds.add(vertex.longId()));
+    }
+
+    @After
+    public void dropGraph() throws BackendException {
+        JanusGraphFactory.drop(graph);
+    }
+
+    @Test
+    public void whenGraphIndexIsDefinedOverExistingData_backfillIndexesAllVerticesAndEnablesIt() throws ExecutionException, InterruptedException {
+        defineGraphIndex();
+        assertEquals(SchemaStatus.INSTALLED, graphIndexStatus());
+
+        assertEquals(VERTICES, (long) new IndexBackfillJob(graph, BY_NAME).call());
+
+        assertEquals(SchemaStatus.ENABLED, graphIndexStatus());
+        for (int i = 0; i < VERTICES; i++) {
+            assertEquals(1, verticesNamed(name(i)));
+        }
+        // there is nothing left to do once enabled
+        assertEquals(0, (long) new IndexBackfillJob(graph, BY_NAME).call());
+    }
+
+    @Test
+    public void whenBackfillIsResumed_onlyTheRemainingTokenRangesAreScanned() throws ExecutionException, InterruptedException, IOException {
+        defineGraphIndex();
+        IndexBackfillJob job = new IndexBackfillJob(graph, BY_NAME);
+
+        // an interrupted run, which only finished the first token range
+        StandardJanusGraphTx scanTx = graph.buildTransaction().readOnly().start();
+        Map.Entry<String, Supplier<KeyIterator>> firstRange = job.partitions(scanTx).entrySet().iterator().next();
+        Set<Long> firstRangeVertexIds = new HashSet<>();
+        IDManager idManager = graph.getIDManager();
+        try (KeyIterator keys = firstRange.getValue().get()) {
+            while (keys.hasNext()) {
+                long vertexId = idManager.getKeyID(keys.next());
+                try (RecordIterator<Entry> entries = keys.getEntries()) {
+                    entries.forEachRemaining(entry -> {});
+                }
+                if (vertexIds.contains(vertexId)) firstRangeVertexIds.add(vertexId);
+            }
+        }
+        scanTx.rollback();
+        graph.getBackend().getIndexBackfillCheckpoints().set(job.checkpointPrefix() + firstRange.getKey(), (long) firstRangeVertexIds.size());
+
+        assertEquals(VERTICES - firstRangeVertexIds.size(), (long) job.call());
+
+        assertEquals(SchemaStatus.ENABLED, graphIndexStatus());
+        for (int i = 0; i < VERTICES; i++) {
+            // the vertices of the checkpointed range are not scanned again, as they would be indexed already
+            assertEquals(firstRangeVertexIds.contains(vertexIds.get(i)) ? 0 : 1, verticesNamed(name(i)));
+        }
+        assertFalse(graph.getBackend().getIndexBackfillCheckpoints().getKeys(job.checkpointPrefix()).iterator().hasNext());
+    }
+
+    @Test
+    public void whenVertexIsDeletedAfterItsScan_itsIndexEntriesAreRemoved() throws BackendException, ExecutionException, InterruptedException {
+        defineGraphIndex();
+        IndexBackfillJob job = new IndexBackfillJob(graph, BY_NAME);
+        long deletedVertexId = vertexIds.get(0);
+
+        StandardJanusGraphTx scanTx = graph.buildTransaction().readOnly().start();
+        SliceQuery properties = graph.getEdgeSerializer().getQuery(RelationCategory.PROPERTY, false);
+        EntryList scannedProperties = scanTx.getBackendTransaction().edgeStoreQuery(
+                new KeySliceQuery(graph.getIDManager().getKey(deletedVertexId), properties));
+        scanTx.rollback();
+
+        JanusGraphTransaction tx = graph.newTransaction();
+        tx.getVertex(deletedVertexId).remove();
+        tx.commit();
+
+        // the batch of the scanned vertex is written once the vertex has been deleted
+        assertEquals(1, job.write(Collections.singletonMap(deletedVertexId, scannedProperties)));
+        job.call();
+
+        assertEquals(SchemaStatus.ENABLED, graphIndexStatus());
+        assertEquals(0, verticesNamed(name(0)));
+        for (int i = 1; i < VERTICES; i++) {
+            assertEquals(1, verticesNamed(name(i)));
+        }
+    }
+
+    @Test
+    public void whenRelationIndexIsDefinedOverExistingData_backfillIndexesAllRelationsAndEnablesIt() throws ExecutionException, InterruptedException {
+        JanusGraphManagement management = graph.openManagement();
+        management.buildEdgeIndex(management.getEdgeLabel(LINK), BY_WEIGHT, Direction.BOTH, Order.decr, management.getPropertyKey(WEIGHT));
+        management.commit();
+        assertEquals(SchemaStatus.INSTALLED, relationIndexStatus());
+
+        assertEquals(VERTICES, (long) new IndexBackfillJob(graph, LINK, BY_WEIGHT).call());
+
+        assertEquals(SchemaStatus.ENABLED, relationIndexStatus());
+        StandardJanusGraphTx tx = graph.buildTransaction().readOnly().start();
+        InternalRelationType indexType = indexType(tx);
+        SliceQuery indexSlice = graph.getEdgeSerializer().getQuery(indexType, Direction.BOTH, new EdgeSerializer.TypedInterval[indexType.getSortKey().length]);
+        for (int i = 0; i < VERTICES; i++) {
+            // each vertex has an outgoing and an incoming link, both indexed
+            EntryList records = tx.getBackendTransaction().edgeStoreQuery(new KeySliceQuery(graph.getIDManager().getKey(vertexIds.get(i)), indexSlice));
+            assertEquals(2, records.size());
+            JanusGraphVertex vertex = tx.getVertex(vertexIds.get(i));
+            assertEquals(1, Iterables.size(vertex.query().labels(LINK).direction(Direction.OUT).has(WEIGHT, i % 10).edges()));
+        }
+        tx.rollback();
+    }
+
+    private void defineGraphIndex() {
+        JanusGraphManagement management = graph.openManagement();
+        management.buildIndex(BY_NAME, Vertex.class).addKey(management.getPropertyKey(NAME)).buildCompositeIndex();
+        management.commit();
+    }
+
+    private SchemaStatus graphIndexStatus() {
+        JanusGraphManagement management = graph.openManagement();
+        SchemaStatus status = management.getGraphIndex(BY_NAME).getIndexStatus(management.getPropertyKey(NAME));
+        management.rollback();
+        return status;
+    }
+
+    private SchemaStatus relationIndexStatus() {
+        JanusGraphManagement management = graph.openManagement();
+        EdgeLabel link = management.getEdgeLabel(LINK);
+        RelationTypeIndex index = management.getRelationIndex(link, BY_WEIGHT);
+        SchemaStatus status = index.getIndexStatus();
+        management.rollback();
+        return status;
+    }
+
+    private static InternalRelationType indexType(StandardJanusGraphTx tx) {
+        InternalRelationType link = (InternalRelationType) tx.getRelationType(LINK);
+        for (InternalRelationType indexType : link.getRelationIndexes()) {
+            if (!indexType.equals(link)) return indexType;
+        }
+        throw new IllegalStateException("Missing index of " + LINK);
+    }
+
+    private long verticesNamed(String name) {
+        JanusGraphTransaction tx = graph.newTransaction();
+        try {
+            return Iterables.size(tx.query().has(NAME, name).vertices());
+        } finally {
+            tx.rollback();
+        }
+    }
+
+    private static String name(int i) {
+        return "vertex-" + i;
+    }
+}
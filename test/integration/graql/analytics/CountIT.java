@@ -17,6 +17,7 @@
 
 package grakn.core.graql.analytics;
 
+import grakn.core.common.config.ConfigKey;
 import grakn.core.kb.concept.api.EntityType;
 import grakn.core.kb.server.Session;
 import grakn.core.kb.server.Transaction;
@@ -121,6 +122,33 @@ public class CountIT {
         assertEquals(3L, result.iterator().next().longValue());
     }
 
+    @Test
+    public void whenComputingCountWithAndWithoutSpark_resultsAreTheSame() {
+        Long defaultThreshold = server.serverConfig().getProperty(ConfigKey.IN_MEMORY_COMPUTE_THRESHOLD);
+        // threshold of 0 forces the computation onto Spark, the HadoopGraph picks it up when the keyspace is opened
+        server.serverConfig().setConfigProperty(ConfigKey.IN_MEMORY_COMPUTE_THRESHOLD, 0L);
+        try (Session sparkSession = server.sessionWithNewKeyspace()) {
+            server.serverConfig().setConfigProperty(ConfigKey.IN_MEMORY_COMPUTE_THRESHOLD, defaultThreshold);
+            for (Session s : new Session[]{session, sparkSession}) {
+                try (Transaction tx = s.transaction(Transaction.Type.WRITE)) {
+                    EntityType thingy = tx.putEntityType("thingy");
+                    thingy.create();
+                    thingy.create();
+                    tx.putEntityType("another").create();
+                    tx.commit();
+                }
+            }
+            for (Session s : new Session[]{session, sparkSession}) {
+                try (Transaction tx = s.transaction(Transaction.Type.READ)) {
+                    assertEquals(3, tx.execute(Graql.compute().count()).get(0).number().intValue());
+                    assertEquals(2, tx.execute(Graql.compute().count().in("thingy")).get(0).number().intValue());
+                }
+            }
+        } finally {
+            server.serverConfig().setConfigProperty(ConfigKey.IN_MEMORY_COMPUTE_THRESHOLD, defaultThreshold);
+        }
+    }
+
     private Long executeCount(Session session) {
         try (Transaction tx = session.transaction(Transaction.Type.READ)) {
             return tx.execute(Graql.compute().count()).get(0).number().longValue();
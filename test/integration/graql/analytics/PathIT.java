@@ -19,6 +19,7 @@ package grakn.core.graql.analytics;
 
 import com.google.common.collect.Lists;
 import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
 import grakn.core.concept.answer.ConceptList;
 import grakn.core.graql.reasoner.query.ReasonerQueryFactory;
 import grakn.core.kb.concept.api.Attribute;
@@ -158,6 +159,24 @@ public class PathIT {
         }
     }
 
+    @Test
+    public void whenPathSearchExceedsBudget_pathsAreComputedWithOLAP() {
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        mockServerConfig.setConfigProperty(ConfigKey.COMPUTE_PATH_SEARCH_BUDGET, 0L);
+        session.close();
+        session = SessionUtil.serverlessSessionWithNewKeyspace(mockServerConfig);
+        addSchemaAndEntities();
+
+        Set<List<ConceptId>> correctPaths = new HashSet<>();
+        correctPaths.add(Lists.newArrayList(entityId1, relationId12, entityId2, relationId24, entityId4));
+        correctPaths.add(Lists.newArrayList(entityId1, relationId13, entityId3, relationId34, entityId4));
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            List<ConceptList> allPaths = tx.execute(Graql.compute().path().from(entityId1.getValue()).to(entityId4.getValue()));
+            assertEquals(correctPaths, allPaths.stream().map(ConceptList::list).collect(Collectors.toSet()));
+            assertEquals(Collections.emptyList(), tx.execute(Graql.compute().path().from(entityId1.getValue()).to(entityId5.getValue())));
+        }
+    }
+
     @Test
     public void testShortestPathConcurrency() {
         List<ConceptId> correctPath;
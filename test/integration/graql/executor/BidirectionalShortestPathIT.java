@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.graql.executor;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import grakn.core.common.config.Config;
+import grakn.core.kb.concept.api.ConceptId;
+import grakn.core.kb.concept.api.Entity;
+import grakn.core.kb.concept.api.EntityType;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.RelationType;
+import grakn.core.kb.concept.api.Role;
+import grakn.core.kb.concept.api.Thing;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.test.rule.GraknTestStorage;
+import grakn.core.test.rule.SessionUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@SuppressWarnings("CheckReturnValue")
+public class BidirectionalShortestPathIT {
+
+    private static final int HUB_RELATIONS = 5;
+    private static final Set<Label> SCOPE = ImmutableSet.of(Label.of("node"), Label.of("link"));
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private Session session;
+    private ConceptId start;
+    private ConceptId middle;
+    private ConceptId end;
+    private ConceptId startToMiddle;
+    private ConceptId middleToEnd;
+
+    @Before
+    public void setUp() {
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        session = SessionUtil.serverlessSessionWithNewKeyspace(mockServerConfig);
+
+        // start - startToMiddle - middle - middleToEnd - end, with start also playing in a number of dead-end links
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            Role end1 = tx.putRole("end1");
+            Role end2 = tx.putRole("end2");
+            EntityType node = tx.putEntityType("node").plays(end1).plays(end2);
+            RelationType link = tx.putRelationType("link").relates(end1).relates(end2);
+
+            Entity startNode = node.create();
+            Entity middleNode = node.create();
+            Entity endNode = node.create();
+            start = startNode.id();
+            middle = middleNode.id();
+            end = endNode.id();
+            startToMiddle = link.create().assign(end1, startNode).assign(end2, middleNode).id();
+            middleToEnd = link.create().assign(end1, middleNode).assign(end2, endNode).id();
+            for (int i = 0; i < HUB_RELATIONS; i++) {
+                link.create().assign(end1, startNode);
+            }
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void whenSearchesMeetWithinBudget_shortestPathIsFound() {
+        long visitedThings = visitedThingsUntilSearchesMeet();
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            List<List<ConceptId>> paths = new BidirectionalShortestPath(SCOPE, false, visitedThings)
+                    .paths(thing(tx, start), thing(tx, end));
+            assertEquals(Collections.singletonList(Lists.newArrayList(start, startToMiddle, middle, middleToEnd, end)), paths);
+        }
+    }
+
+    @Test
+    public void whenBudgetRunsOutJustBeforeSearchesMeet_searchIsAbandoned() {
+        long visitedThings = visitedThingsUntilSearchesMeet();
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            assertNull(new BidirectionalShortestPath(SCOPE, false, visitedThings - 1).paths(thing(tx, start), thing(tx, end)));
+        }
+    }
+
+    @Test
+    public void whenBudgetRunsOutWithinLevel_searchIsAbandoned() {
+        // expanding the start node alone visits more things than the budget
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            assertNull(new BidirectionalShortestPath(SCOPE, false, 3).paths(thing(tx, start), thing(tx, end)));
+        }
+    }
+
+    @Test
+    public void whenThingsAreNotConnected_noPathIsFound() {
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            Thing isolated = tx.getEntityType("node").create();
+            assertEquals(Collections.emptyList(), new BidirectionalShortestPath(SCOPE, false, 100).paths(thing(tx, start), isolated));
+        }
+    }
+
+    /**
+     * The forward search visits the start and all of its links, the backward search the end, the middle and both
+     * links between them, the last of which is where the searches meet.
+     */
+    private static long visitedThingsUntilSearchesMeet() {
+        return (1 + 1 + HUB_RELATIONS) + 4;
+    }
+
+    private static Thing thing(Transaction tx, ConceptId id) {
+        return tx.<Thing>getConcept(id);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.executor;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.server.session.HadoopGraphFactory;
+import grakn.core.server.session.JanusGraphFactory;
+import grakn.core.server.session.SessionFactory;
+import grakn.core.server.util.LockManager;
+import grakn.core.test.rule.GraknTestServer;
+import graql.lang.Graql;
+import graql.lang.query.GraqlGet;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+
+public class DisjunctionExecutorIT {
+
+    // more answers than the workers can buffer ahead of the consumer
+    private static final int PERSONS = 1500;
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private static SessionFactory singleWorkerSessionFactory;
+    private static Session session;
+
+    @BeforeClass
+    public static void loadData() {
+        try (Session serverSession = server.sessionWithNewKeyspace()) {
+            try (Transaction tx = serverSession.transaction(Transaction.Type.WRITE)) {
+                tx.execute(Graql.parse("define person sub entity, has name; name sub attribute, value string;").asDefine());
+                for (int i = 0; i < PERSONS; i++) {
+                    tx.execute(Graql.parse("insert $x isa person, has name \"person-" + i + "\";").asInsert());
+                }
+                tx.commit();
+            }
+
+            Config config = Config.of(server.serverConfig().properties());
+            config.setConfigProperty(ConfigKey.DISJUNCTION_WORKERS, 1);
+            singleWorkerSessionFactory = new SessionFactory(new LockManager(), new JanusGraphFactory(config), new HadoopGraphFactory(config), config);
+            session = singleWorkerSessionFactory.session(serverSession.keyspace());
+        }
+    }
+
+    @AfterClass
+    public static void closeSession() {
+        session.close();
+        singleWorkerSessionFactory.close();
+    }
+
+    @Test(timeout = 120000)
+    public void whenIteratingTwoDisjunctionsOfOneTransactionWithASingleWorker_bothAreAnsweredInFull() {
+        GraqlGet query = Graql.parse("match {$x isa person;} or {$x has name $n;}; get $x;").asGet();
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            Iterator<ConceptMap> first = tx.stream(query).iterator();
+            first.next();
+            // the single worker is taken by the first disjunction, whose consumer doesn't keep up
+            Iterator<ConceptMap> second = tx.stream(query).iterator();
+
+            assertEquals(PERSONS, count(second));
+            assertEquals(PERSONS - 1, count(first));
+        }
+    }
+
+    private static int count(Iterator<ConceptMap> answers) {
+        int count = 0;
+        while (answers.hasNext()) {
+            answers.next();
+            count++;
+        }
+        return count;
+    }
+}
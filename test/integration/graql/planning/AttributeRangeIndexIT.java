@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.planning;
+
+import grakn.core.common.config.Config;
+import grakn.core.concept.impl.ConceptVertex;
+import grakn.core.core.Schema;
+import grakn.core.graql.planning.gremlin.fragment.InIsaRangeFragment;
+import grakn.core.kb.concept.api.Attribute;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.graql.planning.gremlin.Fragment;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.test.rule.GraknTestStorage;
+import grakn.core.test.rule.SessionUtil;
+import grakn.core.test.rule.TestTransactionProvider;
+import graql.lang.Graql;
+import graql.lang.pattern.Pattern;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static graql.lang.Graql.and;
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("CheckReturnValue")
+public class AttributeRangeIndexIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private static final int N = 100;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private Session session;
+
+    @Before
+    public void setUp() {
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        session = SessionUtil.serverlessSessionWithNewKeyspace(mockServerConfig);
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            AttributeType<Long> age = tx.putAttributeType("age", AttributeType.ValueType.LONG);
+            AttributeType<Double> score = tx.putAttributeType("score", AttributeType.ValueType.DOUBLE);
+            AttributeType<LocalDateTime> date = tx.putAttributeType("birth-date", AttributeType.ValueType.DATETIME);
+            for (int i = 0; i < N; i++) {
+                age.create((long) i);
+                score.create(i / 2.0);
+                date.create(EPOCH.plusDays(i));
+            }
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void whenComparingLongAttributesWithinRange_rangeIndexIsUsed() {
+        assertRangeLookup(and(var("x").isa("age"), var("x").gt(10), var("x").lte(20)), 10);
+        assertRangeLookup(and(var("x").isa("age"), var("x").gte(10.5)), N - 11);
+        assertRangeLookup(and(var("x").isa("age"), var("x").lt(N * 2)), N);
+    }
+
+    @Test
+    public void whenComparingDoubleAttributesWithinRange_rangeIndexIsUsed() {
+        assertRangeLookup(and(var("x").isa("score"), var("x").gte(10), var("x").lt(20.0)), 20);
+        assertRangeLookup(and(var("x").isa("score"), var("x").gt(0.25)), N - 1);
+    }
+
+    @Test
+    public void whenComparingDateAttributesWithinRange_rangeIndexIsUsed() {
+        assertRangeLookup(and(var("x").isa("birth-date"), var("x").gte(EPOCH.plusDays(N - 5))), 5);
+        assertRangeLookup(and(var("x").isa("birth-date"), var("x").gt(EPOCH), var("x").lt(EPOCH.plusDays(3))), 2);
+    }
+
+    @Test
+    public void whenComparingAttributeToEquality_rangeIndexIsNotUsed() {
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            Pattern pattern = and(var("x").isa("age"), var("x").val(10L));
+            assertTrue(fragments(tx, pattern).noneMatch(fragment -> fragment instanceof InIsaRangeFragment));
+        }
+    }
+
+    @Test
+    public void whenAttributesWereWrittenBeforeRangeIndex_theyAreIndexedInTheBackgroundWhenSessionIsOpened() throws InterruptedException {
+        // strip the sorted values and the keyspace marker, as in a keyspace written before the range index
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            List<Attribute<Long>> ages = tx.<Long>getAttributeType("age").instances().collect(Collectors.toList());
+            ages.forEach(age -> ConceptVertex.from(age).vertex().getEdgesOfType(Direction.OUT, Schema.EdgeLabel.ISA)
+                    .forEach(isaEdge -> isaEdge.element().property(Schema.EdgeProperty.SORTED_VALUE.name()).remove()));
+            ConceptVertex.from(tx.getMetaAttributeType()).vertex().element()
+                    .property(Schema.VertexProperty.SORTED_VALUES_INDEXED.name()).remove();
+            tx.commit();
+        }
+        String keyspace = session.keyspace().name();
+        session.close();
+
+        session = SessionUtil.serverlessSession(storage.createCompatibleServerConfig(), keyspace);
+        // the comparisons are answered in full while the isa edges are being migrated
+        Pattern range = and(var("x").isa("age"), var("x").gt(10), var("x").lte(20));
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            assertEquals(10, tx.execute(Graql.match(range).get()).size());
+        }
+
+        awaitRangeLookup(range);
+        assertRangeLookup(and(var("x").isa("age"), var("x").gt(10), var("x").lte(20)), 10);
+        assertRangeLookup(and(var("x").isa("age"), var("x").gte(10.5)), N - 11);
+    }
+
+    private void awaitRangeLookup(Pattern pattern) throws InterruptedException {
+        for (int attempt = 0; attempt < 600; attempt++) {
+            try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+                if (fragments(tx, pattern).anyMatch(fragment -> fragment instanceof InIsaRangeFragment)) return;
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private void assertRangeLookup(Pattern pattern, int expectedAnswers) {
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            assertTrue(fragments(tx, pattern).anyMatch(fragment -> fragment instanceof InIsaRangeFragment));
+            assertEquals(expectedAnswers, tx.execute(Graql.match(pattern).get()).size());
+        }
+    }
+
+    private static Stream<Fragment> fragments(Transaction tx, Pattern pattern) {
+        TestTransactionProvider.TestTransaction testTx = (TestTransactionProvider.TestTransaction) tx;
+        return testTx.traversalPlanFactory().createTraversal(pattern).fragments().stream()
+                .flatMap(fragments -> fragments.stream().map(Fragment.class::cast));
+    }
+}
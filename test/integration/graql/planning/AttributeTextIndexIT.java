@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.planning;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.planning.gremlin.fragment.InIsaTextFragment;
+import grakn.core.kb.concept.api.AttributeType;
+import grakn.core.kb.graql.planning.gremlin.Fragment;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.server.session.JanusGraphFactory;
+import grakn.core.test.rule.GraknTestStorage;
+import grakn.core.test.rule.SessionUtil;
+import grakn.core.test.rule.TestTransactionProvider;
+import graql.lang.Graql;
+import graql.lang.pattern.Pattern;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.stream.Stream;
+
+import static graql.lang.Graql.and;
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("CheckReturnValue")
+public class AttributeTextIndexIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private static final int N = 100;
+
+    private Session session;
+
+    @Before
+    public void setUp() {
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        mockServerConfig.setConfigProperty(ConfigKey.TEXT_INDEX, true);
+        session = SessionUtil.serverlessSessionWithNewKeyspace(mockServerConfig);
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            AttributeType<String> name = tx.putAttributeType("name", AttributeType.ValueType.STRING);
+            for (int i = 0; i < N; i++) {
+                name.create("name-" + i);
+            }
+            name.create("Alice");
+            name.create("alicia");
+            name.create("Malik");
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void whenComparingAttributesToContainedSubstring_textIndexIsUsed() {
+        assertTextLookup(and(var("x").isa("name"), var("x").contains("LIC")), 2);
+        assertTextLookup(and(var("x").isa("name"), var("x").contains("ali")), 3);
+        assertTextLookup(and(var("x").isa("name"), var("x").contains("name-1")), 11);
+        assertTextLookup(and(var("x").isa("name"), var("x").contains("xyz")), 0);
+    }
+
+    @Test
+    public void whenComparingAttributesToRegexWithLiteralPrefix_textIndexIsUsed() {
+        assertTextLookup(and(var("x").isa("name"), var("x").like("^ali.*")), 1);
+        assertTextLookup(and(var("x").isa("name"), var("x").like("name-9[0-9]")), 10);
+    }
+
+    @Test
+    public void whenSubstringIsTooShort_textIndexIsNotUsed() {
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            Pattern pattern = and(var("x").isa("name"), var("x").contains("al"));
+            assertTrue(fragments(tx, pattern).noneMatch(fragment -> fragment instanceof InIsaTextFragment));
+            assertEquals(3, tx.execute(Graql.match(pattern).get()).size());
+        }
+    }
+
+    @Test
+    public void whenTransactionHasUncommittedAttributes_theyAreFound() {
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            tx.getAttributeType("name").create("Alistair");
+            Pattern pattern = and(var("x").isa("name"), var("x").contains("ali"));
+            assertTrue(fragments(tx, pattern).anyMatch(fragment -> fragment instanceof InIsaTextFragment));
+            assertEquals(4, tx.execute(Graql.match(pattern).get()).size());
+        }
+    }
+
+    @Test
+    public void whenTextIndexIsTurnedOff_attributesAreScanned() {
+        String keyspace = session.keyspace().name();
+        session.close();
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        session = SessionUtil.serverlessSession(mockServerConfig, new JanusGraphFactory(mockServerConfig), keyspace, 250000);
+
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            tx.getAttributeType("name").create("Alistair");
+            tx.commit();
+        }
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            Pattern pattern = and(var("x").isa("name"), var("x").contains("ali"));
+            assertFalse(fragments(tx, pattern).anyMatch(fragment -> fragment instanceof InIsaTextFragment));
+            assertEquals(4, tx.execute(Graql.match(pattern).get()).size());
+        }
+    }
+
+    private void assertTextLookup(Pattern pattern, int expectedAnswers) {
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            assertTrue(fragments(tx, pattern).anyMatch(fragment -> fragment instanceof InIsaTextFragment));
+            assertEquals(expectedAnswers, tx.execute(Graql.match(pattern).get()).size());
+        }
+    }
+
+    private static Stream<Fragment> fragments(Transaction tx, Pattern pattern) {
+        TestTransactionProvider.TestTransaction testTx = (TestTransactionProvider.TestTransaction) tx;
+        return testTx.traversalPlanFactory().createTraversal(pattern).fragments().stream()
+                .flatMap(fragments -> fragments.stream().map(Fragment.class::cast));
+    }
+}
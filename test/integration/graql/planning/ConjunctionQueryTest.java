@@ -159,7 +159,7 @@ public class ConjunctionQueryTest {
 
         return feature(hasItem(contains(resourceIndexFragment)), "fragment sets", pattern -> {
             Conjunction<Statement> conjunction = pattern.getDisjunctiveNormalForm().getPatterns().iterator().next();
-            return new ConjunctionQuery(conjunction, conceptManager, new PropertyExecutorFactoryImpl()).getEquivalentFragmentSets();
+            return new ConjunctionQuery(conjunction, conceptManager, new PropertyExecutorFactoryImpl(), true, true).getEquivalentFragmentSets();
         });
     }
 }
\ No newline at end of file
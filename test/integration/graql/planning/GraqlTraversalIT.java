@@ -327,7 +327,7 @@ public class GraqlTraversalIT {
 
         ConceptManager conceptManager = ((TestTransactionProvider.TestTransaction)tx).conceptManager();
         List<Set<List<Fragment>>> collect = patterns.stream()
-                .map(conjunction -> new ConjunctionQuery(conjunction, conceptManager, new PropertyExecutorFactoryImpl()))
+                .map(conjunction -> new ConjunctionQuery(conjunction, conceptManager, new PropertyExecutorFactoryImpl(), true, true))
                 .map(ConjunctionQuery::allFragmentOrders)
                 .collect(toList());
 
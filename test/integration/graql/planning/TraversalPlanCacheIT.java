@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.planning;
+
+import grakn.core.common.config.Config;
+import grakn.core.kb.concept.api.EntityType;
+import grakn.core.kb.graql.planning.gremlin.Fragment;
+import grakn.core.kb.graql.planning.gremlin.GraqlTraversal;
+import grakn.core.kb.graql.planning.gremlin.TraversalPlanFactory;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.test.rule.GraknTestStorage;
+import grakn.core.test.rule.SessionUtil;
+import grakn.core.test.rule.TestTransactionProvider;
+import graql.lang.pattern.Pattern;
+import graql.lang.statement.Statement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static graql.lang.Graql.and;
+import static graql.lang.Graql.var;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("CheckReturnValue")
+public class TraversalPlanCacheIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    // the type of the statement is held by an anonymous variable, hence patterns need to share the statement to share the plan
+    private static final Statement PERSON = var("x").isa("person");
+
+    private Session session;
+
+    @Before
+    public void setUp() {
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        session = SessionUtil.serverlessSessionWithNewKeyspace(mockServerConfig);
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            tx.putEntityType("person").create();
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void whenPlanningPatternsDifferingOnlyInIds_planIsReusedWithSubstitutedIds() {
+        TraversalPlanCache cache = new TraversalPlanCache(100);
+
+        Set<String> firstPlan = planFragmentNames(cache, personWithId("V1"));
+        assertTrue(firstPlan.contains("[id:V1]"));
+
+        Set<String> secondPlan = planFragmentNames(cache, personWithId("V2"));
+        assertTrue(secondPlan.contains("[id:V2]"));
+        assertTrue(!secondPlan.contains("[id:V1]"));
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.plansComputed());
+    }
+
+    @Test
+    public void whenInstanceCountsDrift_planIsRecomputed() {
+        TraversalPlanCache cache = new TraversalPlanCache(100);
+        Pattern pattern = and(var("x").isa("person"), var("y").isa("person"));
+        planFragmentNames(cache, pattern);
+        planFragmentNames(cache, pattern);
+        assertEquals(1, cache.hitCount());
+
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            EntityType person = tx.getEntityType("person");
+            for (int i = 0; i < 10; i++) person.create();
+            tx.commit();
+        }
+
+        planFragmentNames(cache, pattern);
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(1, cache.invalidationCount());
+    }
+
+    @Test
+    public void whenSchemaCommitAcknowledged_allPlansAreDiscarded() {
+        TraversalPlanCache cache = new TraversalPlanCache(100);
+        planFragmentNames(cache, personWithId("V1"));
+        planFragmentNames(cache, and(PERSON));
+        assertEquals(2, cache.size());
+
+        cache.beginSchemaCommit();
+        assertEquals(0, cache.size());
+        cache.ackSchemaCommit();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void whenTransactionWasOpenedBeforeSchemaCommit_itNeitherReusesNorPublishesPlans() {
+        TraversalPlanCache cache = new TraversalPlanCache(100);
+        Pattern pattern = and(PERSON);
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            TraversalPlanFactory staleFactory = traversalPlanFactory(tx, cache);
+            cache.beginSchemaCommit();
+            cache.ackSchemaCommit();
+            TraversalPlanFactory currentFactory = traversalPlanFactory(tx, cache);
+
+            // a plan published at the new version is not visible to a factory opened at the previous one
+            planFragmentNames(currentFactory, pattern);
+            assertEquals(1, cache.size());
+            planFragmentNames(staleFactory, pattern);
+            assertEquals(0, cache.hitCount());
+            assertEquals(2, cache.missCount());
+
+            // and a plan computed at the previous version is not published
+            cache.beginSchemaCommit();
+            cache.ackSchemaCommit();
+            planFragmentNames(staleFactory, pattern);
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    public void whenTransactionIsOpenedDuringSchemaCommit_itNeitherReusesNorPublishesPlans() {
+        TraversalPlanCache cache = new TraversalPlanCache(100);
+        Pattern pattern = and(PERSON);
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            cache.beginSchemaCommit();
+            TraversalPlanFactory committingFactory = traversalPlanFactory(tx, cache);
+            planFragmentNames(committingFactory, pattern);
+            planFragmentNames(committingFactory, pattern);
+            cache.ackSchemaCommit();
+
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.hitCount());
+            assertEquals(2, cache.plansComputed());
+        }
+    }
+
+    @Test
+    public void whenSchemaIsModifiedInTransaction_planCacheIsBypassed() {
+        TraversalPlanCache cache = new TraversalPlanCache(100);
+        Pattern pattern = and(PERSON);
+        planFragmentNames(cache, pattern);
+        assertEquals(1, cache.size());
+
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            tx.putEntityType("animal");
+            TraversalPlanFactory traversalPlanFactory = traversalPlanFactory(tx, cache);
+            planFragmentNames(traversalPlanFactory, pattern);
+            planFragmentNames(traversalPlanFactory, and(var("x").isa("animal")));
+        }
+        assertEquals(0, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.plansComputed());
+    }
+
+    private static Pattern personWithId(String id) {
+        return and(var("x").id(id), PERSON);
+    }
+
+    private Set<String> planFragmentNames(TraversalPlanCache cache, Pattern pattern) {
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            return planFragmentNames(traversalPlanFactory(tx, cache), pattern);
+        }
+    }
+
+    private static TraversalPlanFactory traversalPlanFactory(Transaction tx, TraversalPlanCache cache) {
+        TestTransactionProvider.TestTransaction testTx = (TestTransactionProvider.TestTransaction) tx;
+        return new TraversalPlanFactoryImpl(
+                testTx.janusTraversalSourceProvider(),
+                testTx.conceptManager(),
+                testTx.propertyExecutorFactory(),
+                testTx.shardingThreshold(),
+                testTx.session().keyspaceStatistics(),
+                cache,
+                testTx.cache()
+        );
+    }
+
+    private static Set<String> planFragmentNames(TraversalPlanFactory traversalPlanFactory, Pattern pattern) {
+        GraqlTraversal traversal = traversalPlanFactory.createTraversal(pattern);
+        return traversal.fragments().stream()
+                .flatMap(fragments -> fragments.stream().map(Fragment::name))
+                .collect(toSet());
+    }
+}
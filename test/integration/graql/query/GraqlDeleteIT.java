@@ -35,6 +35,8 @@ import org.junit.rules.ExpectedException;
 
 import static graql.lang.Graql.type;
 import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings({"OptionalGetWithoutIsPresent", "Duplicates"})
 public class GraqlDeleteIT {
@@ -83,6 +85,26 @@ public class GraqlDeleteIT {
         session.close();
     }
 
+    @Test
+    public void whenAnswersShareAConcept_deletingItInOneAnswerDoesNotSkipTheOthers() {
+        Statement anyPerson = var("p").isa("person");
+        int persons = tx.execute(Graql.match(anyPerson).get()).size();
+        tx.execute(Graql.insert(
+                var("n").isa("name").val("Shared Name"),
+                var("p1").isa("person").has("name", var("n")),
+                var("p2").isa("person").has("name", var("n"))));
+
+        Statement person = var("p").isa("person").has("name", var("n"));
+        Statement sharedName = var("n").val("Shared Name");
+        assertEquals(2, tx.execute(Graql.match(person, sharedName).get()).size());
+
+        // the first answer deletes the shared name, the second one must still delete its person
+        tx.execute(Graql.match(person, sharedName).delete(var("p").isa("person"), var("n").isa("name")));
+
+        assertTrue(tx.execute(Graql.match(var("n").isa("name").val("Shared Name")).get()).isEmpty());
+        assertEquals(persons, tx.execute(Graql.match(anyPerson).get()).size());
+    }
+
     @Test(expected = Exception.class)
     public void whenDeleteIsPassedNull_Throw() {
         tx.execute(Graql.match(var()).delete((Statement) null));
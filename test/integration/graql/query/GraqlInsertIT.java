@@ -52,6 +52,7 @@ import static graql.lang.Graql.type;
 import static graql.lang.Graql.var;
 import static graql.lang.exception.ErrorMessage.NO_PATTERNS;
 import static org.hamcrest.Matchers.isOneOf;
+import static org.junit.Assert.assertEquals;
 
 @SuppressWarnings({"OptionalGetWithoutIsPresent", "Duplicates"})
 public class GraqlInsertIT {
@@ -110,6 +111,33 @@ public class GraqlInsertIT {
         assertExists(tx, var("x").isa("language").has("name", "456").has("name", "HELLO"));
     }
 
+    @Test
+    public void whenMatchInsertingInstancesOfMatchedType_insertOncePerMatchedAnswer() {
+        Statement language = var("x").isa("language");
+        int languages = tx.execute(Graql.match(language).get().count()).get(0).number().intValue();
+
+        GraqlInsert query = Graql.match(language).insert(var("y").isa("language").has("name", "copy"));
+        List<ConceptMap> inserted = tx.execute(query);
+
+        assertEquals(languages, inserted.size());
+        assertEquals(2 * languages, tx.execute(Graql.match(language).get().count()).get(0).number().intValue());
+    }
+
+    @Test
+    public void whenMatchInsertingARelationPerMatchedAnswer_eachAnswerGetsItsOwnRelation() {
+        Statement movie = var("x").isa("movie");
+        Statement crime = var("g").isa("genre").has("name", "crime");
+        Statement crimeGenre = var("r").rel("genre-of-production", var("g")).rel("production-with-genre", var("x")).isa("has-genre");
+        int movies = tx.execute(Graql.match(movie).get().count()).get(0).number().intValue();
+        int crimeGenres = tx.execute(Graql.match(movie, crime, crimeGenre).get().count()).get(0).number().intValue();
+
+        List<ConceptMap> inserted = tx.execute(Graql.match(movie, crime).insert(crimeGenre));
+
+        assertEquals(movies, inserted.size());
+        assertEquals(movies, inserted.stream().map(answer -> answer.get("r")).distinct().count());
+        assertEquals(crimeGenres + movies, tx.execute(Graql.match(movie, crime, crimeGenre).get().count()).get(0).number().intValue());
+    }
+
     @Test
     public void whenInsertingAResourceWithMultipleValues_Throw() {
         Statement varPattern = var().val("123").val("456").isa("title");
@@ -236,6 +236,25 @@ public class PatternIT {
         assertTrue(conj.size() > 1);
     }
 
+    @Test
+    public void whenEvaluatingDisjunctionInReadTx_answersAreTheSameAsInWriteTx() {
+        Pattern pattern = and(
+                var("x").isa("movie"),
+                or(and(var("y").isa("genre").has("name", "crime"), not(var("x").has("title", "Godfather"))),
+                        var("y").isa("person").has("name", "Marlon Brando")),
+                var().rel(var("x")).rel(var("y")));
+        Set<Concept> writeAnswers = tx.stream(Graql.match(pattern).get("x"))
+                .map(ans -> ans.get("x")).collect(Collectors.toSet());
+        assertFalse(writeAnswers.isEmpty());
+        tx.close();
+
+        // read transactions evaluate the disjuncts concurrently, each in its own transaction
+        tx = session.transaction(Transaction.Type.READ);
+        List<ConceptMap> readAnswers = tx.execute(Graql.match(pattern).get("x"));
+        assertEquals(writeAnswers.size(), readAnswers.size());
+        assertEquals(writeAnswers, readAnswers.stream().map(ans -> ans.get("x")).collect(Collectors.toSet()));
+    }
+
     @Test
     public void whenDisjunctionPassedNull_Throw() {
         exception.expect(Exception.class);
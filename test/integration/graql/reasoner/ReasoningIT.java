@@ -31,6 +31,11 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -136,4 +141,50 @@ public class ReasoningIT {
             }
         }
     }
+
+    @Test //rules are compiled once per keyspace, hence the compiled rules need to follow rule redefinitions
+    public void whenRuleIsRedefined_newTransactionsInferWithTheNewRule() throws ExecutionException, InterruptedException {
+        try (Session session = server.sessionWithNewKeyspace()) {
+            try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+                tx.execute(Graql.parse("define " +
+                        "name sub attribute, value string;" +
+                        "person sub entity, has name;" +
+                        "naming-rule sub rule, when { $p isa person; }, then { $p has name 'Alice'; };").asDefine());
+                tx.execute(Graql.parse("insert $p isa person;").asInsert());
+                tx.commit();
+            }
+            try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+                assertEquals(1, tx.execute(Graql.parse("match $p has name 'Alice'; get;").asGet()).size());
+            }
+
+            // transactions opened while the rule is redefined compile the rule, which mustn't be reused afterwards
+            AtomicBoolean redefined = new AtomicBoolean(false);
+            ExecutorService reader = Executors.newSingleThreadExecutor();
+            Future<?> reads = reader.submit(() -> {
+                while (!redefined.get()) {
+                    try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+                        tx.execute(Graql.parse("match $p has name $n; get;").asGet());
+                    }
+                }
+            });
+
+            try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+                tx.execute(Graql.parse("undefine naming-rule sub rule;").asUndefine());
+                tx.commit();
+            }
+            try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+                tx.execute(Graql.parse("define " +
+                        "naming-rule sub rule, when { $p isa person; }, then { $p has name 'Bob'; };").asDefine());
+                tx.commit();
+            }
+            redefined.set(true);
+            reads.get();
+            reader.shutdown();
+
+            try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+                assertTrue(tx.execute(Graql.parse("match $p has name 'Alice'; get;").asGet()).isEmpty());
+                assertEquals(1, tx.execute(Graql.parse("match $p has name 'Bob'; get;").asGet()).size());
+            }
+        }
+    }
 }
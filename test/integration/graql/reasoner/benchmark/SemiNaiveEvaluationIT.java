@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.reasoner.benchmark;
+
+import grakn.core.common.config.Config;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graql.reasoner.cache.RuleApplicationTracker;
+import grakn.core.graql.reasoner.graph.LinearTransitivityMatrixGraph;
+import grakn.core.graql.reasoner.graph.TransitivityChainGraph;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.test.rule.GraknTestStorage;
+import grakn.core.test.rule.SessionUtil;
+import grakn.core.test.rule.TestTransactionProvider;
+import graql.lang.Graql;
+import graql.lang.query.GraqlGet;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings({"CheckReturnValue", "Duplicates"})
+public class SemiNaiveEvaluationIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    /**
+     * Linear transitivity over a N x N grid of Q edges, with the recursive relation derived from the data via
+     * a non-recursive rule:
+     *
+     * P(x, y) := Q(x, y);
+     * P(x, y) := Q(x, z), P(z, y);
+     *
+     * Only the recursive rule derives new answers past the first iteration, hence applications of the
+     * non-recursive rule are skipped in subsequent iterations when the rule application tracker is enabled.
+     */
+    @Test
+    public void linearTransitivityOverDerivedRelation_ruleApplicationsWithUnchangedBodiesAreSkipped() {
+        final int N = 15;
+        // every grid point reaches the points below and to the right of it, and the entry point reaches all of them
+        final int pairs = (N + 1) * N / 2;
+        final int answers = pairs * pairs;
+        System.out.println(new Object(){}.getClass().getEnclosingMethod().getName());
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        try (Session session = SessionUtil.serverlessSessionWithNewKeyspace(mockServerConfig)) {
+            new LinearTransitivityMatrixGraph(session).load(N, N);
+            GraqlGet query = Graql.parse("match (P-from: $x, P-to: $y) isa P; get;").asGet();
+
+            long naiveSkipped = evaluate(session, query, answers, false);
+            long semiNaiveSkipped = evaluate(session, query, answers, true);
+            assertEquals(0, naiveSkipped);
+            assertTrue(semiNaiveSkipped > 0);
+        }
+    }
+
+    /**
+     * Transitive closure over a chain of N Q edges, where the single recursive rule derives the relation it reads:
+     *
+     * Q(x, y) := Q(x, z), Q(z, y);
+     *
+     * The answers are the same whether rule applications with unchanged bodies are skipped or not.
+     */
+    @Test
+    public void transitiveClosureOverChain_answersAreUnchangedBySkippingRuleApplications() {
+        final int N = 100;
+        final int answers = (N + 1) * N / 2;
+        System.out.println(new Object(){}.getClass().getEnclosingMethod().getName());
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        try (Session session = SessionUtil.serverlessSessionWithNewKeyspace(mockServerConfig)) {
+            new TransitivityChainGraph(session).load(N);
+            GraqlGet query = Graql.parse("match (Q-from: $x, Q-to: $y) isa Q; get;").asGet();
+
+            assertEquals(0, evaluate(session, query, answers, false));
+            evaluate(session, query, answers, true);
+        }
+    }
+
+    /**
+     * @return number of rule applications skipped while answering the query
+     */
+    private long evaluate(Session session, GraqlGet query, int expectedAnswers, boolean semiNaive) {
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            RuleApplicationTracker tracker = ((TestTransactionProvider.TestTransaction) tx).queryCache().ruleApplicationTracker();
+            tracker.setEnabled(semiNaive);
+            assertEquals(expectedAnswers, executeQuery(query, tx, semiNaive ? "semi-naive" : "naive").size());
+            System.out.println("skipped rule applications: " + tracker.skippedApplications());
+            return tracker.skippedApplications();
+        }
+    }
+
+    private List<ConceptMap> executeQuery(GraqlGet query, Transaction transaction, String msg){
+        final long startTime = System.currentTimeMillis();
+        List<ConceptMap> results = transaction.execute(query);
+        final long answerTime = System.currentTimeMillis() - startTime;
+        System.out.println(msg + " results = " + results.size() + " answerTime: " + answerTime);
+        return results;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graql.reasoner.cache;
+
+import grakn.core.common.config.Config;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graql.reasoner.query.ReasonerAtomicQuery;
+import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.test.rule.GraknTestStorage;
+import grakn.core.test.rule.SessionUtil;
+import grakn.core.test.rule.TestTransactionProvider;
+import graql.lang.Graql;
+import graql.lang.pattern.Conjunction;
+import graql.lang.statement.Statement;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import static grakn.core.test.common.GraqlTestUtil.loadFromFileAndCommit;
+import static java.util.stream.Collectors.toSet;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
+
+@SuppressWarnings("CheckReturnValue")
+public class KeyspaceQueryCacheIT {
+
+    @ClassRule
+    public static final GraknTestStorage storage = new GraknTestStorage();
+
+    private static Session genericSchemaSession;
+
+    @BeforeClass
+    public static void loadContext() {
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        genericSchemaSession = SessionUtil.serverlessSessionWithNewKeyspace(mockServerConfig);
+        String resourcePath = "test/integration/graql/reasoner/resources/";
+        loadFromFileAndCommit(resourcePath, "genericSchemaRefactored.gql", genericSchemaSession);
+    }
+
+    @AfterClass
+    public static void closeSession() {
+        genericSchemaSession.close();
+    }
+
+    @Test
+    public void whenAnswersRecorded_theyAreRehydratedInOtherTransactions(){
+        KeyspaceQueryCache cache = new KeyspaceQueryCache(1000);
+        String pattern = "(role: $x, role: $y) isa ternary;";
+        Set<ConceptMap> answers = recordAnswers(cache, pattern);
+
+        try(Transaction tx = genericSchemaSession.transaction(Transaction.Type.READ)) {
+            TestTransactionProvider.TestTransaction testTx = ((TestTransactionProvider.TestTransaction)tx);
+            ReasonerAtomicQuery query = testTx.reasonerQueryFactory().atomic(conjunction(pattern));
+            Set<ConceptMap> cachedAnswers = cache.getAnswers(query);
+            assertNotNull(cachedAnswers);
+            assertEquals(answers, cachedAnswers);
+            assertEquals(1, cache.hitCount());
+        }
+    }
+
+    @Test
+    public void whenRecordingWithStaleVersion_answersAreNotCached(){
+        KeyspaceQueryCache cache = new KeyspaceQueryCache(1000);
+        String pattern = "(role: $x, role: $y) isa ternary;";
+        long staleVersion = cache.version();
+        cache.ackCommit(Collections.emptySet());
+
+        try(Transaction tx = genericSchemaSession.transaction(Transaction.Type.READ)) {
+            TestTransactionProvider.TestTransaction testTx = ((TestTransactionProvider.TestTransaction)tx);
+            ReasonerAtomicQuery query = testTx.reasonerQueryFactory().atomic(conjunction(pattern));
+            cache.record(staleVersion, query, tx.execute(query.getQuery()));
+            assertNull(cache.getAnswers(query));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    public void whenCommitModifiesRelevantType_entryIsEvicted(){
+        KeyspaceQueryCache cache = new KeyspaceQueryCache(1000);
+        recordAnswers(cache, "(role: $x, role: $y) isa ternary;");
+        assertEquals(1, cache.size());
+
+        cache.ackCommit(Collections.singleton(Label.of("resource")));
+        assertEquals(1, cache.size());
+
+        cache.ackCommit(Collections.singleton(Label.of("ternary")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void whenCommitIsInvalidating_allEntriesAreEvicted(){
+        KeyspaceQueryCache cache = new KeyspaceQueryCache(1000);
+        recordAnswers(cache, "(role: $x, role: $y) isa ternary;");
+        recordAnswers(cache, "$x isa resource;");
+        assertEquals(2, cache.size());
+
+        cache.ackInvalidatingCommit();
+        assertEquals(0, cache.size());
+    }
+
+    private Set<ConceptMap> recordAnswers(KeyspaceQueryCache cache, String pattern){
+        try(Transaction tx = genericSchemaSession.transaction(Transaction.Type.READ)) {
+            TestTransactionProvider.TestTransaction testTx = ((TestTransactionProvider.TestTransaction)tx);
+            ReasonerAtomicQuery query = testTx.reasonerQueryFactory().atomic(conjunction(pattern));
+            Set<ConceptMap> answers = tx.stream(query.getQuery(), false).collect(toSet());
+            cache.record(cache.version(), query, answers);
+            return answers;
+        }
+    }
+
+    private Conjunction<Statement> conjunction(String patternString){
+        Set<Statement> vars = Graql.parsePattern(patternString)
+                .getDisjunctiveNormalForm().getPatterns()
+                .stream().flatMap(p -> p.getPatterns().stream()).collect(toSet());
+        return Graql.and(vars);
+    }
+}
@@ -18,6 +18,7 @@
 
 package grakn.core.graql.reasoner.cache;
 
+import grakn.core.graql.reasoner.rule.InferenceRule;
 import grakn.core.kb.concept.api.AttributeType;
 import grakn.core.kb.concept.api.Concept;
 import grakn.core.kb.concept.api.EntityType;
@@ -46,6 +47,8 @@ import static java.util.stream.Collectors.toSet;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
 import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
 
 @SuppressWarnings("CheckReturnValue")
 public class RuleCacheIT {
@@ -137,6 +140,39 @@ public class RuleCacheIT {
         }
     }
 
+    @Test
+    public void whenCompilingRulesInDifferentTransactions_compiledPatternsAreShared(){
+        KeyspaceRuleCache keyspaceCache = new KeyspaceRuleCache(100);
+        long version = keyspaceCache.version();
+        KeyspaceRuleCache.CompiledRule compiled;
+        try(Transaction tx = session.transaction(Transaction.Type.READ)) {
+            compiled = keyspaceCache.rule(tx.getRule("transitivityRule"), version);
+        }
+        try(Transaction tx = session.transaction(Transaction.Type.READ)) {
+            Rule rule = tx.getRule("transitivityRule");
+            assertSame(compiled, keyspaceCache.rule(rule, version));
+            assertEquals(InferenceRule.body(rule), compiled.body());
+            assertEquals(InferenceRule.head(rule), compiled.head());
+        }
+    }
+
+    @Test
+    public void whenSchemaCommitIsAcknowledged_staleCompiledRulesAreNotShared(){
+        KeyspaceRuleCache keyspaceCache = new KeyspaceRuleCache(100);
+        long staleVersion = keyspaceCache.version();
+        try(Transaction tx = session.transaction(Transaction.Type.READ)) {
+            keyspaceCache.rule(tx.getRule("transitivityRule"), staleVersion);
+            assertEquals(1, keyspaceCache.size());
+
+            keyspaceCache.ackSchemaCommit();
+            assertEquals(0, keyspaceCache.size());
+
+            Rule rule = tx.getRule("fruitfulRule");
+            assertNotSame(keyspaceCache.rule(rule, staleVersion), keyspaceCache.rule(rule, staleVersion));
+            assertEquals(0, keyspaceCache.size());
+        }
+    }
+
     @Test
     public void whenAddingARule_cacheContainsUpdatedEntry(){
         try(Transaction tx = session.transaction(Transaction.Type.WRITE)) {
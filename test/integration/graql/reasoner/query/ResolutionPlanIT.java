@@ -28,7 +28,11 @@ import grakn.core.graql.reasoner.atom.predicate.IdPredicate;
 import grakn.core.graql.reasoner.plan.ResolutionPlan;
 import grakn.core.graql.reasoner.plan.ResolutionQueryPlan;
 import grakn.core.kb.concept.api.Concept;
+import grakn.core.kb.concept.api.Entity;
+import grakn.core.kb.concept.api.EntityType;
 import grakn.core.kb.concept.api.Label;
+import grakn.core.kb.concept.api.RelationType;
+import grakn.core.kb.concept.api.Role;
 import grakn.core.kb.graql.planning.gremlin.TraversalPlanFactory;
 import grakn.core.kb.graql.reasoner.query.ReasonerQuery;
 import grakn.core.kb.keyspace.KeyspaceStatistics;
@@ -703,6 +707,49 @@ public class ResolutionPlanIT {
         );
     }
 
+    @Test
+    public void whenJoiningLargeIndependentlyResolvableQueries_hashJoinIsPickedAndAnswersAreComplete(){
+        final int N = 1100;
+        Config mockServerConfig = storage.createCompatibleServerConfig();
+        try (Session session = SessionUtil.serverlessSessionWithNewKeyspace(mockServerConfig)) {
+            try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+                tx.execute(Graql.parse("define " +
+                        "node sub entity, plays source, plays target;" +
+                        "edge sub relation, relates source, relates target;" +
+                        "link sub relation, relates source, relates target;" +
+                        "link-rule sub rule, " +
+                        "when { (source: $x, target: $y) isa edge; }, " +
+                        "then { (source: $x, target: $y) isa link; };"
+                ).asDefine());
+
+                EntityType node = tx.getEntityType("node");
+                RelationType edge = tx.getRelationType("edge");
+                Role source = tx.getRole("source");
+                Role target = tx.getRole("target");
+                Entity previous = node.create();
+                for (int i = 0; i < N; i++) {
+                    Entity next = node.create();
+                    edge.create().assign(source, previous).assign(target, next);
+                    previous = next;
+                }
+                tx.commit();
+            }
+
+            String patternString = "{" +
+                    "(source: $x, target: $y) isa edge;" +
+                    "(source: $y, target: $z) isa link;" +
+                    "};";
+            try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+                TestTransactionProvider.TestTransaction testTx = ((TestTransactionProvider.TestTransaction) tx);
+                ReasonerQueryImpl query = testTx.reasonerQueryFactory().create(conjunction(patternString));
+                ResolutionQueryPlan plan = new ResolutionQueryPlan(testTx.reasonerQueryFactory(), query);
+                assertEquals(ResolutionQueryPlan.JoinStrategy.HASH, plan.joinStrategy());
+
+                assertEquals(N - 1, tx.execute(Graql.parse("match " + patternString + " get;").asGet()).size());
+            }
+        }
+    }
+
     private Atom getAtomWithVariables(ReasonerQuery query, Set<Variable> vars){
         return query.getAtoms(Atom.class).filter(at -> at.getVarNames().containsAll(vars)).findFirst().orElse(null);
     }
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.server;
+
+import grakn.core.kb.concept.api.Thing;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.test.rule.GraknTestServer;
+import grakn.protocol.session.ConceptProto;
+import grakn.protocol.session.SessionProto;
+import grakn.protocol.session.SessionServiceGrpc;
+import graql.lang.Graql;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sends bulk concept method requests straight through the gRPC service, checking that the responses of each concept
+ * and method come back in the order of the concept ids and of the methods.
+ */
+public class BulkConceptMethodIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer(
+            Paths.get("server/conf/grakn.properties"),
+            Paths.get("test/resources/cassandra-embedded.yaml")
+    );
+
+    private static Session localSession;
+    // ids of the persons, each mapped to the ids of its names
+    private static final Map<String, Set<String>> personNames = new HashMap<>();
+    private static String personTypeId;
+
+    private ManagedChannel channel;
+    private String sessionId;
+    private StreamObserver<SessionProto.Transaction.Req> requests;
+    private final BlockingQueue<Object> responses = new LinkedBlockingQueue<>();
+
+    @BeforeClass
+    public static void loadData() {
+        localSession = server.sessionWithNewKeyspace();
+        try (Transaction tx = localSession.transaction(Transaction.Type.WRITE)) {
+            tx.execute(Graql.parse("define person sub entity, has name; name sub attribute, value string;").asDefine());
+            for (int i = 0; i < 5; i++) {
+                tx.execute(Graql.parse("insert $x isa person, has name \"first-" + i + "\", has name \"second-" + i + "\";").asInsert());
+            }
+            tx.commit();
+        }
+        try (Transaction tx = localSession.transaction(Transaction.Type.READ)) {
+            personTypeId = tx.getEntityType("person").id().getValue();
+            tx.getEntityType("person").instances().forEach(person -> personNames.put(person.id().getValue(), names(person)));
+        }
+    }
+
+    @AfterClass
+    public static void closeSession() {
+        localSession.close();
+    }
+
+    @Before
+    public void openTransaction() throws InterruptedException {
+        channel = ManagedChannelBuilder.forTarget(server.grpcUri()).usePlaintext().build();
+        sessionId = SessionServiceGrpc.newBlockingStub(channel).open(SessionProto.Session.Open.Req.newBuilder()
+                .setKeyspace(localSession.keyspace().name()).build()).getSessionId();
+        requests = SessionServiceGrpc.newStub(channel).transaction(new StreamObserver<SessionProto.Transaction.Res>() {
+            @Override
+            public void onNext(SessionProto.Transaction.Res response) {
+                responses.add(response);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                responses.add(error);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        requests.onNext(SessionProto.Transaction.Req.newBuilder()
+                .setOpenReq(SessionProto.Transaction.Open.Req.newBuilder()
+                        .setSessionId(sessionId)
+                        .setType(SessionProto.Transaction.Type.READ)).build());
+        assertTrue(nextResponse().hasOpenRes());
+    }
+
+    @After
+    public void closeTransaction() {
+        requests.onCompleted();
+        SessionServiceGrpc.newBlockingStub(channel).close(SessionProto.Session.Close.Req.newBuilder().setSessionId(sessionId).build());
+        channel.shutdownNow();
+    }
+
+    @Test
+    public void whenApplyingManyMethodsToManyConcepts_oneResponseIsSentPerConceptAndMethodInOrder() throws InterruptedException {
+        List<String> conceptIds = new ArrayList<>(personNames.keySet());
+        ConceptProto.Method.Req isInferred = ConceptProto.Method.Req.newBuilder()
+                .setThingIsInferredReq(ConceptProto.Thing.IsInferred.Req.getDefaultInstance()).build();
+        requests.onNext(SessionProto.Transaction.Req.newBuilder()
+                .putMetadata("conceptIds", String.join(",", conceptIds))
+                .putMetadata("conceptMethods", Base64.getEncoder().encodeToString(isInferred.toByteArray()))
+                .setConceptMethodReq(SessionProto.Transaction.ConceptMethod.Req.newBuilder()
+                        .setMethod(ConceptProto.Method.Req.newBuilder()
+                                .setThingTypeReq(ConceptProto.Thing.Type.Req.getDefaultInstance()))).build());
+
+        for (int i = 0; i < conceptIds.size(); i++) {
+            assertEquals(personTypeId, nextResponse().getConceptMethodRes().getResponse().getThingTypeRes().getType().getId());
+            assertFalse(nextResponse().getConceptMethodRes().getResponse().getThingIsInferredRes().getInferred());
+        }
+    }
+
+    @Test
+    public void whenIteratingManyMethodsOfManyConcepts_theResponsesOfEachConceptAndMethodAreDelimited() throws InterruptedException {
+        List<String> conceptIds = new ArrayList<>(personNames.keySet());
+        ConceptProto.Method.Iter.Req keys = ConceptProto.Method.Iter.Req.newBuilder()
+                .setThingKeysIterReq(ConceptProto.Thing.Keys.Iter.Req.getDefaultInstance()).build();
+        requests.onNext(SessionProto.Transaction.Req.newBuilder()
+                .putMetadata("conceptIds", String.join(",", conceptIds))
+                .putMetadata("conceptMethods", Base64.getEncoder().encodeToString(keys.toByteArray()))
+                .setIterReq(SessionProto.Transaction.Iter.Req.newBuilder()
+                        .setOptions(SessionProto.Transaction.Iter.Req.Options.newBuilder().setAll(true))
+                        .setConceptMethodIterReq(SessionProto.Transaction.ConceptMethod.Iter.Req.newBuilder()
+                                .setMethod(ConceptProto.Method.Iter.Req.newBuilder()
+                                        .setThingAttributesIterReq(ConceptProto.Thing.Attributes.Iter.Req.getDefaultInstance())))).build());
+
+        // all the responses go through a single iterator, an empty response ends those of each concept and method
+        List<Set<String>> attributes = new ArrayList<>();
+        Set<String> methodAttributes = new HashSet<>();
+        SessionProto.Transaction.Iter.Res response;
+        while (!(response = nextResponse().getIterRes()).getDone()) {
+            ConceptProto.Method.Iter.Res attribute = response.getConceptMethodIterRes().getResponse();
+            if (attribute.equals(ConceptProto.Method.Iter.Res.getDefaultInstance())) {
+                attributes.add(methodAttributes);
+                methodAttributes = new HashSet<>();
+            } else {
+                methodAttributes.add(attribute.hasThingAttributesIterRes() ?
+                        attribute.getThingAttributesIterRes().getAttribute().getId() :
+                        attribute.getThingKeysIterRes().getAttribute().getId());
+            }
+        }
+
+        List<Set<String>> expected = new ArrayList<>();
+        for (String conceptId : conceptIds) {
+            expected.add(personNames.get(conceptId));
+            expected.add(Collections.emptySet());
+        }
+        assertEquals(expected, attributes);
+    }
+
+    @Test
+    public void whenABulkRequestRefersToAMissingConcept_noResponseIsSentBeforeTheError() throws InterruptedException {
+        List<String> conceptIds = new ArrayList<>(personNames.keySet());
+        conceptIds.add("V" + Long.MAX_VALUE);
+        requests.onNext(SessionProto.Transaction.Req.newBuilder()
+                .putMetadata("conceptIds", String.join(",", conceptIds))
+                .setConceptMethodReq(SessionProto.Transaction.ConceptMethod.Req.newBuilder()
+                        .setMethod(ConceptProto.Method.Req.newBuilder()
+                                .setThingTypeReq(ConceptProto.Thing.Type.Req.getDefaultInstance()))).build());
+
+        assertTrue(responses.poll(30, TimeUnit.SECONDS) instanceof Throwable);
+    }
+
+    private SessionProto.Transaction.Res nextResponse() throws InterruptedException {
+        Object response = responses.poll(30, TimeUnit.SECONDS);
+        if (!(response instanceof SessionProto.Transaction.Res)) throw new AssertionError("Expected a response, got " + response);
+        return (SessionProto.Transaction.Res) response;
+    }
+
+    private static Set<String> names(Thing person) {
+        return person.attributes().map(attribute -> attribute.id().getValue()).collect(toSet());
+    }
+}
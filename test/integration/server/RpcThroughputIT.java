@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.server;
+
+import grakn.client.GraknClient;
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.test.rule.GraknTestServer;
+import graql.lang.Graql;
+import graql.lang.query.GraqlGet;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares answers/sec of streaming a large result set through the RPC layer over loopback with streaming it from an
+ * embedded transaction, which is the upper bound the batching and prefetching of the RPC iterators can approach.
+ */
+public class RpcThroughputIT {
+
+    private static final int ANSWERS = 20000;
+    private static final int INSERT_BATCH = 1000;
+    private static final GraqlGet QUERY = Graql.parse("match $x isa person, has name $n; get;").asGet();
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer(
+            Paths.get("server/conf/grakn.properties"),
+            Paths.get("test/resources/cassandra-embedded.yaml")
+    );
+
+    private static Session localSession;
+
+    @BeforeClass
+    public static void loadData() {
+        localSession = server.sessionWithNewKeyspace();
+        try (Transaction tx = localSession.transaction(Transaction.Type.WRITE)) {
+            tx.execute(Graql.parse("define person sub entity, has name; name sub attribute, value string;").asDefine());
+            tx.commit();
+        }
+        for (int batch = 0; batch < ANSWERS / INSERT_BATCH; batch++) {
+            try (Transaction tx = localSession.transaction(Transaction.Type.WRITE)) {
+                for (int i = 0; i < INSERT_BATCH; i++) {
+                    tx.execute(Graql.parse("insert $x isa person, has name \"person-" + batch + "-" + i + "\";").asInsert());
+                }
+                tx.commit();
+            }
+        }
+    }
+
+    @AfterClass
+    public static void closeSession() {
+        localSession.close();
+    }
+
+    @Test
+    public void streamingLargeResultSet_remoteThroughputIsReported() {
+        System.out.println(new Object(){}.getClass().getEnclosingMethod().getName());
+
+        // warm up the caches on both paths before measuring
+        long localAnswers = streamLocally();
+        long remoteAnswers = streamRemotely();
+
+        final long localStart = System.currentTimeMillis();
+        localAnswers = streamLocally();
+        final long localTime = System.currentTimeMillis() - localStart;
+
+        final long remoteStart = System.currentTimeMillis();
+        remoteAnswers = streamRemotely();
+        final long remoteTime = System.currentTimeMillis() - remoteStart;
+
+        System.out.println("embedded answers = " + localAnswers + " time: " + localTime + " answers/s: " + answersPerSecond(localAnswers, localTime));
+        System.out.println("rpc answers = " + remoteAnswers + " time: " + remoteTime + " answers/s: " + answersPerSecond(remoteAnswers, remoteTime));
+        assertEquals(ANSWERS, localAnswers);
+        assertEquals(ANSWERS, remoteAnswers);
+    }
+
+    private long streamLocally() {
+        try (Transaction tx = localSession.transaction(Transaction.Type.READ)) {
+            return tx.stream(QUERY).count();
+        }
+    }
+
+    private long streamRemotely() {
+        GraknClient graknClient = new GraknClient(server.grpcUri());
+        try (GraknClient.Session remoteSession = graknClient.session(localSession.keyspace().name());
+             GraknClient.Transaction tx = remoteSession.transaction().read()) {
+            return tx.stream(QUERY).get().count();
+        } finally {
+            graknClient.close();
+        }
+    }
+
+    private static long answersPerSecond(long answers, long millis) {
+        return answers * 1000 / Math.max(millis, 1);
+    }
+}
@@ -52,6 +52,7 @@ import graql.lang.query.GraqlGet;
 import graql.lang.query.GraqlInsert;
 import graql.lang.statement.Statement;
 import junit.framework.TestCase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.VerificationException;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.hamcrest.core.IsInstanceOf;
@@ -64,6 +65,7 @@ import org.junit.rules.ExpectedException;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
@@ -79,6 +81,7 @@ import static graql.lang.Graql.define;
 import static graql.lang.Graql.insert;
 import static graql.lang.Graql.type;
 import static graql.lang.Graql.var;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -216,6 +219,113 @@ public class TransactionIT {
         future.get();
     }
 
+    @Test
+    public void whenCommittingInvalidInstancesInBatchTx_ValidationIsDeferredUntilBatchIsSealed() {
+        tx.putRelationType("marriage").relates(tx.putRole("spouse"));
+        tx.commit();
+
+        Transaction batchTx = session.transaction(Transaction.Type.BATCH);
+        ConceptId relationId = batchTx.getRelationType("marriage").create().id();
+        batchTx.commit();
+
+        // the relation without role players is persisted regardless
+        tx = session.transaction(Transaction.Type.READ);
+        assertNotNull(tx.getConcept(relationId));
+        tx.close();
+
+        expectedException.expect(InvalidKBException.class);
+        session.sealBatch();
+    }
+
+    @Test
+    public void whenReopeningSessionBeforeSealingBatch_TheCommittedInstancesAreStillValidated() {
+        tx.putRelationType("marriage").relates(tx.putRole("spouse"));
+        tx.commit();
+
+        Transaction batchTx = session.transaction(Transaction.Type.BATCH);
+        batchTx.getRelationType("marriage").create();
+        batchTx.commit();
+
+        String keyspaceName = session.keyspace().name();
+        session.close();
+        session = SessionUtil.serverlessSession(storage.createCompatibleServerConfig(), keyspaceName);
+
+        expectedException.expect(InvalidKBException.class);
+        session.sealBatch();
+    }
+
+    @Test
+    public void whenFixingInvalidInstancesOfBatch_SealingBatchSucceeds() {
+        tx.putRelationType("marriage").relates(tx.putRole("spouse"));
+        tx.commit();
+
+        Transaction batchTx = session.transaction(Transaction.Type.BATCH);
+        ConceptId relationId = batchTx.getRelationType("marriage").create().id();
+        batchTx.commit();
+
+        boolean invalid = false;
+        try {
+            session.sealBatch();
+        } catch (InvalidKBException e) {
+            invalid = true;
+        }
+        assertTrue(invalid);
+
+        tx = session.transaction(Transaction.Type.WRITE);
+        tx.getConcept(relationId).delete();
+        tx.commit();
+
+        session.sealBatch();
+    }
+
+    @Test
+    public void whenSealingBatchWithInvalidInstances_TheValidInstancesAreSealed() {
+        tx.putEntityType("person");
+        tx.putRelationType("marriage").relates(tx.putRole("spouse"));
+        tx.commit();
+
+        Transaction batchTx = session.transaction(Transaction.Type.BATCH);
+        ConceptId personId = batchTx.getEntityType("person").create().id();
+        ConceptId relationId = batchTx.getRelationType("marriage").create().id();
+        batchTx.commit();
+
+        boolean invalid = false;
+        try {
+            session.sealBatch();
+        } catch (InvalidKBException e) {
+            invalid = true;
+        }
+        assertTrue(invalid);
+
+        tx = session.transaction(Transaction.Type.READ);
+        GraphTraversalSource traversal = ((TestTransactionProvider.TestTransaction) tx).janusTraversalSourceProvider().getTinkerTraversal();
+        assertEquals(0L, (long) traversal.V().has(Schema.VertexProperty.UNVALIDATED.name()).count().next());
+        assertEquals(Collections.singletonList(relationId), traversal.V().has(Schema.VertexProperty.INVALID.name()).toStream()
+                .map(Schema::conceptId).collect(toList()));
+        assertNotNull(tx.getConcept(personId));
+        tx.close();
+    }
+
+    @Test
+    public void whenCommittingWriteTxAfterBatchTx_TheDeferredStatisticsArePersisted() {
+        tx.putEntityType("person");
+        tx.commit();
+
+        Transaction batchTx = session.transaction(Transaction.Type.BATCH);
+        batchTx.getEntityType("person").create();
+        batchTx.commit();
+
+        tx = session.transaction(Transaction.Type.WRITE);
+        tx.putEntityType("animal");
+        tx.commit();
+
+        String keyspaceName = session.keyspace().name();
+        session.close();
+        session = SessionUtil.serverlessSession(storage.createCompatibleServerConfig(), keyspaceName);
+        tx = session.transaction(Transaction.Type.READ);
+        assertEquals(1, session.keyspaceStatistics().count(((TestTransactionProvider.TestTransaction) tx).conceptManager(), Label.of("person")));
+    }
+
     @Test
     public void attemptingToUseClosedTxFailsThenOpeningNewTx_EnsureTxIsUsable() throws InvalidKBException {
         tx.close();
@@ -362,6 +472,26 @@ public class TransactionIT {
                 containsInAnyOrder(s3_e1, s3_e2));
     }
 
+    @Test
+    public void whenMatchingInstancesOfTypeWithManyShards_AllShardsAreRead() {
+        EntityType entityType = tx.putEntityType("The Special Type");
+        Set<Concept> instances = new HashSet<>();
+        // more shards than are read in a single batch
+        for (int shard = 0; shard < 20; shard++) {
+            for (int i = 0; i < 3; i++) {
+                instances.add(entityType.create());
+            }
+            ConceptDowncasting.type(entityType).createShard();
+        }
+        GraqlGet query = Graql.match(var("x").isa("The Special Type")).get();
+        assertEquals(instances, tx.stream(query).map(answer -> answer.get("x")).collect(toSet()));
+        tx.commit();
+
+        tx = session.transaction(Transaction.Type.READ);
+        assertEquals(instances.size(), tx.execute(query.count()).get(0).number().intValue());
+        assertEquals(instances, tx.stream(query).map(answer -> answer.get("x")).collect(toSet()));
+    }
+
     @Test
     public void whenThresholdIsReachedForAGivenType_EnsureThatNewTypeShardIsCreated() throws IOException {
         Config mockServerConfig = storage.createCompatibleServerConfig();
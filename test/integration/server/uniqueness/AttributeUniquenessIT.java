@@ -20,9 +20,7 @@ package grakn.core.server.uniqueness;
 
 import grakn.common.util.Collections;
 import grakn.core.concept.answer.ConceptMap;
-import grakn.core.core.Schema;
 import grakn.core.kb.concept.api.ConceptId;
-import grakn.core.kb.concept.api.Label;
 import grakn.core.kb.server.Session;
 import grakn.core.kb.server.Transaction;
 import grakn.core.kb.server.exception.InvalidKBException;
@@ -54,11 +52,9 @@ import java.util.concurrent.Future;
 import static graql.lang.Graql.type;
 import static graql.lang.Graql.var;
 import static junit.framework.TestCase.assertEquals;
-import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertNull;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
-import static org.junit.Assert.assertNotEquals;
 
 @SuppressWarnings({"CheckReturnValue", "Duplicates"})
 public class AttributeUniquenessIT {
@@ -380,10 +376,9 @@ public class AttributeUniquenessIT {
     }
 
     @Test
-    public void whenDeletingAndReaddingSameAttributeInDifferentTx_attributesCacheIsInSyncAndShouldNotTryToMerge() {
+    public void whenDeletingAndReaddingSameAttributeInDifferentTx_theAttributeIsStoredInTheSameVertex() {
         String testAttributeLabel = "test-attribute";
         String testAttributeValue = "test-attribute-value";
-        String index = Schema.generateAttributeIndex(Label.of(testAttributeLabel), testAttributeValue);
 
         // define the schema
         try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
@@ -391,35 +386,37 @@ public class AttributeUniquenessIT {
             tx.commit();
         }
 
+        ConceptId oldAttributeId;
         try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
-            tx.execute(Graql.insert(var("x").isa(testAttributeLabel).val(testAttributeValue)));
+            oldAttributeId = tx.execute(Graql.insert(var("x").isa(testAttributeLabel).val(testAttributeValue))).get(0).get("x").id();
             tx.commit();
         }
 
-        assertNotNull(session.attributeManager().attributesCommitted().getIfPresent(index));
-
-
         try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
             tx.execute(Graql.match(var("x").isa(testAttributeLabel).val(testAttributeValue)).delete(var("x").isa(testAttributeLabel)));
             tx.commit();
         }
 
-        assertNull(session.attributeManager().attributesCommitted().getIfPresent(index));
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            assertNull(tx.getConcept(oldAttributeId));
+        }
 
         try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
             tx.execute(Graql.insert(var("x").isa(testAttributeLabel).val(testAttributeValue)));
             tx.commit();
         }
 
-        assertNotNull(session.attributeManager().attributesCommitted().getIfPresent(index));
-
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            List<ConceptMap> attribute = tx.execute(Graql.parse("match $x isa test-attribute; get;").asGet());
+            assertEquals(1, attribute.size());
+            assertEquals(oldAttributeId, attribute.get(0).get("x").id());
+        }
     }
 
     @Test
-    public void whenDeletingAndReaddingSameAttributeInSameTx_shouldNotTryToMergeAndThereShouldBeOneAttributeNodeWithDifferentId() {
+    public void whenDeletingAndReaddingSameAttributeInSameTx_thereShouldBeOneAttributeNodeWithTheSameId() {
         String testAttributeLabel = "test-attribute";
         String testAttributeValue = "test-attribute-value";
-        String index = Schema.generateAttributeIndex(Label.of(testAttributeLabel), testAttributeValue);
 
         // define the schema
         try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
@@ -442,16 +439,14 @@ public class AttributeUniquenessIT {
             List<ConceptMap> attribute = tx.execute(Graql.parse("match $x isa test-attribute; get;").asGet());
             assertEquals(1, attribute.size());
             String newAttributeId = attribute.get(0).get("x").id().getValue();
-            assertNotEquals(newAttributeId, oldAttributeId);
-            assertEquals(ConceptId.of(newAttributeId), session.attributeManager().attributesCommitted().getIfPresent(index));
+            assertEquals(oldAttributeId, newAttributeId);
         }
     }
 
     @Test
-    public void whenAddingAndDeletingSameAttributeInSameTx_thereShouldBeNoAttributeIndexInAttributesCache() {
+    public void whenAddingAndDeletingSameAttributeInSameTx_thereShouldBeNoAttribute() {
         String testAttributeLabel = "test-attribute";
         String testAttributeValue = "test-attribute-value";
-        String index = Schema.generateAttributeIndex(Label.of(testAttributeLabel), testAttributeValue);
 
         // define the schema
         try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
@@ -463,7 +458,6 @@ public class AttributeUniquenessIT {
             tx.execute(Graql.insert(var("x").isa(testAttributeLabel).val(testAttributeValue)));
             tx.execute(Graql.match(var("x").isa(testAttributeLabel).val(testAttributeValue)).delete(var("x").isa(testAttributeLabel)));
             tx.commit();
-            assertNull(session.attributeManager().attributesCommitted().getIfPresent(index));
         }
         try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
             List<ConceptMap> attribute = tx.execute(Graql.parse("match $x isa test-attribute; get;").asGet());
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.server.uniqueness;
+
+import grakn.core.kb.server.Session;
+import grakn.core.kb.server.Transaction;
+import grakn.core.test.rule.GraknTestServer;
+import graql.lang.Graql;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Measures commit throughput of concurrent writers inserting popular attribute values.
+ * Commits only serialise on the commit lock stripes of the attribute indices they share, so writers
+ * working on disjoint attribute values should scale with the number of threads, while writers sharing
+ * values still deduplicate them correctly.
+ */
+public class CommitContentionIT {
+    private static final int[] WRITER_THREADS = new int[]{1, 2, 4, 8};
+    private static final int COMMITS_PER_WRITER = 50;
+    private static final int INSERTS_PER_COMMIT = 10;
+    private static final int VALUES_PER_WRITER = 5;
+
+    private Session session;
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    @Before
+    public void setUp() {
+        session = server.sessionWithNewKeyspace();
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            tx.execute(Graql.parse("define " +
+                    "person sub entity, has country; " +
+                    "country sub attribute, value string;").asDefine());
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void whenWritersInsertDisjointAttributes_commitThroughputScalesWithWriters() throws ExecutionException, InterruptedException {
+        System.out.println(new Object(){}.getClass().getEnclosingMethod().getName());
+        for (int threads : WRITER_THREADS) {
+            runWriters(threads, "disjoint-" + threads, false);
+        }
+        assertEquals(sum(WRITER_THREADS) * VALUES_PER_WRITER, countCountries());
+    }
+
+    @Test
+    public void whenWritersInsertSharedAttributes_attributesAreDeduplicated() throws ExecutionException, InterruptedException {
+        System.out.println(new Object(){}.getClass().getEnclosingMethod().getName());
+        for (int threads : WRITER_THREADS) {
+            runWriters(threads, "shared-" + threads, true);
+        }
+        assertEquals(WRITER_THREADS.length * VALUES_PER_WRITER, countCountries());
+    }
+
+    private void runWriters(int threads, String prefix, boolean shareValues) throws ExecutionException, InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        final long startTime = System.currentTimeMillis();
+        for (int i = 0; i < threads; i++) {
+            String valuePrefix = shareValues ? prefix : prefix + "-" + i;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int commit = 0; commit < COMMITS_PER_WRITER; commit++) {
+                    try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+                        for (int insert = 0; insert < INSERTS_PER_COMMIT; insert++) {
+                            String country = valuePrefix + "-" + (insert % VALUES_PER_WRITER);
+                            tx.execute(Graql.parse("insert $x isa person, has country \"" + country + "\";").asInsert());
+                        }
+                        tx.commit();
+                    }
+                }
+            }, executorService));
+        }
+        CompletableFuture.allOf(writers.toArray(new CompletableFuture[]{})).get();
+        final long commitTime = System.currentTimeMillis() - startTime;
+        executorService.shutdown();
+
+        long commits = (long) threads * COMMITS_PER_WRITER;
+        System.out.println(prefix + " writers = " + threads + " commits = " + commits + " commitTime: " + commitTime +
+                " commits/s: " + (commits * 1000 / Math.max(commitTime, 1)));
+    }
+
+    private int countCountries() {
+        try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+            return tx.execute(Graql.parse("match $x isa country; get; count;").asGetAggregate()).get(0).number().intValue();
+        }
+    }
+
+    private static int sum(int[] values) {
+        int sum = 0;
+        for (int value : values) sum += value;
+        return sum;
+    }
+}
@@ -200,7 +200,7 @@ public class GraknTestServer extends ExternalResource {
                 .addService(new KeyspaceService(keyspaceManager))
                 .build();
 
-        return ServerFactory.createServer(serverRPC);
+        return ServerFactory.createServer(serverRPC, sessionFactory);
     }
 
 }
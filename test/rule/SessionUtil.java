@@ -18,6 +18,7 @@
 
 package grakn.core.test.rule;
 
+import com.google.common.util.concurrent.Striped;
 import grakn.core.common.config.Config;
 import grakn.core.graph.graphdb.database.StandardJanusGraph;
 import grakn.core.kb.keyspace.AttributeManager;
@@ -32,12 +33,12 @@ import grakn.core.keyspace.ShardManagerImpl;
 import grakn.core.server.keyspace.KeyspaceImpl;
 import grakn.core.server.session.HadoopGraphFactory;
 import grakn.core.server.session.JanusGraphFactory;
+import grakn.core.server.session.SessionFactory;
 import grakn.core.server.session.SessionImpl;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 
 import java.util.UUID;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.Lock;
 
 /**
  * For testing, we sometimes ONLY start cassandra, without starting the full Grakn Server
@@ -94,11 +95,11 @@ public class SessionUtil {
         KeyspaceSchemaCache cache = new KeyspaceSchemaCache();
         AttributeManager attributeManager = new AttributeManagerImpl();
         ShardManager shardManager = new ShardManagerImpl();
-        ReadWriteLock graphLock = new ReentrantReadWriteLock();
+        Striped<Lock> commitLocks = Striped.lock(SessionFactory.COMMIT_LOCK_STRIPES);
         HadoopGraph hadoopGraph = hadoopGraphFactory.getGraph(randomKeyspace);
 
         long typeShardThreshold = 250000; // TODO decide if this belongs in the mockServerConfig or not
-        TransactionProvider transactionProvider = new TestTransactionProvider(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, graphLock, typeShardThreshold);
+        TransactionProvider transactionProvider = new TestTransactionProvider(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, commitLocks, typeShardThreshold);
         return new SessionImpl(randomKeyspace, transactionProvider, cache, graph, keyspaceStatistics, attributeManager, shardManager);
     }
 
@@ -113,10 +114,10 @@ public class SessionUtil {
         KeyspaceStatistics keyspaceStatistics = new KeyspaceStatisticsImpl();
         AttributeManager attributeManager = new AttributeManagerImpl();
         ShardManager shardManager = new ShardManagerImpl();
-        ReadWriteLock graphLock = new ReentrantReadWriteLock();
+        Striped<Lock> commitLocks = Striped.lock(SessionFactory.COMMIT_LOCK_STRIPES);
         HadoopGraph hadoopGraph = hadoopGraphFactory.getGraph(randomKeyspace);
 
-        TransactionProvider transactionProvider = new TestTransactionProvider(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, graphLock, typeShardThreshold);
+        TransactionProvider transactionProvider = new TestTransactionProvider(graph, hadoopGraph, cache, keyspaceStatistics, attributeManager, commitLocks, typeShardThreshold);
         return new SessionImpl(randomKeyspace, transactionProvider, cache, graph, keyspaceStatistics, attributeManager, shardManager);
     }
 
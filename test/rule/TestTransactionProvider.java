@@ -18,6 +18,7 @@
 
 package grakn.core.test.rule;
 
+import com.google.common.util.concurrent.Striped;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.answer.Explanation;
 import grakn.core.concept.impl.TypeImpl;
@@ -28,6 +29,7 @@ import grakn.core.concept.structure.ElementFactory;
 import grakn.core.core.JanusTraversalSourceProvider;
 import grakn.core.graph.graphdb.database.StandardJanusGraph;
 import grakn.core.graph.graphdb.transaction.StandardJanusGraphTx;
+import grakn.core.graph.graphdb.transaction.StandardTransactionBuilder;
 import grakn.core.graql.executor.ExecutorFactoryImpl;
 import grakn.core.graql.executor.TraversalExecutorImpl;
 import grakn.core.graql.executor.property.PropertyExecutorFactoryImpl;
@@ -59,7 +61,7 @@ import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Implementation of TransactionProvider that can be relied upon to return a `TestTransaction`,
@@ -71,23 +73,23 @@ public class TestTransactionProvider implements TransactionProvider {
     private final KeyspaceSchemaCache keyspaceSchemaCache;
     private final KeyspaceStatistics keyspaceStatistics;
     private final AttributeManager attributeManager;
-    private ReadWriteLock graphLock;
+    private Striped<Lock> commitLocks;
     private final long typeShardThreshold;
 
     public TestTransactionProvider(StandardJanusGraph graph, HadoopGraph hadoopGraph,
                                    KeyspaceSchemaCache keyspaceSchemaCache, KeyspaceStatistics keyspaceStatistics,
-                                   AttributeManager attributeManager, ReadWriteLock graphLock, long typeShardThreshold) {
+                                   AttributeManager attributeManager, Striped<Lock> commitLocks, long typeShardThreshold) {
         this.graph = graph;
         this.hadoopGraph = hadoopGraph;
         this.keyspaceSchemaCache = keyspaceSchemaCache;
         this.keyspaceStatistics = keyspaceStatistics;
         this.attributeManager = attributeManager;
-        this.graphLock = graphLock;
+        this.commitLocks = commitLocks;
         this.typeShardThreshold = typeShardThreshold;
     }
 
     @Override
-    public Transaction newTransaction(Session session) {
+    public Transaction newTransaction(Session session, Transaction.Type type) {
 
         // Data structures
         ConceptNotificationChannel conceptNotificationChannel = new ConceptNotificationChannelImpl();
@@ -96,14 +98,19 @@ public class TestTransactionProvider implements TransactionProvider {
         ExplanationCacheImpl explanationCache = new ExplanationCacheImpl();
 
         // Janus elements
-        StandardJanusGraphTx janusGraphTransaction = graph.newThreadBoundTransaction();
+        StandardTransactionBuilder janusTransactionBuilder = graph.buildTransaction().threadBound();
+        if (Transaction.Type.BATCH.equals(type)) {
+            // flush mutations to storage in unlogged batches as they accumulate, but still look up vertices by id
+            janusTransactionBuilder.enableBatchLoading().checkExternalVertexExistence(true);
+        }
+        StandardJanusGraphTx janusGraphTransaction = janusTransactionBuilder.start();
         JanusTraversalSourceProvider janusTraversalSourceProvider = new JanusTraversalSourceProvider(janusGraphTransaction);
         ElementFactory elementFactory = new ElementFactory(janusGraphTransaction, janusTraversalSourceProvider);
 
         // Grakn elements
         PropertyExecutorFactory propertyExecutorFactory = new PropertyExecutorFactoryImpl();
-        ConceptManagerImpl conceptManager = new ConceptManagerImpl(elementFactory, transactionCache, conceptNotificationChannel, attributeManager);
-        TraversalPlanFactory traversalPlanFactory = new TraversalPlanFactoryImpl(janusTraversalSourceProvider, conceptManager, propertyExecutorFactory, typeShardThreshold, keyspaceStatistics);
+        ConceptManagerImpl conceptManager = new ConceptManagerImpl(elementFactory, transactionCache, conceptNotificationChannel);
+        TraversalPlanFactory traversalPlanFactory = new TraversalPlanFactoryImpl(janusTraversalSourceProvider, conceptManager, propertyExecutorFactory, typeShardThreshold, keyspaceStatistics, null, transactionCache);
         TraversalExecutor traversalExecutor = new TraversalExecutorImpl(traversalPlanFactory, conceptManager);
         ExecutorFactoryImpl executorFactory = new ExecutorFactoryImpl(conceptManager, hadoopGraph, keyspaceStatistics, traversalPlanFactory, traversalExecutor, explanationCache);
         RuleCacheImpl ruleCache = new RuleCacheImpl(conceptManager, keyspaceStatistics);
@@ -122,7 +129,7 @@ public class TestTransactionProvider implements TransactionProvider {
         return new TestTransaction(
                 session, janusGraphTransaction, conceptManager, janusTraversalSourceProvider, transactionCache,
                 queryCache, ruleCache, explanationCache, statisticsDelta, executorFactory, traversalPlanFactory, traversalExecutor,
-                reasonerQueryFactory, graphLock, typeShardThreshold,
+                reasonerQueryFactory, commitLocks, typeShardThreshold,
                 conceptNotificationChannel, elementFactory, propertyAtomicFactory, conceptListener, propertyExecutorFactory
         );
     }
@@ -145,14 +152,14 @@ public class TestTransactionProvider implements TransactionProvider {
                                RuleCacheImpl ruleCache, ExplanationCache explanationCache, StatisticsDeltaImpl statisticsDelta,
                                ExecutorFactoryImpl executorFactory, TraversalPlanFactory traversalPlanFactory,
                                TraversalExecutor traversalExecutor, ReasonerQueryFactory reasonerQueryFactory,
-                               ReadWriteLock graphLock, long typeShardThreshold,
+                               Striped<Lock> commitLocks, long typeShardThreshold,
                                ConceptNotificationChannel conceptNotificationChannel, ElementFactory elementFactory,
                                PropertyAtomicFactory propertyAtomicFactory, ConceptListener conceptListener,
                                PropertyExecutorFactory propertyExecutorFactory) {
 
             super(session, janusGraphTransaction, conceptManager, janusTraversalSourceProvider, transactionCache,
                     queryCache, ruleCache, explanationCache, statisticsDelta, executorFactory,
-                    reasonerQueryFactory, graphLock, typeShardThreshold);
+                    reasonerQueryFactory, commitLocks, typeShardThreshold);
             this.traversalPlanFactory = traversalPlanFactory;
             this.traversalExecutor = traversalExecutor;
             this.conceptNotificationChannel = conceptNotificationChannel;